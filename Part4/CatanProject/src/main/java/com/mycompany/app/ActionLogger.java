@@ -16,6 +16,6 @@ public class ActionLogger {
 	 * @param action Description of the action taken
 	 */
 	public void logAction(int round, int playerID, String action) {
-		System.out.println("[" + round + "] / [" + playerID + "]: " + action);
+		GameLog.out().println("[" + round + "] / [" + playerID + "]: " + action);
 	}
 }
@@ -0,0 +1,23 @@
+package com.mycompany.app;
+
+/**
+ * Why a game ended before its natural finish (see Adjudicator).
+ */
+public enum Adjudication {
+    /**
+     * Not adjudicated: someone reached the target or the round cap was hit
+     */
+    NONE,
+    /**
+     * Every player has placed every piece, so the board can never change
+     */
+    PIECES_EXHAUSTED,
+    /**
+     * No player has a legal placement for any piece they still hold, so the board can never change
+     */
+    NO_LEGAL_PLACEMENT,
+    /**
+     * The leader's VP exceeds what any other player could ever reach
+     */
+    INSURMOUNTABLE_LEAD;
+}
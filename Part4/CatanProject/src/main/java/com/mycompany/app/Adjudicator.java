@@ -0,0 +1,150 @@
+package com.mycompany.app;
+
+import com.mycompany.app.services.BuildingService;
+
+import java.util.List;
+
+/**
+ * Ends HeadlessGames whose outcome is already decided, instead of playing on to the round cap.
+ *
+ * Both checks are proofs, not estimates. VP only comes from building, and legal locations only
+ * change when someone builds, so a position where no player can place any piece they still hold
+ * is static: the VP leader at that moment is the leader at the cap. For the lead check, a
+ * player's reachable VP is bounded by their piece limits and by the nodes still open for
+ * settlement (a player with no roads left can only use sites their network already touches); if
+ * every other player's bound is below the leader's VP, nobody can reach the target or catch up.
+ *
+ * Adjudicated games report the leader (or a draw) with reachedTarget false and the reason in
+ * GameResult. OFF, the default for HeadlessGame, plays every game by the exact rules.
+ */
+public final class Adjudicator {
+
+    /**
+     * Never adjudicate
+     */
+    public static final Adjudicator OFF = new Adjudicator(false, false, 1);
+
+    private final boolean stalemate;
+    private final boolean dominance;
+    private final int interval;
+
+    /**
+     * @param stalemate end games where no one can place anything
+     * @param dominance end games where the leader cannot be caught
+     * @param interval check after every interval-th round (checks call the validators)
+     */
+    public Adjudicator(boolean stalemate, boolean dominance, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        this.stalemate = stalemate;
+        this.dominance = dominance;
+        this.interval = interval;
+    }
+
+    /**
+     * Both checks after every round.
+     */
+    public static Adjudicator all() {
+        return new Adjudicator(true, true, 1);
+    }
+
+    public boolean isEnabled() {
+        return stalemate || dominance;
+    }
+
+    /**
+     * Whether the checks run after the given round.
+     */
+    public boolean checksAfter(int round) {
+        return isEnabled() && round % interval == 0;
+    }
+
+    /**
+     * Examine the position between turns.
+     *
+     * @return the reason the game is decided, or NONE
+     */
+    public Adjudication check(CatanEngine engine, List<Player> players) {
+        if (stalemate) {
+            Adjudication reason = staticPosition(engine, players);
+            if (reason != Adjudication.NONE) {
+                return reason;
+            }
+        }
+        if (dominance && leadIsInsurmountable(engine, players)) {
+            return Adjudication.INSURMOUNTABLE_LEAD;
+        }
+        return Adjudication.NONE;
+    }
+
+    private static Adjudication staticPosition(CatanEngine engine, List<Player> players) {
+        OwnershipIndex ownership = engine.getBoard().getOwnership();
+        boolean allPlaced = true;
+        for (Player player : players) {
+            int id = player.getPlayerID();
+            boolean roadsLeft = ownership.getEdgeCount(id) < BuildingService.MAX_ROADS;
+            boolean settlementsLeft = ownership.getSettlementCount(id) < BuildingService.MAX_SETTLEMENTS;
+            boolean citiesLeft = ownership.getCityCount(id) < BuildingService.MAX_CITIES;
+            allPlaced &= !roadsLeft && !settlementsLeft && !citiesLeft;
+            if (citiesLeft && ownership.getSettlementCount(id) > 0) {
+                return Adjudication.NONE;
+            }
+            if (settlementsLeft && engine.getValidSettlementLocations(id).length > 0) {
+                return Adjudication.NONE;
+            }
+            if (roadsLeft && engine.getValidRoadLocations(id).length > 0) {
+                return Adjudication.NONE;
+            }
+        }
+        return allPlaced ? Adjudication.PIECES_EXHAUSTED : Adjudication.NO_LEGAL_PLACEMENT;
+    }
+
+    private static boolean leadIsInsurmountable(CatanEngine engine, List<Player> players) {
+        Player leader = null;
+        for (Player player : players) {
+            if (leader == null || player.getVictoryPoints() > leader.getVictoryPoints()) {
+                leader = player;
+            }
+        }
+        if (leader == null) {
+            return false;
+        }
+        int openSites = countOpenSites(engine.getBoard());
+        for (Player player : players) {
+            if (player != leader && maxReachableVictoryPoints(engine, player, openSites) >= leader.getVictoryPoints()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Upper bound on the VP the player can ever hold: current VP plus the most that the pieces
+     * they can still place could add. Only nodes open today can ever be settled.
+     */
+    static int maxReachableVictoryPoints(CatanEngine engine, Player player, int openSites) {
+        OwnershipIndex ownership = engine.getBoard().getOwnership();
+        int id = player.getPlayerID();
+        int settlements = ownership.getSettlementCount(id);
+        int cities = ownership.getCityCount(id);
+        int sites = ownership.getEdgeCount(id) < BuildingService.MAX_ROADS
+                ? openSites
+                : engine.getValidSettlementLocations(id).length;
+        int maxNodes = Math.min(BuildingService.MAX_SETTLEMENTS + BuildingService.MAX_CITIES,
+                settlements + cities + sites);
+        int maxCities = Math.min(BuildingService.MAX_CITIES, maxNodes);
+        int buildingVp = settlements + 2 * cities;
+        return player.getVictoryPoints() + (maxNodes + maxCities) - buildingVp;
+    }
+
+    private static int countOpenSites(Board board) {
+        int open = 0;
+        for (int n = 0; n < board.getTopology().getNodeCount(); n++) {
+            if (HeadlessGame.isOpen(board, n)) {
+                open++;
+            }
+        }
+        return open;
+    }
+}
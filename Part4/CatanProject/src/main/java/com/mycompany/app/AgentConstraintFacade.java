@@ -8,18 +8,39 @@ import java.util.*;
 
 /**
  * Façade for R3.3 constraint resolution. Checks constraints in priority order:
- * A) Over-7 cards: spend via road/settlement/city (cheapest first)
- * B) Two road segments within 2 edge-units: bridge with BuildRoadCommand
- * C) Longest-road competition: extend road to maximize predicted length
+ * A) Over-7 cards (threshold tunable): spend via road/settlement/city (cheapest first)
+ * B) Two road segments within 2 edge-units (distance tunable): bridge with BuildRoadCommand
+ * C) Longest-road competition (rival within a tunable margin): extend road to maximize predicted length
+ * Defaults reproduce the original fixed thresholds; see AgentParameters.
  */
 public class AgentConstraintFacade {
 
     private final CatanEngine engine;
     private final IBoardGraph topology;
+    private final int overCardsThreshold;
+    private final int bridgeDistance;
+    private final int longestRoadMargin;
+
+    /**
+     * Reused line-graph search state for bridging beyond two edges (dist is -1 between searches)
+     */
+    private int[] bfsDist = new int[0];
+    private int[] bfsParent = new int[0];
+    private int[] bfsQueue = new int[0];
 
     public AgentConstraintFacade(CatanEngine engine) {
+        this(engine, AgentParameters.defaults());
+    }
+
+    /**
+     * @param params supplies the hand-size threshold (A), bridging distance (B) and longest-road margin (C)
+     */
+    public AgentConstraintFacade(CatanEngine engine, AgentParameters params) {
         this.engine = engine;
         this.topology = engine.getBoard().getTopology();
+        this.overCardsThreshold = params.getInt(AgentParameters.OVER_CARDS_THRESHOLD);
+        this.bridgeDistance = params.getInt(AgentParameters.BRIDGE_DISTANCE);
+        this.longestRoadMargin = params.getInt(AgentParameters.LONGEST_ROAD_MARGIN);
     }
 
     public ICommand getPriorityConstraintAction(Player agent) {
@@ -33,7 +54,7 @@ public class AgentConstraintFacade {
     }
 
     private ICommand constraintOverSevenCards(Player agent) {
-        if (agent.getTotalResourceCards() <= 7) {
+        if (agent.getTotalResourceCards() <= overCardsThreshold) {
             return null;
         }
         int agentId = agent.getPlayerID();
@@ -51,11 +72,10 @@ public class AgentConstraintFacade {
             }
         }
         if (agent.hasResources(BuildingCost.CITY.getCost())) {
-            for (Node node : engine.getBoard().getAllNodes()) {
-                if (node.getOccupant() != null
-                        && node.getOccupant().getPlayerID() == agentId
-                        && node.getType() == BuildingType.SETTLEMENT) {
-                    return new BuildCityCommand(node.getNodeID());
+            Board board = engine.getBoard();
+            for (int nodeID : board.getOwnership().getNodes(agentId)) {
+                if (board.getNode(nodeID).getType() == BuildingType.SETTLEMENT) {
+                    return new BuildCityCommand(nodeID);
                 }
             }
         }
@@ -64,64 +84,105 @@ public class AgentConstraintFacade {
 
     private ICommand constraintConnectRoadsWithinTwo(Player agent) {
         int agentId = agent.getPlayerID();
-        Set<Integer> ownedEdges = new HashSet<>();
-        for (Edge e : engine.getBoard().getAllEdges()) {
-            if (e.hasRoadBy(agentId)) {
-                ownedEdges.add(e.getEdgeID());
-            }
-        }
-        if (ownedEdges.size() < 2) {
+        if (!agent.hasResources(BuildingCost.ROAD.getCost())
+                || engine.getBoard().getOwnership().getEdgeCount(agentId) < 2) {
             return null;
         }
+        if (bridgeDistance == 2) {
+            return bridgeAtDistanceTwo(agentId);
+        }
+        return bridgeByBfs(agentId);
+    }
 
-        Set<Integer> validBuildEdges = new HashSet<>();
-        for (int eid : engine.getValidRoadLocations(agentId)) {
-            validBuildEdges.add(eid);
+    /**
+     * Owned e1 and e2 exactly two steps apart are bridged by a buildable edge adjacent to both.
+     * Walks only the player's roads and their neighbour lists, so the cost grows with the
+     * player's network rather than the board.
+     */
+    private ICommand bridgeAtDistanceTwo(int agentId) {
+        Board board = engine.getBoard();
+        OwnershipIndex ownership = board.getOwnership();
+        for (int i = 0; i < ownership.getEdgeCount(agentId); i++) {
+            int e1 = ownership.getEdge(agentId, i);
+            int[] adjacent = topology.getEdgeNeighbors(e1);
+            for (int bridge : adjacent) {
+                if (!engine.isValidRoadLocation(agentId, bridge)) {
+                    continue;
+                }
+                for (int e2 : topology.getEdgeNeighbors(bridge)) {
+                    if (e2 != e1 && board.getEdge(e2).hasRoadBy(agentId) && !contains(adjacent, e2)) {
+                        return new BuildRoadCommand(bridge);
+                    }
+                }
+            }
         }
+        return null;
+    }
 
+    /**
+     * General bridging distance: line-graph BFS out of each owned edge, bounded by
+     * bridgeDistance; bridge with the first gap edge on the path to an owned edge exactly
+     * bridgeDistance away. The search arrays are reused and only the visited entries are
+     * reset, so each search costs its neighbourhood, not the board.
+     */
+    private ICommand bridgeByBfs(int agentId) {
         Board board = engine.getBoard();
-        for (int e1 : ownedEdges) {
-            Map<Integer, Integer> dist = new HashMap<>();
-            Map<Integer, Integer> parent = new HashMap<>();
-            dist.put(e1, 0);
-            Queue<Integer> q = new ArrayDeque<>();
-            q.add(e1);
-            while (!q.isEmpty()) {
-                int cur = q.poll();
-                int d = dist.get(cur);
-                if (d >= 2) continue;
-                for (int next : neighborEdges(cur)) {
-                    if (dist.containsKey(next)) continue;
-                    dist.put(next, d + 1);
-                    parent.put(next, cur);
-                    q.add(next);
-                    if (d + 1 == 2 && ownedEdges.contains(next)) {
-                        int bridge = parent.get(next);
-                        Edge be = board.getEdge(bridge);
-                        if (be != null && !be.hasRoad() && validBuildEdges.contains(bridge)
-                                && agent.hasResources(BuildingCost.ROAD.getCost())) {
-                            return new BuildRoadCommand(bridge);
+        OwnershipIndex ownership = board.getOwnership();
+        int edgeCount = topology.getEdgeCount();
+        if (bfsDist.length < edgeCount) {
+            bfsDist = new int[edgeCount];
+            bfsParent = new int[edgeCount];
+            bfsQueue = new int[edgeCount];
+            Arrays.fill(bfsDist, -1);
+        }
+        int[] dist = bfsDist;
+        int[] parent = bfsParent;
+        int[] queue = bfsQueue;
+        for (int i = 0; i < ownership.getEdgeCount(agentId); i++) {
+            int e1 = ownership.getEdge(agentId, i);
+            int head = 0;
+            int tail = 0;
+            int bridgeFound = -1;
+            dist[e1] = 0;
+            queue[tail++] = e1;
+            while (head < tail && bridgeFound < 0) {
+                int cur = queue[head++];
+                if (dist[cur] >= bridgeDistance) continue;
+                for (int next : topology.getEdgeNeighbors(cur)) {
+                    if (dist[next] >= 0) continue;
+                    dist[next] = dist[cur] + 1;
+                    parent[next] = cur;
+                    queue[tail++] = next;
+                    if (dist[next] == bridgeDistance && board.getEdge(next).hasRoadBy(agentId)) {
+                        // First gap edge on the path out of e1
+                        int bridge = parent[next];
+                        while (parent[bridge] != e1) {
+                            bridge = parent[bridge];
+                        }
+                        if (engine.isValidRoadLocation(agentId, bridge)) {
+                            bridgeFound = bridge;
+                            break;
                         }
                     }
                 }
             }
+            for (int q = 0; q < tail; q++) {
+                dist[queue[q]] = -1;
+            }
+            if (bridgeFound >= 0) {
+                return new BuildRoadCommand(bridgeFound);
+            }
         }
         return null;
     }
 
-    private Set<Integer> neighborEdges(int edgeId) {
-        Set<Integer> out = new HashSet<>();
-        int[] endpoints = topology.getEdgeEndpoints(edgeId);
-        if (endpoints == null) return out;
-        for (int nodeId : endpoints) {
-            int[] adj = topology.getAdjacentEdges(nodeId);
-            if (adj != null) {
-                for (int e : adj) {
-                    out.add(e);
-                }
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
             }
         }
-        return out;
+        return false;
     }
 
     private ICommand constraintLongestRoadCompetition(Player agent) {
@@ -132,7 +193,7 @@ public class AgentConstraintFacade {
         for (Player p : engine.getPlayers()) {
             if (p.getPlayerID() == agentId) continue;
             int L_other = RoadGraphMetrics.longestRoadLength(board, topology, p.getPlayerID());
-            if (L_other >= L_agent - 1) {
+            if (L_other >= L_agent - longestRoadMargin) {
                 if (!agent.hasResources(BuildingCost.ROAD.getCost())) {
                     return null;
                 }
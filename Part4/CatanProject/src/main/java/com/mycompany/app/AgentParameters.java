@@ -0,0 +1,155 @@
+package com.mycompany.app;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Tunable scoring weights and constraint thresholds of RuleBasedAgent and AgentConstraintFacade.
+ *
+ * Parameters form a fixed-length vector so tuners can treat them generically; integer-valued
+ * thresholds are rounded when read. Files use the same "name: value" lines as config.txt.
+ */
+public final class AgentParameters {
+
+    public static final int SETTLEMENT_WEIGHT = 0;
+    public static final int CITY_WEIGHT = 1;
+    public static final int ROAD_WEIGHT = 2;
+    public static final int OVER_CARDS_THRESHOLD = 3;
+    public static final int BRIDGE_DISTANCE = 4;
+    public static final int LONGEST_ROAD_MARGIN = 5;
+    public static final int NODE_QUALITY_WEIGHT = 6;
+    public static final int EXPANSION_WEIGHT = 7;
+
+    private static final String[] NAMES = {
+            "settlement_weight", "city_weight", "road_weight", "over_cards_threshold", "bridge_distance",
+            "longest_road_margin", "node_quality_weight", "expansion_weight"
+    };
+    private static final double[] DEFAULTS = {1.0, 1.0, 0.8, 7, 2, 1, 0.0, 0.0};
+    private static final double[] LOWER = {0.0, 0.0, 0.0, 4, 2, 0, 0.0, 0.0};
+    private static final double[] UPPER = {2.0, 2.0, 2.0, 12, 4, 4, 2.0, 2.0};
+    private static final boolean[] INTEGER = {false, false, false, true, true, true, false, false};
+
+    private final double[] values;
+
+    private AgentParameters(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * The values RuleBasedAgent and AgentConstraintFacade originally hardcoded
+     * (node quality and expansion weights 0, i.e. every settlement and road scores the same).
+     */
+    public static AgentParameters defaults() {
+        return new AgentParameters(DEFAULTS.clone());
+    }
+
+    /**
+     * Build from a vector, clamping to bounds and rounding integer parameters.
+     */
+    public static AgentParameters fromVector(double[] vector) {
+        if (vector.length != NAMES.length) {
+            throw new IllegalArgumentException("Expected " + NAMES.length + " parameters, got " + vector.length);
+        }
+        double[] v = new double[NAMES.length];
+        for (int i = 0; i < v.length; i++) {
+            double x = Math.min(Math.max(vector[i], LOWER[i]), UPPER[i]);
+            v[i] = INTEGER[i] ? Math.rint(x) : x;
+        }
+        return new AgentParameters(v);
+    }
+
+    public static int size() {
+        return NAMES.length;
+    }
+
+    public static String name(int index) {
+        return NAMES[index];
+    }
+
+    public static double lowerBound(int index) {
+        return LOWER[index];
+    }
+
+    public static double upperBound(int index) {
+        return UPPER[index];
+    }
+
+    public double[] toVector() {
+        return values.clone();
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Integer view of an integer-valued parameter.
+     */
+    public int getInt(int index) {
+        return (int) values[index];
+    }
+
+    /**
+     * Write one "name: value" line per parameter.
+     */
+    public void store(Writer out) throws IOException {
+        for (int i = 0; i < NAMES.length; i++) {
+            out.write(NAMES[i] + ": " + (INTEGER[i] ? Integer.toString(getInt(i)) : Double.toString(values[i])));
+            out.write(System.lineSeparator());
+        }
+        out.flush();
+    }
+
+    /**
+     * Read "name: value" lines; missing parameters keep their defaults, '#' starts a comment.
+     * @throws IllegalArgumentException on an unknown name or a malformed value
+     */
+    public static AgentParameters load(Reader in) throws IOException {
+        double[] v = DEFAULTS.clone();
+        BufferedReader reader = new BufferedReader(in);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(":", 2);
+            int index = parts.length == 2 ? Arrays.asList(NAMES).indexOf(parts[0].trim()) : -1;
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown agent parameter line: " + line);
+            }
+            try {
+                v[index] = Double.parseDouble(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + NAMES[index] + ": " + parts[1].trim());
+            }
+        }
+        return fromVector(v);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AgentParameters && Arrays.equals(values, ((AgentParameters) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < NAMES.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(NAMES[i]).append('=')
+                    .append(INTEGER[i] ? Integer.toString(getInt(i)) : String.format("%.3f", values[i]));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -15,81 +15,141 @@ public class Board {
 	/**
 	 * 
 	 */
-	private Map<Integer, HexTile> tiles;
+	private HexTile[] tiles;
 	/**
 	 * 
 	 */
-	private Map<Integer, Node> nodes;
+	private Node[] nodes;
 	/**
 	 * 
 	 */
-	private Map<Integer, Edge> edges;
+	private Edge[] edges;
+	/**
+	 * Read-only list views over the arrays, in ID order
+	 */
+	private List<HexTile> tilesView;
+	private List<Node> nodesView;
+	private List<Edge> edgesView;
 	/**
 	 * 
 	 */
 	private IBoardGraph topology;
+	/**
+	 * Shared immutable tile data for the current layout
+	 */
+	private SharedBoard shared;
 	/**
 	 * Tile ID where the robber is currently located
 	 */
 	private int robberTileID;
+	/**
+	 * Per-node expected production, kept in step with the robber
+	 */
+	private NodeProductionTable productionTable;
+	/**
+	 * Per-player owned nodes and edges, maintained by the nodes and edges themselves
+	 */
+	private OwnershipIndex ownership;
 
 	/**
-	 * Constructor for Board
+	 * Constructor for Board using the fixed standard layout
+	 * (repeated to cover topologies larger than the standard board)
 	 * 
 	 * @param topology Board topology defining node and edge adjacencies
 	 */
 	public Board(IBoardGraph topology) {
+		this(topology, BoardLayout.tiled(topology.getTileCount()));
+	}
+
+	/**
+	 * Constructor for Board with an explicit tile layout (e.g. from BoardGenerator)
+	 * 
+	 * @param topology Board topology defining node and edge adjacencies
+	 * @param layout Tile types and number tokens per tile ID
+	 */
+	public Board(IBoardGraph topology, BoardLayout layout) {
+		this(SharedBoard.of(topology, layout));
+	}
+
+	/**
+	 * Constructor for Board over shared immutable tile data
+	 * 
+	 * @param shared Topology, layout and tiles shared with other boards
+	 */
+	public Board(SharedBoard shared) {
+		IBoardGraph topology = shared.getTopology();
+		BoardLayout layout = shared.getLayout();
 		this.topology = topology;
-		this.tiles = new HashMap<>();
-		this.nodes = new HashMap<>();
-		this.edges = new HashMap<>();
-		this.robberTileID = 11; // Desert tile
+		this.shared = shared;
+		this.tiles = shared.tileArray();
+		this.tilesView = shared.getTiles();
+		this.nodes = new Node[topology.getNodeCount()];
+		this.edges = new Edge[topology.getEdgeCount()];
+		this.robberTileID = layout.getDesertTile();
 		initializeBoard();
 	}
 
 	/**
-	 * Initialize the board with a hardcoded valid Catan configuration
-	 * Creates 19 tiles, 54 nodes, and 72 edges
+	 * Initialize the board
+	 * Creates one empty node and edge per topology ID; tiles are shared
 	 */
 	private void initializeBoard() {
-		// Initialize tiles with standard Catan distribution
-		// 4 WHEAT, 4 SHEEP, 4 WOOD, 3 BRICK, 3 ORE, 1 DESERT
-		// Number tokens: 2-12 (excluding 7), with standard frequency
-
-		// Center tile
-		tiles.put(0, new HexTile(0, TileType.WHEAT, 6));
-
-		// Inner ring (6 tiles)
-		tiles.put(1, new HexTile(1, TileType.WOOD, 3));
-		tiles.put(2, new HexTile(2, TileType.BRICK, 8));
-		tiles.put(3, new HexTile(3, TileType.SHEEP, 4));
-		tiles.put(4, new HexTile(4, TileType.ORE, 9));
-		tiles.put(5, new HexTile(5, TileType.WHEAT, 5));
-		tiles.put(6, new HexTile(6, TileType.SHEEP, 10));
-
-		// Outer ring (12 tiles)
-		tiles.put(7, new HexTile(7, TileType.WOOD, 11));
-		tiles.put(8, new HexTile(8, TileType.WHEAT, 12));
-		tiles.put(9, new HexTile(9, TileType.SHEEP, 2));
-		tiles.put(10, new HexTile(10, TileType.BRICK, 6));
-		tiles.put(11, new HexTile(11, TileType.DESERT, 0)); // Desert has no token
-		tiles.put(12, new HexTile(12, TileType.ORE, 3));
-		tiles.put(13, new HexTile(13, TileType.WOOD, 8));
-		tiles.put(14, new HexTile(14, TileType.BRICK, 4));
-		tiles.put(15, new HexTile(15, TileType.SHEEP, 5));
-		tiles.put(16, new HexTile(16, TileType.WOOD, 9));
-		tiles.put(17, new HexTile(17, TileType.ORE, 10));
-		tiles.put(18, new HexTile(18, TileType.WHEAT, 11));
-
-		// Initialize all 54 nodes as empty
-		for (int i = 0; i < 54; i++) {
-			nodes.put(i, new Node(i));
+		this.ownership = new OwnershipIndex(nodes.length, edges.length);
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new Node(i);
+			nodes[i].setIndex(ownership);
+		}
+
+		for (int i = 0; i < edges.length; i++) {
+			edges[i] = new Edge(i);
+			edges[i].setIndex(ownership);
 		}
 
-		// Initialize all 72 edges as empty
-		for (int i = 0; i < 72; i++) {
-			edges.put(i, new Edge(i));
+		this.nodesView = Collections.unmodifiableList(Arrays.asList(nodes));
+		this.edgesView = Collections.unmodifiableList(Arrays.asList(edges));
+		this.productionTable = new NodeProductionTable(topology, tiles, nodes.length, robberTileID);
+	}
+
+	/**
+	 * Clear the board in place for a new game: every node and edge empty and the robber on
+	 * the layout's desert. The topology is kept; the layout may change.
+	 * 
+	 * @param layout Tile layout for the next game (same tile count as the topology)
+	 */
+	public void reset(BoardLayout layout) {
+		if (!layout.equals(shared.getLayout())) {
+			SharedBoard next = SharedBoard.of(topology, layout);
+			this.shared = next;
+			this.tiles = next.tileArray();
+			this.tilesView = next.getTiles();
+		}
+		for (Node node : nodes) {
+			node.clear();
 		}
+		for (Edge edge : edges) {
+			edge.clear();
+		}
+		ownership.clear();
+		this.robberTileID = layout.getDesertTile();
+		productionTable.reset(tiles, robberTileID);
+	}
+
+	/**
+	 * Get the shared immutable tile data for the current layout
+	 * 
+	 * @return The board's SharedBoard
+	 */
+	public SharedBoard getSharedBoard() {
+		return shared;
+	}
+
+	/**
+	 * Get the layout the board is currently playing
+	 * 
+	 * @return The tile layout
+	 */
+	public BoardLayout getLayout() {
+		return shared.getLayout();
 	}
 
 	/**
@@ -99,7 +159,7 @@ public class Board {
 	 * @return The Node object, or null if not found
 	 */
 	public Node getNode(int nodeID) {
-		return nodes.get(nodeID);
+		return nodeID >= 0 && nodeID < nodes.length ? nodes[nodeID] : null;
 	}
 
 	/**
@@ -109,7 +169,7 @@ public class Board {
 	 * @return The Edge object, or null if not found
 	 */
 	public Edge getEdge(int edgeID) {
-		return edges.get(edgeID);
+		return edgeID >= 0 && edgeID < edges.length ? edges[edgeID] : null;
 	}
 
 	/**
@@ -119,7 +179,7 @@ public class Board {
 	 * @return The HexTile object, or null if not found
 	 */
 	public HexTile getTile(int tileID) {
-		return tiles.get(tileID);
+		return tileID >= 0 && tileID < tiles.length ? tiles[tileID] : null;
 	}
 
 	/**
@@ -128,7 +188,7 @@ public class Board {
 	 * @return Collection of all HexTiles
 	 */
 	public Collection<HexTile> getAllTiles() {
-		return tiles.values();
+		return tilesView;
 	}
 
 	/**
@@ -137,7 +197,7 @@ public class Board {
 	 * @return Collection of all Nodes
 	 */
 	public Collection<Node> getAllNodes() {
-		return nodes.values();
+		return nodesView;
 	}
 
 	/**
@@ -146,7 +206,7 @@ public class Board {
 	 * @return Collection of all Edges
 	 */
 	public Collection<Edge> getAllEdges() {
-		return edges.values();
+		return edgesView;
 	}
 
 	/**
@@ -174,5 +234,24 @@ public class Board {
 	 */
 	public void setRobberLocation(int tileID) {
 		this.robberTileID = tileID;
+		productionTable.moveRobber(tileID);
+	}
+
+	/**
+	 * Get the per-node production table (reflects the current robber location)
+	 * 
+	 * @return The board's NodeProductionTable
+	 */
+	public NodeProductionTable getProductionTable() {
+		return productionTable;
+	}
+
+	/**
+	 * Get the per-player index of owned nodes and edges
+	 * 
+	 * @return The board's OwnershipIndex
+	 */
+	public OwnershipIndex getOwnership() {
+		return ownership;
 	}
 }
@@ -0,0 +1,298 @@
+package com.mycompany.app;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of randomized, fair board layouts for the standard 19-tile board.
+ *
+ * Constraints (each can be relaxed through the constructor):
+ * - no two adjacent tiles carry red tokens (6 or 8)
+ * - no two adjacent tiles share a resource type
+ * - average pips per tile of the richest and poorest resource differ by at most maxPipImbalance
+ *
+ * Tile types are placed by randomized backtracking that never creates a same-resource pair,
+ * red tokens are dropped onto mutually non-adjacent tiles first, and the pip bound is enforced
+ * by rejection. Everything works on primitive arrays, so a single thread generates hundreds
+ * of thousands of valid layouts per second.
+ */
+public class BoardGenerator {
+
+    private static final TileType[] TYPE_ORDER = {
+            TileType.WOOD, TileType.BRICK, TileType.WHEAT, TileType.SHEEP, TileType.ORE, TileType.DESERT
+    };
+    private static final int[] TYPE_COUNTS = {4, 3, 4, 4, 3, 1};
+    private static final int DESERT = 5;
+    private static final int[] RED_TOKENS = {6, 6, 8, 8};
+    private static final int[] OTHER_TOKENS = {2, 3, 3, 4, 4, 5, 5, 9, 9, 10, 10, 11, 11, 12};
+    private static final int TILE_COUNT = 19;
+    private static final int MAX_TOKEN_ATTEMPTS = 64;
+
+    private final int[][] tileNeighbors;
+    private final boolean separateRedTokens;
+    private final boolean separateResources;
+    private final double maxPipImbalance;
+
+    // Scratch state reused across calls (a generator is not thread-safe; use one per thread)
+    private final int[] typeIdx = new int[TILE_COUNT];
+    private final int[] tokens = new int[TILE_COUNT];
+    private final int[] remainingTypes = new int[TYPE_COUNTS.length];
+    private final int[] scratchTiles = new int[TILE_COUNT];
+    private final int[] scratchTokens = new int[OTHER_TOKENS.length];
+
+    /**
+     * Generator with all fairness constraints and a pip-imbalance bound of 1.0.
+     * @param topology standard 19-tile board topology
+     */
+    public BoardGenerator(IBoardGraph topology) {
+        this(topology, true, true, 1.0);
+    }
+
+    /**
+     * @param topology standard 19-tile board topology
+     * @param separateRedTokens forbid adjacent 6/8 tokens
+     * @param separateResources forbid adjacent tiles of the same resource
+     * @param maxPipImbalance bound on (max - min) average pips per tile across resources;
+     *                        Double.POSITIVE_INFINITY disables the check
+     */
+    public BoardGenerator(IBoardGraph topology, boolean separateRedTokens, boolean separateResources,
+                          double maxPipImbalance) {
+        this.tileNeighbors = computeTileNeighbors(topology, TILE_COUNT);
+        this.separateRedTokens = separateRedTokens;
+        this.separateResources = separateResources;
+        this.maxPipImbalance = maxPipImbalance;
+    }
+
+    /**
+     * Generate the layout for a seed; the same seed always yields the same layout.
+     */
+    public BoardLayout generate(long seed) {
+        return generate(new SplittableRandom(seed));
+    }
+
+    /**
+     * Generate the next layout from a caller-owned random stream.
+     */
+    public BoardLayout generate(SplittableRandom rng) {
+        while (true) {
+            if (!assignTypes(rng)) {
+                continue;
+            }
+            for (int attempt = 0; attempt < MAX_TOKEN_ATTEMPTS; attempt++) {
+                if (assignTokens(rng) && pipImbalance() <= maxPipImbalance) {
+                    return toLayout();
+                }
+            }
+        }
+    }
+
+    /**
+     * Check a layout against this generator's constraints.
+     */
+    public boolean isValid(BoardLayout layout) {
+        for (int t = 0; t < TILE_COUNT; t++) {
+            for (int n : tileNeighbors[t]) {
+                if (separateResources && layout.getType(t) != TileType.DESERT
+                        && layout.getType(t) == layout.getType(n)) {
+                    return false;
+                }
+                if (separateRedTokens && isRed(layout.getToken(t)) && isRed(layout.getToken(n))) {
+                    return false;
+                }
+            }
+        }
+        return pipImbalance(layout) <= maxPipImbalance;
+    }
+
+    /**
+     * (max - min) over resources of average pips per tile of that resource.
+     */
+    public static double pipImbalance(BoardLayout layout) {
+        int[] pipSum = new int[DESERT];
+        int[] tileCount = new int[DESERT];
+        for (int t = 0; t < layout.getTileCount(); t++) {
+            int type = typeIndex(layout.getType(t));
+            if (type == DESERT) {
+                continue;
+            }
+            pipSum[type] += BoardLayout.pips(layout.getToken(t));
+            tileCount[type]++;
+        }
+        return spread(pipSum, tileCount);
+    }
+
+    /**
+     * Randomized backtracking over tiles in ID order.
+     */
+    private boolean assignTypes(SplittableRandom rng) {
+        System.arraycopy(TYPE_COUNTS, 0, remainingTypes, 0, TYPE_COUNTS.length);
+        return placeType(0, rng);
+    }
+
+    private boolean placeType(int tile, SplittableRandom rng) {
+        if (tile == TILE_COUNT) {
+            return true;
+        }
+        // Try candidate types starting from a random offset, weighted by remaining copies
+        int total = 0;
+        for (int c : remainingTypes) {
+            total += c;
+        }
+        int pick = rng.nextInt(total);
+        int start = 0;
+        while (pick >= remainingTypes[start]) {
+            pick -= remainingTypes[start];
+            start++;
+        }
+        for (int k = 0; k < remainingTypes.length; k++) {
+            int type = (start + k) % remainingTypes.length;
+            if (remainingTypes[type] == 0 || !typeFits(tile, type)) {
+                continue;
+            }
+            typeIdx[tile] = type;
+            remainingTypes[type]--;
+            if (placeType(tile + 1, rng)) {
+                return true;
+            }
+            remainingTypes[type]++;
+        }
+        return false;
+    }
+
+    private boolean typeFits(int tile, int type) {
+        if (!separateResources || type == DESERT) {
+            return true;
+        }
+        for (int n : tileNeighbors[tile]) {
+            if (n < tile && typeIdx[n] == type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Red tokens first on mutually non-adjacent producing tiles, then a shuffle of the rest.
+     */
+    private boolean assignTokens(SplittableRandom rng) {
+        int producing = 0;
+        for (int t = 0; t < TILE_COUNT; t++) {
+            tokens[t] = 0;
+            if (typeIdx[t] != DESERT) {
+                scratchTiles[producing++] = t;
+            }
+        }
+        shuffle(scratchTiles, producing, rng);
+
+        int placedRed = 0;
+        int free = 0;
+        for (int i = 0; i < producing; i++) {
+            int t = scratchTiles[i];
+            if (placedRed < RED_TOKENS.length && (!separateRedTokens || !hasRedNeighbor(t))) {
+                tokens[t] = RED_TOKENS[placedRed++];
+            } else {
+                scratchTiles[free++] = t;
+            }
+        }
+        if (placedRed < RED_TOKENS.length) {
+            return false;
+        }
+
+        System.arraycopy(OTHER_TOKENS, 0, scratchTokens, 0, OTHER_TOKENS.length);
+        shuffle(scratchTokens, scratchTokens.length, rng);
+        for (int i = 0; i < free; i++) {
+            tokens[scratchTiles[i]] = scratchTokens[i];
+        }
+        return true;
+    }
+
+    private boolean hasRedNeighbor(int tile) {
+        for (int n : tileNeighbors[tile]) {
+            if (isRed(tokens[n])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double pipImbalance() {
+        int[] pipSum = new int[DESERT];
+        int[] tileCount = new int[DESERT];
+        for (int t = 0; t < TILE_COUNT; t++) {
+            int type = typeIdx[t];
+            if (type == DESERT) {
+                continue;
+            }
+            pipSum[type] += BoardLayout.pips(tokens[t]);
+            tileCount[type]++;
+        }
+        return spread(pipSum, tileCount);
+    }
+
+    private static double spread(int[] pipSum, int[] tileCount) {
+        double min = Double.MAX_VALUE;
+        double max = 0.0;
+        for (int r = 0; r < pipSum.length; r++) {
+            if (tileCount[r] == 0) {
+                continue;
+            }
+            double avg = (double) pipSum[r] / tileCount[r];
+            min = Math.min(min, avg);
+            max = Math.max(max, avg);
+        }
+        return min == Double.MAX_VALUE ? 0.0 : max - min;
+    }
+
+    private BoardLayout toLayout() {
+        TileType[] types = new TileType[TILE_COUNT];
+        for (int t = 0; t < TILE_COUNT; t++) {
+            types[t] = TYPE_ORDER[typeIdx[t]];
+        }
+        return new BoardLayout(types, tokens);
+    }
+
+    private static void shuffle(int[] values, int length, SplittableRandom rng) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static boolean isRed(int token) {
+        return token == 6 || token == 8;
+    }
+
+    private static int typeIndex(TileType type) {
+        for (int i = 0; i < TYPE_ORDER.length; i++) {
+            if (TYPE_ORDER[i] == type) {
+                return i;
+            }
+        }
+        return DESERT;
+    }
+
+    /**
+     * Two tiles are neighbours when they share an edge, i.e. the edge borders both.
+     */
+    static int[][] computeTileNeighbors(IBoardGraph topology, int tileCount) {
+        int[][] found = new int[tileCount][6];
+        int[] counts = new int[tileCount];
+        for (int e = 0; e < topology.getEdgeCount(); e++) {
+            int[] tiles = topology.getEdgeTiles(e);
+            if (tiles.length == 2) {
+                int a = tiles[0];
+                int b = tiles[1];
+                found[a][counts[a]++] = b;
+                found[b][counts[b]++] = a;
+            }
+        }
+        int[][] neighbors = new int[tileCount][];
+        for (int t = 0; t < tileCount; t++) {
+            neighbors[t] = Arrays.copyOf(found[t], counts[t]);
+            Arrays.sort(neighbors[t]);
+        }
+        return neighbors;
+    }
+}
@@ -0,0 +1,126 @@
+package com.mycompany.app;
+
+import java.util.Arrays;
+
+/**
+ * Immutable assignment of tile types and number tokens to tile IDs.
+ * Board builds its HexTiles from a layout; BoardGenerator produces randomized ones.
+ */
+public final class BoardLayout {
+
+    private final TileType[] types;
+    private final int[] tokens;
+
+    /**
+     * @param types tile type per tile ID
+     * @param tokens number token per tile ID (0 for desert)
+     */
+    public BoardLayout(TileType[] types, int[] tokens) {
+        if (types.length != tokens.length) {
+            throw new IllegalArgumentException("Layout needs one token per tile, got "
+                    + types.length + " types and " + tokens.length + " tokens");
+        }
+        this.types = types.clone();
+        this.tokens = tokens.clone();
+    }
+
+    /**
+     * The fixed beginner layout used before randomized boards existed (desert on tile 11).
+     */
+    public static BoardLayout standard() {
+        return new BoardLayout(
+                new TileType[]{
+                        // Center tile
+                        TileType.WHEAT,
+                        // Inner ring (6 tiles)
+                        TileType.WOOD, TileType.BRICK, TileType.SHEEP, TileType.ORE, TileType.WHEAT, TileType.SHEEP,
+                        // Outer ring (12 tiles)
+                        TileType.WOOD, TileType.WHEAT, TileType.SHEEP, TileType.BRICK, TileType.DESERT, TileType.ORE,
+                        TileType.WOOD, TileType.BRICK, TileType.SHEEP, TileType.WOOD, TileType.ORE, TileType.WHEAT
+                },
+                new int[]{
+                        6,
+                        3, 8, 4, 9, 5, 10,
+                        11, 12, 2, 6, 0, 3, 8, 4, 5, 9, 10, 11
+                });
+    }
+
+    /**
+     * The standard layout repeated tile by tile to fill any number of tiles
+     * (equal to standard() for 19); used for enlarged and stress-test boards.
+     */
+    public static BoardLayout tiled(int tileCount) {
+        BoardLayout standard = standard();
+        TileType[] types = new TileType[tileCount];
+        int[] tokens = new int[tileCount];
+        for (int t = 0; t < tileCount; t++) {
+            types[t] = standard.types[t % standard.types.length];
+            tokens[t] = standard.tokens[t % standard.tokens.length];
+        }
+        return new BoardLayout(types, tokens);
+    }
+
+    public int getTileCount() {
+        return types.length;
+    }
+
+    public TileType getType(int tileID) {
+        return types[tileID];
+    }
+
+    public int getToken(int tileID) {
+        return tokens[tileID];
+    }
+
+    /**
+     * @return ID of the first desert tile (robber start), or 0 if there is none
+     */
+    public int getDesertTile() {
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == TileType.DESERT) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Probability weight of a number token in 36ths ("pips"): 6 and 8 are 5, 2 and 12 are 1.
+     */
+    public static int pips(int token) {
+        if (token < 2 || token > 12 || token == 7) {
+            return 0;
+        }
+        return 6 - Math.abs(7 - token);
+    }
+
+    /**
+     * Compact, stable text key for this layout (tile type ordinal + token in hex per tile),
+     * safe to use in file names and as a cache key across runs.
+     */
+    public String key() {
+        StringBuilder sb = new StringBuilder(types.length * 2);
+        for (int t = 0; t < types.length; t++) {
+            sb.append(Character.forDigit(types[t].ordinal(), 16));
+            sb.append(Character.forDigit(tokens[t], 16));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BoardLayout)) {
+            return false;
+        }
+        BoardLayout other = (BoardLayout) o;
+        return Arrays.equals(types, other.types) && Arrays.equals(tokens, other.tokens);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(types) + Arrays.hashCode(tokens);
+    }
+}
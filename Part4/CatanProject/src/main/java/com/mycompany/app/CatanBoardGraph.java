@@ -6,7 +6,7 @@ import java.util.Map;
 /**
  * Hardcoded topology for a standard Catan board.
  * Matches the node/edge/tile topology computed by the Python visualizer
- * (base_map.json tile order = GameStateObserver.TILE_COORDS).
+ * (base_map.json tile order); HexGridGraph.hexagon(2) generates the same IDs.
  *
  * Board structure:
  * - 19 tiles: 0 (center), 1-6 (inner ring), 7-18 (outer ring)
@@ -26,6 +26,9 @@ public class CatanBoardGraph implements IBoardGraph {
     // Tile-to-node map: tile ID -> 6 surrounding node IDs [N, NE, SE, S, SW, NW]
     private final Map<Integer, int[]> tileNodes;
 
+    // Derived tables (edge line graph, reverse adjacency), built once after the base maps
+    private final TopologyIndex index;
+
     /**
      * Constructor initializes the hardcoded Catan board topology
      */
@@ -36,6 +39,7 @@ public class CatanBoardGraph implements IBoardGraph {
         this.tileNodes = new HashMap<>();
 
         initializeTopology();
+        this.index = new TopologyIndex(this);
     }
 
     /**
@@ -270,4 +274,44 @@ public class CatanBoardGraph implements IBoardGraph {
     public int[] getTileNodes(int tileID) {
         return tileNodes.getOrDefault(tileID, new int[]{});
     }
+
+    @Override
+    public int getNodeCount() {
+        return nodeAdjacencies.size();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeEndpoints.size();
+    }
+
+    @Override
+    public int getTileCount() {
+        return tileNodes.size();
+    }
+
+    @Override
+    public int[] getEdgeNeighbors(int edgeID) {
+        return index.getEdgeNeighbors(edgeID);
+    }
+
+    @Override
+    public long[] getEdgesWithinTwo(int edgeID) {
+        return index.getEdgesWithinTwo(edgeID);
+    }
+
+    @Override
+    public int[] getNodeTiles(int nodeID) {
+        return index.getNodeTiles(nodeID);
+    }
+
+    @Override
+    public int[] getEdgeTiles(int edgeID) {
+        return index.getEdgeTiles(edgeID);
+    }
+
+    @Override
+    public int getEdgeBetween(int v1, int v2) {
+        return index.getEdgeBetween(v1, v2);
+    }
 }
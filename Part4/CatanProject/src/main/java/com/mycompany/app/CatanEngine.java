@@ -5,7 +5,12 @@
 package com.mycompany.app;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import com.mycompany.app.events.GameEvent;
+import com.mycompany.app.events.GameEventBus;
 import com.mycompany.app.services.BuildingService;
 import com.mycompany.app.services.ResourceDistributor;
 import com.mycompany.app.validators.RoadValidator;
@@ -29,6 +34,10 @@ public class CatanEngine implements IGameController {
 	 * List of players in the game
 	 */
 	private List<Player> players;
+	/**
+	 * Players indexed by player ID (null where no player has that ID)
+	 */
+	private Player[] playersById = new Player[0];
 	/**
 	 * Validator for settlement placement
 	 */
@@ -46,9 +55,13 @@ public class CatanEngine implements IGameController {
 	 */
 	private BuildingService buildingService;
 	/**
-	 * List of observers
+	 * List of observers (copy-on-write so observers may attach/detach during dispatch)
 	 */
 	private List<IObserver> observers;
+	/**
+	 * Typed event bus for incremental listeners
+	 */
+	private final GameEventBus eventBus;
 
 	/**
 	 * Constructor for CatanEngine
@@ -69,7 +82,8 @@ public class CatanEngine implements IGameController {
 		this.buildingService = new BuildingService(board, settlementValidator, roadValidator);
 
 		// Initialize observers
-		this.observers = new ArrayList<>();
+		this.observers = new CopyOnWriteArrayList<>();
+		this.eventBus = new GameEventBus();
 	}
 
 	/**
@@ -77,16 +91,79 @@ public class CatanEngine implements IGameController {
 	 * @param players List of players
 	 */
 	public void setPlayers(List<Player> players) {
+		int maxID = -1;
+		for (Player player : players) {
+			if (player.getPlayerID() < 0) {
+				throw new IllegalArgumentException("Player IDs must be non-negative: " + player.getPlayerID());
+			}
+			maxID = Math.max(maxID, player.getPlayerID());
+		}
+		Player[] byId = new Player[maxID + 1];
+		for (Player player : players) {
+			if (byId[player.getPlayerID()] != null) {
+				throw new IllegalArgumentException("Duplicate player ID " + player.getPlayerID());
+			}
+			byId[player.getPlayerID()] = player;
+		}
 		this.players = players;
+		this.playersById = byId;
+		notifyObservers();
+	}
+
+	/**
+	 * Start a new game on this engine, reusing the board, validators, services and players:
+	 * clears occupancy, hands, VP and the robber, switches to the given layout and reseeds.
+	 * Listeners stay attached and receive a RESET event.
+	 * @param seed Game seed, expanded as in reseed(long)
+	 * @param layout Tile layout for the new game (same topology)
+	 */
+	public void reset(long seed, BoardLayout layout) {
+		board.reset(layout);
+		for (Player player : players) {
+			player.reset();
+		}
+		reseed(seed);
+		publish(GameEvent.reset());
 		notifyObservers();
 	}
 
+	/**
+	 * Seed dice, robber and computer players from one game seed, in that order
+	 * (one draw per seated player), so a game is reproducible from its seed alone
+	 * @param seed Game seed
+	 */
+	public void reseed(long seed) {
+		SplittableRandom seeds = new SplittableRandom(seed);
+		long diceSeed = seeds.nextLong();
+		if (dice instanceof StandardDice) {
+			((StandardDice) dice).setSeed(diceSeed);
+		}
+		resourceDistributor.setSeed(seeds.nextLong());
+		for (Player player : players) {
+			long playerSeed = seeds.nextLong();
+			if (player instanceof ComputerPlayer) {
+				((ComputerPlayer) player).setSeed(playerSeed);
+			}
+		}
+	}
+
 	/**
 	 * Roll the dice
 	 * @return The dice roll result (2-12)
 	 */
 	public int rollDice() {
-		return dice.roll();
+		return rollDice(GameEvent.NO_PLAYER);
+	}
+
+	/**
+	 * Roll the dice on behalf of a player and publish a ROLL event
+	 * @param playerID The rolling player
+	 * @return The dice roll result (2-12)
+	 */
+	public int rollDice(int playerID) {
+		int roll = dice.roll();
+		publish(GameEvent.roll(playerID, roll));
+		return roll;
 	}
 
 	/**
@@ -96,6 +173,9 @@ public class CatanEngine implements IGameController {
 	 */
 	public void distributeResources(int diceRoll, List<Player> players) {
 		resourceDistributor.distribute(diceRoll, players);
+		if (diceRoll != 7) {
+			publish(GameEvent.production(diceRoll));
+		}
 		notifyObservers();
 	}
 
@@ -109,15 +189,7 @@ public class CatanEngine implements IGameController {
 	 * Get total buildings for a player
 	 */
 	private int getTotalBuildings(int playerID) {
-		int count = 0;
-		for (Node node : board.getAllNodes()) {
-			if (node.getOccupant() != null &&
-			    node.getOccupant().getPlayerID() == playerID &&
-			    node.getType() != BuildingType.NONE) {
-				count++;
-			}
-		}
-		return count;
+		return board.getOwnership().getNodeCount(playerID);
 	}
 
 	@Override
@@ -125,6 +197,29 @@ public class CatanEngine implements IGameController {
 		return roadValidator.getValidLocations(playerID);
 	}
 
+	/**
+	 * Whether the player may build a road on the edge (same rule as getValidRoadLocations)
+	 */
+	public boolean isValidRoadLocation(int playerID, int edgeID) {
+		return roadValidator.isValid(playerID, edgeID);
+	}
+
+	/**
+	 * Append the player's valid settlement locations to the buffer as encoded moves (same order
+	 * as getValidSettlementLocations, no allocation)
+	 */
+	public void addValidSettlementMoves(int playerID, MoveBuffer moves) {
+		settlementValidator.addValidMoves(playerID, getTotalBuildings(playerID) == 0, moves);
+	}
+
+	/**
+	 * Append the player's valid road locations to the buffer as encoded moves (same order as
+	 * getValidRoadLocations, no allocation)
+	 */
+	public void addValidRoadMoves(int playerID, MoveBuffer moves) {
+		roadValidator.addValidMoves(playerID, moves);
+	}
+
 	@Override
 	public boolean requestBuildSettlement(int playerID, int nodeID) {
 		Player player = getPlayer(playerID);
@@ -132,6 +227,7 @@ public class CatanEngine implements IGameController {
 		boolean isInitialPlacement = getTotalBuildings(playerID) == 0;
 		boolean success = buildingService.buildSettlement(playerID, nodeID, player, isInitialPlacement);
 		if (success) {
+			publish(GameEvent.build(playerID, BuildingType.SETTLEMENT, nodeID));
 			notifyObservers();
 		}
 		return success;
@@ -143,6 +239,7 @@ public class CatanEngine implements IGameController {
 		if (player == null) return false;
 		boolean success = buildingService.buildRoad(playerID, edgeID, player);
 		if (success) {
+			publish(GameEvent.build(playerID, BuildingType.ROAD, edgeID));
 			notifyObservers();
 		}
 		return success;
@@ -159,23 +256,66 @@ public class CatanEngine implements IGameController {
 		if (player == null) return false;
 		boolean success = buildingService.buildCity(playerID, nodeID, player);
 		if (success) {
+			publish(GameEvent.build(playerID, BuildingType.CITY, nodeID));
 			notifyObservers();
 		}
 		return success;
 	}
 
 	/**
-	 * Get a player by ID
+	 * Take back a road built this turn (undo): clears the edge, refunds its cost and publishes
+	 * UNBUILD
+	 * @param player Player who built it
+	 * @param edgeID Edge location
+	 */
+	public void undoBuildRoad(Player player, int edgeID) {
+		board.getEdge(edgeID).setOccupant(null);
+		refund(player, BuildingCost.ROAD);
+		publish(GameEvent.unbuild(player.getPlayerID(), BuildingType.ROAD, edgeID));
+		notifyObservers();
+	}
+
+	/**
+	 * Take back a settlement built this turn (undo): clears the node, removes its VP, refunds its
+	 * cost and publishes UNBUILD
+	 * @param player Player who built it
+	 * @param nodeID Node location
+	 */
+	public void undoBuildSettlement(Player player, int nodeID) {
+		board.getNode(nodeID).setOccupant(null, BuildingType.NONE);
+		player.addVictoryPoints(-1);
+		refund(player, BuildingCost.SETTLEMENT);
+		publish(GameEvent.unbuild(player.getPlayerID(), BuildingType.SETTLEMENT, nodeID));
+		notifyObservers();
+	}
+
+	/**
+	 * Take back a city upgrade made this turn (undo): restores the settlement, removes the extra
+	 * VP, refunds the cost and publishes UNBUILD
+	 * @param player Player who upgraded
+	 * @param nodeID Node location
+	 */
+	public void undoBuildCity(Player player, int nodeID) {
+		board.getNode(nodeID).setOccupant(player, BuildingType.SETTLEMENT);
+		player.addVictoryPoints(-1);
+		refund(player, BuildingCost.CITY);
+		publish(GameEvent.unbuild(player.getPlayerID(), BuildingType.CITY, nodeID));
+		notifyObservers();
+	}
+
+	private static void refund(Player player, BuildingCost building) {
+		for (Map.Entry<ResourceType, Integer> e : building.getCost().entrySet()) {
+			player.addResource(e.getKey(), e.getValue());
+		}
+	}
+
+	/**
+	 * Get a player by ID (array lookup)
 	 * @param playerID The player's ID
 	 * @return The Player object, or null if not found
 	 */
-	private Player getPlayer(int playerID) {
-		if (players == null) return null;
-
-		return players.stream()
-			.filter(p -> p.getPlayerID() == playerID)
-			.findFirst()
-			.orElse(null);
+	public Player getPlayer(int playerID) {
+		return playerID >= 0 && playerID < playersById.length ? playersById[playerID] : null;
 	}
 
 	/**
@@ -186,6 +326,14 @@ public class CatanEngine implements IGameController {
 		return board;
 	}
 
+	/**
+	 * Get the dice
+	 * @return The dice the engine rolls
+	 */
+	public IRandomDice getDice() {
+		return dice;
+	}
+
 	/**
 	 * Expose resource distribution / robber utilities for orchestration layers (e.g., Simulator).
 	 */
@@ -207,10 +355,47 @@ public class CatanEngine implements IGameController {
 		if (players == null || activePlayer == null) {
 			return;
 		}
+		int[] cardsBefore = null;
+		if (eventBus.hasSubscribers()) {
+			cardsBefore = new int[players.size()];
+			for (int i = 0; i < cardsBefore.length; i++) {
+				cardsBefore[i] = players.get(i).getTotalResourceCards();
+			}
+		}
 		resourceDistributor.handleOverSevenCardsPhase(players);
+		if (cardsBefore != null) {
+			for (int i = 0; i < cardsBefore.length; i++) {
+				int dropped = cardsBefore[i] - players.get(i).getTotalResourceCards();
+				if (dropped > 0) {
+					publish(GameEvent.discard(players.get(i).getPlayerID(), dropped));
+				}
+			}
+		}
 		resourceDistributor.handleRobber(activePlayer);
+		publish(GameEvent.robber(activePlayer.getPlayerID(), board.getRobberLocation()));
 		notifyObservers();
 	}
+
+	/**
+	 * Signal that a player's turn is over (publishes TURN_END)
+	 * @param player The player whose turn ended
+	 */
+	public void endTurn(Player player) {
+		publish(GameEvent.turnEnd(player.getPlayerID()));
+	}
+
+	/**
+	 * Typed event bus; subscribe here for payload-carrying, filterable notifications.
+	 */
+	public GameEventBus getEventBus() {
+		return eventBus;
+	}
+
+	private void publish(GameEvent event) {
+		if (eventBus.hasSubscribers()) {
+			eventBus.publish(event);
+		}
+	}
 	/**
 	 * 
 	 * @param o 
@@ -227,6 +412,13 @@ public class CatanEngine implements IGameController {
 		observers.remove(o);
 	}
 
+	/**
+	 * Whether any observer is attached
+	 */
+	public boolean hasObservers() {
+		return !observers.isEmpty();
+	}
+
 	/**
 	 * 
 	 */
@@ -0,0 +1,337 @@
+package com.mycompany.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, crash-safe journal of interactive games: a start record with each game's seed,
+ * then every successful human command line in order, then a finish record. Many games (e.g.
+ * all sessions of a GameServer) can share one journal.
+ *
+ * Durability uses group commit. append only copies a record into the pending buffer; sync
+ * blocks until that record is on disk. The first waiting thread writes and forces everything
+ * pending while others keep appending, then the next waiter flushes what accumulated in the
+ * meantime, so one fsync covers every command that arrived during the previous one.
+ *
+ * Each record is [payload length][CRC32 of payload][payload]; reading stops at the first
+ * incomplete or damaged record, which is what a crash during a write leaves behind. If a write
+ * or force fails, the file is cut back to the last durable record and the batch is queued again
+ * for the next sync; if even that fails, the journal refuses all further use.
+ */
+public final class CommandJournal implements AutoCloseable {
+
+    private static final byte START = 1;
+    private static final byte COMMAND = 2;
+    private static final byte FINISH = 3;
+    private static final int HEADER_BYTES = 8;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Object lock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(4096);
+    private ByteBuffer writing = ByteBuffer.allocate(4096);
+    /** Records appended, and records known to be on disk */
+    private long appended;
+    private long durable;
+    /** File length up to the last forced record */
+    private long durableBytes;
+    /** Set when a failed write could not be rolled back; the journal is then unusable */
+    private IOException broken;
+    private boolean flushing;
+    private long syncs;
+
+    /**
+     * Open a journal for appending, creating it if needed. A damaged tail left by a crash is
+     * cut off so new records follow the last complete one.
+     */
+    public CommandJournal(Path file) throws IOException {
+        this(file, FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Journal over an already open channel (tests substitute one that fails on demand).
+     */
+    CommandJournal(Path file, FileChannel channel) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        channel.truncate(validLength(channel));
+        this.durableBytes = channel.size();
+        channel.position(durableBytes);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Record the start of a game; replaying its commands requires the same seed.
+     *
+     * @return the record's sequence number, for sync
+     */
+    public long appendStart(long gameID, long seed) {
+        return append(gameID, START, ByteBuffer.allocate(8).putLong(0, seed).array());
+    }
+
+    /**
+     * Record one successful command line of a game.
+     *
+     * @return the record's sequence number, for sync
+     */
+    public long appendCommand(long gameID, String line) {
+        return append(gameID, COMMAND, line.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Record that a game ended; recovery skips finished games.
+     *
+     * @return the record's sequence number, for sync
+     */
+    public long appendFinish(long gameID) {
+        return append(gameID, FINISH, new byte[0]);
+    }
+
+    private long append(long gameID, byte type, byte[] body) {
+        int payload = 9 + body.length;
+        CRC32 crc = new CRC32();
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload);
+        record.putInt(payload).putInt(0).putLong(gameID).put(type).put(body);
+        crc.update(record.array(), HEADER_BYTES, payload);
+        record.putInt(4, (int) crc.getValue());
+        synchronized (lock) {
+            checkUsable();
+            if (pending.remaining() < record.capacity()) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + record.capacity()));
+                pending.flip();
+                grown.put(pending);
+                pending = grown;
+            }
+            pending.put(record.array());
+            return ++appended;
+        }
+    }
+
+    /**
+     * Block until every record up to the sequence number is forced to disk.
+     * @throws UncheckedIOException if the write or force fails (the records stay queued, so a
+     *         later sync retries them) or the journal is unusable
+     */
+    public void sync(long sequence) {
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+            synchronized (lock) {
+                while (durable < sequence && flushing) {
+                    waitForFlush();
+                }
+                if (durable >= sequence) {
+                    return;
+                }
+                checkUsable();
+                flushing = true;
+                batch = pending;
+                pending = writing;
+                pending.clear();
+                writing = batch;
+                upTo = appended;
+            }
+            boolean written = false;
+            IOException failure = null;
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+                written = true;
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                synchronized (lock) {
+                    flushing = false;
+                    if (written) {
+                        durable = upTo;
+                        durableBytes += batch.limit();
+                        syncs++;
+                    } else {
+                        rollBack(batch, failure);
+                    }
+                    lock.notifyAll();
+                }
+            }
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+        }
+    }
+
+    /**
+     * Undo a failed flush: cut off whatever part of the batch reached the file, so no damaged
+     * record is left mid-file, and put the batch back ahead of the records appended since.
+     */
+    private void rollBack(ByteBuffer batch, IOException failure) {
+        try {
+            channel.truncate(durableBytes);
+            channel.position(durableBytes);
+        } catch (IOException e) {
+            if (failure != null) {
+                e.addSuppressed(failure);
+            }
+            broken = e;
+        }
+        batch.position(0);
+        pending.flip();
+        ByteBuffer restored = ByteBuffer.allocate(Math.max(pending.capacity(), batch.remaining() + pending.remaining()));
+        restored.put(batch).put(pending);
+        pending = restored;
+    }
+
+    private void checkUsable() {
+        if (broken != null) {
+            throw new UncheckedIOException("journal could not recover from a failed write", broken);
+        }
+    }
+
+    /**
+     * Number of forces so far (each may have covered many records).
+     */
+    public long getSyncCount() {
+        synchronized (lock) {
+            return syncs;
+        }
+    }
+
+    private void waitForFlush() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted waiting for the journal", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        long last;
+        synchronized (lock) {
+            last = appended;
+        }
+        try {
+            sync(last);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * A game as recorded in a journal.
+     */
+    public static final class Game {
+        private final long gameID;
+        private final long seed;
+        private final List<String> commands = new ArrayList<>();
+        private boolean finished;
+
+        Game(long gameID, long seed) {
+            this.gameID = gameID;
+            this.seed = seed;
+        }
+
+        public long getGameID() {
+            return gameID;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Successful command lines in the order they were played.
+         */
+        public List<String> getCommands() {
+            return Collections.unmodifiableList(commands);
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+    }
+
+    /**
+     * Read every game in a journal file (in start order); a missing file has none.
+     */
+    public static Map<Long, Game> read(Path file) throws IOException {
+        Map<Long, Game> games = new LinkedHashMap<>();
+        if (!Files.exists(file)) {
+            return games;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        int end = validLength(in);
+        while (in.position() < end) {
+            int payload = in.getInt();
+            in.getInt();
+            long gameID = in.getLong();
+            byte type = in.get();
+            byte[] body = new byte[payload - 9];
+            in.get(body);
+            if (type == START) {
+                games.put(gameID, new Game(gameID, ByteBuffer.wrap(body).getLong()));
+                continue;
+            }
+            Game game = games.get(gameID);
+            if (game == null) {
+                continue;
+            }
+            if (type == COMMAND) {
+                game.commands.add(new String(body, StandardCharsets.UTF_8));
+            } else if (type == FINISH) {
+                game.finished = true;
+            }
+        }
+        return games;
+    }
+
+    private static long validLength(FileChannel channel) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate((int) channel.size());
+        channel.position(0);
+        while (in.hasRemaining() && channel.read(in) >= 0) {
+            // read to the end
+        }
+        in.flip();
+        return validLength(in);
+    }
+
+    /**
+     * Length of the prefix made of complete records with matching checksums.
+     */
+    private static int validLength(ByteBuffer in) {
+        int start = in.position();
+        int position = start;
+        CRC32 crc = new CRC32();
+        while (in.limit() - position >= HEADER_BYTES) {
+            int payload = in.getInt(position);
+            if (payload < 9 || in.limit() - position - HEADER_BYTES < payload) {
+                break;
+            }
+            crc.reset();
+            crc.update(in.duplicate().limit(position + HEADER_BYTES + payload).position(position + HEADER_BYTES));
+            if ((int) crc.getValue() != in.getInt(position + 4)) {
+                break;
+            }
+            position += HEADER_BYTES + payload;
+        }
+        return position - start;
+    }
+}
@@ -0,0 +1,485 @@
+package com.mycompany.app;
+
+import com.mycompany.app.services.BuildingService;
+
+/**
+ * A RandomAgent game held in a few small primitive arrays, for running very many games at once.
+ *
+ * Everything that is the same for every game on a board (tiles, tokens, topology and its derived
+ * tables) lives in the shared SharedBoard; a CompactGame keeps only who owns each node and edge,
+ * the hands, per-seat counters, the robber, the round and a SplitMix64 state. On the standard
+ * board with four seats that is roughly 300 bytes.
+ *
+ * The rules match HeadlessGame with RandomAgents (snake-draft setup with the Simulator bundle,
+ * 7s with discard/robber/steal, up to 10 uniformly chosen builds per turn, piece limits), but
+ * the random stream is the game's own, so results are reproducible per seed without being
+ * bit-identical to the object engine.
+ */
+public final class CompactGame {
+
+    public static final int TARGET_VP = HeadlessGame.TARGET_VP;
+
+    private static final int RESOURCES = 5;
+    private static final int LUMBER = ResourceType.LUMBER.ordinal();
+    private static final int BRICK = ResourceType.BRICK.ordinal();
+    private static final int GRAIN = ResourceType.GRAIN.ordinal();
+    private static final int WOOL = ResourceType.WOOL.ordinal();
+    private static final int ORE = ResourceType.ORE.ordinal();
+
+    private static final int MAX_SETTLEMENTS = BuildingService.MAX_SETTLEMENTS;
+    private static final int MAX_CITIES = BuildingService.MAX_CITIES;
+    private static final int MAX_ROADS = BuildingService.MAX_ROADS;
+    private static final int MAX_BUILDS_PER_TURN = 10;
+
+    private static final int CITY_BIT = 0x80;
+    private static final int SEAT_MASK = 0x7F;
+
+    private static final int VP = 0;
+    private static final int SETTLEMENTS = 1;
+    private static final int CITIES = 2;
+    private static final int ROADS = 3;
+    private static final int COUNTERS = 4;
+
+    private final SharedBoard shared;
+    /** 0 = empty, otherwise seat + 1, with CITY_BIT set for a city */
+    private final byte[] nodes;
+    /** 0 = empty, otherwise seat + 1 */
+    private final byte[] edges;
+    /** seat * RESOURCES + resource ordinal */
+    private final short[] hands;
+    /** seat * COUNTERS + VP / SETTLEMENTS / CITIES / ROADS */
+    private final byte[] seatState;
+    private final int maxRounds;
+    private int robberTile;
+    private int round;
+    private long rng;
+
+    /**
+     * @param shared board data shared with other games
+     * @param seats number of players (1-127)
+     * @param seed random seed for setup and play
+     * @param maxRounds round cap; the leader wins (or a draw) when it is hit
+     */
+    public CompactGame(SharedBoard shared, int seats, long seed, int maxRounds) {
+        if (seats < 1 || seats > SEAT_MASK) {
+            throw new IllegalArgumentException("Seats must be between 1 and " + SEAT_MASK + ": " + seats);
+        }
+        IBoardGraph topology = shared.getTopology();
+        this.shared = shared;
+        this.nodes = new byte[topology.getNodeCount()];
+        this.edges = new byte[topology.getEdgeCount()];
+        this.hands = new short[seats * RESOURCES];
+        this.seatState = new byte[seats * COUNTERS];
+        this.maxRounds = maxRounds;
+        this.robberTile = shared.getLayout().getDesertTile();
+        this.rng = seed;
+    }
+
+    /**
+     * Snake-draft setup: each pick is a random open node plus a free adjacent road, then every
+     * seat receives the Simulator starting bundle.
+     */
+    public void setupRandom() {
+        IBoardGraph topology = shared.getTopology();
+        int seats = getSeatCount();
+        int[] open = new int[nodes.length];
+        for (int pick = 0; pick < 2 * seats; pick++) {
+            int seat = pick < seats ? pick : 2 * seats - 1 - pick;
+            int count = 0;
+            for (int n = 0; n < nodes.length; n++) {
+                if (isOpen(n)) {
+                    open[count++] = n;
+                }
+            }
+            if (count == 0) {
+                break;
+            }
+            int node = open[nextInt(count)];
+            placeSettlement(seat, node);
+            int[] adjacent = topology.getAdjacentEdges(node);
+            int offset = nextInt(adjacent.length);
+            for (int i = 0; i < adjacent.length; i++) {
+                int edge = adjacent[(offset + i) % adjacent.length];
+                if (edges[edge] == 0) {
+                    placeRoad(seat, edge);
+                    break;
+                }
+            }
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            addResource(seat, LUMBER, 4);
+            addResource(seat, BRICK, 4);
+            addResource(seat, GRAIN, 2);
+            addResource(seat, WOOL, 2);
+            addResource(seat, ORE, 2);
+        }
+    }
+
+    /**
+     * Play until a seat reaches TARGET_VP or maxRounds is hit.
+     */
+    public GameResult run() {
+        int seats = getSeatCount();
+        while (round < maxRounds) {
+            round++;
+            for (int seat = 0; seat < seats; seat++) {
+                playTurn(seat);
+                if (getVictoryPoints(seat) >= TARGET_VP) {
+                    return result(seat, true);
+                }
+            }
+        }
+        return result(leaderSeat(), false);
+    }
+
+    /**
+     * One turn for a seat: roll, produce or resolve a 7, then build at random.
+     */
+    void playTurn(int seat) {
+        int roll = nextInt(6) + nextInt(6) + 2;
+        if (roll == 7) {
+            resolveSeven(seat);
+        } else {
+            produce(roll);
+        }
+        for (int builds = 0; builds < MAX_BUILDS_PER_TURN; builds++) {
+            int candidates = scanMoves(seat, -1);
+            if (candidates == 0) {
+                return;
+            }
+            scanMoves(seat, nextInt(candidates));
+        }
+    }
+
+    private void produce(int roll) {
+        IBoardGraph topology = shared.getTopology();
+        for (int tile : shared.getTilesWithToken(roll)) {
+            if (tile == robberTile) {
+                continue;
+            }
+            int resource = shared.getTileResource(tile);
+            for (int node : topology.getTileNodes(tile)) {
+                int occupant = nodes[node] & 0xFF;
+                if (occupant != 0) {
+                    addResource((occupant & SEAT_MASK) - 1, resource, (occupant & CITY_BIT) != 0 ? 2 : 1);
+                }
+            }
+        }
+    }
+
+    private void resolveSeven(int active) {
+        int seats = getSeatCount();
+        for (int seat = 0; seat < seats; seat++) {
+            int cards = getTotalResourceCards(seat);
+            if (cards > 7) {
+                for (int drop = cards / 2; drop > 0; drop--) {
+                    hands[seat * RESOURCES + randomHeldResource(seat)]--;
+                }
+            }
+        }
+
+        robberTile = nextInt(shared.getTileCount());
+        // Victims in node order, each seat once, as ResourceDistributor does
+        int[] tileNodes = shared.getTopology().getTileNodes(robberTile);
+        int[] order = new int[tileNodes.length];
+        int victimCount = 0;
+        for (int node : tileNodes) {
+            int occupant = nodes[node] & SEAT_MASK;
+            if (occupant == 0) {
+                continue;
+            }
+            int seat = occupant - 1;
+            if (seat != active && getTotalResourceCards(seat) > 0 && !contains(order, victimCount, seat)) {
+                order[victimCount++] = seat;
+            }
+        }
+        if (victimCount > 0) {
+            int victim = order[nextInt(victimCount)];
+            int stolen = randomHeldResource(victim);
+            hands[victim * RESOURCES + stolen]--;
+            hands[active * RESOURCES + stolen]++;
+        }
+    }
+
+    /**
+     * Walk the seat's legal moves in RandomAgent order (cities, settlements, roads, each
+     * ascending). With pick < 0 only count them; otherwise apply the pick-th one.
+     * A move over the piece limit is still offered and fails without effect, as in the engine.
+     *
+     * @return number of candidate moves
+     */
+    private int scanMoves(int seat, int pick) {
+        IBoardGraph topology = shared.getTopology();
+        int mark = seat + 1;
+        int count = 0;
+        if (canAfford(seat, 0, 0, 2, 0, 3)) {
+            for (int n = 0; n < nodes.length; n++) {
+                if (nodes[n] == mark) {
+                    if (count++ == pick) {
+                        buildCity(seat, n);
+                        return count;
+                    }
+                }
+            }
+        }
+        if (canAfford(seat, 1, 1, 1, 1, 0)) {
+            for (int n = 0; n < nodes.length; n++) {
+                if (isOpen(n) && touchesOwnRoad(n, mark)) {
+                    if (count++ == pick) {
+                        buildSettlement(seat, n);
+                        return count;
+                    }
+                }
+            }
+        }
+        if (canAfford(seat, 1, 1, 0, 0, 0)) {
+            for (int e = 0; e < edges.length; e++) {
+                if (edges[e] == 0 && roadConnects(topology, e, mark)) {
+                    if (count++ == pick) {
+                        buildRoad(seat, e);
+                        return count;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private void buildCity(int seat, int node) {
+        if (counter(seat, CITIES) >= MAX_CITIES) {
+            return;
+        }
+        pay(seat, 0, 0, 2, 0, 3);
+        nodes[node] = (byte) ((seat + 1) | CITY_BIT);
+        adjust(seat, SETTLEMENTS, -1);
+        adjust(seat, CITIES, 1);
+        adjust(seat, VP, 1);
+    }
+
+    private void buildSettlement(int seat, int node) {
+        if (counter(seat, SETTLEMENTS) >= MAX_SETTLEMENTS) {
+            return;
+        }
+        pay(seat, 1, 1, 1, 1, 0);
+        placeSettlement(seat, node);
+    }
+
+    private void buildRoad(int seat, int edge) {
+        if (counter(seat, ROADS) >= MAX_ROADS) {
+            return;
+        }
+        pay(seat, 1, 1, 0, 0, 0);
+        placeRoad(seat, edge);
+    }
+
+    private void placeSettlement(int seat, int node) {
+        nodes[node] = (byte) (seat + 1);
+        adjust(seat, SETTLEMENTS, 1);
+        adjust(seat, VP, 1);
+    }
+
+    private void placeRoad(int seat, int edge) {
+        edges[edge] = (byte) (seat + 1);
+        adjust(seat, ROADS, 1);
+    }
+
+    /**
+     * Empty and no building on any neighbour (distance rule).
+     */
+    private boolean isOpen(int node) {
+        if (nodes[node] != 0) {
+            return false;
+        }
+        for (int adj : shared.getTopology().getAdjacentNodes(node)) {
+            if (nodes[adj] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean touchesOwnRoad(int node, int mark) {
+        for (int edge : shared.getTopology().getAdjacentEdges(node)) {
+            if (edges[edge] == mark) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same test as RoadValidator: an endpoint holds the seat's building, or is not blocked by an
+     * opponent's building and touches one of the seat's roads.
+     */
+    private boolean roadConnects(IBoardGraph topology, int edge, int mark) {
+        for (int node : topology.getEdgeEndpoints(edge)) {
+            int occupant = nodes[node] & SEAT_MASK;
+            if (occupant == mark) {
+                return true;
+            }
+            if (occupant != 0) {
+                continue;
+            }
+            for (int adj : topology.getAdjacentEdges(node)) {
+                if (adj != edge && edges[adj] == mark) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean canAfford(int seat, int lumber, int brick, int grain, int wool, int ore) {
+        int base = seat * RESOURCES;
+        return hands[base + LUMBER] >= lumber && hands[base + BRICK] >= brick
+                && hands[base + GRAIN] >= grain && hands[base + WOOL] >= wool && hands[base + ORE] >= ore;
+    }
+
+    private void pay(int seat, int lumber, int brick, int grain, int wool, int ore) {
+        addResource(seat, LUMBER, -lumber);
+        addResource(seat, BRICK, -brick);
+        addResource(seat, GRAIN, -grain);
+        addResource(seat, WOOL, -wool);
+        addResource(seat, ORE, -ore);
+    }
+
+    private void addResource(int seat, int resource, int amount) {
+        hands[seat * RESOURCES + resource] += amount;
+    }
+
+    /**
+     * Uniform choice among the resource types the seat holds (RandomAgent discard/steal).
+     */
+    private int randomHeldResource(int seat) {
+        int base = seat * RESOURCES;
+        int held = 0;
+        for (int r = 0; r < RESOURCES; r++) {
+            if (hands[base + r] > 0) {
+                held++;
+            }
+        }
+        int choice = nextInt(held);
+        for (int r = 0; r < RESOURCES; r++) {
+            if (hands[base + r] > 0 && choice-- == 0) {
+                return r;
+            }
+        }
+        throw new IllegalStateException("Seat " + seat + " holds no resources");
+    }
+
+    private int counter(int seat, int which) {
+        return seatState[seat * COUNTERS + which];
+    }
+
+    private void adjust(int seat, int which, int delta) {
+        seatState[seat * COUNTERS + which] += delta;
+    }
+
+    /**
+     * SplitMix64 step, reduced to [0, bound) by multiply-shift.
+     */
+    private int nextInt(int bound) {
+        long z = (rng += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) (((z >>> 32) * bound) >>> 32);
+    }
+
+    private GameResult result(int winnerSeat, boolean reachedTarget) {
+        int[] vp = new int[getSeatCount()];
+        for (int i = 0; i < vp.length; i++) {
+            vp[i] = getVictoryPoints(i);
+        }
+        return new GameResult(winnerSeat, round, reachedTarget, vp);
+    }
+
+    private int leaderSeat() {
+        int best = -1;
+        int bestVp = Integer.MIN_VALUE;
+        boolean tied = false;
+        for (int i = 0; i < getSeatCount(); i++) {
+            int vp = getVictoryPoints(i);
+            if (vp > bestVp) {
+                bestVp = vp;
+                best = i;
+                tied = false;
+            } else if (vp == bestVp) {
+                tied = true;
+            }
+        }
+        return tied ? -1 : best;
+    }
+
+    public SharedBoard getSharedBoard() {
+        return shared;
+    }
+
+    public int getSeatCount() {
+        return seatState.length / COUNTERS;
+    }
+
+    /**
+     * Seat owning the node's settlement or city, or -1 if empty.
+     */
+    public int getNodeOwner(int nodeID) {
+        return (nodes[nodeID] & SEAT_MASK) - 1;
+    }
+
+    public boolean isCity(int nodeID) {
+        return (nodes[nodeID] & CITY_BIT) != 0;
+    }
+
+    /**
+     * Seat owning the edge's road, or -1 if empty.
+     */
+    public int getRoadOwner(int edgeID) {
+        return edges[edgeID] - 1;
+    }
+
+    public int getVictoryPoints(int seat) {
+        return counter(seat, VP);
+    }
+
+    public int getSettlementCount(int seat) {
+        return counter(seat, SETTLEMENTS);
+    }
+
+    public int getCityCount(int seat) {
+        return counter(seat, CITIES);
+    }
+
+    public int getRoadCount(int seat) {
+        return counter(seat, ROADS);
+    }
+
+    public int getResourceCount(int seat, ResourceType type) {
+        return hands[seat * RESOURCES + type.ordinal()];
+    }
+
+    public int getTotalResourceCards(int seat) {
+        int base = seat * RESOURCES;
+        int total = 0;
+        for (int r = 0; r < RESOURCES; r++) {
+            total += hands[base + r];
+        }
+        return total;
+    }
+
+    public int getRobberTile() {
+        return robberTile;
+    }
+
+    public int getRound() {
+        return round;
+    }
+}
@@ -3,10 +3,11 @@ package com.mycompany.app;
 import com.mycompany.app.commands.BuildCityCommand;
 import com.mycompany.app.commands.BuildRoadCommand;
 import com.mycompany.app.commands.BuildSettlementCommand;
+import com.mycompany.app.metrics.DecisionLatencyRecorder;
+import com.mycompany.app.metrics.DecisionPhase;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Abstract base class for computer-controlled players using the Template Method pattern.
@@ -14,30 +15,114 @@ import java.util.Random;
  */
 public abstract class ComputerPlayer extends Player {
 
-    protected final Random random = new Random();
+    protected final ResumableRandom random = new ResumableRandom();
+
+    /**
+     * Per-turn decision budget in nanoseconds; Long.MAX_VALUE means no limit.
+     */
+    private long turnBudgetNanos = Long.MAX_VALUE;
+
+    /**
+     * Deadline of the turn in progress, exposed so it can be cancelled externally.
+     */
+    private volatile DecisionDeadline currentDeadline = DecisionDeadline.unbounded();
+
+    /**
+     * Reusable candidate buffer for the allocation-free move path.
+     */
+    protected final MoveBuffer moveBuffer = new MoveBuffer();
 
     public ComputerPlayer(int playerID) {
         super(playerID);
     }
 
+    /**
+     * Reseed this agent's random choices (tie-breaks, discards, steals) for reproducible games.
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * State of this agent's random choices, for checkpoints.
+     */
+    public long getRandomState() {
+        return random.getState();
+    }
+
+    public void setRandomState(long state) {
+        random.setState(state);
+    }
+
     /**
      * Template method: selects the best command from the list using subclass scoring.
+     * Time spent here is recorded as the SCORING decision phase.
      */
     public final ICommand chooseBestAction(List<ICommand> validCommands) {
+        return chooseBestAction(validCommands, DecisionDeadline.unbounded());
+    }
+
+    /**
+     * Anytime variant of the template method. Every candidate first gets a quick
+     * {@link #evaluateCommand} score; while time remains, {@link #refineCommand} is called in
+     * successive passes to improve those scores. When the deadline expires the best-scored
+     * command of the last complete pass is returned (at least one candidate is always scored).
+     */
+    public final ICommand chooseBestAction(List<ICommand> validCommands, DecisionDeadline deadline) {
         if (validCommands == null || validCommands.isEmpty()) {
             return null;
         }
+        long start = System.nanoTime();
+        try {
+            return selectBest(validCommands, deadline);
+        } finally {
+            recordLatency(DecisionPhase.SCORING, start);
+        }
+    }
+
+    private ICommand selectBest(List<ICommand> validCommands, DecisionDeadline deadline) {
+        int count = validCommands.size();
+        double[] scores = new double[count];
+        int scored = 0;
+        while (scored < count && (scored == 0 || !deadline.isExpired())) {
+            scores[scored] = evaluateCommand(validCommands.get(scored));
+            scored++;
+        }
+
+        if (scored == count) {
+            // A pass is refined into a scratch copy and kept only if it reaches every candidate,
+            // so the comparison below never mixes scores from different passes.
+            double[] pending = new double[count];
+            for (int pass = 1; !deadline.isExpired(); pass++) {
+                System.arraycopy(scores, 0, pending, 0, count);
+                boolean refined = false;
+                int i = 0;
+                for (; i < count && !deadline.isExpired(); i++) {
+                    double score = refineCommand(validCommands.get(i), pass, deadline);
+                    if (!Double.isNaN(score)) {
+                        pending[i] = score;
+                        refined = true;
+                    }
+                }
+                if (i < count || !refined) {
+                    break;
+                }
+                double[] done = scores;
+                scores = pending;
+                pending = done;
+            }
+        }
+
         double maxScore = -1.0;
         List<ICommand> bestCommands = new ArrayList<>();
-
-        for (ICommand command : validCommands) {
-            double score = evaluateCommand(command);
+        for (int i = 0; i < scored; i++) {
+            double score = scores[i];
             if (score > maxScore) {
                 bestCommands.clear();
-                bestCommands.add(command);
+                bestCommands.add(validCommands.get(i));
                 maxScore = score;
             } else if (score == maxScore) {
-                bestCommands.add(command);
+                bestCommands.add(validCommands.get(i));
             }
         }
 
@@ -52,20 +137,197 @@ public abstract class ComputerPlayer extends Player {
      */
     protected abstract double evaluateCommand(ICommand command);
 
+    /**
+     * Hook for iterative refinement: return a better score for the command on the given pass
+     * (1, 2, ...), or NaN when there is nothing more to add. Implementations doing heavy work
+     * should poll {@code deadline.isExpired()} and bail out early. Default: no refinement.
+     */
+    protected double refineCommand(ICommand command, int pass, DecisionDeadline deadline) {
+        return Double.NaN;
+    }
+
+    /**
+     * Allocation-free counterpart of chooseBestAction over encoded moves: scores every move
+     * with {@link #evaluateMove}, refines with {@link #refineMove} while time remains, and
+     * breaks ties uniformly at random via reservoir sampling (no list of ties is built).
+     * @return the chosen encoded move, or MoveCodec.NO_MOVE if none qualifies
+     */
+    public final int chooseBestMove(MoveBuffer moves, DecisionDeadline deadline) {
+        if (moves == null || moves.isEmpty()) {
+            return MoveCodec.NO_MOVE;
+        }
+        long start = System.nanoTime();
+        try {
+            return selectBestMove(moves, deadline);
+        } finally {
+            recordLatency(DecisionPhase.SCORING, start);
+        }
+    }
+
+    private int selectBestMove(MoveBuffer moves, DecisionDeadline deadline) {
+        int count = moves.size();
+        int scored = 0;
+        while (scored < count && (scored == 0 || !deadline.isExpired())) {
+            moves.setScore(scored, evaluateMove(moves.get(scored)));
+            scored++;
+        }
+
+        if (scored == count) {
+            // As in selectBest, a pass counts only once it has rescored every move
+            for (int pass = 1; !deadline.isExpired(); pass++) {
+                moves.beginPass();
+                boolean refined = false;
+                int i = 0;
+                for (; i < count && !deadline.isExpired(); i++) {
+                    double score = refineMove(moves.get(i), pass, deadline);
+                    if (!Double.isNaN(score)) {
+                        moves.setPassScore(i, score);
+                        refined = true;
+                    }
+                }
+                if (i < count || !refined) {
+                    break;
+                }
+                moves.commitPass();
+            }
+        }
+
+        double maxScore = -1.0;
+        int best = MoveCodec.NO_MOVE;
+        int ties = 0;
+        for (int i = 0; i < scored; i++) {
+            double score = moves.getScore(i);
+            if (score > maxScore) {
+                maxScore = score;
+                best = moves.get(i);
+                ties = 1;
+            } else if (score == maxScore) {
+                ties++;
+                if (random.nextInt(ties) == 0) {
+                    best = moves.get(i);
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Score an encoded move. The default materializes the command and defers to
+     * {@link #evaluateCommand}; agents override this to score without allocating.
+     */
+    protected double evaluateMove(int move) {
+        return evaluateCommand(MoveCodec.toCommand(move));
+    }
+
+    /**
+     * Move-path counterpart of {@link #refineCommand}. Default: no refinement.
+     */
+    protected double refineMove(int move, int pass, DecisionDeadline deadline) {
+        return Double.NaN;
+    }
+
+    /**
+     * Whether takeTurn does nothing at all (no state change, no random draws) when no building
+     * the player can afford has a legal location. True for the built-in agents, which only
+     * consider affordable builds at valid locations; HeadlessGame relies on it to fast-forward
+     * idle turns. Override to return false for agents that act otherwise.
+     */
+    public boolean isIdleWhenBroke() {
+        return true;
+    }
+
+    /**
+     * Set the time budget for each turn (all decisions within one takeTurn share it).
+     * @param budgetNanos budget in nanoseconds, or Long.MAX_VALUE for no limit
+     */
+    public void setTurnBudgetNanos(long budgetNanos) {
+        this.turnBudgetNanos = budgetNanos;
+    }
+
+    /**
+     * Get the per-turn time budget in nanoseconds.
+     */
+    public long getTurnBudgetNanos() {
+        return turnBudgetNanos;
+    }
+
+    /**
+     * Cooperatively cancel the turn in progress; the agent returns its best move so far
+     * and then ends its turn. Safe to call from another thread.
+     */
+    public void cancelCurrentDecision() {
+        currentDeadline.cancel();
+    }
+
+    /**
+     * Start the deadline for a new turn; subclasses call this at the top of takeTurn.
+     */
+    protected final DecisionDeadline startTurnDeadline() {
+        DecisionDeadline deadline = DecisionDeadline.after(turnBudgetNanos);
+        currentDeadline = deadline;
+        return deadline;
+    }
+
+    /**
+     * Record the time elapsed since {@code startNanos} against this agent's class.
+     */
+    protected final void recordLatency(DecisionPhase phase, long startNanos) {
+        DecisionLatencyRecorder.record(getClass(), phase, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Fills {@code moves} with every legal, affordable build as encoded ints
+     * (same candidates, same order as buildCandidateList, but no command objects).
+     */
+    protected void buildCandidateMoves(IGameController controller, MoveBuffer moves) {
+        moves.clear();
+        CatanEngine engine = controller instanceof CatanEngine ? (CatanEngine) controller : null;
+
+        if (engine != null && hasResources(BuildingCost.CITY.getCost())) {
+            Board board = engine.getBoard();
+            OwnershipIndex ownership = board.getOwnership();
+            for (int i = 0; i < ownership.getNodeCount(playerID); i++) {
+                int nodeID = ownership.getNode(playerID, i);
+                if (board.getNode(nodeID).getType() == BuildingType.SETTLEMENT) {
+                    moves.add(MoveCodec.encode(MoveCodec.CITY, nodeID));
+                }
+            }
+        }
+
+        if (hasResources(BuildingCost.SETTLEMENT.getCost())) {
+            if (engine != null) {
+                engine.addValidSettlementMoves(playerID, moves);
+            } else {
+                for (int nodeID : controller.getValidSettlementLocations(playerID)) {
+                    moves.add(MoveCodec.encode(MoveCodec.SETTLEMENT, nodeID));
+                }
+            }
+        }
+
+        if (hasResources(BuildingCost.ROAD.getCost())) {
+            if (engine != null) {
+                engine.addValidRoadMoves(playerID, moves);
+            } else {
+                for (int edgeID : controller.getValidRoadLocations(playerID)) {
+                    moves.add(MoveCodec.encode(MoveCodec.ROAD, edgeID));
+                }
+            }
+        }
+    }
+
     /**
      * Builds the list of all legal, affordable commands for the current turn.
      */
     protected List<ICommand> buildCandidateList(IGameController controller) {
         List<ICommand> list = new ArrayList<>();
 
-        if (controller instanceof CatanEngine) {
-            CatanEngine eng = (CatanEngine) controller;
-            for (Node node : eng.getBoard().getAllNodes()) {
-                if (node.getOccupant() != null
-                        && node.getOccupant().getPlayerID() == playerID
-                        && node.getType() == BuildingType.SETTLEMENT
-                        && hasResources(BuildingCost.CITY.getCost())) {
-                    list.add(new BuildCityCommand(node.getNodeID()));
+        if (controller instanceof CatanEngine && hasResources(BuildingCost.CITY.getCost())) {
+            Board board = ((CatanEngine) controller).getBoard();
+            OwnershipIndex ownership = board.getOwnership();
+            for (int i = 0; i < ownership.getNodeCount(playerID); i++) {
+                int nodeID = ownership.getNode(playerID, i);
+                if (board.getNode(nodeID).getType() == BuildingType.SETTLEMENT) {
+                    list.add(new BuildCityCommand(nodeID));
                 }
             }
         }
@@ -0,0 +1,66 @@
+package com.mycompany.app;
+
+/**
+ * Per-turn time budget for a computer player's decision, with cooperative cancellation.
+ * Decision code polls {@link #isExpired()} between units of work and returns its best
+ * result so far once it reports true.
+ */
+public final class DecisionDeadline {
+
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    private DecisionDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Deadline that never expires on its own (it can still be cancelled).
+     */
+    public static DecisionDeadline unbounded() {
+        return new DecisionDeadline(UNBOUNDED);
+    }
+
+    /**
+     * Deadline that expires {@code budgetNanos} from now.
+     * @param budgetNanos time budget in nanoseconds; values <= 0 expire immediately
+     */
+    public static DecisionDeadline after(long budgetNanos) {
+        if (budgetNanos == UNBOUNDED) {
+            return unbounded();
+        }
+        return new DecisionDeadline(System.nanoTime() + Math.max(0L, budgetNanos));
+    }
+
+    /**
+     * Whether the budget is spent or the decision was cancelled.
+     */
+    public boolean isExpired() {
+        if (cancelled) {
+            return true;
+        }
+        return deadlineNanos != UNBOUNDED && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * Nanoseconds left before expiry (0 once expired, Long.MAX_VALUE if unbounded).
+     */
+    public long remainingNanos() {
+        if (cancelled) {
+            return 0;
+        }
+        if (deadlineNanos == UNBOUNDED) {
+            return UNBOUNDED;
+        }
+        return Math.max(0L, deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * Request cooperative cancellation; safe to call from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+}
@@ -1,18 +1,92 @@
 package com.mycompany.app;
 
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Scanner;
 
+import com.mycompany.app.analysis.BoardScaleProfile;
+import com.mycompany.app.analysis.FootprintReport;
+import com.mycompany.app.analysis.TrainingDataWriter;
+import com.mycompany.app.server.GameServer;
+import com.mycompany.app.tournament.AgentSpec;
+import com.mycompany.app.tournament.EvaluationReport;
+import com.mycompany.app.tournament.MatchEvaluation;
+import com.mycompany.app.tournament.ParameterTuner;
+import com.mycompany.app.tournament.ResultCsvWriter;
+import com.mycompany.app.tournament.Sprt;
+import com.mycompany.app.tournament.Standing;
+import com.mycompany.app.tournament.Tournament;
+import com.mycompany.app.tournament.TournamentFormat;
+
 /**
  * Demonstrator class - Main entry point for the Catan simulator
  * Runs a sample simulation demonstrating R3.1 (undo/redo), R3.2 (Template Method), and R3.3 (Facade).
  */
 public class Demonstrator {
+	/**
+	 * Rounds between snapshots of a journaled game
+	 */
+	private static final int JOURNAL_SNAPSHOT_ROUNDS = 10;
+
 	/**
 	 * Main entry point
-	 * @param args Command line arguments (unused)
+	 * @param args Command line arguments; "--server [port]" hosts sessions over TCP instead,
+	 *             "--tournament [tables] [csv]" rates the built-in agents against each other,
+	 *             "--evaluate [maxGames]" tests RuleBasedAgent against RandomAgent with early stopping,
+	 *             "--tune [iterations] [output]" tunes RuleBasedAgent parameters by self-play,
+	 *             "--scale [maxRadius]" profiles the engine on hexagonal boards of growing size,
+	 *             "--footprint [games]" reports heap bytes per live game, compact vs. object engine,
+	 *             "--export [tables] [file]" writes every self-play position as labelled training rows,
+	 *             "--journal [file]" plays the interactive game with a crash-safe command journal,
+	 *             resuming the journal's unfinished game if there is one
 	 */
 	public static void main(String[] args) {
+		if (args.length > 0 && args[0].equals("--server")) {
+			int port = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+			runServer(port);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--tournament")) {
+			int tables = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+			String csvPath = args.length > 2 ? args[2] : "tournament.csv";
+			runTournament(tables, csvPath);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--evaluate")) {
+			int maxGames = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+			runEvaluation(maxGames);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--tune")) {
+			int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+			String output = args.length > 2 ? args[2] : "agent_params.txt";
+			runTuner(iterations, output);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--scale")) {
+			int maxRadius = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+			runScaleProfile(maxRadius);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--footprint")) {
+			int games = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+			runFootprint(games);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--export")) {
+			int tables = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+			String output = args.length > 2 ? args[2] : "positions.ctd";
+			runExport(tables, output);
+			return;
+		}
+
+		String journalPath = null;
+		if (args.length > 0 && args[0].equals("--journal")) {
+			journalPath = args.length > 1 ? args[1] : "game.journal";
+		}
+
 		System.out.println("===========================================");
 		System.out.println("  Settlers of Catan Simulator");
 		System.out.println("  SFWRENG 2AA4 - Assignment 3");
@@ -39,15 +113,165 @@ public class Demonstrator {
 		// Shared scanner for step-forward and human input
 		Scanner consoleScanner = new Scanner(System.in);
 		Simulator sim = new Simulator(maxTurns, consoleScanner, engine -> List.of(
-				new HumanPlayer(0, consoleScanner),
+				new HumanPlayer(0, consoleScanner, null, engine.getBoard().getTopology()),
 				new RuleBasedAgent(1, engine),
 				new RandomAgent(2),
 				new RandomAgent(3)
 		));
-		sim.runSimulation();
+		if (journalPath == null) {
+			sim.runSimulation();
+		} else {
+			try (CommandJournal journal = new CommandJournal(Paths.get(journalPath))) {
+				sim.setJournal(openJournalSession(journal));
+				sim.runSimulation();
+			} catch (IOException e) {
+				System.out.println("Could not use journal " + journalPath + ": " + e.getMessage());
+			}
+		}
 
 		System.out.println("\n===========================================");
 		System.out.println("Simulation complete!");
 		System.out.println("===========================================");
 	}
+
+	/**
+	 * Resume the journal's most recent unfinished game, or journal a new one.
+	 * @param journal Journal opened for appending
+	 * @return Session for the console game
+	 */
+	private static JournalSession openJournalSession(CommandJournal journal) throws IOException {
+		long nextID = 0;
+		CommandJournal.Game unfinished = null;
+		for (CommandJournal.Game game : CommandJournal.read(journal.getFile()).values()) {
+			nextID = Math.max(nextID, game.getGameID() + 1);
+			unfinished = game.isFinished() ? unfinished : game;
+		}
+		if (unfinished != null) {
+			System.out.println("Resuming journaled game " + unfinished.getGameID() + " ("
+					+ unfinished.getCommands().size() + " commands recorded)");
+			return JournalSession.resume(journal, unfinished, JOURNAL_SNAPSHOT_ROUNDS);
+		}
+		return JournalSession.start(journal, nextID, System.nanoTime(), JOURNAL_SNAPSHOT_ROUNDS);
+	}
+
+	/**
+	 * Host human-vs-bot sessions on localhost until the process is stopped.
+	 * @param port TCP port to listen on
+	 */
+	private static void runServer(int port) {
+		int maxTurns = 100;
+		try {
+			maxTurns = ConfigParser.readMaxTurns("config.txt");
+		} catch (Exception e) {
+			System.out.println("Could not read config.txt, using default max turns: " + maxTurns);
+		}
+		try (GameServer server = new GameServer(port, maxTurns)) {
+			server.start();
+			System.out.println("Catan server listening on localhost:" + server.getPort());
+			Thread.currentThread().join();
+		} catch (IOException e) {
+			System.out.println("Could not start server: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Round-robin tournament of the built-in agents, results streamed to a CSV file.
+	 * @param tables Number of tables (each played from every seat rotation)
+	 * @param csvPath Output CSV path
+	 */
+	private static void runTournament(int tables, String csvPath) {
+		Tournament tournament = new Tournament(List.of(AgentSpec.ruleBased(), AgentSpec.random()),
+				TournamentFormat.ROUND_ROBIN);
+		try (ResultCsvWriter csv = new ResultCsvWriter(new FileWriter(csvPath))) {
+			tournament.setCsv(csv);
+			long start = System.nanoTime();
+			List<Standing> standings = tournament.run(tables, 1L);
+			System.out.printf("Tournament: %d games in %.1f s (results in %s)%n",
+					tables * 4, (System.nanoTime() - start) / 1e9, csvPath);
+			System.out.println(String.format("%-20s %8s %8s %8s %8s", "Agent", "Elo", "Games", "Wins", "Win%"));
+			for (Standing standing : standings) {
+				System.out.println(standing);
+			}
+		} catch (IOException e) {
+			System.out.println("Could not write tournament results: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Self-play tournament whose positions are exported for training evaluation models.
+	 * @param tables Tables to play (tables * 4 games)
+	 * @param output Columnar file receiving the rows (read with TrainingDataReader)
+	 */
+	private static void runExport(int tables, String output) {
+		Tournament tournament = new Tournament(List.of(AgentSpec.ruleBased(), AgentSpec.random()),
+				TournamentFormat.ROUND_ROBIN);
+		long start = System.nanoTime();
+		int columns;
+		try (TrainingDataWriter writer = new TrainingDataWriter(Paths.get(output), new CatanBoardGraph(), 4)) {
+			tournament.setTrainingData(writer);
+			tournament.run(tables, 1L);
+			columns = writer.getColumnCount();
+		} catch (IOException e) {
+			System.out.println("Could not write training data: " + e.getMessage());
+			return;
+		}
+		// Reported after the writer has closed, so the time includes finishing the file
+		System.out.printf("Export: %d games in %.1f s (%d columns in %s)%n",
+				tables * 4, (System.nanoTime() - start) / 1e9, columns, output);
+	}
+
+	/**
+	 * Candidate-vs-baseline batch that stops once an SPRT (H0: 50%, H1: 55%, 5% error rates) decides.
+	 * @param maxGames Upper bound on games played
+	 */
+	private static void runEvaluation(int maxGames) {
+		MatchEvaluation evaluation = new MatchEvaluation(AgentSpec.ruleBased(), AgentSpec.random());
+		long start = System.nanoTime();
+		EvaluationReport report = evaluation.run(maxGames, 1L, new Sprt(0.5, 0.55, 0.05, 0.05));
+		System.out.printf("Evaluation finished in %.1f s%n", (System.nanoTime() - start) / 1e9);
+		System.out.println(report);
+	}
+
+	/**
+	 * Self-play tuning of RuleBasedAgent parameters; resumable via "<output>.checkpoint".
+	 * @param iterations Total tuner iterations
+	 * @param output File receiving the best parameters found
+	 */
+	private static void runTuner(int iterations, String output) {
+		ParameterTuner tuner = new ParameterTuner();
+		tuner.setCheckpoint(Paths.get(output + ".checkpoint"));
+		tuner.setBestOutput(Paths.get(output));
+		long start = System.nanoTime();
+		AgentParameters best = tuner.tune(AgentParameters.defaults(), iterations, 1L);
+		System.out.printf("Tuning finished in %.1f s, %d candidates accepted%n",
+				(System.nanoTime() - start) / 1e9, tuner.getAcceptedCount());
+		System.out.println("Best parameters (written to " + output + "): " + best);
+	}
+
+	/**
+	 * Per-subsystem timings on hexagonal boards of radius 2, 4, 8, ... up to maxRadius.
+	 * @param maxRadius Largest board radius profiled
+	 */
+	private static void runScaleProfile(int maxRadius) {
+		BoardScaleProfile profile = new BoardScaleProfile(50, 200);
+		System.out.println(BoardScaleProfile.Sample.header());
+		for (int radius = 2; radius <= maxRadius; radius *= 2) {
+			System.out.println(profile.measure(radius, 1L));
+		}
+	}
+
+	/**
+	 * Heap per live game after a few rounds, compact mode vs. HeadlessGame (a twentieth as many).
+	 * @param games Number of compact games held at once
+	 */
+	private static void runFootprint(int games) {
+		FootprintReport report = new FootprintReport(5);
+		System.out.println("Analytic compact size: "
+				+ FootprintReport.estimateCompactBytes(new CatanBoardGraph(), 4) + " bytes/game");
+		System.out.println(FootprintReport.Sample.header());
+		System.out.println(report.measureCompact(games, 1L));
+		System.out.println(report.measureObject(Math.max(1, games / 20), 1L));
+	}
 }
@@ -17,6 +17,10 @@ public class Edge {
 	 * Player who has built a road on this edge (null if no road)
 	 */
 	private Player occupant;
+	/**
+	 * Board's per-player ownership index, told about every change (null for a detached edge)
+	 */
+	private OwnershipIndex index;
 
 	/**
 	 * Constructor for Edge
@@ -48,7 +52,7 @@ public class Edge {
 	 * @param p Player who will build a road on this edge
 	 */
 	public void setOccupant(Player p) {
-		this.occupant = p;
+		change(p);
 	}
 
 	/**
@@ -73,6 +77,29 @@ public class Edge {
 	 * @param player The player building the road
 	 */
 	public void buildRoad(Player player) {
-		this.occupant = player;
+		change(player);
+	}
+
+	/**
+	 * Empty the edge without reporting to the index (Board clears the index itself)
+	 */
+	void clear() {
+		this.occupant = null;
+	}
+
+	/**
+	 * Attach the board's ownership index
+	 * @param index Index to notify of ownership changes
+	 */
+	void setIndex(OwnershipIndex index) {
+		this.index = index;
+	}
+
+	private void change(Player newOccupant) {
+		Player oldOccupant = this.occupant;
+		this.occupant = newOccupant;
+		if (index != null) {
+			index.edgeChanged(edgeID, oldOccupant, newOccupant);
+		}
 	}
 }
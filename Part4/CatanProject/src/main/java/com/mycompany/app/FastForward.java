@@ -0,0 +1,229 @@
+package com.mycompany.app;
+
+import com.mycompany.app.events.GameEventType;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Primitive mirror of the hands and production of one game, used by HeadlessGame to play turns
+ * in which the active player has no move: every building it can afford has no legal location.
+ *
+ * Such a turn is only a roll, production (or a 7) and the end of the turn: a ComputerPlayer with
+ * no candidate makes no move and draws no random numbers. Whether each seat has a location for
+ * each building type depends only on the board, so it is looked up (lazily, for affordable types)
+ * once per board change, which only a non-idle turn can cause; otherwise the per-turn test is a
+ * comparison of hand counts against the costs. While turns stay idle, hands
+ * live in an int array and production is a walk over precomputed (hand slot, amount) pairs per
+ * tile. Hands are written back to the players before anything else reads them: a 7 (resolved
+ * by the engine, so discards and steals draw exactly as usual), a turn the player can act in,
+ * or the end of the game. Results are therefore identical to the ordinary turn loop.
+ */
+final class FastForward {
+
+    private static final int RESOURCES = ResourceType.values().length;
+    private static final ResourceType[] TYPES = ResourceType.values();
+    /**
+     * Events an idle turn would publish; skipping them is only safe when nobody listens
+     */
+    private static final Set<GameEventType> TURN_EVENTS = EnumSet.of(GameEventType.ROLL,
+            GameEventType.PRODUCTION, GameEventType.ROBBER, GameEventType.DISCARD, GameEventType.TURN_END);
+    private static final int[][] COSTS = new int[BuildingCost.values().length][RESOURCES];
+
+    static {
+        for (BuildingCost cost : BuildingCost.values()) {
+            cost.getCost().forEach((type, amount) -> COSTS[cost.ordinal()][type.ordinal()] = amount);
+        }
+    }
+
+    private final CatanEngine engine;
+    private final List<Player> players;
+    private final int[] hands;
+    private final int[] yieldStart;
+    private int[] yieldSlot = new int[32];
+    private int[] yieldAmount = new int[32];
+    /** hands holds the current counts (players' own maps are stale) */
+    private boolean loaded;
+    private static final byte UNKNOWN = 0;
+    private static final byte YES = 1;
+    private static final byte NO = 2;
+
+    /** seat * costs + cost ordinal: whether the seat has somewhere to build that type, or UNKNOWN */
+    private final byte[] target;
+    /** ownership version the yields and targets were built from */
+    private long builtVersion = -1;
+
+    FastForward(CatanEngine engine, List<Player> players) {
+        this.engine = engine;
+        this.players = players;
+        this.hands = new int[players.size() * RESOURCES];
+        this.yieldStart = new int[engine.getBoard().getTopology().getTileCount() + 1];
+        this.target = new byte[players.size() * COSTS.length];
+    }
+
+    /**
+     * Whether idle turns can be skipped for this game: every seat is a ComputerPlayer that is idle
+     * without a candidate move, and nobody observes the engine or its per-turn events.
+     */
+    static boolean applies(CatanEngine engine, List<Player> players) {
+        for (Player player : players) {
+            if (!(player instanceof ComputerPlayer) || !((ComputerPlayer) player).isIdleWhenBroke()) {
+                return false;
+            }
+        }
+        if (engine.hasObservers()) {
+            return false;
+        }
+        for (GameEventType type : TURN_EVENTS) {
+            if (engine.getEventBus().hasSubscribers(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Play one turn for the seat. Idle turns stay in primitives; otherwise hands are written
+     * back and the player takes a normal turn.
+     */
+    void playTurn(int seat) {
+        Player player = players.get(seat);
+        load();
+        int roll = engine.rollDice(player.getPlayerID());
+        if (roll == 7) {
+            store();
+            engine.handleRollSeven(player);
+            load();
+        } else {
+            produce(roll);
+        }
+        if (hasMove(seat)) {
+            store();
+            player.takeTurn(engine);
+            engine.endTurn(player);
+        }
+    }
+
+    /**
+     * Write hands back to the players (no-op unless loaded).
+     */
+    void store() {
+        if (!loaded) {
+            return;
+        }
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            for (int r = 0; r < RESOURCES; r++) {
+                int delta = hands[seat * RESOURCES + r] - player.getResourceCount(TYPES[r]);
+                if (delta != 0) {
+                    player.addResource(TYPES[r], delta);
+                }
+            }
+        }
+        loaded = false;
+    }
+
+    /**
+     * Copy hands from the players, rebuilding the per-tile yields if buildings may have changed.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            for (int r = 0; r < RESOURCES; r++) {
+                hands[seat * RESOURCES + r] = player.getResourceCount(TYPES[r]);
+            }
+        }
+        if (builtVersion != engine.getBoard().getOwnership().getVersion()) {
+            buildYields();
+        }
+        loaded = true;
+    }
+
+    private void buildYields() {
+        Board board = engine.getBoard();
+        IBoardGraph topology = board.getTopology();
+        int count = 0;
+        for (int tile = 0; tile < yieldStart.length - 1; tile++) {
+            yieldStart[tile] = count;
+            ResourceType resource = board.getTile(tile).getType().getResourceType();
+            if (resource == null) {
+                continue;
+            }
+            for (int nodeID : topology.getTileNodes(tile)) {
+                Node node = board.getNode(nodeID);
+                int seat = node.getOccupant() == null ? -1 : players.indexOf(node.getOccupant());
+                if (seat < 0) {
+                    continue;
+                }
+                if (count == yieldSlot.length) {
+                    yieldSlot = Arrays.copyOf(yieldSlot, count * 2);
+                    yieldAmount = Arrays.copyOf(yieldAmount, count * 2);
+                }
+                yieldSlot[count] = seat * RESOURCES + resource.ordinal();
+                yieldAmount[count] = node.getType() == BuildingType.CITY ? 2 : 1;
+                count++;
+            }
+        }
+        yieldStart[yieldStart.length - 1] = count;
+        Arrays.fill(target, UNKNOWN);
+        builtVersion = board.getOwnership().getVersion();
+    }
+
+    /**
+     * Same production as ResourceDistributor.distribute, on the primitive hands.
+     */
+    private void produce(int roll) {
+        Board board = engine.getBoard();
+        int robber = board.getRobberLocation();
+        for (int tile : board.getSharedBoard().getTilesWithToken(roll)) {
+            if (tile == robber) {
+                continue;
+            }
+            for (int k = yieldStart[tile]; k < yieldStart[tile + 1]; k++) {
+                hands[yieldSlot[k]] += yieldAmount[k];
+            }
+        }
+    }
+
+    /**
+     * Some building type is both affordable and placeable for the seat.
+     */
+    private boolean hasMove(int seat) {
+        int base = seat * RESOURCES;
+        for (int c = 0; c < COSTS.length; c++) {
+            boolean affordable = true;
+            for (int r = 0; r < RESOURCES && affordable; r++) {
+                affordable = hands[base + r] >= COSTS[c][r];
+            }
+            if (affordable && hasTarget(seat, c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same sources as ComputerPlayer's candidates: own settlements for cities, else the validators.
+     */
+    private boolean hasTarget(int seat, int cost) {
+        int slot = seat * COSTS.length + cost;
+        if (target[slot] == UNKNOWN) {
+            int id = players.get(seat).getPlayerID();
+            boolean found;
+            if (cost == BuildingCost.CITY.ordinal()) {
+                found = engine.getBoard().getOwnership().getSettlementCount(id) > 0;
+            } else if (cost == BuildingCost.SETTLEMENT.ordinal()) {
+                found = engine.getValidSettlementLocations(id).length > 0;
+            } else {
+                found = engine.getValidRoadLocations(id).length > 0;
+            }
+            target[slot] = found ? YES : NO;
+        }
+        return target[slot] == YES;
+    }
+}
@@ -0,0 +1,281 @@
+package com.mycompany.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of a HeadlessGame between turns, so long games and batches can be paused or
+ * resumed after a crash.
+ *
+ * A checkpoint holds everything the rest of the game depends on: tile layout, occupancy (one
+ * byte per node and edge, as in CompactGame), robber, every hand and VP total, the dice, robber
+ * and agent generator states, the round and the seat to play next. Agents' caches are derived
+ * from the board and rebuilt after a restore. The record has a fixed size for a given board and
+ * table, so saving and restoring cost the same at round 10 as at round 8000; a restored game
+ * plays on exactly as the original would have.
+ *
+ * save writes through one reused direct buffer to a temporary file, forces it to disk and
+ * renames it over the previous checkpoint, so the file on disk is always a complete snapshot.
+ * A CRC32 trailer rejects files damaged outside that protocol.
+ */
+public final class GameCheckpoint {
+
+    private static final int MAGIC = 0x4354434B;
+    private static final short VERSION = 1;
+    private static final int CITY = 0x80;
+    private static final int MAX_SEATS = 0x7F;
+    private static final ResourceType[] TYPES = ResourceType.values();
+    private static final TileType[] TILE_TYPES = TileType.values();
+    /** Player ID, VP, hand, generator state */
+    private static final int SEAT_BYTES = 4 + 4 + 4 * TYPES.length + 8;
+
+    private final Path file;
+    private final Path temp;
+    private final int interval;
+    private ByteBuffer buffer;
+
+    /**
+     * @param file Checkpoint file (replaced on every save)
+     * @param interval Save after every interval-th round
+     */
+    public GameCheckpoint(Path file, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        this.file = file;
+        this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+        this.interval = interval;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Write the game's current state, replacing the previous checkpoint.
+     */
+    public void save(HeadlessGame game) {
+        int size = size(game);
+        if (buffer == null || buffer.capacity() < size) {
+            buffer = ByteBuffer.allocateDirect(size);
+        }
+        buffer.clear();
+        encode(game, buffer);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Put the game back in the state recorded in the file. The game must have the same
+     * topology and players (by ID and seat) as the one that was saved.
+     *
+     * @return false if there is no checkpoint file
+     * @throws IllegalArgumentException if the file is damaged or was written for another game
+     */
+    public static boolean restore(Path file, HeadlessGame game) {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = ByteBuffer.allocate((int) channel.size());
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // read to the end
+            }
+            in.flip();
+            decode(in, game);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Encoded size in bytes of a checkpoint of this game.
+     */
+    public static int size(HeadlessGame game) {
+        return size(game.getEngine(), game.getPlayers());
+    }
+
+    /**
+     * Encoded size in bytes of a checkpoint of this engine and table.
+     */
+    public static int size(CatanEngine engine, List<Player> players) {
+        IBoardGraph topology = engine.getBoard().getTopology();
+        return 20 + 2 * topology.getTileCount() + 12 + 24
+                + topology.getNodeCount() + topology.getEdgeCount()
+                + players.size() * SEAT_BYTES + 4;
+    }
+
+    /**
+     * Append the game's state to the buffer (size(game) bytes).
+     */
+    public static void encode(HeadlessGame game, ByteBuffer out) {
+        encode(game.getEngine(), game.getPlayers(), game.getRound(), game.getNextSeat(), out);
+    }
+
+    /**
+     * Append the state of a game driven by another loop (e.g. Simulator) to the buffer.
+     *
+     * @param round Rounds started so far
+     * @param nextSeat Seat to play next in that round (0 between rounds)
+     */
+    public static void encode(CatanEngine engine, List<Player> players, int round, int nextSeat, ByteBuffer out) {
+        Board board = engine.getBoard();
+        IBoardGraph topology = board.getTopology();
+        if (players.size() > MAX_SEATS) {
+            throw new IllegalArgumentException("checkpoints hold at most " + MAX_SEATS + " seats");
+        }
+        int start = out.position();
+        out.putInt(MAGIC).putShort(VERSION).putShort((short) players.size())
+                .putInt(topology.getNodeCount()).putInt(topology.getEdgeCount()).putInt(topology.getTileCount());
+        BoardLayout layout = board.getLayout();
+        for (int t = 0; t < topology.getTileCount(); t++) {
+            out.put((byte) layout.getType(t).ordinal()).put((byte) layout.getToken(t));
+        }
+        out.putInt(round).putInt(nextSeat).putInt(board.getRobberLocation());
+
+        IRandomDice dice = engine.getDice();
+        out.putLong(dice instanceof StandardDice ? ((StandardDice) dice).getState() : 0L);
+        long[] robber = engine.getDistributor().getRandomStates();
+        out.putLong(robber[0]).putLong(robber[1]);
+
+        for (int n = 0; n < topology.getNodeCount(); n++) {
+            Node node = board.getNode(n);
+            int value = 0;
+            if (node.getOccupant() != null) {
+                value = (players.indexOf(node.getOccupant()) + 1) | (node.getType() == BuildingType.CITY ? CITY : 0);
+            }
+            out.put((byte) value);
+        }
+        for (int e = 0; e < topology.getEdgeCount(); e++) {
+            Edge edge = board.getEdge(e);
+            out.put((byte) (edge.hasRoad() ? players.indexOf(edge.getOccupant()) + 1 : 0));
+        }
+        for (Player player : players) {
+            out.putInt(player.getPlayerID()).putInt(player.getVictoryPoints());
+            for (ResourceType type : TYPES) {
+                out.putInt(player.getResourceCount(type));
+            }
+            out.putLong(player instanceof ComputerPlayer ? ((ComputerPlayer) player).getRandomState() : 0L);
+        }
+        out.putInt(checksum(out, start, out.position()));
+    }
+
+    /**
+     * Restore the game from a buffer holding one encoded checkpoint.
+     *
+     * @throws IllegalArgumentException if the record is damaged or was written for another game
+     */
+    public static void decode(ByteBuffer in, HeadlessGame game) {
+        int[] turn = decode(in, game.getEngine(), game.getPlayers());
+        game.setTurn(turn[0], turn[1]);
+    }
+
+    /**
+     * Restore an engine and its players from a buffer holding one encoded checkpoint.
+     *
+     * @return { round, nextSeat } as passed to encode
+     * @throws IllegalArgumentException if the record is damaged or was written for another game
+     */
+    public static int[] decode(ByteBuffer in, CatanEngine engine, List<Player> players) {
+        Board board = engine.getBoard();
+        IBoardGraph topology = board.getTopology();
+        int start = in.position();
+        int size = size(engine, players);
+        if (in.remaining() != size) {
+            throw new IllegalArgumentException("checkpoint is " + in.remaining() + " bytes, expected " + size);
+        }
+        if (in.getInt(start + size - 4) != checksum(in, start, start + size - 4)) {
+            throw new IllegalArgumentException("checkpoint checksum mismatch");
+        }
+        if (in.getInt() != MAGIC || in.getShort() != VERSION) {
+            throw new IllegalArgumentException("not a version " + VERSION + " game checkpoint");
+        }
+        if (in.getShort() != players.size() || in.getInt() != topology.getNodeCount()
+                || in.getInt() != topology.getEdgeCount() || in.getInt() != topology.getTileCount()) {
+            throw new IllegalArgumentException("checkpoint was written for another board or table");
+        }
+        int seatRecords = start + size - 4 - players.size() * SEAT_BYTES;
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (in.getInt(seatRecords + seat * SEAT_BYTES) != players.get(seat).getPlayerID()) {
+                throw new IllegalArgumentException("checkpoint seats player IDs in a different order");
+            }
+        }
+        TileType[] types = new TileType[topology.getTileCount()];
+        int[] tokens = new int[types.length];
+        for (int t = 0; t < types.length; t++) {
+            types[t] = TILE_TYPES[in.get()];
+            tokens[t] = in.get();
+        }
+        // Clears occupancy, hands and caches (agents listen for the RESET event)
+        engine.reset(0L, new BoardLayout(types, tokens));
+
+        int round = in.getInt();
+        int nextSeat = in.getInt();
+        board.setRobberLocation(in.getInt());
+
+        long diceState = in.getLong();
+        if (engine.getDice() instanceof StandardDice) {
+            ((StandardDice) engine.getDice()).setState(diceState);
+        }
+        engine.getDistributor().setRandomStates(new long[] { in.getLong(), in.getLong() });
+
+        for (int n = 0; n < topology.getNodeCount(); n++) {
+            int value = in.get() & 0xFF;
+            if (value != 0) {
+                board.getNode(n).setOccupant(players.get((value & MAX_SEATS) - 1),
+                        (value & CITY) != 0 ? BuildingType.CITY : BuildingType.SETTLEMENT);
+            }
+        }
+        for (int e = 0; e < topology.getEdgeCount(); e++) {
+            int seat = in.get() & 0xFF;
+            if (seat != 0) {
+                board.getEdge(e).buildRoad(players.get(seat - 1));
+            }
+        }
+        for (Player player : players) {
+            in.getInt();
+            player.addVictoryPoints(in.getInt());
+            for (ResourceType type : TYPES) {
+                player.addResource(type, in.getInt());
+            }
+            long state = in.getLong();
+            if (player instanceof ComputerPlayer) {
+                ((ComputerPlayer) player).setRandomState(state);
+            }
+        }
+        in.getInt();
+        return new int[] { round, nextSeat };
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(to).position(from));
+        return (int) crc.getValue();
+    }
+}
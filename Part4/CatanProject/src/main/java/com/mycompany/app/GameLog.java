@@ -0,0 +1,62 @@
+package com.mycompany.app;
+
+import java.io.PrintStream;
+
+/**
+ * Console output for game-rule events (builds, robber, discards) that batch runs can silence.
+ * The quiet flag is per thread, so headless workers skip printing (and the shared System.out
+ * lock) while interactive games on other threads keep their output.
+ *
+ * Output goes to the current thread's game output (see Simulator.setOutput), so commands print
+ * to the game that executes them; threads without one print to System.out.
+ */
+public final class GameLog {
+
+    private static final ThreadLocal<Boolean> QUIET = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final ThreadLocal<PrintStream> OUT = new ThreadLocal<>();
+
+    private GameLog() {
+    }
+
+    /**
+     * Print a line unless the current thread is quiet.
+     */
+    public static void println(String message) {
+        if (!QUIET.get()) {
+            out().println(message);
+        }
+    }
+
+    /**
+     * The current thread's game output, or System.out.
+     */
+    public static PrintStream out() {
+        PrintStream out = OUT.get();
+        return out != null ? out : System.out;
+    }
+
+    /**
+     * Send the current thread's game output to out (null restores System.out).
+     */
+    public static void setOut(PrintStream out) {
+        if (out == null) {
+            OUT.remove();
+        } else {
+            OUT.set(out);
+        }
+    }
+
+    /**
+     * Whether the current thread suppresses game output.
+     */
+    public static boolean isQuiet() {
+        return QUIET.get();
+    }
+
+    /**
+     * Enable or disable game output for the current thread.
+     */
+    public static void setQuiet(boolean quiet) {
+        QUIET.set(quiet);
+    }
+}
@@ -0,0 +1,73 @@
+package com.mycompany.app;
+
+/**
+ * Outcome of one HeadlessGame.
+ */
+public final class GameResult {
+
+    private final int winnerSeat;
+    private final int rounds;
+    private final boolean reachedTarget;
+    private final int[] victoryPoints;
+    private final Adjudication adjudication;
+
+    /**
+     * @param winnerSeat index into the player list of the winner, or -1 for a draw
+     * @param rounds rounds played
+     * @param reachedTarget whether the winner actually reached the VP target (vs. leading at max rounds)
+     * @param victoryPoints final VP per seat
+     */
+    public GameResult(int winnerSeat, int rounds, boolean reachedTarget, int[] victoryPoints) {
+        this(winnerSeat, rounds, reachedTarget, victoryPoints, Adjudication.NONE);
+    }
+
+    /**
+     * @param adjudication why the game was ended early, or NONE
+     */
+    public GameResult(int winnerSeat, int rounds, boolean reachedTarget, int[] victoryPoints,
+                      Adjudication adjudication) {
+        this.winnerSeat = winnerSeat;
+        this.rounds = rounds;
+        this.reachedTarget = reachedTarget;
+        this.victoryPoints = victoryPoints.clone();
+        this.adjudication = adjudication;
+    }
+
+    /**
+     * @return seat index of the winner, or -1 if the game ended in a tie
+     */
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    public boolean isDraw() {
+        return winnerSeat < 0;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public boolean reachedTarget() {
+        return reachedTarget;
+    }
+
+    public int getVictoryPoints(int seat) {
+        return victoryPoints[seat];
+    }
+
+    /**
+     * @return why an Adjudicator ended the game early, or NONE
+     */
+    public Adjudication getAdjudication() {
+        return adjudication;
+    }
+
+    public boolean isAdjudicated() {
+        return adjudication != Adjudication.NONE;
+    }
+
+    public int getSeatCount() {
+        return victoryPoints.length;
+    }
+}
@@ -10,6 +10,7 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -57,29 +58,18 @@ public class GameStateObserver implements IObserver {
         this.engine.attach(this);
 	}
 
-	private static final int[][] TILE_COORDS = new int[][]{
-		// center
-		{0, 0, 0},
-		// first layer
-		{1, -1, 0},
-		{0, -1, 1},
-		{-1, 0, 1},
-		{-1, 1, 0},
-		{0, 1, -1},
-		{1, 0, -1},
-		// second layer
-		{2, -2, 0},
-		{1, -2, 1},
-		{0, -2, 2},
-		{-1, -1, 2},
-		{-2, 0, 2},
-		{-2, 1, 1},
-		{-2, 2, 0},
-		{-1, 2, -1},
-		{0, 2, -2},
-		{1, 1, -2},
-		{2, 0, -2},
-		{2, -1, -1},
+	/**
+	 * Cube coordinates for boards whose topology does not carry its own (the hardcoded
+	 * standard graph numbers tiles exactly like the radius-2 hexagon)
+	 */
+	private static final HexGridGraph STANDARD_GRID = HexGridGraph.hexagon(2);
+
+	/**
+	 * Owner colours by player ID; the first four are the base game's, the rest cover
+	 * extension and large-board games (higher IDs export as PLAYER_<id>)
+	 */
+	private static final String[] PLAYER_COLORS = {
+		"RED", "BLUE", "ORANGE", "WHITE", "GREEN", "BROWN", "PURPLE", "YELLOW"
 	};
 
 	/**
@@ -92,13 +82,16 @@ public class GameStateObserver implements IObserver {
 		json.append("{\n");
 		json.append("  \"tiles\": [\n");
 
-		for (int tileID = 0; tileID < TILE_COORDS.length; tileID++) {
+		IBoardGraph topology = board.getTopology();
+		HexGridGraph grid = topology instanceof HexGridGraph ? (HexGridGraph) topology : STANDARD_GRID;
+		int tileCount = topology.getTileCount();
+		for (int tileID = 0; tileID < tileCount; tileID++) {
 			HexTile tile = board.getTile(tileID);
 			if (tile == null) {
 				continue;
 			}
 
-			int[] coords = TILE_COORDS[tileID];
+			int[] coords = grid.getTileCoordinates(tileID);
 			int q = coords[0];
 			int s = coords[1];
 			int r = coords[2];
@@ -118,7 +111,7 @@ public class GameStateObserver implements IObserver {
 					.append(tile.getNumberToken()).append(" }");
 			}
 
-			if (tileID < TILE_COORDS.length - 1) {
+			if (tileID < tileCount - 1) {
 				json.append(",\n");
 			} else {
 				json.append("\n");
@@ -189,14 +182,11 @@ public class GameStateObserver implements IObserver {
 	 */
 	private List<int[]> collectRoadsInBfsOrder(Board board, IBoardGraph topology) {
 		List<int[]> orderedRoads = new ArrayList<>();
-		for (int playerID = 0; playerID < 4; playerID++) {
-			Set<Integer> buildingNodes = new HashSet<>();
-			for (Node node : board.getAllNodes()) {
-				if (node.getOccupant() != null &&
-						node.getOccupant().getPlayerID() == playerID &&
-						node.getType() != BuildingType.NONE) {
-					buildingNodes.add(node.getNodeID());
-				}
+		for (Player player : engine.getPlayers()) {
+			int playerID = player.getPlayerID();
+			Set<Integer> buildingNodes = new LinkedHashSet<>();
+			for (int nodeID : board.getOwnership().getNodes(playerID)) {
+				buildingNodes.add(nodeID);
 			}
 			Set<Integer> visitedNodes = new HashSet<>(buildingNodes);
 			Set<Integer> outputEdgeIds = new HashSet<>();
@@ -224,14 +214,10 @@ public class GameStateObserver implements IObserver {
 	}
 
 	private String getColorForPlayer(int playerID) {
-		int idx = Math.floorMod(playerID, 4);
-		switch (idx) {
-			case 0: return "RED";
-			case 1: return "BLUE";
-			case 2: return "ORANGE";
-			case 3: return "WHITE";
-			default: return "RED";
+		if (playerID >= 0 && playerID < PLAYER_COLORS.length) {
+			return PLAYER_COLORS[playerID];
 		}
+		return "PLAYER_" + playerID;
 	}
 
 	private void writeToFile(String path, String contents) {
@@ -0,0 +1,389 @@
+package com.mycompany.app;
+
+import com.mycompany.app.analysis.PositionStore;
+import com.mycompany.app.analysis.TrainingDataWriter;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Silent, seeded game for batch tools (evaluation, tournaments, Monte Carlo analysis).
+ *
+ * Plays the same turn loop as Simulator (roll, produce or resolve a 7, take turn) without
+ * console output, step-forward prompts or visualizer export. Dice, robber and every computer
+ * player are seeded from one game seed, so a game is fully reproducible.
+ */
+public class HeadlessGame {
+
+    /**
+     * Victory points needed to win
+     */
+    public static final int TARGET_VP = 10;
+
+    /**
+     * Topology is immutable once built, so all headless games share one instance.
+     */
+    private static final IBoardGraph SHARED_TOPOLOGY = new CatanBoardGraph();
+
+    private final CatanEngine engine;
+    private final List<Player> players;
+    private final int maxRounds;
+    private int round;
+    /** Seat whose turn is next within the current round; 0 between rounds */
+    private int nextSeat;
+    private boolean fastForward;
+    private Adjudicator adjudicator = Adjudicator.OFF;
+    private GameCheckpoint checkpoint;
+    private PositionStore positions;
+    private TrainingDataWriter.GameRecorder training;
+
+    /**
+     * @param layout Tile layout to play on
+     * @param seed Game seed (dice, robber, and computer players derive from it)
+     * @param maxRounds Round cap; the VP leader wins if it is reached
+     * @param playerFactory Creates the seated players given the engine
+     */
+    public HeadlessGame(BoardLayout layout, long seed, int maxRounds,
+                        Function<CatanEngine, List<Player>> playerFactory) {
+        this(SHARED_TOPOLOGY, layout, seed, maxRounds, playerFactory);
+    }
+
+    /**
+     * Game on an arbitrary topology (e.g. an enlarged HexGridGraph).
+     *
+     * @param topology Board topology; the layout must have one entry per tile
+     * @param layout Tile layout to play on
+     * @param seed Game seed (dice, robber, and computer players derive from it)
+     * @param maxRounds Round cap; the VP leader wins if it is reached
+     * @param playerFactory Creates the seated players given the engine
+     */
+    public HeadlessGame(IBoardGraph topology, BoardLayout layout, long seed, int maxRounds,
+                        Function<CatanEngine, List<Player>> playerFactory) {
+        Board board = new Board(topology, layout);
+        this.engine = new CatanEngine(board, new StandardDice());
+        this.players = playerFactory.apply(engine);
+        engine.setPlayers(players);
+        engine.reseed(seed);
+        this.maxRounds = maxRounds;
+        this.round = 0;
+    }
+
+    /**
+     * Start a new game on the same engine and players, as if newly constructed with this
+     * seed and layout; lets a worker thread play many games without reallocating.
+     *
+     * @param seed Game seed (dice, robber, and computer players derive from it)
+     * @param layout Tile layout to play on (same topology)
+     */
+    public void reset(long seed, BoardLayout layout) {
+        engine.reset(seed, layout);
+        this.round = 0;
+        this.nextSeat = 0;
+    }
+
+    /**
+     * Play turns in which the active player has no affordable, placeable build as just roll and
+     * production, in primitives (see FastForward). Results are identical for the same seed; it
+     * is skipped for games with human players, engine observers or per-turn event subscribers.
+     * Off by default.
+     */
+    public void setFastForward(boolean fastForward) {
+        this.fastForward = fastForward;
+    }
+
+    public boolean isFastForward() {
+        return fastForward;
+    }
+
+    /**
+     * End decided games early (see Adjudicator); Adjudicator.OFF, the default, plays to the end.
+     */
+    public void setAdjudicator(Adjudicator adjudicator) {
+        this.adjudicator = adjudicator;
+    }
+
+    public Adjudicator getAdjudicator() {
+        return adjudicator;
+    }
+
+    /**
+     * Save the game to the checkpoint after every checkpoint.getInterval()-th round (null, the
+     * default, never saves). GameCheckpoint.restore puts a game back where the file left off.
+     */
+    public void setCheckpoint(GameCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public GameCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Append the position after every turn to the store (null, the default, records nothing).
+     * Recorded games play every turn through the engine, without fast-forwarding.
+     */
+    public void setPositionStore(PositionStore positions) {
+        this.positions = positions;
+    }
+
+    public PositionStore getPositionStore() {
+        return positions;
+    }
+
+    /**
+     * Record a training row after every turn and label the rows with the winner when run
+     * returns (null, the default, records nothing). Like a position store, this turns off
+     * fast-forwarding.
+     */
+    public void setTrainingRecorder(TrainingDataWriter.GameRecorder training) {
+        this.training = training;
+    }
+
+    public TrainingDataWriter.GameRecorder getTrainingRecorder() {
+        return training;
+    }
+
+    public CatanEngine getEngine() {
+        return engine;
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Rounds played so far.
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Seat that plays next in the current round (0 when no round is in progress).
+     */
+    public int getNextSeat() {
+        return nextSeat;
+    }
+
+    /**
+     * Position in the turn order, as recorded by a checkpoint.
+     */
+    void setTurn(int round, int nextSeat) {
+        this.round = round;
+        this.nextSeat = nextSeat;
+    }
+
+    /**
+     * Snake-draft initial placement (seats 0..n-1, then n-1..0). Each pick is a free settlement
+     * plus one free adjacent road; afterwards everyone receives the Simulator starting bundle.
+     *
+     * Random picks never take a node that a later forced pick needs (or its neighbours),
+     * so forced picks stay legal.
+     *
+     * @param rng Source for random picks
+     * @param forcedNodes Node for the k-th pick in draft order, or -1 for a random open node
+     *                    (may be shorter than the draft; null means all random)
+     * @return false if a forced node was not open when its turn came
+     */
+    public boolean snakeDraftSetup(SplittableRandom rng, int[] forcedNodes) {
+        Board board = engine.getBoard();
+        int seats = players.size();
+        for (int pick = 0; pick < 2 * seats; pick++) {
+            Player player = players.get(pick < seats ? pick : 2 * seats - 1 - pick);
+            int forced = forcedNodes != null && pick < forcedNodes.length ? forcedNodes[pick] : -1;
+            int node = forced >= 0 ? forced : randomOpenNode(rng, forcedNodes, pick);
+            if (node < 0 || !isOpen(board, node)) {
+                return false;
+            }
+            placeSettlementWithRoad(player, node, rng);
+        }
+        Simulator.grantStartingResources(players);
+        return true;
+    }
+
+    /**
+     * Place a free settlement (+1 VP) and a free road on a random empty adjacent edge.
+     */
+    public void placeSettlementWithRoad(Player player, int nodeID, SplittableRandom rng) {
+        Board board = engine.getBoard();
+        board.getNode(nodeID).buildSettlement(player);
+        player.addVictoryPoints(1);
+        int[] edges = board.getTopology().getAdjacentEdges(nodeID);
+        int offset = rng.nextInt(edges.length);
+        for (int i = 0; i < edges.length; i++) {
+            Edge edge = board.getEdge(edges[(offset + i) % edges.length]);
+            if (!edge.hasRoad()) {
+                edge.buildRoad(player);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Play until someone reaches TARGET_VP or maxRounds is hit. A restored game continues
+     * from the recorded round and seat.
+     */
+    public GameResult run() {
+        boolean wasQuiet = GameLog.isQuiet();
+        GameLog.setQuiet(true);
+        FastForward skipper = fastForward && positions == null && training == null
+                && FastForward.applies(engine, players) ? new FastForward(engine, players) : null;
+        try {
+            GameResult result = play(skipper);
+            if (training != null) {
+                training.finish(result.getWinnerSeat());
+            }
+            return result;
+        } finally {
+            if (skipper != null) {
+                skipper.store();
+            }
+            GameLog.setQuiet(wasQuiet);
+        }
+    }
+
+    private GameResult play(FastForward skipper) {
+        while (nextSeat > 0 || round < maxRounds) {
+            if (nextSeat == 0) {
+                round++;
+            }
+            while (nextSeat < players.size()) {
+                int seat = nextSeat++;
+                Player player = players.get(seat);
+                if (skipper != null) {
+                    skipper.playTurn(seat);
+                } else {
+                    playTurn(player);
+                }
+                if (positions != null) {
+                    positions.append(engine, players, nextSeat % players.size());
+                }
+                if (training != null) {
+                    training.record(engine, players, nextSeat % players.size());
+                }
+                if (player.getVictoryPoints() >= TARGET_VP) {
+                    return result(seat, true);
+                }
+            }
+            nextSeat = 0;
+            if (checkpoint != null && round % checkpoint.getInterval() == 0) {
+                if (skipper != null) {
+                    skipper.store();
+                }
+                checkpoint.save(this);
+            }
+            if (adjudicator.checksAfter(round)) {
+                Adjudication reason = adjudicator.check(engine, players);
+                if (reason != Adjudication.NONE) {
+                    return result(leaderSeat(), false, reason);
+                }
+            }
+        }
+        return result(leaderSeat(), false);
+    }
+
+    /**
+     * One turn: roll, produce or resolve a 7, then let the player act.
+     */
+    void playTurn(Player player) {
+        int roll = engine.rollDice(player.getPlayerID());
+        if (roll == 7) {
+            engine.handleRollSeven(player);
+        } else {
+            engine.distributeResources(roll, players);
+        }
+        player.takeTurn(engine);
+        engine.endTurn(player);
+    }
+
+    private GameResult result(int winnerSeat, boolean reachedTarget) {
+        return result(winnerSeat, reachedTarget, Adjudication.NONE);
+    }
+
+    private GameResult result(int winnerSeat, boolean reachedTarget, Adjudication adjudication) {
+        int[] vp = new int[players.size()];
+        for (int i = 0; i < vp.length; i++) {
+            vp[i] = players.get(i).getVictoryPoints();
+        }
+        return new GameResult(winnerSeat, round, reachedTarget, vp, adjudication);
+    }
+
+    private int leaderSeat() {
+        int best = -1;
+        int bestVp = Integer.MIN_VALUE;
+        boolean tied = false;
+        for (int i = 0; i < players.size(); i++) {
+            int vp = players.get(i).getVictoryPoints();
+            if (vp > bestVp) {
+                bestVp = vp;
+                best = i;
+                tied = false;
+            } else if (vp == bestVp) {
+                tied = true;
+            }
+        }
+        return tied ? -1 : best;
+    }
+
+    private int randomOpenNode(SplittableRandom rng, int[] forcedNodes, int pick) {
+        Board board = engine.getBoard();
+        int nodeCount = board.getAllNodes().size();
+        int[] open = new int[nodeCount];
+        int count = 0;
+        for (int n = 0; n < nodeCount; n++) {
+            if (isOpen(board, n) && !reservedLater(board, n, forcedNodes, pick)) {
+                open[count++] = n;
+            }
+        }
+        return count == 0 ? -1 : open[rng.nextInt(count)];
+    }
+
+    private static boolean reservedLater(Board board, int node, int[] forcedNodes, int pick) {
+        if (forcedNodes == null) {
+            return false;
+        }
+        for (int k = pick + 1; k < forcedNodes.length; k++) {
+            int f = forcedNodes[k];
+            if (f < 0) {
+                continue;
+            }
+            if (f == node) {
+                return true;
+            }
+            for (int adj : board.getTopology().getAdjacentNodes(f)) {
+                if (adj == node) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Empty and no building on any neighbour (distance rule).
+     */
+    static boolean isOpen(Board board, int nodeID) {
+        Node node = board.getNode(nodeID);
+        if (node == null || node.getType() != BuildingType.NONE) {
+            return false;
+        }
+        for (int adj : board.getTopology().getAdjacentNodes(nodeID)) {
+            if (board.getNode(adj).getType() != BuildingType.NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deterministically mix a base seed with indices (SplitMix64 finalizer), so parallel
+     * batch tasks get independent, reproducible streams.
+     */
+    public static long seedFor(long base, long a, long b) {
+        long z = base + 0x9E3779B97F4A7C15L * (a + 1) + 0xBF58476D1CE4E5B9L * (b + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
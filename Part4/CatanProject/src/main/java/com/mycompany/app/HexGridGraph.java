@@ -0,0 +1,238 @@
+package com.mycompany.app;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Board topology generated from the cube coordinates of its tiles, for any board shape or size.
+ *
+ * Tiles are pointy-topped hexes with cube coordinates {q, s, r} (q + s + r = 0), in the order
+ * given. Walking the tiles in that order, each tile's corners [N, NE, SE, S, SW, NW] receive the
+ * next free node ID the first time they are seen, and its sides (NE-SE, SE-S, S-SW, SW-NW, NW-N,
+ * N-NE) the next free edge ID. Adjacency lists are ascending. With the spiral tile order of
+ * hexagon(2) this reproduces CatanBoardGraph ID for ID.
+ *
+ * Corners are matched on integer positions: a tile's centre is (2q + r, 3r) in units of half a
+ * hex width and half a side, and its corners sit at fixed offsets from it.
+ */
+public class HexGridGraph implements IBoardGraph {
+
+    private static final int[] EMPTY = new int[0];
+
+    // Corner offsets [N, NE, SE, S, SW, NW] from a tile centre
+    private static final int[] CORNER_DX = {0, 1, 1, 0, -1, -1};
+    private static final int[] CORNER_DY = {-2, -1, 1, 2, 1, -1};
+
+    // Ring walk directions as {dq, ds, dr}: SW, W, NW, NE, E, SE
+    private static final int[][] RING_STEPS = {
+            {-1, 0, 1}, {-1, 1, 0}, {0, 1, -1}, {1, 0, -1}, {1, -1, 0}, {0, -1, 1}
+    };
+
+    private final int[][] tileCoords;
+    private final int[][] tileNodes;
+    private final int[][] nodeAdjacencies;
+    private final int[][] edgeAdjacencies;
+    private final int[][] edgeEndpoints;
+    private final TopologyIndex index;
+
+    /**
+     * @param cubeCoords {q, s, r} per tile; tile IDs follow this order
+     */
+    public HexGridGraph(int[][] cubeCoords) {
+        int tiles = cubeCoords.length;
+        this.tileCoords = new int[tiles][];
+        this.tileNodes = new int[tiles][6];
+
+        Set<Long> seenTiles = new HashSet<>();
+        Map<Long, Integer> nodeIds = new HashMap<>();
+        Map<Long, Integer> edgeIds = new HashMap<>();
+        int[] ends = new int[tiles * 12];
+        int edgeCount = 0;
+        for (int t = 0; t < tiles; t++) {
+            int[] c = cubeCoords[t];
+            if (c.length != 3 || c[0] + c[1] + c[2] != 0) {
+                throw new IllegalArgumentException("Tile " + t + " is not a cube coordinate: "
+                        + Arrays.toString(c));
+            }
+            if (!seenTiles.add(pack(c[0], c[2]))) {
+                throw new IllegalArgumentException("Tile " + t + " repeats " + Arrays.toString(c));
+            }
+            tileCoords[t] = c.clone();
+            int x = 2 * c[0] + c[2];
+            int y = 3 * c[2];
+            for (int k = 0; k < 6; k++) {
+                long key = pack(x + CORNER_DX[k], y + CORNER_DY[k]);
+                Integer id = nodeIds.get(key);
+                if (id == null) {
+                    id = nodeIds.size();
+                    nodeIds.put(key, id);
+                }
+                tileNodes[t][k] = id;
+            }
+            for (int k = 1; k <= 6; k++) {
+                int a = tileNodes[t][k % 6];
+                int b = tileNodes[t][(k + 1) % 6];
+                long key = pack(Math.min(a, b), Math.max(a, b));
+                if (!edgeIds.containsKey(key)) {
+                    edgeIds.put(key, edgeCount);
+                    ends[2 * edgeCount] = a;
+                    ends[2 * edgeCount + 1] = b;
+                    edgeCount++;
+                }
+            }
+        }
+
+        int nodeCount = nodeIds.size();
+        this.edgeEndpoints = new int[edgeCount][];
+        int[][] nodeFound = new int[nodeCount][3];
+        int[][] edgeFound = new int[nodeCount][3];
+        int[] degree = new int[nodeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int a = ends[2 * e];
+            int b = ends[2 * e + 1];
+            edgeEndpoints[e] = new int[]{a, b};
+            nodeFound[a][degree[a]] = b;
+            edgeFound[a][degree[a]++] = e;
+            nodeFound[b][degree[b]] = a;
+            edgeFound[b][degree[b]++] = e;
+        }
+        this.nodeAdjacencies = new int[nodeCount][];
+        this.edgeAdjacencies = new int[nodeCount][];
+        for (int n = 0; n < nodeCount; n++) {
+            nodeAdjacencies[n] = Arrays.copyOf(nodeFound[n], degree[n]);
+            edgeAdjacencies[n] = Arrays.copyOf(edgeFound[n], degree[n]);
+            Arrays.sort(nodeAdjacencies[n]);
+            Arrays.sort(edgeAdjacencies[n]);
+        }
+        this.index = new TopologyIndex(this);
+    }
+
+    /**
+     * Regular hexagonal board: radius 2 is the standard 19-tile board, radius r has
+     * 3r(r + 1) + 1 tiles. Tiles are numbered outward ring by ring, each ring starting east
+     * of the centre and running clockwise.
+     */
+    public static HexGridGraph hexagon(int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must be non-negative: " + radius);
+        }
+        return new HexGridGraph(spiral(radius, (q, s, r) -> true));
+    }
+
+    /**
+     * The 30-tile board of the 5-6 player extension: rows of 3, 4, 5, 6, 5, 4, 3 tiles.
+     * Numbered in the same spiral order as hexagon(), skipping positions outside the shape.
+     */
+    public static HexGridGraph extended() {
+        return new HexGridGraph(spiral(3, (q, s, r) -> Math.abs(r) <= 3
+                && Math.abs(2 * q + r + 1) <= 5 - Math.abs(r)));
+    }
+
+    /**
+     * Cube coordinates {q, s, r} of a tile (as used by the visualizer's base_map.json).
+     * The returned array is shared; callers must not modify it.
+     */
+    public int[] getTileCoordinates(int tileID) {
+        return tileID >= 0 && tileID < tileCoords.length ? tileCoords[tileID] : EMPTY;
+    }
+
+    @Override
+    public int[] getAdjacentNodes(int nodeID) {
+        return nodeID >= 0 && nodeID < nodeAdjacencies.length ? nodeAdjacencies[nodeID] : EMPTY;
+    }
+
+    @Override
+    public int[] getAdjacentEdges(int nodeID) {
+        return nodeID >= 0 && nodeID < edgeAdjacencies.length ? edgeAdjacencies[nodeID] : EMPTY;
+    }
+
+    @Override
+    public int[] getEdgeEndpoints(int edgeID) {
+        return edgeID >= 0 && edgeID < edgeEndpoints.length ? edgeEndpoints[edgeID] : EMPTY;
+    }
+
+    @Override
+    public int[] getTileNodes(int tileID) {
+        return tileID >= 0 && tileID < tileNodes.length ? tileNodes[tileID] : EMPTY;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeAdjacencies.length;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edgeEndpoints.length;
+    }
+
+    @Override
+    public int getTileCount() {
+        return tileNodes.length;
+    }
+
+    @Override
+    public int[] getEdgeNeighbors(int edgeID) {
+        return index.getEdgeNeighbors(edgeID);
+    }
+
+    @Override
+    public long[] getEdgesWithinTwo(int edgeID) {
+        return index.getEdgesWithinTwo(edgeID);
+    }
+
+    @Override
+    public int[] getNodeTiles(int nodeID) {
+        return index.getNodeTiles(nodeID);
+    }
+
+    @Override
+    public int[] getEdgeTiles(int edgeID) {
+        return index.getEdgeTiles(edgeID);
+    }
+
+    @Override
+    public int getEdgeBetween(int v1, int v2) {
+        return index.getEdgeBetween(v1, v2);
+    }
+
+    private interface Shape {
+        boolean contains(int q, int s, int r);
+    }
+
+    /**
+     * Centre, then rings 1..radius: each ring starts at (k, -k, 0) and takes k steps in each
+     * ring direction. Positions rejected by the shape are skipped.
+     */
+    private static int[][] spiral(int radius, Shape shape) {
+        List<int[]> coords = new ArrayList<>();
+        if (shape.contains(0, 0, 0)) {
+            coords.add(new int[]{0, 0, 0});
+        }
+        for (int k = 1; k <= radius; k++) {
+            int q = k;
+            int s = -k;
+            int r = 0;
+            for (int[] step : RING_STEPS) {
+                for (int i = 0; i < k; i++) {
+                    if (shape.contains(q, s, r)) {
+                        coords.add(new int[]{q, s, r});
+                    }
+                    q += step[0];
+                    s += step[1];
+                    r += step[2];
+                }
+            }
+        }
+        return coords.toArray(new int[0][]);
+    }
+
+    private static long pack(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+}
@@ -47,13 +47,25 @@ public class HumanInputParser implements IParser {
     private static final Pattern REDO =
             Pattern.compile("^redo\\s*$", Pattern.CASE_INSENSITIVE);
 
+    private static final IBoardGraph STANDARD_TOPOLOGY = new CatanBoardGraph();
+
     private final IHistoryIterator iterator;
+    private final IBoardGraph topology;
 
     /**
-     * Create parser with iterator for undo/redo support.
+     * Create parser with iterator for undo/redo support, resolving roads on the standard board.
      */
     public HumanInputParser(IHistoryIterator iterator) {
+        this(iterator, STANDARD_TOPOLOGY);
+    }
+
+    /**
+     * Create parser with iterator for undo/redo support.
+     * @param topology Board topology used to map "build road v1 v2" to an edge
+     */
+    public HumanInputParser(IHistoryIterator iterator, IBoardGraph topology) {
         this.iterator = iterator;
+        this.topology = topology;
     }
 
     @Override
@@ -82,9 +94,11 @@ public class HumanInputParser implements IParser {
         if (m.matches()) {
             int v1 = Integer.parseInt(m.group(1));
             int v2 = Integer.parseInt(m.group(2));
-            // For now we simply encode the first vertex as the edge id
-            // placeholder; a future enhancement can map (v1,v2) to edge.
-            return new BuildRoadCommand(v1);
+            int edgeId = topology.getEdgeBetween(v1, v2);
+            if (edgeId < 0) {
+                return new InvalidCommand("No road position between nodes " + v1 + " and " + v2 + ".");
+            }
+            return new BuildRoadCommand(edgeId);
         }
 
         m = BUILD_SETTLEMENT.matcher(trimmed);
@@ -2,6 +2,7 @@ package com.mycompany.app;
 
 import com.mycompany.app.commands.*;
 
+import java.io.PrintStream;
 import java.util.Scanner;
 
 /**
@@ -17,32 +18,107 @@ public class HumanPlayer extends Player {
 		ACTION_PHASE
 	}
 
-	private final CommandHistory history = new CommandHistory();
-	private final IHistoryIterator iterator = history.createIterator();
-	private final IParser parser = new HumanInputParser(iterator);
+	private CommandHistory history;
+	private IHistoryIterator iterator;
+	private IParser parser;
 	private final Scanner scanner;
+	/**
+	 * Where prompts go, or null for the game's output (GameLog.out())
+	 */
+	private final PrintStream output;
+	/**
+	 * Board topology that "build road v1 v2" resolves against, or null for the standard board
+	 */
+	private final IBoardGraph topology;
+	/**
+	 * Write-ahead journal of this game, or null
+	 */
+	private JournalSession journal;
+	/**
+	 * Input line behind the command read last
+	 */
+	private String lastLine;
+	/**
+	 * Whether a read found the end of the input
+	 */
+	private boolean inputClosed;
 
+	/**
+	 * Human on the standard board.
+	 */
 	public HumanPlayer(int playerID, Scanner scanner) {
+		this(playerID, scanner, null);
+	}
+
+	/**
+	 * Human on the standard board whose prompts go to output, e.g. the socket of a server session.
+	 */
+	public HumanPlayer(int playerID, Scanner scanner, PrintStream output) {
+		this(playerID, scanner, output, null);
+	}
+
+	/**
+	 * Human playing on the given topology (pass engine.getBoard().getTopology()).
+	 *
+	 * @param output Where prompts go, or null for the game's output
+	 * @param topology Board topology that road commands are resolved against, or null for the standard board
+	 */
+	public HumanPlayer(int playerID, Scanner scanner, PrintStream output, IBoardGraph topology) {
 		super(playerID);
 		this.scanner = scanner;
+		this.output = output;
+		this.topology = topology;
+		clearHistory();
+	}
+
+	private PrintStream out() {
+		return output != null ? output : GameLog.out();
+	}
+
+	/**
+	 * Read commands through a journal session (replayed first, then live) and record every
+	 * successful one in it.
+	 */
+	public void setJournal(JournalSession journal) {
+		this.journal = journal;
+	}
+
+	/**
+	 * Forget undo/redo history. Journal snapshots cannot hold command objects, so journaled
+	 * games clear it whenever a snapshot is taken; replay from the snapshot then matches.
+	 */
+	public void clearHistory() {
+		history = new CommandHistory();
+		iterator = history.createIterator();
+		parser = topology != null ? new HumanInputParser(iterator, topology) : new HumanInputParser(iterator);
+	}
+
+	/**
+	 * Whether this player's input has ended (closed console or disconnected client); the
+	 * simulator abandons the game then instead of playing on without the player.
+	 */
+	public boolean isInputClosed() {
+		return inputClosed;
 	}
 
 	@Override
 	public void takeTurn(IGameController controller) {
-		System.out.println("Human player " + playerID + " turn. Type 'help' for commands.");
+		out().println("Human player " + playerID + " turn. Type 'help' for commands.");
 
 		TurnState state = TurnState.PRE_ROLL;
 		while (true) {
 			switch (state) {
 				case PRE_ROLL:
 					// State 1: pre-roll, only meaningful transition is to roll dice.
-					System.out.print("[pre-roll] > ");
+					out().print("[pre-roll] > ");
 					ICommand preRollCommand = readCommand();
 					if (preRollCommand == null) {
 						return;
 					}
 
 					if (preRollCommand instanceof RollCommand) {
+						// Journaled before it runs: a roll of 7 reads discards, which follow it
+						recordSuccess();
 						preRollCommand.execute(controller, this);
 						state = TurnState.WAIT_FOR_ROLL_RESOLUTION;
 					} else if (preRollCommand instanceof HelpCommand ||
@@ -51,9 +127,9 @@ public class HumanPlayer extends Player {
 						preRollCommand.execute(controller, this);
 						// Remain in PRE_ROLL until a roll actually occurs.
 					} else if (preRollCommand instanceof EndTurnCommand) {
-						System.out.println("You must roll before ending your turn.");
+						out().println("You must roll before ending your turn.");
 					} else {
-						System.out.println("You must roll first. Type 'roll' to roll the dice.");
+						out().println("You must roll first. Type 'roll' to roll the dice.");
 					}
 					break;
 
@@ -75,19 +151,25 @@ public class HumanPlayer extends Player {
 					// State 4: main action phase. The only stateful transition we
 					// enforce here is: once you successfully invoke a build-oriented
 					// command, the turn ends.
-					System.out.print("[action] > ");
+					out().print("[action] > ");
 					ICommand actionCommand = readCommand();
 					if (actionCommand == null) {
 						return;
 					}
 
+					// Journal a command before it runs, as a roll of 7 reads the discards
+					// that must follow it; a build only counts once it has succeeded.
+					boolean build = isBuild(actionCommand);
+					if (!build && changesGame(actionCommand)) {
+						recordSuccess();
+					}
 					actionCommand.execute(controller, this);
+					if (build && actionCommand.wasSuccessful()) {
+						recordSuccess();
+					}
 
 					// Push successful build commands to history for undo/redo
-					if (actionCommand.wasSuccessful() &&
-							(actionCommand instanceof BuildSettlementCommand ||
-							 actionCommand instanceof BuildRoadCommand ||
-							 actionCommand instanceof BuildCityCommand)) {
+					if (build && actionCommand.wasSuccessful()) {
 						history.push(actionCommand, iterator.getPosition());
 						iterator.advance();
 					}
@@ -103,11 +185,40 @@ public class HumanPlayer extends Player {
 		}
 	}
 
-	private ICommand readCommand() {
-		if (!scanner.hasNextLine()) {
-			return null;
+	/**
+	 * Whether an action-phase command other than a build changes the game (and so belongs in
+	 * the journal): everything except help, status and invalid input.
+	 */
+	private static boolean changesGame(ICommand command) {
+		return !(command instanceof HelpCommand || command instanceof StatusCommand
+				|| command instanceof InvalidCommand);
+	}
+
+	private static boolean isBuild(ICommand command) {
+		return command instanceof BuildSettlementCommand || command instanceof BuildRoadCommand
+				|| command instanceof BuildCityCommand;
+	}
+
+	private void recordSuccess() {
+		if (journal != null) {
+			journal.recordSuccess(lastLine);
 		}
-		String line = scanner.nextLine();
+	}
+
+	private String readLine() {
+		if (journal != null) {
+			lastLine = journal.readLine(scanner);
+		} else {
+			lastLine = scanner.hasNextLine() ? scanner.nextLine() : null;
+		}
+		if (lastLine == null) {
+			inputClosed = true;
+		}
+		return lastLine;
+	}
+
+	private ICommand readCommand() {
+		String line = readLine();
 		if (line == null) {
 			return null;
 		}
@@ -127,24 +238,25 @@ public class HumanPlayer extends Player {
     @Override
     public void robberDiscard(int amountToDrop) {
         int remaining = amountToDrop;
-        System.out.println("You must discard " + amountToDrop + " resource cards.");
+        out().println("You must discard " + amountToDrop + " resource cards.");
         new HelpCommand().execute(null, this);
         while (remaining > 0 && getTotalResourceCards() > 0) {
-            System.out.println("Remaining to discard: " + remaining);
-            System.out.print("discard> ");
-            if (!scanner.hasNextLine()) {
+            out().println("Remaining to discard: " + remaining);
+            out().print("discard> ");
+            String line = readLine();
+            if (line == null) {
                 return;
             }
-            String line = scanner.nextLine();
             com.mycompany.app.ICommand cmd = parser.parse(line);
             if (cmd instanceof DiscardCommand) {
                 int before = getTotalResourceCards();
                 cmd.execute(null, this);
+                recordSuccess();
                 int after = getTotalResourceCards();
                 int dropped = Math.max(0, before - after);
                 remaining -= dropped;
             } else {
-                System.out.println("Please use 'discard <amount> <resource>' during robber discard.");
+                out().println("Please use 'discard <amount> <resource>' during robber discard.");
             }
         }
     }
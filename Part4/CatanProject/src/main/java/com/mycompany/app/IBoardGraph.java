@@ -32,8 +32,66 @@ public interface IBoardGraph {
 
 	/**
 	 * Get nodes adjacent to a specific tile
-	 * @param tileID The tile identifier (0-18)
+	 * @param tileID The tile identifier (0-18 on the standard board)
 	 * @return Array of node IDs surrounding this tile
 	 */
 	public int[] getTileNodes(int tileID);
+
+	/**
+	 * Number of nodes; node IDs are 0..getNodeCount()-1
+	 * @return Node count
+	 */
+	public int getNodeCount();
+
+	/**
+	 * Number of edges; edge IDs are 0..getEdgeCount()-1
+	 * @return Edge count
+	 */
+	public int getEdgeCount();
+
+	/**
+	 * Number of tiles; tile IDs are 0..getTileCount()-1
+	 * @return Tile count
+	 */
+	public int getTileCount();
+
+	/**
+	 * Edges sharing an endpoint with the given edge (line-graph neighbours), ascending.
+	 * The returned array is a shared precomputed table; callers must not modify it.
+	 * @param edgeID The edge identifier
+	 * @return Adjacent edge IDs
+	 */
+	public int[] getEdgeNeighbors(int edgeID);
+
+	/**
+	 * Bitset of all edges within two line-graph steps of the given edge, excluding itself.
+	 * Bit i of word i / 64 is edge i. The returned array is shared; callers must not modify it.
+	 * @param edgeID The edge identifier
+	 * @return Bitset words over getEdgeCount() edges
+	 */
+	public long[] getEdgesWithinTwo(int edgeID);
+
+	/**
+	 * Tiles that have the given node as a corner (one to three on the standard board).
+	 * The returned array is shared; callers must not modify it.
+	 * @param nodeID The node identifier
+	 * @return Tile IDs in ascending order
+	 */
+	public int[] getNodeTiles(int nodeID);
+
+	/**
+	 * Tiles bordered by the given edge (one or two on the standard board).
+	 * The returned array is shared; callers must not modify it.
+	 * @param edgeID The edge identifier
+	 * @return Tile IDs in ascending order
+	 */
+	public int[] getEdgeTiles(int edgeID);
+
+	/**
+	 * Edge connecting two nodes, in either order.
+	 * @param v1 One endpoint node
+	 * @param v2 The other endpoint node
+	 * @return Edge ID, or -1 if the nodes are not adjacent or out of range
+	 */
+	public int getEdgeBetween(int v1, int v2);
 }
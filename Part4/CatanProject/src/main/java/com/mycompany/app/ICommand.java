@@ -23,7 +23,7 @@ public interface ICommand {
      * @param currentPlayer the player who issued the command
      */
     default void undo(IGameController controller, Player currentPlayer) {
-        System.out.println("This command cannot be undone.");
+        GameLog.out().println("This command cannot be undone.");
     }
 
     /**
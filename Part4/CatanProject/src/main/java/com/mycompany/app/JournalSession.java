@@ -0,0 +1,182 @@
+package com.mycompany.app;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * One interactive game's link to a CommandJournal: the input source for its HumanPlayers and
+ * the keeper of its snapshots.
+ *
+ * A journaled game is seeded (dice, robber and computer players), so given the same seed and
+ * the same successful human commands it plays out identically. Recovery therefore restores the
+ * latest snapshot (a GameCheckpoint taken between rounds, tagged with how many commands it
+ * includes) and feeds the commands recorded after it back through HumanInputParser and the
+ * command classes; once they run out, input comes from the live console again. Snapshots every
+ * few rounds keep the replayed tail, and so recovery time, bounded.
+ */
+public class JournalSession {
+
+    private static final int SNAPSHOT_HEADER = 12;
+
+    private final CommandJournal journal;
+    private final long gameID;
+    private final long seed;
+    private final Deque<String> replay;
+    private final Path snapshotFile;
+    private final int snapshotInterval;
+    /** Commands played so far, recorded or replayed */
+    private int commandCount;
+    /** Whether the last line handed out came from the replay queue */
+    private boolean lastReplayed;
+
+    private JournalSession(CommandJournal journal, long gameID, long seed, List<String> replay,
+                           int snapshotInterval) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("snapshot interval must be positive: " + snapshotInterval);
+        }
+        this.journal = journal;
+        this.gameID = gameID;
+        this.seed = seed;
+        this.replay = new ArrayDeque<>(replay);
+        this.snapshotFile = journal.getFile().resolveSibling(journal.getFile().getFileName() + "." + gameID + ".snap");
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Journal a new game.
+     *
+     * @param snapshotInterval Snapshot after every snapshotInterval-th round
+     */
+    public static JournalSession start(CommandJournal journal, long gameID, long seed, int snapshotInterval) {
+        JournalSession session = new JournalSession(journal, gameID, seed, List.of(), snapshotInterval);
+        journal.sync(journal.appendStart(gameID, seed));
+        return session;
+    }
+
+    /**
+     * Continue a game read back from the journal; its commands are replayed before live input.
+     *
+     * @param snapshotInterval Snapshot after every snapshotInterval-th round
+     */
+    public static JournalSession resume(CommandJournal journal, CommandJournal.Game game, int snapshotInterval) {
+        return new JournalSession(journal, game.getGameID(), game.getSeed(), game.getCommands(), snapshotInterval);
+    }
+
+    public long getGameID() {
+        return gameID;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Whether recorded commands are still being replayed.
+     */
+    public boolean isReplaying() {
+        return !replay.isEmpty();
+    }
+
+    /**
+     * Next input line: a recorded command while replaying, otherwise a console line.
+     *
+     * @return null if the console has no more input
+     */
+    public String readLine(Scanner scanner) {
+        lastReplayed = !replay.isEmpty();
+        if (lastReplayed) {
+            return replay.poll();
+        }
+        return scanner.hasNextLine() ? scanner.nextLine() : null;
+    }
+
+    /**
+     * The line last returned by readLine succeeded; write it ahead durably unless it was
+     * itself replayed from the journal.
+     */
+    public void recordSuccess(String line) {
+        commandCount++;
+        if (!lastReplayed) {
+            journal.sync(journal.appendCommand(gameID, line));
+        }
+    }
+
+    /**
+     * Mark the game finished and drop its snapshot.
+     */
+    public void finish() {
+        journal.sync(journal.appendFinish(gameID));
+        try {
+            Files.deleteIfExists(snapshotFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Snapshot the game after a completed round, replacing the previous snapshot.
+     */
+    public void saveSnapshot(CatanEngine engine, List<Player> players, int round) {
+        ByteBuffer out = ByteBuffer.allocate(SNAPSHOT_HEADER + GameCheckpoint.size(engine, players));
+        out.putLong(gameID).putInt(commandCount);
+        GameCheckpoint.encode(engine, players, round, 0, out);
+        out.flip();
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Restore the latest snapshot, if any, and skip the commands it already includes.
+     *
+     * @return the round the snapshot was taken after, or -1 if there is none
+     */
+    public int restoreSnapshot(CatanEngine engine, List<Player> players) {
+        if (!Files.exists(snapshotFile)) {
+            return -1;
+        }
+        ByteBuffer in;
+        try {
+            in = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (in.remaining() < SNAPSHOT_HEADER || in.getLong() != gameID) {
+            throw new IllegalArgumentException("snapshot " + snapshotFile + " belongs to another game");
+        }
+        int included = in.getInt();
+        if (included > replay.size()) {
+            throw new IllegalArgumentException("snapshot includes more commands than the journal holds");
+        }
+        int round = GameCheckpoint.decode(in, engine, players)[0];
+        for (int i = 0; i < included; i++) {
+            replay.poll();
+        }
+        commandCount = included;
+        return round;
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.app;
+
+import java.util.Arrays;
+
+/**
+ * Reusable growable buffer of encoded moves (see MoveCodec) with a parallel score slot
+ * per move. One instance per agent is cleared and refilled every decision, so steady-state
+ * candidate generation and scoring allocate nothing.
+ */
+public final class MoveBuffer {
+
+    private int[] moves;
+    private double[] scores;
+    /** Scores of the refinement pass in progress; swapped with scores when it completes */
+    private double[] passScores;
+    private int size;
+
+    public MoveBuffer() {
+        this(32);
+    }
+
+    public MoveBuffer(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.moves = new int[capacity];
+        this.scores = new double[capacity];
+        this.passScores = new double[capacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+            passScores = new double[size * 2];
+        }
+        moves[size++] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    double getScore(int index) {
+        return scores[index];
+    }
+
+    void setScore(int index, double score) {
+        scores[index] = score;
+    }
+
+    /**
+     * Start a refinement pass from the current scores.
+     */
+    void beginPass() {
+        System.arraycopy(scores, 0, passScores, 0, size);
+    }
+
+    void setPassScore(int index, double score) {
+        passScores[index] = score;
+    }
+
+    /**
+     * Make the completed pass's scores current.
+     */
+    void commitPass() {
+        double[] done = scores;
+        scores = passScores;
+        passScores = done;
+    }
+}
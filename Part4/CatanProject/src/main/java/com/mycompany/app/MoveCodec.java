@@ -0,0 +1,77 @@
+package com.mycompany.app;
+
+import com.mycompany.app.commands.BuildCityCommand;
+import com.mycompany.app.commands.BuildRoadCommand;
+import com.mycompany.app.commands.BuildSettlementCommand;
+
+/**
+ * Packs a build move into a single non-negative int: move type in the high 2 bits, location
+ * (edge or node ID) in the low 30 bits. Lets agents enumerate and score moves without
+ * allocating a command object per candidate.
+ */
+public final class MoveCodec {
+
+    /**
+     * Sentinel for "no move"
+     */
+    public static final int NO_MOVE = -1;
+
+    public static final int ROAD = 0;
+    public static final int SETTLEMENT = 1;
+    public static final int CITY = 2;
+
+    private static final int LOCATION_BITS = 30;
+    private static final int LOCATION_MASK = (1 << LOCATION_BITS) - 1;
+
+    /**
+     * Largest location an encoded move can hold
+     */
+    public static final int MAX_LOCATION = LOCATION_MASK;
+
+    private MoveCodec() {
+    }
+
+    /**
+     * @param type ROAD, SETTLEMENT or CITY
+     * @param location edge ID for roads, node ID otherwise (0-MAX_LOCATION)
+     * @throws IllegalArgumentException if the location does not fit
+     */
+    public static int encode(int type, int location) {
+        if (location < 0 || location > MAX_LOCATION) {
+            throw new IllegalArgumentException("Location " + location + " out of range for a move");
+        }
+        return (type << LOCATION_BITS) | location;
+    }
+
+    public static int type(int move) {
+        return move >>> LOCATION_BITS;
+    }
+
+    public static int location(int move) {
+        return move & LOCATION_MASK;
+    }
+
+    /**
+     * Materialize the command for a chosen move.
+     */
+    public static ICommand toCommand(int move) {
+        switch (type(move)) {
+            case ROAD: return new BuildRoadCommand(location(move));
+            case SETTLEMENT: return new BuildSettlementCommand(location(move));
+            case CITY: return new BuildCityCommand(location(move));
+            default: throw new IllegalArgumentException("Unknown move type in " + move);
+        }
+    }
+
+    /**
+     * Resource cost of a move's building type.
+     */
+    public static BuildingCost cost(int move) {
+        switch (type(move)) {
+            case ROAD: return BuildingCost.ROAD;
+            case SETTLEMENT: return BuildingCost.SETTLEMENT;
+            case CITY: return BuildingCost.CITY;
+            default: throw new IllegalArgumentException("Unknown move type in " + move);
+        }
+    }
+}
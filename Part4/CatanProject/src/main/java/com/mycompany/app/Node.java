@@ -21,6 +21,10 @@ public class Node {
 	 * Player who owns the building on this node (null if unoccupied)
 	 */
 	private Player occupant;
+	/**
+	 * Board's per-player ownership index, told about every change (null for a detached node)
+	 */
+	private OwnershipIndex index;
 
 	/**
 	 * Constructor for Node
@@ -62,8 +66,7 @@ public class Node {
 	 * @param t Type of building to place
 	 */
 	public void setOccupant(Player p, BuildingType t) {
-		this.occupant = p;
-		this.type = t;
+		change(p, t);
 	}
 
 	/**
@@ -88,8 +91,7 @@ public class Node {
 	 * @param player The player building the settlement
 	 */
 	public void buildSettlement(Player player) {
-		this.occupant = player;
-		this.type = BuildingType.SETTLEMENT;
+		change(player, BuildingType.SETTLEMENT);
 	}
 
 	/**
@@ -98,7 +100,7 @@ public class Node {
 	 */
 	public void upgradeToCity(Player player) {
 		if (this.type == BuildingType.SETTLEMENT && this.occupant == player) {
-			this.type = BuildingType.CITY;
+			change(player, BuildingType.CITY);
 		}
 	}
 
@@ -112,4 +114,30 @@ public class Node {
 		       occupant != null &&
 		       occupant.getPlayerID() == playerID;
 	}
+
+	/**
+	 * Empty the node without reporting to the index (Board clears the index itself)
+	 */
+	void clear() {
+		this.occupant = null;
+		this.type = BuildingType.NONE;
+	}
+
+	/**
+	 * Attach the board's ownership index
+	 * @param index Index to notify of ownership changes
+	 */
+	void setIndex(OwnershipIndex index) {
+		this.index = index;
+	}
+
+	private void change(Player newOccupant, BuildingType newType) {
+		Player oldOccupant = this.occupant;
+		BuildingType oldType = this.type;
+		this.occupant = newOccupant;
+		this.type = newType;
+		if (index != null) {
+			index.nodeChanged(nodeID, oldOccupant, oldType, newOccupant, newType);
+		}
+	}
 }
@@ -0,0 +1,118 @@
+package com.mycompany.app;
+
+import java.util.Arrays;
+
+/**
+ * Expected production of every node, per resource, from number-token pips.
+ *
+ * Built once with the board from the tile layout; a node's pips for a resource are the summed
+ * pips (ways to roll the token out of 36) of its adjacent tiles of that resource. The tile under
+ * the robber produces nothing, so moving the robber only touches the nodes of the old and new
+ * tile. Reads are flat array lookups, cheap enough to use inside move scoring.
+ */
+public class NodeProductionTable {
+
+    private static final int RESOURCES = ResourceType.values().length;
+
+    private final IBoardGraph topology;
+    private final int[] tileResource;
+    private final int[] tilePips;
+    private final int[] pips;
+    private final int[] totalPips;
+    private int robberTile;
+
+    /**
+     * @param topology board topology (tile to node mapping)
+     * @param tiles tiles indexed by tile ID
+     * @param nodeCount number of nodes
+     * @param robberTile tile currently blocked by the robber (-1 for none)
+     */
+    NodeProductionTable(IBoardGraph topology, HexTile[] tiles, int nodeCount, int robberTile) {
+        this.topology = topology;
+        this.tileResource = new int[tiles.length];
+        this.tilePips = new int[tiles.length];
+        this.pips = new int[nodeCount * RESOURCES];
+        this.totalPips = new int[nodeCount];
+        reset(tiles, robberTile);
+    }
+
+    /**
+     * Rebuild in place for a new layout on the same topology (used when a board is reused).
+     *
+     * @param tiles tiles indexed by tile ID
+     * @param robberTile tile currently blocked by the robber (-1 for none)
+     */
+    void reset(HexTile[] tiles, int robberTile) {
+        Arrays.fill(pips, 0);
+        Arrays.fill(totalPips, 0);
+        this.robberTile = robberTile;
+        for (int t = 0; t < tiles.length; t++) {
+            ResourceType resource = tiles[t].getType().getResourceType();
+            tileResource[t] = resource == null ? -1 : resource.ordinal();
+            tilePips[t] = BoardLayout.pips(tiles[t].getNumberToken());
+            if (t != robberTile) {
+                apply(t, 1);
+            }
+        }
+    }
+
+    /**
+     * Pips (out of 36) the node currently earns of one resource per roll.
+     */
+    public int getPips(int nodeID, ResourceType resource) {
+        return pips[nodeID * RESOURCES + resource.ordinal()];
+    }
+
+    /**
+     * Pips (out of 36) the node currently earns over all resources.
+     */
+    public int getTotalPips(int nodeID) {
+        return totalPips[nodeID];
+    }
+
+    /**
+     * Expected cards of one resource per dice roll for a settlement on the node.
+     */
+    public double getExpectedIncome(int nodeID, ResourceType resource) {
+        return getPips(nodeID, resource) / 36.0;
+    }
+
+    /**
+     * Expected cards of all resources per dice roll for a settlement on the node.
+     */
+    public double getExpectedIncome(int nodeID) {
+        return totalPips[nodeID] / 36.0;
+    }
+
+    public int getNodeCount() {
+        return totalPips.length;
+    }
+
+    /**
+     * Incremental robber update: restore the old tile's nodes, block the new tile's nodes.
+     */
+    void moveRobber(int newRobberTile) {
+        if (newRobberTile == robberTile) {
+            return;
+        }
+        if (robberTile >= 0 && robberTile < tilePips.length) {
+            apply(robberTile, 1);
+        }
+        if (newRobberTile >= 0 && newRobberTile < tilePips.length) {
+            apply(newRobberTile, -1);
+        }
+        robberTile = newRobberTile;
+    }
+
+    private void apply(int tile, int sign) {
+        int resource = tileResource[tile];
+        int value = tilePips[tile];
+        if (resource < 0 || value == 0) {
+            return;
+        }
+        for (int node : topology.getTileNodes(tile)) {
+            pips[node * RESOURCES + resource] += sign * value;
+            totalPips[node] += sign * value;
+        }
+    }
+}
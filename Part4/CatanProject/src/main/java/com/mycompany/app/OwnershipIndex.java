@@ -0,0 +1,204 @@
+package com.mycompany.app;
+
+import java.util.Arrays;
+
+/**
+ * Per-player lists of the nodes (settlements and cities) and edges (roads) each player owns.
+ *
+ * Board attaches one index to all of its nodes and edges, which report every ownership change,
+ * so the lists stay exact however a piece is placed or removed (engine builds, fixed openings,
+ * undo). Lists are indexed by player ID, and each piece remembers its slot so removal is a swap
+ * with the last entry. Queries therefore cost in proportion to the player's own pieces, never
+ * to the size of the board.
+ */
+public class OwnershipIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private Pieces[] byPlayer = new Pieces[4];
+    private final int[] nodeSlot;
+    private final int[] edgeSlot;
+    private long version;
+
+    /**
+     * @param nodeCount number of nodes on the board
+     * @param edgeCount number of edges on the board
+     */
+    OwnershipIndex(int nodeCount, int edgeCount) {
+        this.nodeSlot = new int[nodeCount];
+        this.edgeSlot = new int[edgeCount];
+    }
+
+    /**
+     * Number of nodes holding one of the player's settlements or cities.
+     */
+    public int getNodeCount(int playerID) {
+        Pieces p = find(playerID);
+        return p == null ? 0 : p.nodeCount;
+    }
+
+    /**
+     * The i-th owned node (0 <= i < getNodeCount); order is arbitrary.
+     */
+    public int getNode(int playerID, int i) {
+        return find(playerID).nodes[i];
+    }
+
+    /**
+     * Number of edges holding one of the player's roads.
+     */
+    public int getEdgeCount(int playerID) {
+        Pieces p = find(playerID);
+        return p == null ? 0 : p.edgeCount;
+    }
+
+    /**
+     * The i-th owned edge (0 <= i < getEdgeCount); order is arbitrary.
+     */
+    public int getEdge(int playerID, int i) {
+        return find(playerID).edges[i];
+    }
+
+    public int getSettlementCount(int playerID) {
+        Pieces p = find(playerID);
+        return p == null ? 0 : p.settlements;
+    }
+
+    public int getCityCount(int playerID) {
+        Pieces p = find(playerID);
+        return p == null ? 0 : p.cities;
+    }
+
+    /**
+     * Copy of the player's owned nodes, ascending.
+     */
+    public int[] getNodes(int playerID) {
+        Pieces p = find(playerID);
+        if (p == null) {
+            return EMPTY;
+        }
+        int[] nodes = Arrays.copyOf(p.nodes, p.nodeCount);
+        Arrays.sort(nodes);
+        return nodes;
+    }
+
+    /**
+     * Copy of the player's owned edges, ascending.
+     */
+    public int[] getEdges(int playerID) {
+        Pieces p = find(playerID);
+        if (p == null) {
+            return EMPTY;
+        }
+        int[] edges = Arrays.copyOf(p.edges, p.edgeCount);
+        Arrays.sort(edges);
+        return edges;
+    }
+
+    /**
+     * Count of ownership changes so far; equal versions mean no piece moved in between.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Forget every piece, keeping the per-player arrays for reuse.
+     */
+    void clear() {
+        version++;
+        for (Pieces p : byPlayer) {
+            if (p != null) {
+                p.nodeCount = 0;
+                p.edgeCount = 0;
+                p.settlements = 0;
+                p.cities = 0;
+            }
+        }
+    }
+
+    void nodeChanged(int nodeID, Player oldOwner, BuildingType oldType, Player newOwner, BuildingType newType) {
+        version++;
+        boolean wasOwned = oldOwner != null && oldType != BuildingType.NONE;
+        boolean isOwned = newOwner != null && newType != BuildingType.NONE;
+        if (wasOwned) {
+            Pieces p = find(oldOwner.getPlayerID());
+            count(p, oldType, -1);
+            if (!isOwned || oldOwner != newOwner) {
+                int slot = nodeSlot[nodeID];
+                int moved = p.nodes[--p.nodeCount];
+                p.nodes[slot] = moved;
+                nodeSlot[moved] = slot;
+            }
+        }
+        if (isOwned) {
+            Pieces p = pieces(newOwner.getPlayerID());
+            count(p, newType, 1);
+            if (!wasOwned || oldOwner != newOwner) {
+                if (p.nodeCount == p.nodes.length) {
+                    p.nodes = Arrays.copyOf(p.nodes, p.nodeCount * 2);
+                }
+                nodeSlot[nodeID] = p.nodeCount;
+                p.nodes[p.nodeCount++] = nodeID;
+            }
+        }
+    }
+
+    void edgeChanged(int edgeID, Player oldOwner, Player newOwner) {
+        if (oldOwner == newOwner) {
+            return;
+        }
+        version++;
+        if (oldOwner != null) {
+            Pieces p = find(oldOwner.getPlayerID());
+            int slot = edgeSlot[edgeID];
+            int moved = p.edges[--p.edgeCount];
+            p.edges[slot] = moved;
+            edgeSlot[moved] = slot;
+        }
+        if (newOwner != null) {
+            Pieces p = pieces(newOwner.getPlayerID());
+            if (p.edgeCount == p.edges.length) {
+                p.edges = Arrays.copyOf(p.edges, p.edgeCount * 2);
+            }
+            edgeSlot[edgeID] = p.edgeCount;
+            p.edges[p.edgeCount++] = edgeID;
+        }
+    }
+
+    private static void count(Pieces p, BuildingType type, int delta) {
+        if (type == BuildingType.SETTLEMENT) {
+            p.settlements += delta;
+        } else if (type == BuildingType.CITY) {
+            p.cities += delta;
+        }
+    }
+
+    private Pieces find(int playerID) {
+        return playerID >= 0 && playerID < byPlayer.length ? byPlayer[playerID] : null;
+    }
+
+    private Pieces pieces(int playerID) {
+        if (playerID < 0) {
+            throw new IllegalArgumentException("Player IDs must be non-negative: " + playerID);
+        }
+        if (playerID >= byPlayer.length) {
+            byPlayer = Arrays.copyOf(byPlayer, Math.max(playerID + 1, byPlayer.length * 2));
+        }
+        Pieces p = byPlayer[playerID];
+        if (p == null) {
+            p = new Pieces();
+            byPlayer[playerID] = p;
+        }
+        return p;
+    }
+
+    private static final class Pieces {
+        int[] nodes = new int[8];
+        int nodeCount;
+        int[] edges = new int[16];
+        int edgeCount;
+        int settlements;
+        int cities;
+    }
+}
@@ -104,6 +104,16 @@ public abstract class Player {
 		return resources.get(type);
 	}
 
+	/**
+	 * Clear victory points and hand for a new game on a reused engine
+	 */
+	public void reset() {
+		this.victoryPoints = 0;
+		for (ResourceType type : ResourceType.values()) {
+			resources.put(type, 0);
+		}
+	}
+
 	/**
 	 * Get the total number of resource cards held by this player
 	 * 
@@ -1,5 +1,7 @@
 package com.mycompany.app;
 
+import com.mycompany.app.metrics.DecisionPhase;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,14 +20,17 @@ public class RandomAgent extends ComputerPlayer {
     public void takeTurn(IGameController controller) {
         final int maxBuildsPerTurn = 10;
         int buildsThisTurn = 0;
+        DecisionDeadline deadline = startTurnDeadline();
 
-        while (buildsThisTurn < maxBuildsPerTurn) {
-            List<ICommand> candidates = buildCandidateList(controller);
-            ICommand best = chooseBestAction(candidates);
-            if (best == null) {
+        while (buildsThisTurn < maxBuildsPerTurn && !deadline.isExpired()) {
+            long start = System.nanoTime();
+            buildCandidateMoves(controller, moveBuffer);
+            recordLatency(DecisionPhase.CANDIDATE_GENERATION, start);
+            int best = chooseBestMove(moveBuffer, deadline);
+            if (best == MoveCodec.NO_MOVE) {
                 return;
             }
-            best.execute(controller, this);
+            MoveCodec.toCommand(best).execute(controller, this);
             buildsThisTurn++;
         }
     }
@@ -35,6 +40,11 @@ public class RandomAgent extends ComputerPlayer {
         return 0.0;
     }
 
+    @Override
+    protected double evaluateMove(int move) {
+        return 0.0;
+    }
+
     @Override
     public void handleOverSevenCards() {
         int attempts = 0;
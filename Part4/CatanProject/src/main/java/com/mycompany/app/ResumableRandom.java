@@ -0,0 +1,53 @@
+package com.mycompany.app;
+
+import java.util.Random;
+
+/**
+ * java.util.Random whose generator state can be read and restored, for game checkpoints.
+ *
+ * Runs the same 48-bit linear congruential generator as Random, so a given seed produces the
+ * same sequence from every method that draws through next(int). Unlike Random it is not
+ * thread-safe; each instance belongs to one game. nextGaussian's cached second value is not
+ * part of the state (the game does not use it).
+ */
+public class ResumableRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    /** Set by Random's constructor through setSeed, so it has no initializer */
+    private long state;
+
+    public ResumableRandom() {
+        super();
+    }
+
+    public ResumableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Current generator state (48 bits); setState with it resumes the sequence here.
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
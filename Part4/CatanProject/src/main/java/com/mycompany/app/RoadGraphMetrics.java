@@ -1,8 +1,5 @@
 package com.mycompany.app;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * Computes longest contiguous road length for a player on the Catan board graph,
  * respecting opponent buildings as blockers (aligned with RoadValidator).
@@ -22,13 +19,26 @@ public final class RoadGraphMetrics {
      */
     public static int longestRoadLength(Board board, IBoardGraph topology, int playerId, int hypotheticalEdgeId) {
         int best = 0;
-        for (Edge edge : board.getAllEdges()) {
-            if (!isPlayerRoad(board, edge.getEdgeID(), playerId, hypotheticalEdgeId)) {
+        boolean[] visited = new boolean[board.getAllEdges().size()];
+        OwnershipIndex ownership = board.getOwnership();
+        int owned = ownership.getEdgeCount(playerId);
+        // Trails can start on any owned road or on the hypothetical one
+        for (int i = hypotheticalEdgeId >= 0 ? -1 : 0; i < owned; i++) {
+            int edgeId = i < 0 ? hypotheticalEdgeId : ownership.getEdge(playerId, i);
+            if (!isPlayerRoad(board, edgeId, playerId, hypotheticalEdgeId)) {
+                continue;
+            }
+            int[] endpoints = topology.getEdgeEndpoints(edgeId);
+            if (endpoints == null || endpoints.length < 2) {
                 continue;
             }
-            Set<Integer> visited = new HashSet<>();
-            visited.add(edge.getEdgeID());
-            best = Math.max(best, extendRoad(board, topology, playerId, hypotheticalEdgeId, edge.getEdgeID(), visited));
+            // Walk the trail starting on this edge in both directions
+            for (int towards : endpoints) {
+                visited[edgeId] = true;
+                best = Math.max(best, extendRoad(board, topology, playerId, hypotheticalEdgeId,
+                        towards, 1, visited));
+                visited[edgeId] = false;
+            }
         }
         return best;
     }
@@ -55,29 +65,26 @@ public final class RoadGraphMetrics {
         return node.getOccupant().getPlayerID() != playerId;
     }
 
+    /**
+     * Depth-first trail search: the road has just arrived at nodeId after `length` edges, and may
+     * only continue through that node (a road cannot branch), unless an opponent blocks it.
+     */
     private static int extendRoad(Board board, IBoardGraph topology, int playerId, int hypotheticalEdgeId,
-                                  int lastEdgeId, Set<Integer> visited) {
-        int best = visited.size();
-        int[] endpoints = topology.getEdgeEndpoints(lastEdgeId);
-        if (endpoints == null || endpoints.length < 2) {
+                                  int nodeId, int length, boolean[] visited) {
+        int best = length;
+        if (isNodeBlockedForPlayer(board, nodeId, playerId)) {
             return best;
         }
-        for (int nodeId : endpoints) {
-            if (isNodeBlockedForPlayer(board, nodeId, playerId)) {
+        for (int nextEdgeId : topology.getAdjacentEdges(nodeId)) {
+            if (visited[nextEdgeId] || !isPlayerRoad(board, nextEdgeId, playerId, hypotheticalEdgeId)) {
                 continue;
             }
-            int[] adjacentEdges = topology.getAdjacentEdges(nodeId);
-            for (int nextEdgeId : adjacentEdges) {
-                if (visited.contains(nextEdgeId)) {
-                    continue;
-                }
-                if (!isPlayerRoad(board, nextEdgeId, playerId, hypotheticalEdgeId)) {
-                    continue;
-                }
-                visited.add(nextEdgeId);
-                best = Math.max(best, extendRoad(board, topology, playerId, hypotheticalEdgeId, nextEdgeId, visited));
-                visited.remove(nextEdgeId);
-            }
+            int[] endpoints = topology.getEdgeEndpoints(nextEdgeId);
+            int farNode = endpoints[0] == nodeId ? endpoints[1] : endpoints[0];
+            visited[nextEdgeId] = true;
+            best = Math.max(best, extendRoad(board, topology, playerId, hypotheticalEdgeId,
+                    farNode, length + 1, visited));
+            visited[nextEdgeId] = false;
         }
         return best;
     }
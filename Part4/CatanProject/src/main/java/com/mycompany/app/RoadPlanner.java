@@ -0,0 +1,267 @@
+package com.mycompany.app;
+
+import com.mycompany.app.events.GameEvent;
+import com.mycompany.app.events.GameEventType;
+import com.mycompany.app.events.IGameEventListener;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * Per-player road distances on the live board.
+ *
+ * For each player, a 0-1 BFS from their network (buildings and road endpoints) gives the
+ * number of new roads needed to reach every node: own roads are free, empty edges cost one,
+ * opponent roads are impassable and opponent buildings cannot be passed through. Results are
+ * cached per player and recomputed lazily. The planner listens to BUILD and UNBUILD (undo)
+ * events on the engine's event bus and only invalidates the players the change can affect.
+ * Setup pieces are placed directly on the board without events, which is safe because that
+ * happens before any result is cached or right after a RESET; other direct board edits need
+ * invalidateAll().
+ *
+ * The road towards a player's best expansion target is cached alongside their distances, so
+ * move scoring can compare a candidate road against it in O(1). Any settlement change drops
+ * that choice for every player (open spots changed), and so does a robber move (pips changed).
+ */
+public class RoadPlanner implements IGameEventListener {
+
+    /**
+     * Roads needed for an unreachable node.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final Board board;
+    private final IBoardGraph topology;
+    private final int nodeCount;
+    private PlayerPaths[] paths = new PlayerPaths[4];
+
+    /**
+     * Create a planner that follows the engine's builds.
+     */
+    public RoadPlanner(CatanEngine engine) {
+        this.board = engine.getBoard();
+        this.topology = board.getTopology();
+        this.nodeCount = topology.getNodeCount();
+        engine.getEventBus().subscribe(this,
+                EnumSet.of(GameEventType.BUILD, GameEventType.UNBUILD, GameEventType.RESET));
+    }
+
+    /**
+     * New roads the player needs to connect to the node (0 if already on their network).
+     */
+    public int roadsNeeded(int playerID, int nodeID) {
+        return fresh(playerID).dist[nodeID];
+    }
+
+    /**
+     * The road to build first on a cheapest route to the node, or -1 if the node is already
+     * connected or cannot be reached.
+     */
+    public int firstRoadToward(int playerID, int nodeID) {
+        PlayerPaths p = fresh(playerID);
+        if (p.dist[nodeID] == UNREACHABLE || p.dist[nodeID] == 0) {
+            return -1;
+        }
+        // Walk back towards the network; the last paid edge seen is the one adjacent to it
+        int first = -1;
+        int node = nodeID;
+        while (p.dist[node] > 0) {
+            int edge = p.parentEdge[node];
+            if (!board.getEdge(edge).hasRoad()) {
+                first = edge;
+            }
+            int[] ends = topology.getEdgeEndpoints(edge);
+            node = ends[0] == node ? ends[1] : ends[0];
+        }
+        return first;
+    }
+
+    /**
+     * Best open settlement spot to expand towards: most production pips per road needed,
+     * among nodes that satisfy the distance rule and need at least one road.
+     * @return node ID, or -1 if nothing is reachable
+     */
+    public int bestExpansionTarget(int playerID, NodeProductionTable production) {
+        PlayerPaths p = fresh(playerID);
+        int best = -1;
+        double bestValue = 0.0;
+        for (int node = 0; node < nodeCount; node++) {
+            int roads = p.dist[node];
+            if (roads == 0 || roads == UNREACHABLE || !HeadlessGame.isOpen(board, node)) {
+                continue;
+            }
+            double value = production.getTotalPips(node) / (double) (roads + 1);
+            if (value > bestValue) {
+                bestValue = value;
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The road to build first towards bestExpansionTarget on the board's own production table,
+     * or -1 if there is none. Cached until the player's distances, the settlements or the
+     * robber change.
+     */
+    public int bestExpansionRoad(int playerID) {
+        PlayerPaths p = fresh(playerID);
+        int robber = board.getRobberLocation();
+        if (!p.expansionKnown || p.expansionRobber != robber) {
+            int target = bestExpansionTarget(playerID, board.getProductionTable());
+            p.expansionRoad = target < 0 ? -1 : firstRoadToward(playerID, target);
+            p.expansionRobber = robber;
+            p.expansionKnown = true;
+        }
+        return p.expansionRoad;
+    }
+
+    /**
+     * Drop every cached result (after edits made directly on the board).
+     */
+    public void invalidateAll() {
+        for (PlayerPaths p : paths) {
+            if (p != null) {
+                p.dirty = true;
+            }
+        }
+    }
+
+    boolean isCached(int playerID) {
+        return playerID < paths.length && paths[playerID] != null && !paths[playerID].dirty;
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (event.getType() == GameEventType.RESET) {
+            invalidateAll();
+            return;
+        }
+        // Removing a piece affects the same players as placing it: its owner, and whoever
+        // reaches the spot it blocked or opens
+        int builder = event.getPlayerID();
+        BuildingType type = event.getBuildingType();
+        if (type == BuildingType.CITY) {
+            // Upgrading an owned settlement (or undoing that) changes no one's connectivity
+            return;
+        }
+        int location = event.getValue();
+        for (int id = 0; id < paths.length; id++) {
+            PlayerPaths p = paths[id];
+            if (p == null || p.dirty) {
+                continue;
+            }
+            if (type != BuildingType.ROAD) {
+                // The distance rule may have opened or closed a target this player can reach
+                p.expansionKnown = false;
+            }
+            if (id == builder) {
+                p.dirty = true;
+            } else if (type == BuildingType.ROAD) {
+                int[] ends = topology.getEdgeEndpoints(location);
+                p.dirty = p.dist[ends[0]] != UNREACHABLE || p.dist[ends[1]] != UNREACHABLE;
+            } else {
+                p.dirty = p.dist[location] != UNREACHABLE;
+            }
+        }
+    }
+
+    private PlayerPaths fresh(int playerID) {
+        if (playerID >= paths.length) {
+            paths = Arrays.copyOf(paths, Math.max(playerID + 1, paths.length * 2));
+        }
+        PlayerPaths p = paths[playerID];
+        if (p == null) {
+            p = new PlayerPaths(nodeCount);
+            paths[playerID] = p;
+        }
+        if (p.dirty) {
+            compute(playerID, p);
+            p.dirty = false;
+            p.expansionKnown = false;
+        }
+        return p;
+    }
+
+    /**
+     * 0-1 BFS with a deque laid out in one array (front grows down, back grows up).
+     */
+    private void compute(int playerID, PlayerPaths p) {
+        Arrays.fill(p.dist, UNREACHABLE);
+        Arrays.fill(p.parentEdge, -1);
+        // Each relaxation pushes once, at either end: room for 2E + N pushes on both sides
+        int capacity = 2 * (2 * topology.getEdgeCount() + nodeCount) + 2;
+        if (p.deque.length < capacity) {
+            p.deque = new int[capacity];
+        }
+        int[] deque = p.deque;
+        int head = capacity / 2;
+        int tail = head;
+        for (int node = 0; node < nodeCount; node++) {
+            if (onNetwork(playerID, node)) {
+                p.dist[node] = 0;
+                deque[tail++] = node;
+            }
+        }
+        while (head < tail) {
+            int node = deque[head++];
+            if (blockedFor(playerID, node)) {
+                continue;
+            }
+            for (int edge : topology.getAdjacentEdges(node)) {
+                Edge e = board.getEdge(edge);
+                if (e.hasRoad() && !e.hasRoadBy(playerID)) {
+                    continue;
+                }
+                int cost = e.hasRoadBy(playerID) ? 0 : 1;
+                int[] ends = topology.getEdgeEndpoints(edge);
+                int other = ends[0] == node ? ends[1] : ends[0];
+                int d = p.dist[node] + cost;
+                if (d < p.dist[other]) {
+                    p.dist[other] = d;
+                    p.parentEdge[other] = edge;
+                    if (cost == 0) {
+                        deque[--head] = other;
+                    } else {
+                        deque[tail++] = other;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean onNetwork(int playerID, int node) {
+        if (board.getNode(node).isOccupiedBy(playerID)) {
+            return true;
+        }
+        for (int edge : topology.getAdjacentEdges(node)) {
+            if (board.getEdge(edge).hasRoadBy(playerID)) {
+                return !blockedFor(playerID, node);
+            }
+        }
+        return false;
+    }
+
+    private boolean blockedFor(int playerID, int node) {
+        Node n = board.getNode(node);
+        return n.isOccupied() && !n.isOccupiedBy(playerID);
+    }
+
+    /**
+     * Cached search result for one player.
+     */
+    private static final class PlayerPaths {
+        final int[] dist;
+        final int[] parentEdge;
+        int[] deque = new int[0];
+        boolean dirty = true;
+        int expansionRoad = -1;
+        int expansionRobber;
+        boolean expansionKnown;
+
+        PlayerPaths(int nodeCount) {
+            this.dist = new int[nodeCount];
+            this.parentEdge = new int[nodeCount];
+        }
+    }
+}
@@ -3,11 +3,10 @@ package com.mycompany.app;
 import com.mycompany.app.commands.BuildCityCommand;
 import com.mycompany.app.commands.BuildRoadCommand;
 import com.mycompany.app.commands.BuildSettlementCommand;
-import com.mycompany.app.commands.BuyDevCardCommand;
+import com.mycompany.app.metrics.DecisionPhase;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Rule-based agent: R3.3 constraints via AgentConstraintFacade, then R3.2
@@ -16,64 +15,117 @@ import java.util.Map;
 public class RuleBasedAgent extends ComputerPlayer {
 
     private final AgentConstraintFacade facade;
+    private final AgentParameters params;
+    private final NodeProductionTable production;
+    private final RoadPlanner planner;
+
+    /**
+     * Most pips a single node can collect (three tiles of 6/8)
+     */
+    private static final double MAX_NODE_PIPS = 15.0;
 
     public RuleBasedAgent(int playerID, CatanEngine engine) {
+        this(playerID, engine, AgentParameters.defaults());
+    }
+
+    /**
+     * @param params scoring weights for this agent and thresholds for its facade
+     */
+    public RuleBasedAgent(int playerID, CatanEngine engine, AgentParameters params) {
         super(playerID);
-        this.facade = new AgentConstraintFacade(engine);
+        this.params = params;
+        this.facade = new AgentConstraintFacade(engine, params);
+        this.production = engine.getBoard().getProductionTable();
+        this.planner = params.get(AgentParameters.EXPANSION_WEIGHT) > 0 ? new RoadPlanner(engine) : null;
+    }
+
+    public AgentParameters getParameters() {
+        return params;
     }
 
     @Override
     public void takeTurn(IGameController controller) {
         final int maxBuildsPerTurn = 10;
         int buildsThisTurn = 0;
+        DecisionDeadline deadline = startTurnDeadline();
 
-        while (buildsThisTurn < maxBuildsPerTurn) {
+        while (buildsThisTurn < maxBuildsPerTurn && !deadline.isExpired()) {
+            long start = System.nanoTime();
             ICommand priority = facade.getPriorityConstraintAction(this);
+            recordLatency(DecisionPhase.CONSTRAINT_CHECK, start);
             if (priority != null) {
                 priority.execute(controller, this);
                 buildsThisTurn++;
                 continue;
             }
 
-            List<ICommand> candidates = buildCandidateList(controller);
-            ICommand best = chooseBestAction(candidates);
-            if (best == null) {
+            start = System.nanoTime();
+            buildCandidateMoves(controller, moveBuffer);
+            recordLatency(DecisionPhase.CANDIDATE_GENERATION, start);
+            int best = chooseBestMove(moveBuffer, deadline);
+            if (best == MoveCodec.NO_MOVE) {
                 return;
             }
-            best.execute(controller, this);
+            MoveCodec.toCommand(best).execute(controller, this);
             buildsThisTurn++;
         }
     }
 
     @Override
     protected double evaluateCommand(ICommand command) {
-        if (command instanceof BuildSettlementCommand || command instanceof BuildCityCommand) {
-            return 1.0;
+        if (command instanceof BuildSettlementCommand) {
+            return params.get(AgentParameters.SETTLEMENT_WEIGHT)
+                    + nodeQuality(((BuildSettlementCommand) command).getNodeId());
         }
-        if (command instanceof BuildRoadCommand || command instanceof BuyDevCardCommand) {
-            return 0.8;
+        if (command instanceof BuildCityCommand) {
+            return params.get(AgentParameters.CITY_WEIGHT)
+                    + nodeQuality(((BuildCityCommand) command).getNodeId());
         }
-        if (estimateCardsAfterSpend(command) < 5) {
-            return 0.5;
+        if (command instanceof BuildRoadCommand) {
+            return params.get(AgentParameters.ROAD_WEIGHT)
+                    + expansionBonus(((BuildRoadCommand) command).getEdgeId());
         }
         return 0.0;
     }
 
-    private int estimateCardsAfterSpend(ICommand command) {
-        int current = getTotalResourceCards();
-        Map<ResourceType, Integer> cost = null;
-        if (command instanceof BuildSettlementCommand) {
-            cost = BuildingCost.SETTLEMENT.getCost();
-        } else if (command instanceof BuildCityCommand) {
-            cost = BuildingCost.CITY.getCost();
-        } else if (command instanceof BuildRoadCommand) {
-            cost = BuildingCost.ROAD.getCost();
+    /**
+     * Allocation-free mirror of evaluateCommand for encoded build moves.
+     */
+    @Override
+    protected double evaluateMove(int move) {
+        switch (MoveCodec.type(move)) {
+            case MoveCodec.SETTLEMENT:
+                return params.get(AgentParameters.SETTLEMENT_WEIGHT) + nodeQuality(MoveCodec.location(move));
+            case MoveCodec.CITY:
+                return params.get(AgentParameters.CITY_WEIGHT) + nodeQuality(MoveCodec.location(move));
+            case MoveCodec.ROAD:
+                return params.get(AgentParameters.ROAD_WEIGHT) + expansionBonus(MoveCodec.location(move));
+            default:
+                return 0.0;
+        }
+    }
+
+    /**
+     * Bonus for building on a productive node: quality weight times the node's current
+     * (robber-aware) pips relative to the best possible node. O(1) table lookup.
+     */
+    private double nodeQuality(int nodeID) {
+        double weight = params.get(AgentParameters.NODE_QUALITY_WEIGHT);
+        if (weight == 0.0) {
+            return 0.0;
         }
-        if (cost == null) {
-            return current;
+        return weight * production.getTotalPips(nodeID) / MAX_NODE_PIPS;
+    }
+
+    /**
+     * Bonus for the road that starts the cheapest route to the best expansion spot
+     * (most pips per road needed). The planner caches that road, so this is O(1) per candidate.
+     */
+    private double expansionBonus(int edgeID) {
+        if (planner == null || planner.bestExpansionRoad(getPlayerID()) != edgeID) {
+            return 0.0;
         }
-        int totalCost = cost.values().stream().mapToInt(Integer::intValue).sum();
-        return current - totalCost;
+        return params.get(AgentParameters.EXPANSION_WEIGHT);
     }
 
     @Override
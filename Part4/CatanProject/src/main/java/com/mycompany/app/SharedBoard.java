@@ -0,0 +1,139 @@
+package com.mycompany.app;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Immutable per-(topology, layout) board data shared by every game played on that board:
+ * the HexTile objects, tile resources and tokens as flat arrays, and the tiles carrying each
+ * number token (so production touches only the rolled tiles).
+ *
+ * Instances are interned: of() returns the same object for the same topology and an equal
+ * layout, so any number of concurrent games hold one copy. Cached instances are weakly held
+ * (they reference their topology, the weak key) and each topology keeps at most the most
+ * recently used layouts, since generated boards can be unbounded in number.
+ */
+public final class SharedBoard {
+
+    private static final int LAYOUTS_PER_TOPOLOGY = 1024;
+
+    private static final Map<IBoardGraph, Map<BoardLayout, WeakReference<SharedBoard>>> SHARED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final IBoardGraph topology;
+    private final BoardLayout layout;
+    private final HexTile[] tiles;
+    private final List<HexTile> tileList;
+    private final int[] tileResource;
+    private final int[] tileToken;
+    private final int[][] tilesByToken;
+
+    private SharedBoard(IBoardGraph topology, BoardLayout layout) {
+        if (layout.getTileCount() != topology.getTileCount()) {
+            throw new IllegalArgumentException("Layout has " + layout.getTileCount()
+                    + " tiles but the topology has " + topology.getTileCount());
+        }
+        this.topology = topology;
+        this.layout = layout;
+        int count = layout.getTileCount();
+        this.tiles = new HexTile[count];
+        this.tileResource = new int[count];
+        this.tileToken = new int[count];
+        int[] perToken = new int[13];
+        for (int t = 0; t < count; t++) {
+            tiles[t] = new HexTile(t, layout.getType(t), layout.getToken(t));
+            ResourceType resource = layout.getType(t).getResourceType();
+            tileResource[t] = resource == null ? -1 : resource.ordinal();
+            tileToken[t] = layout.getToken(t);
+            if (tileResource[t] >= 0 && BoardLayout.pips(tileToken[t]) > 0) {
+                perToken[tileToken[t]]++;
+            }
+        }
+        this.tileList = Collections.unmodifiableList(Arrays.asList(tiles));
+        this.tilesByToken = new int[13][];
+        for (int token = 0; token < 13; token++) {
+            tilesByToken[token] = new int[perToken[token]];
+            perToken[token] = 0;
+        }
+        for (int t = 0; t < count; t++) {
+            if (tileResource[t] >= 0 && BoardLayout.pips(tileToken[t]) > 0) {
+                tilesByToken[tileToken[t]][perToken[tileToken[t]]++] = t;
+            }
+        }
+    }
+
+    /**
+     * The shared instance for a topology and layout, built on first use.
+     */
+    public static SharedBoard of(IBoardGraph topology, BoardLayout layout) {
+        synchronized (SHARED) {
+            Map<BoardLayout, WeakReference<SharedBoard>> layouts = SHARED.computeIfAbsent(topology,
+                    t -> new LinkedHashMap<>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<BoardLayout, WeakReference<SharedBoard>> eldest) {
+                            return size() > LAYOUTS_PER_TOPOLOGY;
+                        }
+                    });
+            WeakReference<SharedBoard> ref = layouts.get(layout);
+            SharedBoard shared = ref == null ? null : ref.get();
+            if (shared == null) {
+                shared = new SharedBoard(topology, layout);
+                layouts.put(layout, new WeakReference<>(shared));
+            }
+            return shared;
+        }
+    }
+
+    public IBoardGraph getTopology() {
+        return topology;
+    }
+
+    public BoardLayout getLayout() {
+        return layout;
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    public HexTile getTile(int tileID) {
+        return tileID >= 0 && tileID < tiles.length ? tiles[tileID] : null;
+    }
+
+    /**
+     * Read-only view of the tiles in ID order.
+     */
+    public List<HexTile> getTiles() {
+        return tileList;
+    }
+
+    /**
+     * Resource ordinal a tile produces, or -1 for the desert.
+     */
+    public int getTileResource(int tileID) {
+        return tileResource[tileID];
+    }
+
+    public int getTileToken(int tileID) {
+        return tileToken[tileID];
+    }
+
+    /**
+     * Producing tiles carrying a number token (2-12); shared array, do not modify.
+     */
+    public int[] getTilesWithToken(int token) {
+        return token >= 0 && token < tilesByToken.length ? tilesByToken[token] : tilesByToken[0];
+    }
+
+    /**
+     * Shared tile array for Board; callers must not modify it.
+     */
+    HexTile[] tileArray() {
+        return tiles;
+    }
+}
@@ -4,11 +4,16 @@
 
 package com.mycompany.app;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 import java.util.function.Function;
 
+import com.mycompany.app.analysis.PlacementHeatmap;
+import com.mycompany.app.analysis.PlacementHeatmap.PlacementRound;
+import com.mycompany.app.metrics.DecisionLatencyRecorder;
+
 /************************************************************/
 /**
  * Simulator orchestrates the game flow, managing rounds and player turns
@@ -34,6 +39,18 @@ public class Simulator {
 	 * Shared scanner for console input (step-forward)
 	 */
 	private final Scanner stepScanner;
+	/**
+	 * Optional node value table; when set, initial placement is a snake draft over it
+	 */
+	private PlacementHeatmap placementHeatmap;
+	/**
+	 * Write-ahead journal of the human commands, or null
+	 */
+	private JournalSession journal;
+	/**
+	 * Game output, or null for System.out
+	 */
+	private PrintStream output;
 
 
 	/**
@@ -89,6 +106,20 @@ public class Simulator {
 	 * @param playerFactory Creates the player list given the engine (engine must be set before creating RuleBasedAgent)
 	 */
 	public Simulator(int maxRounds, Scanner scanner, Function<CatanEngine, List<Player>> playerFactory) {
+		this(maxRounds, scanner, playerFactory, true);
+	}
+
+	/**
+	 * Constructor with player factory and optional visualizer export.
+	 *
+	 * @param maxRounds Maximum number of rounds to run (1-8192)
+	 * @param scanner Shared scanner for step-forward + human input
+	 * @param playerFactory Creates the player list given the engine
+	 * @param exportState Whether to attach a GameStateObserver writing the visualizer JSON files
+	 *                    (disable when many games share one working directory, e.g. server sessions)
+	 */
+	public Simulator(int maxRounds, Scanner scanner, Function<CatanEngine, List<Player>> playerFactory,
+			boolean exportState) {
 		this.stepScanner = scanner;
 
 		IBoardGraph topology = new CatanBoardGraph();
@@ -99,18 +130,92 @@ public class Simulator {
 		this.players = playerFactory.apply(this.engine);
 		engine.setPlayers(players);
 
-		new GameStateObserver(engine);
+		if (exportState) {
+			new GameStateObserver(engine);
+		}
 
 		this.maxRounds = maxRounds;
 		this.currRound = 0;
 	}
 
 	/**
-	 * Initial setup phase - hardcoded 2 settlements + 2 roads per player, then starting resources.
+	 * Get the engine this simulator drives
+	 * 
+	 * @return The game engine
+	 */
+	public CatanEngine getEngine() {
+		return engine;
+	}
+
+	/**
+	 * Apply a per-turn decision budget to every computer player; when it runs out the
+	 * agent plays its best-scored move so far and ends its turn.
+	 *
+	 * @param budgetNanos Budget in nanoseconds, or Long.MAX_VALUE for no limit
+	 */
+	public void setComputerTurnBudget(long budgetNanos) {
+		for (Player player : players) {
+			if (player instanceof ComputerPlayer) {
+				((ComputerPlayer) player).setTurnBudgetNanos(budgetNanos);
+			}
+		}
+	}
+
+	/**
+	 * Use a placement heatmap for the opening instead of the fixed placements.
+	 *
+	 * @param heatmap Heatmap computed for the standard layout, or null to restore the fixed opening
+	 */
+	public void setPlacementHeatmap(PlacementHeatmap heatmap) {
+		if (heatmap != null && !heatmap.getLayoutKey().equals(BoardLayout.standard().key())) {
+			throw new IllegalArgumentException("Heatmap was computed for a different board layout");
+		}
+		this.placementHeatmap = heatmap;
+	}
+
+	/**
+	 * Journal this game (see JournalSession): seeds dice, robber and computer players from the
+	 * session's seed, routes human input through the session, and snapshots every
+	 * session.getSnapshotInterval() rounds. A resumed session restores its latest snapshot and
+	 * replays the journaled commands before reading the console.
+	 *
+	 * @param session Journal session for this game
+	 */
+	public void setJournal(JournalSession session) {
+		this.journal = session;
+		engine.reseed(session.getSeed());
+		for (Player player : players) {
+			if (player instanceof HumanPlayer) {
+				((HumanPlayer) player).setJournal(session);
+			}
+		}
+	}
+
+	/**
+	 * Print this game, including command output, to out instead of System.out. Games with their
+	 * own output (e.g. server sessions) leave the process-wide decision latency report off it.
+	 *
+	 * @param out Game output, or null for System.out
+	 */
+	public void setOutput(PrintStream out) {
+		this.output = out;
+	}
+
+	private PrintStream out() {
+		return output != null ? output : System.out;
+	}
+
+	/**
+	 * Initial setup phase - hardcoded 2 settlements + 2 roads per player (or the
+	 * heatmap snake draft, see setPlacementHeatmap), then starting resources.
 	 * Matches Catan rules: placement is free (no resource cost) and happens before any dice rolls.
 	 */
 	private void initialSetup() {
 		Board board = engine.getBoard();
+		if (placementHeatmap != null) {
+			heatmapSetup(board);
+			return;
+		}
 
 		// Player 0 (RED): settlements at 0, 11; roads at 5, 13
 		Player p0 = players.get(0);
@@ -145,6 +250,46 @@ public class Simulator {
 		p3.addVictoryPoints(2);
 
 		// Give each player starting resources for additional builds
+		grantStartingResources(players);
+
+		engine.notifyObservers();
+		out().println("Initial setup: 2 settlements + 2 roads per player placed; starting resources granted.");
+	}
+
+	/**
+	 * Snake draft (seats 0..n-1, then back) where each player takes the open node with the
+	 * best heatmap win rate for that round, plus the first free adjacent road.
+	 */
+	private void heatmapSetup(Board board) {
+		int seats = players.size();
+		for (int pick = 0; pick < 2 * seats; pick++) {
+			Player player = players.get(pick < seats ? pick : 2 * seats - 1 - pick);
+			PlacementRound round = pick < seats ? PlacementRound.FIRST : PlacementRound.SECOND;
+			for (int nodeID : placementHeatmap.rankNodes(round)) {
+				if (HeadlessGame.isOpen(board, nodeID)) {
+					board.getNode(nodeID).buildSettlement(player);
+					player.addVictoryPoints(1);
+					for (int edgeID : board.getTopology().getAdjacentEdges(nodeID)) {
+						if (!board.getEdge(edgeID).hasRoad()) {
+							board.getEdge(edgeID).buildRoad(player);
+							break;
+						}
+					}
+					break;
+				}
+			}
+		}
+		grantStartingResources(players);
+
+		engine.notifyObservers();
+		out().println("Initial setup: snake draft from placement heatmap; starting resources granted.");
+	}
+
+	/**
+	 * Grant every player the starting bundle used after initial placement
+	 * (shared with HeadlessGame so batch games start from the same economy).
+	 */
+	static void grantStartingResources(List<Player> players) {
 		for (Player player : players) {
 			player.addResource(ResourceType.LUMBER, 4);
 			player.addResource(ResourceType.BRICK, 4);
@@ -152,35 +297,51 @@ public class Simulator {
 			player.addResource(ResourceType.WOOL, 2);
 			player.addResource(ResourceType.ORE, 2);
 		}
-
-		engine.notifyObservers();
-		System.out.println("Initial setup: 2 settlements + 2 roads per player placed; starting resources granted.");
 	}
 
 	/**
 	 * Run the complete simulation
 	 */
 	public void runSimulation() {
-		// Initial setup
-		initialSetup();
+		GameLog.setOut(output);
+		try {
+			playGame();
+		} finally {
+			GameLog.setOut(null);
+		}
+	}
+
+	private void playGame() {
+		// Initial setup, or the journal's latest snapshot
+		int restoredRound = journal != null ? journal.restoreSnapshot(engine, players) : -1;
+		if (restoredRound >= 0) {
+			currRound = restoredRound;
+			engine.notifyObservers();
+			out().println("Restored snapshot after round " + currRound + "; replaying journaled commands.");
+		} else {
+			initialSetup();
+		}
 
 		// Main game loop
 		while (currRound < maxRounds) {
 			currRound++;
-			System.out.println("\n=== Round " + currRound + " ===");
+			out().println("\n=== Round " + currRound + " ===");
 
 			// Each player takes a turn
 			for (Player player : players) {
-				System.out.println("[" + currRound + "] / [" + player.getPlayerID() + "]: Ready to take turn.");
-				waitForGo();
+				out().println("[" + currRound + "] / [" + player.getPlayerID() + "]: Ready to take turn.");
+				if (!waitForGo() || connectionLost()) {
+					abandon();
+					return;
+				}
 
 				// Roll dice
-				int roll = engine.rollDice();
-				System.out.println("[" + currRound + "] / [" + player.getPlayerID() + "]: Rolled " + roll);
+				int roll = engine.rollDice(player.getPlayerID());
+				out().println("[" + currRound + "] / [" + player.getPlayerID() + "]: Rolled " + roll);
 
 				// Handle robber on 7
 				if (roll == 7) {
-					System.out.println(
+					out().println(
 							"[" + currRound + "] / [" + player.getPlayerID() + "]: Rolled 7, no resources produced");
 
 					engine.handleRollSeven(player);
@@ -200,24 +361,76 @@ public class Simulator {
 
 				// Player takes turn (attempts to build)
 				player.takeTurn(engine);
-				System.out.println("[" + currRound + "] / [" + player.getPlayerID() + "]: Turn finished.");
+				engine.endTurn(player);
+				out().println("[" + currRound + "] / [" + player.getPlayerID() + "]: Turn finished.");
 
 				// Check for victory
 				if (player.getVictoryPoints() >= 10) {
-					System.out.println("[" + currRound + "] / [" + player.getPlayerID()
+					out().println("[" + currRound + "] / [" + player.getPlayerID()
 							+ "]: Reached 10 victory points! Game over.");
 					printFinalScores();
+					finishJournal();
 					return; // Terminate
 				}
+				if (connectionLost()) {
+					abandon();
+					return;
+				}
 			}
 
 			// End of round: print victory points
 			printRoundScores();
+			if (journal != null && currRound % journal.getSnapshotInterval() == 0) {
+				snapshot();
+			}
 		}
 
 		// Max rounds reached
-		System.out.println("\nMaximum rounds reached. Game over.");
+		out().println("\nMaximum rounds reached. Game over.");
 		printFinalScores();
+		finishJournal();
+	}
+
+	/**
+	 * Snapshot between rounds. Undo history is not part of a snapshot, so it is cleared
+	 * here in every run of the game, original or replayed alike.
+	 */
+	private void snapshot() {
+		for (Player player : players) {
+			if (player instanceof HumanPlayer) {
+				((HumanPlayer) player).clearHistory();
+			}
+		}
+		journal.saveSnapshot(engine, players, currRound);
+	}
+
+	/**
+	 * Whether the player has gone: a human's input ended, or the game output failed (the
+	 * PrintStream of a closed socket never throws, it only sets its error flag).
+	 */
+	private boolean connectionLost() {
+		if (out().checkError()) {
+			return true;
+		}
+		for (Player player : players) {
+			if (player instanceof HumanPlayer && ((HumanPlayer) player).isInputClosed()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stop an unfinished game. Its journal gets no finish record, so it can still be resumed.
+	 */
+	private void abandon() {
+		out().println("\nPlayer disconnected in round " + currRound + ". Game abandoned.");
+	}
+
+	private void finishJournal() {
+		if (journal != null) {
+			journal.finish();
+		}
 	}
 
 	/**
@@ -232,18 +445,30 @@ public class Simulator {
 				sb.append(", ");
 			}
 		}
-		System.out.println(sb.toString());
+		out().println(sb.toString());
 	}
 
 	/**
 	 * Print final scores at game end
 	 */
 	private void printFinalScores() {
-		System.out.println("\n=== Final Scores ===");
+		out().println("\n=== Final Scores ===");
 		for (Player player : players) {
-			System.out.println("Player " + player.getPlayerID() + ": " +
+			out().println("Player " + player.getPlayerID() + ": " +
 					player.getVictoryPoints() + " victory points");
 		}
+		printDecisionLatencies();
+	}
+
+	/**
+	 * Print per-agent decision-latency percentiles collected so far (console games only)
+	 */
+	private void printDecisionLatencies() {
+		String report = DecisionLatencyRecorder.report();
+		if (output == null && !report.isEmpty()) {
+			out().println("\n=== Decision Latency ===");
+			out().print(report);
+		}
 	}
 
 	/**
@@ -253,7 +478,7 @@ public class Simulator {
 	 * @param player The player whose turn is about to begin
 	 */
 	private void waitForGo(Player player) {
-		System.out.println("\nType 'go' to proceed to Player " + player.getPlayerID() + "'s turn...");
+		out().println("\nType 'go' to proceed to Player " + player.getPlayerID() + "'s turn...");
 		while (stepScanner.hasNextLine()) {
 			String input = stepScanner.nextLine().trim();
 			if (input.equalsIgnoreCase("go")) {
@@ -263,19 +488,25 @@ public class Simulator {
 	}
 
 
-	private void waitForGo() {
+	/**
+	 * Wait for 'go' before the next turn (skipped while a journal is replaying).
+	 *
+	 * @return false if the input ended first
+	 */
+	private boolean waitForGo() {
+		if (journal != null && journal.isReplaying()) {
+			return true;
+		}
 		while (true) {
-			System.out.print("Type 'go' to proceed: ");
-			String line;
-			try {
-				line = stepScanner.nextLine();
-			} catch (Exception e) {
-				return;
+			out().print("Type 'go' to proceed: ");
+			if (!stepScanner.hasNextLine()) {
+				return false;
 			}
-			if (line != null && line.trim().equalsIgnoreCase("go")) {
-				return;
+			String line = stepScanner.nextLine();
+			if (line.trim().equalsIgnoreCase("go")) {
+				return true;
 			}
-			System.out.println("Unrecognized input. Please type exactly 'go'.");
+			out().println("Unrecognized input. Please type exactly 'go'.");
 		}
 	}
 }
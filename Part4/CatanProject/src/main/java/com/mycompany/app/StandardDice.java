@@ -1,19 +1,45 @@
 package com.mycompany.app;
 
-import java.util.Random;
-
 /**
  * Standard implementation of IRandomDice that simulates rolling two six-sided dice.
  * Returns values between 2 and 12 (inclusive).
  */
 public class StandardDice implements IRandomDice {
-    private Random random;
+    private ResumableRandom random;
 
     /**
      * Constructor for StandardDice
      */
     public StandardDice() {
-        this.random = new Random();
+        this.random = new ResumableRandom();
+    }
+
+    /**
+     * Constructor for a reproducible roll sequence
+     * @param seed Seed for the underlying random generator
+     */
+    public StandardDice(long seed) {
+        this.random = new ResumableRandom(seed);
+    }
+
+    /**
+     * Restart the roll sequence (same rolls as a new StandardDice(seed))
+     * @param seed Seed for the underlying random generator
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Generator state for checkpoints; setState resumes the roll sequence from it
+     * @return The underlying generator state
+     */
+    public long getState() {
+        return random.getState();
+    }
+
+    public void setState(long state) {
+        random.setState(state);
     }
 
     /**
@@ -0,0 +1,185 @@
+package com.mycompany.app;
+
+import java.util.Arrays;
+
+/**
+ * Derived lookup tables computed once from a topology's base adjacency.
+ *
+ * Edge line graph: for each edge, the edges sharing an endpoint with it, and a bitset of every
+ * edge within two steps (one or two shared-endpoint hops, excluding the edge itself). Bitsets
+ * are long[] words indexed by edge ID, so set operations over all edges of a standard board
+ * take two words.
+ *
+ * Reverse adjacency: the tiles around each node and each edge, and for every node its
+ * neighbours paired with the connecting edge, so a node pair resolves to its edge by scanning
+ * at most three slots.
+ */
+final class TopologyIndex {
+
+    private final int[][] edgeNeighbors;
+    // Quadratic in the edge count, so built on first use (stress boards that never ask skip it)
+    private volatile long[][] edgesWithinTwo;
+    private final int[][] nodeTiles;
+    private final int[][] edgeTiles;
+    // Per node, neighbour node and connecting edge in slots node * maxDegree .. + degree - 1
+    private final int[] pairNode;
+    private final int[] pairEdge;
+    private final int maxDegree;
+
+    TopologyIndex(IBoardGraph topology) {
+        int edgeCount = topology.getEdgeCount();
+        this.edgeNeighbors = new int[edgeCount][];
+        for (int e = 0; e < edgeCount; e++) {
+            int[] ends = topology.getEdgeEndpoints(e);
+            int[] found = new int[8];
+            int count = 0;
+            for (int node : ends) {
+                for (int other : topology.getAdjacentEdges(node)) {
+                    if (other != e && !contains(found, count, other)) {
+                        if (count == found.length) {
+                            found = Arrays.copyOf(found, count * 2);
+                        }
+                        found[count++] = other;
+                    }
+                }
+            }
+            int[] neighbors = Arrays.copyOf(found, count);
+            Arrays.sort(neighbors);
+            edgeNeighbors[e] = neighbors;
+        }
+
+        int nodeCount = topology.getNodeCount();
+        int tileCount = topology.getTileCount();
+        int[] tilesPerNode = new int[nodeCount];
+        for (int t = 0; t < tileCount; t++) {
+            for (int node : topology.getTileNodes(t)) {
+                tilesPerNode[node]++;
+            }
+        }
+        this.nodeTiles = new int[nodeCount][];
+        for (int n = 0; n < nodeCount; n++) {
+            nodeTiles[n] = new int[tilesPerNode[n]];
+            tilesPerNode[n] = 0;
+        }
+        for (int t = 0; t < tileCount; t++) {
+            for (int node : topology.getTileNodes(t)) {
+                nodeTiles[node][tilesPerNode[node]++] = t;
+            }
+        }
+
+        this.edgeTiles = new int[edgeCount][];
+        for (int e = 0; e < edgeCount; e++) {
+            int[] ends = topology.getEdgeEndpoints(e);
+            int[] first = nodeTiles[ends[0]];
+            int[] found = new int[first.length];
+            int count = 0;
+            for (int t : first) {
+                if (contains(nodeTiles[ends[1]], nodeTiles[ends[1]].length, t)) {
+                    found[count++] = t;
+                }
+            }
+            edgeTiles[e] = Arrays.copyOf(found, count);
+        }
+
+        int degree = 0;
+        for (int n = 0; n < nodeCount; n++) {
+            degree = Math.max(degree, topology.getAdjacentEdges(n).length);
+        }
+        this.maxDegree = degree;
+        this.pairNode = new int[nodeCount * degree];
+        this.pairEdge = new int[nodeCount * degree];
+        Arrays.fill(pairNode, -1);
+        for (int n = 0; n < nodeCount; n++) {
+            int slot = n * degree;
+            for (int e : topology.getAdjacentEdges(n)) {
+                int[] ends = topology.getEdgeEndpoints(e);
+                pairNode[slot] = ends[0] == n ? ends[1] : ends[0];
+                pairEdge[slot] = e;
+                slot++;
+            }
+        }
+    }
+
+    int[] getEdgeNeighbors(int edgeID) {
+        return edgeNeighbors[edgeID];
+    }
+
+    long[] getEdgesWithinTwo(int edgeID) {
+        long[][] masks = edgesWithinTwo;
+        if (masks == null) {
+            masks = buildEdgesWithinTwo();
+            edgesWithinTwo = masks;
+        }
+        return masks[edgeID];
+    }
+
+    /**
+     * Idempotent, so racing first callers at worst build the table twice.
+     */
+    private long[][] buildEdgesWithinTwo() {
+        int edgeCount = edgeNeighbors.length;
+        int words = wordsFor(edgeCount);
+        long[][] masks = new long[edgeCount][];
+        for (int e = 0; e < edgeCount; e++) {
+            long[] mask = new long[words];
+            for (int n : edgeNeighbors[e]) {
+                set(mask, n);
+                for (int m : edgeNeighbors[n]) {
+                    set(mask, m);
+                }
+            }
+            clear(mask, e);
+            masks[e] = mask;
+        }
+        return masks;
+    }
+
+    int[] getNodeTiles(int nodeID) {
+        return nodeTiles[nodeID];
+    }
+
+    int[] getEdgeTiles(int edgeID) {
+        return edgeTiles[edgeID];
+    }
+
+    int getEdgeBetween(int v1, int v2) {
+        if (v1 < 0 || v2 < 0 || v1 >= nodeTiles.length || v2 >= nodeTiles.length) {
+            return -1;
+        }
+        int end = (v1 + 1) * maxDegree;
+        for (int slot = v1 * maxDegree; slot < end; slot++) {
+            if (pairNode[slot] == v2) {
+                return pairEdge[slot];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Number of long words in a bitset over n IDs.
+     */
+    static int wordsFor(int n) {
+        return (n + 63) >>> 6;
+    }
+
+    static void set(long[] mask, int bit) {
+        mask[bit >>> 6] |= 1L << bit;
+    }
+
+    static void clear(long[] mask, int bit) {
+        mask[bit >>> 6] &= ~(1L << bit);
+    }
+
+    static boolean test(long[] mask, int bit) {
+        return (mask[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,165 @@
+package com.mycompany.app.analysis;
+
+import com.mycompany.app.BoardLayout;
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameResult;
+import com.mycompany.app.HeadlessGame;
+import com.mycompany.app.HexGridGraph;
+import com.mycompany.app.Player;
+import com.mycompany.app.RandomAgent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Times each subsystem on hexagonal boards of growing radius: topology generation, board
+ * construction, the placement validators, and whole RandomAgent turns. Boards use the standard
+ * layout repeated over all tiles, so only size changes between samples.
+ */
+public class BoardScaleProfile {
+
+    /**
+     * Timings for one board size.
+     */
+    public static final class Sample {
+        private final int radius;
+        private final int tiles;
+        private final int nodes;
+        private final int edges;
+        private final double topologyMillis;
+        private final double boardMillis;
+        private final double settlementQueryMicros;
+        private final double roadQueryMicros;
+        private final double turnMicros;
+
+        Sample(int radius, int tiles, int nodes, int edges, double topologyMillis, double boardMillis,
+               double settlementQueryMicros, double roadQueryMicros, double turnMicros) {
+            this.radius = radius;
+            this.tiles = tiles;
+            this.nodes = nodes;
+            this.edges = edges;
+            this.topologyMillis = topologyMillis;
+            this.boardMillis = boardMillis;
+            this.settlementQueryMicros = settlementQueryMicros;
+            this.roadQueryMicros = roadQueryMicros;
+            this.turnMicros = turnMicros;
+        }
+
+        public int getRadius() {
+            return radius;
+        }
+
+        public int getTiles() {
+            return tiles;
+        }
+
+        public int getNodes() {
+            return nodes;
+        }
+
+        public int getEdges() {
+            return edges;
+        }
+
+        public double getTopologyMillis() {
+            return topologyMillis;
+        }
+
+        public double getBoardMillis() {
+            return boardMillis;
+        }
+
+        public double getSettlementQueryMicros() {
+            return settlementQueryMicros;
+        }
+
+        public double getRoadQueryMicros() {
+            return roadQueryMicros;
+        }
+
+        public double getTurnMicros() {
+            return turnMicros;
+        }
+
+        public static String header() {
+            return String.format("%6s %7s %7s %7s %10s %10s %12s %12s %10s",
+                    "Radius", "Tiles", "Nodes", "Edges", "Graph ms", "Board ms",
+                    "Settle us", "Road us", "Turn us");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%6d %7d %7d %7d %10.2f %10.2f %12.2f %12.2f %10.2f",
+                    radius, tiles, nodes, edges, topologyMillis, boardMillis,
+                    settlementQueryMicros, roadQueryMicros, turnMicros);
+        }
+    }
+
+    private final int rounds;
+    private final int queries;
+
+    /**
+     * @param rounds rounds of RandomAgent play timed per board
+     * @param queries validator calls timed per board
+     */
+    public BoardScaleProfile(int rounds, int queries) {
+        if (rounds < 1 || queries < 1) {
+            throw new IllegalArgumentException("rounds and queries must be positive");
+        }
+        this.rounds = rounds;
+        this.queries = queries;
+    }
+
+    public List<Sample> run(int[] radii, long seed) {
+        List<Sample> samples = new ArrayList<>();
+        for (int radius : radii) {
+            samples.add(measure(radius, seed));
+        }
+        return samples;
+    }
+
+    /**
+     * Build and time one board; setup is a random snake draft for four RandomAgents.
+     */
+    public Sample measure(int radius, long seed) {
+        long start = System.nanoTime();
+        HexGridGraph topology = HexGridGraph.hexagon(radius);
+        long built = System.nanoTime();
+        HeadlessGame game = new HeadlessGame(topology, BoardLayout.tiled(topology.getTileCount()), seed,
+                rounds, BoardScaleProfile::randomAgents);
+        long boardReady = System.nanoTime();
+
+        game.snakeDraftSetup(new SplittableRandom(seed), null);
+        CatanEngine engine = game.getEngine();
+        int sink = 0;
+        long settleStart = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            sink += engine.getValidSettlementLocations(i & 3).length;
+        }
+        long roadStart = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            sink += engine.getValidRoadLocations(i & 3).length;
+        }
+        long playStart = System.nanoTime();
+        GameResult result = game.run();
+        long end = System.nanoTime();
+        if (sink < 0) {
+            throw new IllegalStateException();
+        }
+
+        int turns = Math.max(1, result.getRounds() * result.getSeatCount());
+        return new Sample(radius, topology.getTileCount(), topology.getNodeCount(), topology.getEdgeCount(),
+                (built - start) / 1e6, (boardReady - built) / 1e6,
+                (roadStart - settleStart) / 1e3 / queries, (playStart - roadStart) / 1e3 / queries,
+                (end - playStart) / 1e3 / turns);
+    }
+
+    private static List<Player> randomAgents(CatanEngine engine) {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < 4; seat++) {
+            players.add(new RandomAgent(seat));
+        }
+        return players;
+    }
+}
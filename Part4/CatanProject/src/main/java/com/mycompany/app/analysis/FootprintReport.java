@@ -0,0 +1,163 @@
+package com.mycompany.app.analysis;
+
+import com.mycompany.app.BoardLayout;
+import com.mycompany.app.CatanBoardGraph;
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.CompactGame;
+import com.mycompany.app.HeadlessGame;
+import com.mycompany.app.IBoardGraph;
+import com.mycompany.app.Player;
+import com.mycompany.app.RandomAgent;
+import com.mycompany.app.SharedBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the heap retained per live game: a batch of games is set up, played a few rounds
+ * and held, and the heap growth (after GC) is divided by the batch size. CompactGames over one
+ * SharedBoard are compared with HeadlessGames, whose boards share only the topology and tiles.
+ *
+ * Heap figures come from Runtime after repeated System.gc() calls, so they are estimates; the
+ * analytic size of a CompactGame's arrays is reported alongside.
+ */
+public class FootprintReport {
+
+    private static final int SEATS = 4;
+
+    /**
+     * Bytes per live game for one engine mode.
+     */
+    public static final class Sample {
+        private final String mode;
+        private final int games;
+        private final double bytesPerGame;
+
+        Sample(String mode, int games, double bytesPerGame) {
+            this.mode = mode;
+            this.games = games;
+            this.bytesPerGame = bytesPerGame;
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public double getBytesPerGame() {
+            return bytesPerGame;
+        }
+
+        public static String header() {
+            return String.format("%-10s %10s %14s %16s", "Mode", "Games", "Bytes/game", "Games per GiB");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %10d %14.0f %16.0f", mode, games, bytesPerGame,
+                    bytesPerGame > 0 ? (1L << 30) / bytesPerGame : 0.0);
+        }
+    }
+
+    private final int warmupRounds;
+
+    /**
+     * @param warmupRounds rounds each game plays before it is measured (0 = just after setup)
+     */
+    public FootprintReport(int warmupRounds) {
+        if (warmupRounds < 0) {
+            throw new IllegalArgumentException("warmupRounds must be non-negative");
+        }
+        this.warmupRounds = warmupRounds;
+    }
+
+    /**
+     * Hold the given number of compact games on the standard board and measure them.
+     */
+    public Sample measureCompact(int games, long seed) {
+        SharedBoard shared = SharedBoard.of(new CatanBoardGraph(), BoardLayout.standard());
+        long before = usedHeap();
+        CompactGame[] live = new CompactGame[games];
+        for (int i = 0; i < games; i++) {
+            live[i] = new CompactGame(shared, SEATS, HeadlessGame.seedFor(seed, i, 0), warmupRounds);
+            live[i].setupRandom();
+            live[i].run();
+        }
+        long after = usedHeap();
+        Sample sample = new Sample("compact", games, (after - before) / (double) games);
+        keepAlive(live);
+        return sample;
+    }
+
+    /**
+     * Hold the given number of object-model games (HeadlessGame with RandomAgents) and measure them.
+     */
+    public Sample measureObject(int games, long seed) {
+        BoardLayout layout = BoardLayout.standard();
+        SharedBoard.of(new CatanBoardGraph(), layout);
+        long before = usedHeap();
+        HeadlessGame[] live = new HeadlessGame[games];
+        for (int i = 0; i < games; i++) {
+            long gameSeed = HeadlessGame.seedFor(seed, i, 0);
+            live[i] = new HeadlessGame(layout, gameSeed, warmupRounds, FootprintReport::randomAgents);
+            live[i].snakeDraftSetup(new SplittableRandom(gameSeed), null);
+            live[i].run();
+        }
+        long after = usedHeap();
+        Sample sample = new Sample("object", games, (after - before) / (double) games);
+        keepAlive(live);
+        return sample;
+    }
+
+    /**
+     * Analytic size of one CompactGame's own objects, assuming compressed references
+     * (12-byte object headers, 16-byte array headers, 8-byte alignment).
+     */
+    public static long estimateCompactBytes(IBoardGraph topology, int seats) {
+        long object = align(12 + 4 * 5 + 4 * 3 + 8);
+        long nodes = align(16 + topology.getNodeCount());
+        long edges = align(16 + topology.getEdgeCount());
+        long hands = align(16 + 2L * 5 * seats);
+        long counters = align(16 + 4L * seats);
+        return object + nodes + edges + hands + counters;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    private static volatile Object sink;
+
+    private static void keepAlive(Object live) {
+        sink = live;
+        sink = null;
+    }
+
+    private static List<Player> randomAgents(CatanEngine engine) {
+        List<Player> players = new ArrayList<>();
+        for (int seat = 0; seat < SEATS; seat++) {
+            players.add(new RandomAgent(seat));
+        }
+        return players;
+    }
+}
@@ -0,0 +1,147 @@
+package com.mycompany.app.analysis;
+
+import com.mycompany.app.BoardLayout;
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameResult;
+import com.mycompany.app.HeadlessGame;
+import com.mycompany.app.Player;
+import com.mycompany.app.RandomAgent;
+import com.mycompany.app.analysis.PlacementHeatmap.PlacementRound;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Monte Carlo estimate of how good each node is as an initial settlement.
+ *
+ * For every node and placement round, seat 0 is forced to put that settlement on the node
+ * (its first pick of the snake draft, or its last pick for the second settlement); all other
+ * picks are random open nodes. Each (node, round) pair is one task of seeded playouts, and
+ * tasks run on a fixed pool sized to the available cores. Playout seeds are derived from the
+ * base seed and the task indices, so results do not depend on thread scheduling.
+ */
+public class PlacementEvaluator {
+
+    private final int playoutsPerNode;
+    private final int maxRounds;
+    private final int threads;
+    private final Function<CatanEngine, List<Player>> playerFactory;
+
+    /**
+     * Four RandomAgents, 500-round cap, one thread per core.
+     */
+    public PlacementEvaluator(int playoutsPerNode) {
+        this(playoutsPerNode, 500, Runtime.getRuntime().availableProcessors(), PlacementEvaluator::randomAgents);
+    }
+
+    /**
+     * @param playoutsPerNode playouts per (node, round) pair
+     * @param maxRounds round cap per playout
+     * @param threads worker threads
+     * @param playerFactory seated players for each playout; seat 0 is the evaluated seat
+     */
+    public PlacementEvaluator(int playoutsPerNode, int maxRounds, int threads,
+                              Function<CatanEngine, List<Player>> playerFactory) {
+        if (playoutsPerNode < 1 || threads < 1) {
+            throw new IllegalArgumentException("playoutsPerNode and threads must be positive");
+        }
+        this.playoutsPerNode = playoutsPerNode;
+        this.maxRounds = maxRounds;
+        this.threads = threads;
+        this.playerFactory = playerFactory;
+    }
+
+    /**
+     * The settings that change the table for a given layout and seed (playouts and round cap;
+     * the thread count does not), for cache keys. The player factory cannot be named, so
+     * evaluators seating different agents should not share a cache.
+     */
+    public String getConfigKey() {
+        return "p" + playoutsPerNode + "-r" + maxRounds;
+    }
+
+    /**
+     * Build the heatmap for a layout.
+     * @param layout board layout to evaluate
+     * @param seed base seed; same seed and layout give the same table
+     */
+    public PlacementHeatmap evaluate(BoardLayout layout, long seed) {
+        int nodeCount = new HeadlessGame(layout, seed, maxRounds, playerFactory)
+                .getEngine().getBoard().getAllNodes().size();
+        PlacementRound[] rounds = PlacementRound.values();
+        PlacementHeatmap heatmap = new PlacementHeatmap(layout.key(), nodeCount);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<int[]>> futures = new ArrayList<>(nodeCount * rounds.length);
+            for (int node = 0; node < nodeCount; node++) {
+                for (PlacementRound round : rounds) {
+                    final int nodeID = node;
+                    futures.add(pool.submit(() -> playouts(layout, seed, nodeID, round)));
+                }
+            }
+            int i = 0;
+            for (int node = 0; node < nodeCount; node++) {
+                for (PlacementRound round : rounds) {
+                    int[] outcome = futures.get(i++).get();
+                    heatmap.set(node, round, outcome[0], outcome[1]);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Placement evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Placement playout failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return heatmap;
+    }
+
+    /**
+     * Run all playouts for one (node, round) pair.
+     * @return {wins for seat 0, completed games}
+     */
+    int[] playouts(BoardLayout layout, long seed, int nodeID, PlacementRound round) {
+        int wins = 0;
+        int games = 0;
+        // One engine per call, reset between playouts instead of rebuilt
+        HeadlessGame game = null;
+        for (int i = 0; i < playoutsPerNode; i++) {
+            long gameSeed = HeadlessGame.seedFor(seed, nodeID * 2L + round.ordinal(), i);
+            if (game == null) {
+                game = new HeadlessGame(layout, gameSeed, maxRounds, playerFactory);
+                game.setFastForward(true);
+            } else {
+                game.reset(gameSeed, layout);
+            }
+            int[] forced = new int[2 * game.getPlayers().size()];
+            Arrays.fill(forced, -1);
+            forced[round == PlacementRound.FIRST ? 0 : forced.length - 1] = nodeID;
+            if (!game.snakeDraftSetup(new SplittableRandom(gameSeed), forced)) {
+                continue;
+            }
+            GameResult result = game.run();
+            games++;
+            if (result.getWinnerSeat() == 0) {
+                wins++;
+            }
+        }
+        return new int[] {wins, games};
+    }
+
+    private static List<Player> randomAgents(CatanEngine engine) {
+        List<Player> players = new ArrayList<>(4);
+        for (int id = 0; id < 4; id++) {
+            players.add(new RandomAgent(id));
+        }
+        return players;
+    }
+}
@@ -0,0 +1,158 @@
+package com.mycompany.app.analysis;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Per-node win-rate table for initial settlement placement on one board layout.
+ *
+ * For every node it stores how often the seat that placed its FIRST (or SECOND) settlement
+ * there went on to win, over the number of playouts run. Tables are plain CSV so agents,
+ * the setup phase and external tools can all load them.
+ */
+public class PlacementHeatmap {
+
+    /**
+     * Which of the two initial settlements a value refers to.
+     */
+    public enum PlacementRound {
+        FIRST,
+        SECOND
+    }
+
+    private static final String HEADER = "node,first_wins,first_games,second_wins,second_games";
+
+    private final String layoutKey;
+    private final int[][] wins;
+    private final int[][] games;
+
+    /**
+     * Empty table for nodeCount nodes.
+     */
+    public PlacementHeatmap(String layoutKey, int nodeCount) {
+        this.layoutKey = layoutKey;
+        this.wins = new int[PlacementRound.values().length][nodeCount];
+        this.games = new int[PlacementRound.values().length][nodeCount];
+    }
+
+    public String getLayoutKey() {
+        return layoutKey;
+    }
+
+    public int getNodeCount() {
+        return wins[0].length;
+    }
+
+    /**
+     * Store the playout outcome totals for one node and round.
+     */
+    public void set(int nodeID, PlacementRound round, int winCount, int gameCount) {
+        wins[round.ordinal()][nodeID] = winCount;
+        games[round.ordinal()][nodeID] = gameCount;
+    }
+
+    public int getWins(int nodeID, PlacementRound round) {
+        return wins[round.ordinal()][nodeID];
+    }
+
+    public int getGames(int nodeID, PlacementRound round) {
+        return games[round.ordinal()][nodeID];
+    }
+
+    /**
+     * Estimated win rate, or NaN if the node was never played in that round.
+     */
+    public double getWinRate(int nodeID, PlacementRound round) {
+        int n = games[round.ordinal()][nodeID];
+        return n == 0 ? Double.NaN : (double) wins[round.ordinal()][nodeID] / n;
+    }
+
+    /**
+     * Node IDs sorted best-first by win rate for the round (unplayed nodes last).
+     */
+    public int[] rankNodes(PlacementRound round) {
+        Integer[] order = new Integer[getNodeCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(score(b, round), score(a, round)));
+        int[] ranked = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            ranked[i] = order[i];
+        }
+        return ranked;
+    }
+
+    private double score(int nodeID, PlacementRound round) {
+        double rate = getWinRate(nodeID, round);
+        return Double.isNaN(rate) ? -1.0 : rate;
+    }
+
+    /**
+     * Write as CSV: a "# layout=" comment line, a header, then one row per node.
+     */
+    public void writeTo(Writer out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(out);
+        writer.write("# layout=" + layoutKey);
+        writer.newLine();
+        writer.write(HEADER);
+        writer.newLine();
+        for (int n = 0; n < getNodeCount(); n++) {
+            writer.write(n + "," + getWins(n, PlacementRound.FIRST) + "," + getGames(n, PlacementRound.FIRST)
+                    + "," + getWins(n, PlacementRound.SECOND) + "," + getGames(n, PlacementRound.SECOND));
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Read a table written by writeTo.
+     * @throws IOException if the input is not a heatmap CSV
+     */
+    public static PlacementHeatmap load(Reader in) throws IOException {
+        BufferedReader reader = new BufferedReader(in);
+        String first = reader.readLine();
+        if (first == null || !first.startsWith("# layout=")) {
+            throw new IOException("Missing layout line in heatmap file");
+        }
+        String key = first.substring("# layout=".length());
+        if (!HEADER.equals(reader.readLine())) {
+            throw new IOException("Unexpected heatmap header");
+        }
+        int[][] rows = new int[64][];
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            if (parts.length != 5) {
+                throw new IOException("Malformed heatmap row: " + line);
+            }
+            int[] row = new int[5];
+            try {
+                for (int i = 0; i < 5; i++) {
+                    row[i] = Integer.parseInt(parts[i].trim());
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed heatmap row: " + line, e);
+            }
+            if (count == rows.length) {
+                rows = Arrays.copyOf(rows, count * 2);
+            }
+            rows[count++] = row;
+        }
+        PlacementHeatmap heatmap = new PlacementHeatmap(key, count);
+        for (int i = 0; i < count; i++) {
+            int[] row = rows[i];
+            heatmap.set(row[0], PlacementRound.FIRST, row[1], row[2]);
+            heatmap.set(row[0], PlacementRound.SECOND, row[3], row[4]);
+        }
+        return heatmap;
+    }
+}
@@ -0,0 +1,130 @@
+package com.mycompany.app.analysis;
+
+import com.mycompany.app.BoardLayout;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heatmaps keyed by board layout, evaluator settings and seed: an in-memory map in front of an
+ * optional directory of CSV files ("heatmap-<layout key>-<config>-s<seed>.csv"), so a table is
+ * only evaluated once per machine.
+ *
+ * The map holds futures: the first caller for a key runs the evaluation (and the disk I/O)
+ * outside the map, so other keys are never blocked behind it.
+ */
+public class PlacementHeatmapCache {
+
+    private final Path directory;
+    private final ConcurrentHashMap<String, CompletableFuture<PlacementHeatmap>> memory = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory where heatmaps are persisted, or null for memory only
+     */
+    public PlacementHeatmapCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Cached heatmap for the layout, computing and storing it on a miss.
+     * Concurrent callers for the same key wait for a single evaluation; if it fails, they all
+     * see the failure and the next call tries again.
+     */
+    public PlacementHeatmap getOrCompute(BoardLayout layout, PlacementEvaluator evaluator, long seed) {
+        String key = key(layout, evaluator, seed);
+        CompletableFuture<PlacementHeatmap> created = new CompletableFuture<>();
+        CompletableFuture<PlacementHeatmap> existing = memory.putIfAbsent(key, created);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            PlacementHeatmap heatmap = readFromDisk(key, layout);
+            if (heatmap == null) {
+                heatmap = evaluator.evaluate(layout, seed);
+                writeToDisk(key, heatmap);
+            }
+            created.complete(heatmap);
+            return heatmap;
+        } catch (RuntimeException | Error e) {
+            memory.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Cached heatmap without computing, or null (also while it is still being computed).
+     */
+    public PlacementHeatmap get(BoardLayout layout, PlacementEvaluator evaluator, long seed) {
+        String key = key(layout, evaluator, seed);
+        CompletableFuture<PlacementHeatmap> cached = memory.get(key);
+        if (cached != null) {
+            return cached.isDone() && !cached.isCompletedExceptionally() ? cached.join() : null;
+        }
+        PlacementHeatmap stored = readFromDisk(key, layout);
+        if (stored == null) {
+            return null;
+        }
+        CompletableFuture<PlacementHeatmap> raced = memory.putIfAbsent(key, CompletableFuture.completedFuture(stored));
+        return raced != null && raced.isDone() && !raced.isCompletedExceptionally() ? raced.join() : stored;
+    }
+
+    Path fileFor(String key) {
+        return directory.resolve("heatmap-" + key + ".csv");
+    }
+
+    private static String key(BoardLayout layout, PlacementEvaluator evaluator, long seed) {
+        return layout.key() + "-" + evaluator.getConfigKey() + "-s" + seed;
+    }
+
+    private static PlacementHeatmap join(CompletableFuture<PlacementHeatmap> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private PlacementHeatmap readFromDisk(String key, BoardLayout layout) {
+        if (directory == null || !Files.isRegularFile(fileFor(key))) {
+            return null;
+        }
+        try (Reader in = Files.newBufferedReader(fileFor(key), StandardCharsets.UTF_8)) {
+            PlacementHeatmap heatmap = PlacementHeatmap.load(in);
+            return layout.key().equals(heatmap.getLayoutKey()) ? heatmap : null;
+        } catch (IOException e) {
+            // Corrupt or foreign file: treat as a miss and overwrite it
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, PlacementHeatmap heatmap) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path target = fileFor(key);
+            Path tmp = Files.createTempFile(directory, "heatmap-", ".tmp");
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                heatmap.writeTo(out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not persist heatmap", e);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.mycompany.app.analysis;
+
+import com.mycompany.app.Board;
+import com.mycompany.app.BuildingType;
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.CompactGame;
+import com.mycompany.app.IBoardGraph;
+import com.mycompany.app.OwnershipIndex;
+import com.mycompany.app.Player;
+import com.mycompany.app.ResourceType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Off-heap store of game positions: fixed-size records in direct ByteBuffer chunks, so tens of
+ * millions of positions cost no heap objects and no GC work.
+ *
+ * A record holds, for one topology and table size: every node's owner and building (a nibble:
+ * seat + 1, plus 8 for a city), every edge's road owner (a nibble), the robber tile, each seat's
+ * hand (an unsigned short per resource, saturating) and VP, and the seat to move. The standard
+ * board with four seats takes 110 bytes. Records never straddle chunks, so position i lives at
+ * a computed chunk and offset and random access is O(1).
+ *
+ * Appends are synchronized, so batch workers can share a store. Reads (get, forEach) may run
+ * concurrently with appends and see every record counted by size() when they started. Reading
+ * goes through a reusable Position view instead of materializing Board or Player objects.
+ */
+public final class PositionStore {
+
+    /**
+     * Default chunk size: 64 MiB
+     */
+    public static final int DEFAULT_CHUNK_BYTES = 64 << 20;
+    private static final int MAX_SEATS = 7;
+    private static final int CITY = 8;
+    private static final ResourceType[] TYPES = ResourceType.values();
+    private static final int SEAT_BYTES = 2 * TYPES.length + 1;
+
+    private final int nodeCount;
+    private final int edgeCount;
+    private final int seats;
+    private final int edgeBase;
+    private final int robberBase;
+    private final int seatBase;
+    private final int sideBase;
+    private final int recordBytes;
+    private final int recordsPerChunk;
+    private final int chunkBytes;
+    /** Published after a record is written, so readers never see a partial record */
+    private volatile long size;
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+
+    public PositionStore(IBoardGraph topology, int seats) {
+        this(topology, seats, DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * @param topology Board topology of every stored position
+     * @param seats Table size (at most 7)
+     * @param chunkBytes Size of each off-heap chunk; rounded down to whole records
+     */
+    public PositionStore(IBoardGraph topology, int seats, int chunkBytes) {
+        if (seats < 1 || seats > MAX_SEATS) {
+            throw new IllegalArgumentException("seats must be 1.." + MAX_SEATS + ": " + seats);
+        }
+        this.nodeCount = topology.getNodeCount();
+        this.edgeCount = topology.getEdgeCount();
+        this.seats = seats;
+        this.edgeBase = (nodeCount + 1) / 2;
+        this.robberBase = edgeBase + (edgeCount + 1) / 2;
+        this.seatBase = robberBase + 2;
+        this.sideBase = seatBase + seats * SEAT_BYTES;
+        this.recordBytes = sideBase + 1;
+        if (chunkBytes < recordBytes) {
+            throw new IllegalArgumentException("chunk of " + chunkBytes + " bytes cannot hold a "
+                    + recordBytes + "-byte record");
+        }
+        this.recordsPerChunk = chunkBytes / recordBytes;
+        this.chunkBytes = recordsPerChunk * recordBytes;
+    }
+
+    public int getRecordBytes() {
+        return recordBytes;
+    }
+
+    public int getSeatCount() {
+        return seats;
+    }
+
+    /**
+     * Number of positions stored.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Off-heap bytes allocated (whole chunks).
+     */
+    public long getOffHeapBytes() {
+        return (long) chunks.length * chunkBytes;
+    }
+
+    /**
+     * Record an engine's position.
+     *
+     * @param players Seated players, in seat order
+     * @param sideToMove Seat whose turn is next
+     * @return the position's index
+     */
+    public synchronized long append(CatanEngine engine, List<Player> players, int sideToMove) {
+        checkTable(players.size(), sideToMove);
+        long index = size;
+        ByteBuffer chunk = chunkFor(index);
+        int base = offset(index);
+        clear(chunk, base);
+        Board board = engine.getBoard();
+        OwnershipIndex ownership = board.getOwnership();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            int id = player.getPlayerID();
+            for (int i = 0; i < ownership.getNodeCount(id); i++) {
+                int node = ownership.getNode(id, i);
+                boolean city = board.getNode(node).getType() == BuildingType.CITY;
+                putNibble(chunk, base, node, (seat + 1) | (city ? CITY : 0));
+            }
+            for (int i = 0; i < ownership.getEdgeCount(id); i++) {
+                putNibble(chunk, base + edgeBase, ownership.getEdge(id, i), seat + 1);
+            }
+            int seatOffset = base + seatBase + seat * SEAT_BYTES;
+            for (int r = 0; r < TYPES.length; r++) {
+                chunk.putShort(seatOffset + 2 * r, saturate(player.getResourceCount(TYPES[r])));
+            }
+            chunk.put(seatOffset + 2 * TYPES.length, (byte) player.getVictoryPoints());
+        }
+        chunk.putShort(base + robberBase, (short) board.getRobberLocation());
+        chunk.put(base + sideBase, (byte) sideToMove);
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Record a CompactGame's position.
+     *
+     * @param sideToMove Seat whose turn is next
+     * @return the position's index
+     */
+    public synchronized long append(CompactGame game, int sideToMove) {
+        checkTable(game.getSeatCount(), sideToMove);
+        long index = size;
+        ByteBuffer chunk = chunkFor(index);
+        int base = offset(index);
+        clear(chunk, base);
+        for (int node = 0; node < nodeCount; node++) {
+            int owner = game.getNodeOwner(node);
+            if (owner >= 0) {
+                putNibble(chunk, base, node, (owner + 1) | (game.isCity(node) ? CITY : 0));
+            }
+        }
+        for (int edge = 0; edge < edgeCount; edge++) {
+            int owner = game.getRoadOwner(edge);
+            if (owner >= 0) {
+                putNibble(chunk, base + edgeBase, edge, owner + 1);
+            }
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            int seatOffset = base + seatBase + seat * SEAT_BYTES;
+            for (int r = 0; r < TYPES.length; r++) {
+                chunk.putShort(seatOffset + 2 * r, saturate(game.getResourceCount(seat, TYPES[r])));
+            }
+            chunk.put(seatOffset + 2 * TYPES.length, (byte) game.getVictoryPoints(seat));
+        }
+        chunk.putShort(base + robberBase, (short) game.getRobberTile());
+        chunk.put(base + sideBase, (byte) sideToMove);
+        size = index + 1;
+        return index;
+    }
+
+    /**
+     * Point a view at position index.
+     *
+     * @param into View to reuse, or null for a new one
+     * @return the view
+     */
+    public Position get(long index, Position into) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("position " + index + " of " + size);
+        }
+        Position view = into != null ? into : new Position();
+        view.moveTo(index);
+        return view;
+    }
+
+    /**
+     * Visit every stored position in order through one reused view (do not keep it).
+     */
+    public void forEach(Consumer<Position> action) {
+        forEach(0, size, action);
+    }
+
+    /**
+     * Visit positions [from, to) in order through one reused view, e.g. one range per worker.
+     */
+    public void forEach(long from, long to, Consumer<Position> action) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("range [" + from + ", " + to + ") of " + size);
+        }
+        Position view = new Position();
+        for (long index = from; index < to; index++) {
+            view.moveTo(index);
+            action.accept(view);
+        }
+    }
+
+    /**
+     * Drop every position and release the chunks to the garbage collector.
+     */
+    public synchronized void clear() {
+        size = 0;
+        chunks = new ByteBuffer[0];
+    }
+
+    private void checkTable(int tableSeats, int sideToMove) {
+        if (tableSeats != seats) {
+            throw new IllegalArgumentException("store holds " + seats + "-seat positions, got " + tableSeats);
+        }
+        if (sideToMove < 0 || sideToMove >= seats) {
+            throw new IllegalArgumentException("no seat " + sideToMove);
+        }
+    }
+
+    private ByteBuffer chunkFor(long index) {
+        int chunk = (int) (index / recordsPerChunk);
+        ByteBuffer[] current = chunks;
+        if (chunk < current.length) {
+            return current[chunk];
+        }
+        ByteBuffer[] grown = Arrays.copyOf(current, chunk + 1);
+        grown[chunk] = ByteBuffer.allocateDirect(chunkBytes);
+        chunks = grown;
+        return grown[chunk];
+    }
+
+    private int offset(long index) {
+        return (int) (index % recordsPerChunk) * recordBytes;
+    }
+
+    private void clear(ByteBuffer chunk, int base) {
+        for (int i = 0; i < seatBase; i++) {
+            chunk.put(base + i, (byte) 0);
+        }
+    }
+
+    private static void putNibble(ByteBuffer chunk, int base, int slot, int value) {
+        int at = base + slot / 2;
+        int shift = (slot & 1) * 4;
+        chunk.put(at, (byte) (chunk.get(at) & ~(0xF << shift) | value << shift));
+    }
+
+    private static short saturate(int count) {
+        return (short) Math.min(count, 0xFFFF);
+    }
+
+    /**
+     * Read-only view of one stored position; get and forEach move it between records.
+     */
+    public final class Position {
+        private ByteBuffer chunk;
+        private int base;
+        private long index;
+
+        private Position() {
+        }
+
+        private void moveTo(long index) {
+            this.chunk = chunks[(int) (index / recordsPerChunk)];
+            this.base = offset(index);
+            this.index = index;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        /**
+         * Seat owning the node, or -1.
+         */
+        public int getNodeOwner(int nodeID) {
+            return (nibble(base, nodeID) & 7) - 1;
+        }
+
+        public boolean isCity(int nodeID) {
+            return (nibble(base, nodeID) & CITY) != 0;
+        }
+
+        /**
+         * Seat owning the road on the edge, or -1.
+         */
+        public int getRoadOwner(int edgeID) {
+            return nibble(base + edgeBase, edgeID) - 1;
+        }
+
+        public int getRobberTile() {
+            return chunk.getShort(base + robberBase) & 0xFFFF;
+        }
+
+        public int getResourceCount(int seat, ResourceType type) {
+            return chunk.getShort(base + seatBase + seat * SEAT_BYTES + 2 * type.ordinal()) & 0xFFFF;
+        }
+
+        public int getTotalResourceCards(int seat) {
+            int total = 0;
+            for (ResourceType type : TYPES) {
+                total += getResourceCount(seat, type);
+            }
+            return total;
+        }
+
+        public int getVictoryPoints(int seat) {
+            return chunk.get(base + seatBase + seat * SEAT_BYTES + 2 * TYPES.length);
+        }
+
+        public int getSideToMove() {
+            return chunk.get(base + sideBase);
+        }
+
+        private int nibble(int from, int slot) {
+            return chunk.get(from + slot / 2) >> ((slot & 1) * 4) & 0xF;
+        }
+    }
+}
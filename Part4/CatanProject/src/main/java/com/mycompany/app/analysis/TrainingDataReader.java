@@ -0,0 +1,140 @@
+package com.mycompany.app.analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files written by TrainingDataWriter one column chunk at a time: opening reads only the
+ * footer, and readColumn decompresses a single column of a single chunk.
+ */
+public final class TrainingDataReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final String[] names;
+    private final byte[] widths;
+    private final int[] chunkRows;
+    private final long[][] offsets;
+    private final int[][] lengths;
+    private final long rowCount;
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * @throws IOException if the file cannot be read or is not a complete training data file
+     */
+    public TrainingDataReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < 14 || read(0, 6).getInt() != TrainingDataWriter.MAGIC) {
+                throw new IOException(file + " is not a training data file");
+            }
+            ByteBuffer trailer = read(size - 8, 8);
+            int footerSize = trailer.getInt();
+            if (trailer.getInt() != TrainingDataWriter.MAGIC || footerSize < 0 || footerSize > size - 14) {
+                throw new IOException(file + " has no footer (writer not closed?)");
+            }
+            ByteBuffer footer = read(size - 8 - footerSize, footerSize);
+            int columnCount = footer.getInt();
+            this.names = new String[columnCount];
+            this.widths = new byte[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                byte[] name = new byte[footer.getShort()];
+                footer.get(name);
+                names[c] = new String(name, StandardCharsets.UTF_8);
+                widths[c] = footer.get();
+            }
+            int chunks = footer.getInt();
+            this.chunkRows = new int[chunks];
+            this.offsets = new long[chunks][columnCount];
+            this.lengths = new int[chunks][columnCount];
+            for (int k = 0; k < chunks; k++) {
+                chunkRows[k] = footer.getInt();
+                for (int c = 0; c < columnCount; c++) {
+                    offsets[k][c] = footer.getLong();
+                    lengths[k][c] = footer.getInt();
+                }
+            }
+            this.rowCount = footer.getLong();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    /**
+     * Index of the named column, or -1.
+     */
+    public int getColumn(String name) {
+        return Arrays.asList(names).indexOf(name);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getChunkCount() {
+        return chunkRows.length;
+    }
+
+    public int getChunkRows(int chunk) {
+        return chunkRows[chunk];
+    }
+
+    /**
+     * Decompress one column of one chunk.
+     */
+    public int[] readColumn(int chunk, int column) throws IOException {
+        ByteBuffer packed = read(offsets[chunk][column], lengths[chunk][column]);
+        int width = widths[column];
+        byte[] raw = new byte[chunkRows[chunk] * width];
+        inflater.reset();
+        inflater.setInput(packed.array(), 0, packed.limit());
+        try {
+            int done = 0;
+            while (done < raw.length) {
+                int n = inflater.inflate(raw, done, raw.length - done);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("column " + names[column] + " of chunk " + chunk + " is truncated");
+                }
+                done += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("column " + names[column] + " of chunk " + chunk + " is damaged", e);
+        }
+        ByteBuffer in = ByteBuffer.wrap(raw);
+        int[] values = new int[chunkRows[chunk]];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = width == 1 ? in.get() : width == 2 ? in.getShort() : in.getInt();
+        }
+        return values;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+}
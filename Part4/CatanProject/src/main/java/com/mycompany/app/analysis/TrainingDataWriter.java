@@ -0,0 +1,406 @@
+package com.mycompany.app.analysis;
+
+import com.mycompany.app.Board;
+import com.mycompany.app.BuildingType;
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.IBoardGraph;
+import com.mycompany.app.NodeProductionTable;
+import com.mycompany.app.OwnershipIndex;
+import com.mycompany.app.Player;
+import com.mycompany.app.ResourceType;
+import com.mycompany.app.RoadGraphMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Streams self-play positions, labelled with each game's eventual winner, to a chunked columnar
+ * file for training evaluation models.
+ *
+ * Each position is one row of int features: game ID, turn, seat to move, every node's occupancy
+ * (0 empty, seat + 1, plus 8 for a city), each seat's hand, robber-aware production pips per
+ * resource, longest road and VP, and the winner (-1 for a draw). A worker records a game's rows
+ * in its own GameRecorder; when the game ends the labelled rows go through a bounded queue to
+ * one writer thread, so workers never touch the file and block only if the writer falls behind.
+ *
+ * The writer gathers rows into chunks of rowsPerChunk and writes every column of a chunk as its
+ * own deflated block. A footer lists the columns (name and byte width) and each chunk's row count
+ * and block offsets, so TrainingDataReader can decompress single columns of single chunks.
+ *
+ * Layout: magic, version; chunk blocks; footer; footer length, magic.
+ */
+public final class TrainingDataWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x4354524E;
+    static final short VERSION = 1;
+    /**
+     * Default rows per chunk
+     */
+    public static final int DEFAULT_ROWS_PER_CHUNK = 1 << 16;
+    /**
+     * Default number of finished games that may wait for the writer
+     */
+    public static final int DEFAULT_QUEUE_GAMES = 64;
+    private static final ResourceType[] TYPES = ResourceType.values();
+    private static final Batch END = new Batch(new int[0], 0);
+
+    private final FileChannel channel;
+    private final int seats;
+    private final int nodeCount;
+    private final String[] names;
+    private final byte[] widths;
+    private final int rowsPerChunk;
+    private final BlockingQueue<Batch> queue;
+    private final Thread writer;
+    private final ByteBuffer[] columns;
+    private final Deflater deflater = new Deflater();
+    private byte[] compressed = new byte[1 << 16];
+    private final List<long[]> chunkOffsets = new ArrayList<>();
+    private final List<int[]> chunkLengths = new ArrayList<>();
+    private final List<Integer> chunkRows = new ArrayList<>();
+    private int rowsInChunk;
+    private long totalRows;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    /**
+     * A game's rows, labelled with the winner once it finished.
+     */
+    private static final class Batch {
+        final int[] rows;
+        final int count;
+
+        Batch(int[] rows, int count) {
+            this.rows = rows;
+            this.count = count;
+        }
+    }
+
+    public TrainingDataWriter(Path file, IBoardGraph topology, int seats) throws IOException {
+        this(file, topology, seats, DEFAULT_ROWS_PER_CHUNK, DEFAULT_QUEUE_GAMES);
+    }
+
+    /**
+     * @param file Output file (replaced)
+     * @param topology Board topology of every recorded game
+     * @param seats Table size of every recorded game
+     * @param rowsPerChunk Rows per column chunk
+     * @param queueGames Finished games that may wait for the writer before workers block
+     */
+    public TrainingDataWriter(Path file, IBoardGraph topology, int seats, int rowsPerChunk, int queueGames)
+            throws IOException {
+        if (rowsPerChunk < 1 || queueGames < 1) {
+            throw new IllegalArgumentException("rowsPerChunk and queueGames must be positive");
+        }
+        if (seats < 1 || seats > 7) {
+            throw new IllegalArgumentException("node codes hold seats 0..6, got " + seats + " seats");
+        }
+        this.seats = seats;
+        this.nodeCount = topology.getNodeCount();
+        this.rowsPerChunk = rowsPerChunk;
+        List<String> columnNames = new ArrayList<>();
+        List<Byte> columnWidths = new ArrayList<>();
+        addColumn(columnNames, columnWidths, "game", 4);
+        addColumn(columnNames, columnWidths, "turn", 4);
+        addColumn(columnNames, columnWidths, "side_to_move", 1);
+        for (int n = 0; n < nodeCount; n++) {
+            addColumn(columnNames, columnWidths, "node_" + n, 1);
+        }
+        for (int s = 0; s < seats; s++) {
+            for (ResourceType type : TYPES) {
+                addColumn(columnNames, columnWidths, "hand_" + s + "_" + type.name().toLowerCase(Locale.ROOT), 2);
+            }
+        }
+        for (int s = 0; s < seats; s++) {
+            for (ResourceType type : TYPES) {
+                addColumn(columnNames, columnWidths, "production_" + s + "_" + type.name().toLowerCase(Locale.ROOT), 2);
+            }
+        }
+        for (int s = 0; s < seats; s++) {
+            addColumn(columnNames, columnWidths, "road_length_" + s, 1);
+        }
+        for (int s = 0; s < seats; s++) {
+            addColumn(columnNames, columnWidths, "vp_" + s, 1);
+        }
+        addColumn(columnNames, columnWidths, "winner", 1);
+        this.names = columnNames.toArray(new String[0]);
+        this.widths = new byte[names.length];
+        this.columns = new ByteBuffer[names.length];
+        for (int c = 0; c < names.length; c++) {
+            widths[c] = columnWidths.get(c);
+            columns[c] = ByteBuffer.allocate(rowsPerChunk * widths[c]);
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        write(ByteBuffer.allocate(6).putInt(MAGIC).putShort(VERSION).flip());
+        this.queue = new ArrayBlockingQueue<>(queueGames);
+        this.writer = new Thread(this::drain, "training-data-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static void addColumn(List<String> names, List<Byte> widths, String name, int width) {
+        names.add(name);
+        widths.add((byte) width);
+    }
+
+    public int getColumnCount() {
+        return names.length;
+    }
+
+    /**
+     * Start recording a game; call from the worker playing it.
+     */
+    public GameRecorder newGame(long gameID) {
+        return new GameRecorder(gameID);
+    }
+
+    /**
+     * Rows of one game, kept by its worker until the game ends.
+     */
+    public final class GameRecorder {
+        private final long gameID;
+        private int[] rows = new int[names.length * 64];
+        private int count;
+
+        private GameRecorder(long gameID) {
+            this.gameID = gameID;
+        }
+
+        /**
+         * Add the current position as a row.
+         *
+         * @param players Seated players, in seat order
+         * @param sideToMove Seat whose turn is next
+         */
+        public void record(CatanEngine engine, List<Player> players, int sideToMove) {
+            if (players.size() != seats) {
+                throw new IllegalArgumentException("writer expects " + seats + " seats, got " + players.size());
+            }
+            if ((count + 1) * names.length > rows.length) {
+                rows = Arrays.copyOf(rows, rows.length * 2);
+            }
+            Board board = engine.getBoard();
+            OwnershipIndex ownership = board.getOwnership();
+            NodeProductionTable production = board.getProductionTable();
+            int base = count * names.length;
+            Arrays.fill(rows, base, base + names.length, 0);
+            rows[base] = (int) gameID;
+            rows[base + 1] = count;
+            rows[base + 2] = sideToMove;
+            int nodes = base + 3;
+            int hands = nodes + nodeCount;
+            int pips = hands + seats * TYPES.length;
+            int roads = pips + seats * TYPES.length;
+            int vps = roads + seats;
+            for (int s = 0; s < seats; s++) {
+                Player player = players.get(s);
+                int id = player.getPlayerID();
+                for (int i = 0; i < ownership.getNodeCount(id); i++) {
+                    int node = ownership.getNode(id, i);
+                    boolean city = board.getNode(node).getType() == BuildingType.CITY;
+                    rows[nodes + node] = (s + 1) | (city ? 8 : 0);
+                    for (int r = 0; r < TYPES.length; r++) {
+                        rows[pips + s * TYPES.length + r] += production.getPips(node, TYPES[r]) * (city ? 2 : 1);
+                    }
+                }
+                for (int r = 0; r < TYPES.length; r++) {
+                    rows[hands + s * TYPES.length + r] = player.getResourceCount(TYPES[r]);
+                }
+                rows[roads + s] = RoadGraphMetrics.longestRoadLength(board, board.getTopology(), id);
+                rows[vps + s] = player.getVictoryPoints();
+            }
+            count++;
+        }
+
+        public int getRowCount() {
+            return count;
+        }
+
+        /**
+         * Label every row with the winner and hand them to the writer; blocks while the queue
+         * is full.
+         *
+         * @param winnerSeat Winning seat, or -1 for a draw
+         */
+        public void finish(int winnerSeat) {
+            int winner = names.length - 1;
+            for (int row = 0; row < count; row++) {
+                rows[row * names.length + winner] = winnerSeat;
+            }
+            submit(new Batch(rows, count));
+            rows = new int[names.length * 64];
+            count = 0;
+        }
+    }
+
+    private void submit(Batch batch) {
+        checkFailure();
+        if (closed) {
+            throw new IllegalStateException("training data writer is closed");
+        }
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted waiting for the training data writer", e);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Batch batch = queue.take();
+                if (batch == END) {
+                    break;
+                }
+                append(batch);
+            }
+            if (rowsInChunk > 0) {
+                flushChunk();
+            }
+            writeFooter();
+        } catch (Throwable t) {
+            failure = t;
+            discardUntilEnd();
+        }
+    }
+
+    /**
+     * After a failure keep taking batches, so workers blocked on a full queue see the failure.
+     */
+    private void discardUntilEnd() {
+        try {
+            while (queue.take() != END) {
+                // dropped
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(Batch batch) throws IOException {
+        for (int row = 0; row < batch.count; row++) {
+            int base = row * names.length;
+            for (int c = 0; c < names.length; c++) {
+                int value = batch.rows[base + c];
+                switch (widths[c]) {
+                    case 1:
+                        columns[c].put((byte) value);
+                        break;
+                    case 2:
+                        columns[c].putShort((short) value);
+                        break;
+                    default:
+                        columns[c].putInt(value);
+                }
+            }
+            totalRows++;
+            if (++rowsInChunk == rowsPerChunk) {
+                flushChunk();
+            }
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        long[] offsets = new long[names.length];
+        int[] lengths = new int[names.length];
+        for (int c = 0; c < names.length; c++) {
+            deflater.reset();
+            deflater.setInput(columns[c].array(), 0, columns[c].position());
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            offsets[c] = channel.position();
+            lengths[c] = length;
+            write(ByteBuffer.wrap(compressed, 0, length));
+            columns[c].clear();
+        }
+        chunkOffsets.add(offsets);
+        chunkLengths.add(lengths);
+        chunkRows.add(rowsInChunk);
+        rowsInChunk = 0;
+    }
+
+    private void writeFooter() throws IOException {
+        int size = 4 + 4 + 8;
+        byte[][] encoded = new byte[names.length][];
+        for (int c = 0; c < names.length; c++) {
+            encoded[c] = names[c].getBytes(StandardCharsets.UTF_8);
+            size += 2 + encoded[c].length + 1;
+        }
+        size += chunkRows.size() * (4 + names.length * 12);
+        ByteBuffer footer = ByteBuffer.allocate(size + 8);
+        footer.putInt(names.length);
+        for (int c = 0; c < names.length; c++) {
+            footer.putShort((short) encoded[c].length).put(encoded[c]).put(widths[c]);
+        }
+        footer.putInt(chunkRows.size());
+        for (int k = 0; k < chunkRows.size(); k++) {
+            footer.putInt(chunkRows.get(k));
+            for (int c = 0; c < names.length; c++) {
+                footer.putLong(chunkOffsets.get(k)[c]).putInt(chunkLengths.get(k)[c]);
+            }
+        }
+        footer.putLong(totalRows);
+        footer.putInt(size).putInt(MAGIC);
+        write(footer.flip());
+        channel.force(false);
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void checkFailure() {
+        Throwable t = failure;
+        if (t instanceof IOException) {
+            throw new UncheckedIOException((IOException) t);
+        }
+        if (t != null) {
+            throw new IllegalStateException("training data writer failed", t);
+        }
+    }
+
+    /**
+     * Write every finished game, the last partial chunk and the footer, then close the file.
+     * Games whose recorders were never finished are not written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+        checkFailure();
+    }
+}
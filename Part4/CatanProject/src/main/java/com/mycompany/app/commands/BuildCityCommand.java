@@ -1,14 +1,10 @@
 package com.mycompany.app.commands;
 
-import com.mycompany.app.BuildingCost;
-import com.mycompany.app.BuildingType;
 import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
-import com.mycompany.app.ResourceType;
-
-import java.util.Map;
 
 /**
  * Attempts to upgrade an existing settlement to a city for the current player.
@@ -23,10 +19,14 @@ public class BuildCityCommand implements ICommand {
         this.nodeId = nodeId;
     }
 
+    public int getNodeId() {
+        return nodeId;
+    }
+
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
         if (!(controller instanceof CatanEngine)) {
-            System.out.println("City building is only supported when using CatanEngine.");
+            GameLog.println("City building is only supported when using CatanEngine.");
             return;
         }
         CatanEngine eng = (CatanEngine) controller;
@@ -34,10 +34,10 @@ public class BuildCityCommand implements ICommand {
         if (success) {
             this.engine = eng;
             this.wasBuilt = true;
-            System.out.println("Player " + currentPlayer.getPlayerID()
+            GameLog.println("Player " + currentPlayer.getPlayerID()
                     + " upgraded to a city at node " + nodeId);
         } else {
-            System.out.println("Player " + currentPlayer.getPlayerID()
+            GameLog.println("Player " + currentPlayer.getPlayerID()
                     + " failed to upgrade to a city at node " + nodeId);
         }
     }
@@ -47,14 +47,8 @@ public class BuildCityCommand implements ICommand {
         if (!wasBuilt || engine == null) {
             return;
         }
-        engine.getBoard().getNode(nodeId).setOccupant(currentPlayer, BuildingType.SETTLEMENT);
-        currentPlayer.addVictoryPoints(-1);
-        Map<ResourceType, Integer> cost = BuildingCost.CITY.getCost();
-        for (Map.Entry<ResourceType, Integer> e : cost.entrySet()) {
-            currentPlayer.addResource(e.getKey(), e.getValue());
-        }
+        engine.undoBuildCity(currentPlayer, nodeId);
         wasBuilt = false;
-        engine.notifyObservers();
     }
 
     @Override
@@ -1,13 +1,10 @@
 package com.mycompany.app.commands;
 
-import com.mycompany.app.BuildingCost;
 import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
-import com.mycompany.app.ResourceType;
-
-import java.util.Map;
 
 /**
  * Attempts to build a road for the current player on the specified edge.
@@ -38,10 +35,10 @@ public class BuildRoadCommand implements ICommand {
                 this.engine = (CatanEngine) controller;
                 this.wasBuilt = true;
             }
-            System.out.println("Player " + currentPlayer.getPlayerID()
+            GameLog.println("Player " + currentPlayer.getPlayerID()
                     + " built a road on edge " + edgeId);
         } else {
-            System.out.println("Player " + currentPlayer.getPlayerID()
+            GameLog.println("Player " + currentPlayer.getPlayerID()
                     + " failed to build a road on edge " + edgeId);
         }
     }
@@ -51,13 +48,8 @@ public class BuildRoadCommand implements ICommand {
         if (!wasBuilt || engine == null) {
             return;
         }
-        engine.getBoard().getEdge(edgeId).setOccupant(null);
-        Map<ResourceType, Integer> cost = BuildingCost.ROAD.getCost();
-        for (Map.Entry<ResourceType, Integer> e : cost.entrySet()) {
-            currentPlayer.addResource(e.getKey(), e.getValue());
-        }
+        engine.undoBuildRoad(currentPlayer, edgeId);
         wasBuilt = false;
-        engine.notifyObservers();
     }
 
     @Override
@@ -1,14 +1,10 @@
 package com.mycompany.app.commands;
 
-import com.mycompany.app.BuildingCost;
-import com.mycompany.app.BuildingType;
 import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
-import com.mycompany.app.ResourceType;
-
-import java.util.Map;
 
 /**
  * Attempts to build a settlement for the current player at the specified node.
@@ -23,6 +19,10 @@ public class BuildSettlementCommand implements ICommand {
         this.nodeId = nodeId;
     }
 
+    public int getNodeId() {
+        return nodeId;
+    }
+
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
         boolean success = controller.requestBuildSettlement(currentPlayer.getPlayerID(), nodeId);
@@ -31,10 +31,10 @@ public class BuildSettlementCommand implements ICommand {
                 this.engine = (CatanEngine) controller;
                 this.wasBuilt = true;
             }
-            System.out.println("Player " + currentPlayer.getPlayerID()
+            GameLog.println("Player " + currentPlayer.getPlayerID()
                     + " built a settlement at node " + nodeId);
         } else {
-            System.out.println("Player " + currentPlayer.getPlayerID()
+            GameLog.println("Player " + currentPlayer.getPlayerID()
                     + " failed to build a settlement at node " + nodeId);
         }
     }
@@ -44,14 +44,8 @@ public class BuildSettlementCommand implements ICommand {
         if (!wasBuilt || engine == null) {
             return;
         }
-        engine.getBoard().getNode(nodeId).setOccupant(null, BuildingType.NONE);
-        currentPlayer.addVictoryPoints(-1);
-        Map<ResourceType, Integer> cost = BuildingCost.SETTLEMENT.getCost();
-        for (Map.Entry<ResourceType, Integer> e : cost.entrySet()) {
-            currentPlayer.addResource(e.getKey(), e.getValue());
-        }
+        engine.undoBuildSettlement(currentPlayer, nodeId);
         wasBuilt = false;
-        engine.notifyObservers();
     }
 
     @Override
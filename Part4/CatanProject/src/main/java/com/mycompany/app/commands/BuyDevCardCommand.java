@@ -1,5 +1,6 @@
 package com.mycompany.app.commands;
 
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
@@ -15,7 +16,7 @@ public class BuyDevCardCommand implements ICommand {
 
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
-        System.out.println("Player " + currentPlayer.getPlayerID()
+        GameLog.out().println("Player " + currentPlayer.getPlayerID()
                 + " requested to buy a development card "
                 + "(development cards not implemented).");
     }
@@ -1,5 +1,6 @@
 package com.mycompany.app.commands;
 
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
@@ -32,12 +33,12 @@ public class DiscardCommand implements ICommand {
         int current = currentPlayer.getResourceCount(resourceType);
         int toDrop = Math.min(amount, current);
         if (toDrop <= 0) {
-            System.out.println("Player " + currentPlayer.getPlayerID()
+            GameLog.out().println("Player " + currentPlayer.getPlayerID()
                     + " has no " + resourceType + " to discard.");
             return;
         }
         currentPlayer.deductResource(resourceType, toDrop);
-        System.out.println("Player " + currentPlayer.getPlayerID()
+        GameLog.out().println("Player " + currentPlayer.getPlayerID()
                 + " discarded " + toDrop + " " + resourceType);
     }
 }
@@ -1,5 +1,6 @@
 package com.mycompany.app.commands;
 
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
@@ -11,22 +12,22 @@ public class HelpCommand implements ICommand {
 
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
-        System.out.println("Available commands:");
-        System.out.println("  roll");
-        System.out.println("  build road <vertex1> <vertex2>");
-        System.out.println("  build settlement <vertex>");
-        System.out.println("  build city <vertex>");
-        System.out.println("  robber <tile>");
-        System.out.println("  discard <amount> <resource>");
-        System.out.println("  buy devcard");
-        System.out.println("  play knight <tile>");
-        System.out.println("  play monopoly <resource>");
-        System.out.println("  play roadbuilding <v1> <v2> <v3> <v4>");
-        System.out.println("  play yearofplenty <resource1> <resource2>");
-        System.out.println("  play victorypoint");
-        System.out.println("  status");
-        System.out.println("  undo | redo");
-        System.out.println("  end | end turn | go");
+        GameLog.out().println("Available commands:");
+        GameLog.out().println("  roll");
+        GameLog.out().println("  build road <vertex1> <vertex2>");
+        GameLog.out().println("  build settlement <vertex>");
+        GameLog.out().println("  build city <vertex>");
+        GameLog.out().println("  robber <tile>");
+        GameLog.out().println("  discard <amount> <resource>");
+        GameLog.out().println("  buy devcard");
+        GameLog.out().println("  play knight <tile>");
+        GameLog.out().println("  play monopoly <resource>");
+        GameLog.out().println("  play roadbuilding <v1> <v2> <v3> <v4>");
+        GameLog.out().println("  play yearofplenty <resource1> <resource2>");
+        GameLog.out().println("  play victorypoint");
+        GameLog.out().println("  status");
+        GameLog.out().println("  undo | redo");
+        GameLog.out().println("  end | end turn | go");
     }
 }
 
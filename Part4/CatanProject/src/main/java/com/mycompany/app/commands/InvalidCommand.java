@@ -1,5 +1,6 @@
 package com.mycompany.app.commands;
 
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
@@ -19,7 +20,7 @@ public class InvalidCommand implements ICommand {
 
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
-        System.out.println(message);
+        GameLog.out().println(message);
     }
 }
 
@@ -1,5 +1,6 @@
 package com.mycompany.app.commands;
 
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.IHistoryIterator;
@@ -19,7 +20,7 @@ public class RedoCommand implements ICommand {
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
         if (!iterator.hasNext()) {
-            System.out.println("Nothing to redo.");
+            GameLog.out().println("Nothing to redo.");
             return;
         }
         ICommand cmd = iterator.getNext();
@@ -1,5 +1,6 @@
 package com.mycompany.app.commands;
 
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
@@ -22,7 +23,7 @@ public class RobberCommand implements ICommand {
 
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
-        System.out.println("Player " + currentPlayer.getPlayerID()
+        GameLog.out().println("Player " + currentPlayer.getPlayerID()
                 + " requested robber move to tile " + tileId
                 + " (robber movement not implemented)");
     }
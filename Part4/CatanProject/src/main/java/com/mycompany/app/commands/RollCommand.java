@@ -1,6 +1,7 @@
 package com.mycompany.app.commands;
 
 import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
@@ -19,8 +20,8 @@ public class RollCommand implements ICommand {
             return;
         }
         CatanEngine engine = (CatanEngine) controller;
-        int roll = engine.rollDice();
-        System.out.println("Player " + currentPlayer.getPlayerID() + " rolled " + roll);
+        int roll = engine.rollDice(currentPlayer.getPlayerID());
+        GameLog.out().println("Player " + currentPlayer.getPlayerID() + " rolled " + roll);
         if (roll == 7) {
             engine.handleRollSeven(currentPlayer);
         } else {
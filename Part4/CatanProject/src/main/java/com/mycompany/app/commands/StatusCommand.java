@@ -1,5 +1,6 @@
 package com.mycompany.app.commands;
 
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.Player;
@@ -13,11 +14,11 @@ public class StatusCommand implements ICommand {
 
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
-        System.out.println("Player " + currentPlayer.getPlayerID() + " status:");
-        System.out.println("  Victory points: " + currentPlayer.getVictoryPoints());
-        System.out.println("  Resources:");
+        GameLog.out().println("Player " + currentPlayer.getPlayerID() + " status:");
+        GameLog.out().println("  Victory points: " + currentPlayer.getVictoryPoints());
+        GameLog.out().println("  Resources:");
         for (ResourceType type : ResourceType.values()) {
-            System.out.println("    " + type + ": " + currentPlayer.getResourceCount(type));
+            GameLog.out().println("    " + type + ": " + currentPlayer.getResourceCount(type));
         }
     }
 }
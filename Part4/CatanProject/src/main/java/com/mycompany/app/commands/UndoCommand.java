@@ -1,5 +1,6 @@
 package com.mycompany.app.commands;
 
+import com.mycompany.app.GameLog;
 import com.mycompany.app.ICommand;
 import com.mycompany.app.IGameController;
 import com.mycompany.app.IHistoryIterator;
@@ -19,7 +20,7 @@ public class UndoCommand implements ICommand {
     @Override
     public void execute(IGameController controller, Player currentPlayer) {
         if (!iterator.hasPrevious()) {
-            System.out.println("Nothing to undo.");
+            GameLog.out().println("Nothing to undo.");
             return;
         }
         ICommand cmd = iterator.getPrevious();
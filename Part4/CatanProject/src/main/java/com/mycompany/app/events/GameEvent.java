@@ -0,0 +1,97 @@
+package com.mycompany.app.events;
+
+import com.mycompany.app.BuildingType;
+
+/**
+ * Immutable payload describing one change in game state, so listeners can update
+ * incrementally instead of re-reading the whole board.
+ */
+public final class GameEvent {
+
+    /**
+     * Player ID used when an event is not tied to a player
+     */
+    public static final int NO_PLAYER = -1;
+
+    private final GameEventType type;
+    private final int playerID;
+    private final int value;
+    private final BuildingType buildingType;
+
+    private GameEvent(GameEventType type, int playerID, int value, BuildingType buildingType) {
+        this.type = type;
+        this.playerID = playerID;
+        this.value = value;
+        this.buildingType = buildingType;
+    }
+
+    public static GameEvent roll(int playerID, int roll) {
+        return new GameEvent(GameEventType.ROLL, playerID, roll, BuildingType.NONE);
+    }
+
+    public static GameEvent production(int roll) {
+        return new GameEvent(GameEventType.PRODUCTION, NO_PLAYER, roll, BuildingType.NONE);
+    }
+
+    /**
+     * @param location edge ID for ROAD, node ID for SETTLEMENT and CITY
+     */
+    public static GameEvent build(int playerID, BuildingType buildingType, int location) {
+        return new GameEvent(GameEventType.BUILD, playerID, location, buildingType);
+    }
+
+    /**
+     * @param buildingType the building taken back
+     * @param location edge ID for ROAD, node ID for SETTLEMENT and CITY
+     */
+    public static GameEvent unbuild(int playerID, BuildingType buildingType, int location) {
+        return new GameEvent(GameEventType.UNBUILD, playerID, location, buildingType);
+    }
+
+    public static GameEvent robber(int playerID, int tileID) {
+        return new GameEvent(GameEventType.ROBBER, playerID, tileID, BuildingType.NONE);
+    }
+
+    public static GameEvent discard(int playerID, int amount) {
+        return new GameEvent(GameEventType.DISCARD, playerID, amount, BuildingType.NONE);
+    }
+
+    public static GameEvent turnEnd(int playerID) {
+        return new GameEvent(GameEventType.TURN_END, playerID, 0, BuildingType.NONE);
+    }
+
+    public static GameEvent reset() {
+        return new GameEvent(GameEventType.RESET, NO_PLAYER, 0, BuildingType.NONE);
+    }
+
+    public GameEventType getType() {
+        return type;
+    }
+
+    /**
+     * @return the acting player, or NO_PLAYER
+     */
+    public int getPlayerID() {
+        return playerID;
+    }
+
+    /**
+     * @return the type-specific value (see GameEventType)
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * @return what was built (BUILD) or taken back (UNBUILD), NONE otherwise
+     */
+    public BuildingType getBuildingType() {
+        return buildingType;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[player=" + playerID + ", value=" + value
+                + (buildingType != BuildingType.NONE ? ", building=" + buildingType : "") + "]";
+    }
+}
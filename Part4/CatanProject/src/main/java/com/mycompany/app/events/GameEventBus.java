@@ -0,0 +1,118 @@
+package com.mycompany.app.events;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Typed publish/subscribe hub for game events.
+ *
+ * Subscriptions live in a copy-on-write array swapped with CAS, so subscribing or
+ * unsubscribing never takes a lock and is safe while an event is being dispatched
+ * (the dispatch loop keeps iterating the snapshot it started with).
+ * Each game has one publishing thread (the engine); async subscriptions rely on that.
+ */
+public class GameEventBus {
+
+    private static final Subscription[] EMPTY = new Subscription[0];
+
+    private final AtomicReference<Subscription[]> subscriptions = new AtomicReference<>(EMPTY);
+
+    /**
+     * Subscribe synchronously to every event.
+     */
+    public Subscription subscribe(IGameEventListener listener) {
+        return subscribe(listener, EnumSet.noneOf(GameEventType.class), GameEvent.NO_PLAYER, 0);
+    }
+
+    /**
+     * Subscribe synchronously to the given event types.
+     * @param types event types to receive (empty = all)
+     */
+    public Subscription subscribe(IGameEventListener listener, Set<GameEventType> types) {
+        return subscribe(listener, types, GameEvent.NO_PLAYER, 0);
+    }
+
+    /**
+     * Subscribe with full control over filtering and delivery.
+     * @param listener receiver of events
+     * @param types event types to receive (empty = all)
+     * @param playerID only events for this player, or GameEvent.NO_PLAYER for all players
+     * @param asyncCapacity 0 for synchronous delivery on the publishing thread, otherwise the
+     *                      size of the ring buffer feeding the listener's own thread
+     */
+    public Subscription subscribe(IGameEventListener listener, Set<GameEventType> types, int playerID,
+                                  int asyncCapacity) {
+        Subscription sub = new Subscription(this, listener, types, playerID, asyncCapacity);
+        Subscription[] current;
+        Subscription[] next;
+        do {
+            current = subscriptions.get();
+            next = new Subscription[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = sub;
+        } while (!subscriptions.compareAndSet(current, next));
+        return sub;
+    }
+
+    /**
+     * Called by Subscription.close().
+     */
+    void remove(Subscription sub) {
+        Subscription[] current;
+        Subscription[] next;
+        do {
+            current = subscriptions.get();
+            int idx = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == sub) {
+                    idx = i;
+                    break;
+                }
+            }
+            if (idx < 0) {
+                return;
+            }
+            next = current.length == 1 ? EMPTY : new Subscription[current.length - 1];
+            System.arraycopy(current, 0, next, 0, idx);
+            System.arraycopy(current, idx + 1, next, idx, current.length - idx - 1);
+        } while (!subscriptions.compareAndSet(current, next));
+    }
+
+    /**
+     * Publish an event to every matching subscription.
+     */
+    public void publish(GameEvent event) {
+        for (Subscription sub : subscriptions.get()) {
+            if (sub.accepts(event)) {
+                sub.deliver(event);
+            }
+        }
+    }
+
+    /**
+     * Whether anyone is listening (lets publishers skip building events).
+     */
+    public boolean hasSubscribers() {
+        return subscriptions.get().length > 0;
+    }
+
+    /**
+     * Whether any subscription would receive events of this type (ignoring player filters).
+     */
+    public boolean hasSubscribers(GameEventType type) {
+        for (Subscription sub : subscriptions.get()) {
+            if (sub.acceptsType(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of live subscriptions.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.get().length;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mycompany.app.events;
+
+/**
+ * Kinds of game events published on the GameEventBus.
+ */
+public enum GameEventType {
+    /**
+     * Dice were rolled; value = roll (2-12)
+     */
+    ROLL,
+    /**
+     * Resources were produced for a non-7 roll; value = roll
+     */
+    PRODUCTION,
+    /**
+     * A road, settlement or city was built; value = edge or node ID
+     */
+    BUILD,
+    /**
+     * A build was undone; value = edge or node ID. The building type is what was taken back:
+     * ROAD and SETTLEMENT leave the location empty, CITY leaves the settlement it upgraded
+     */
+    UNBUILD,
+    /**
+     * The robber moved; value = tile ID
+     */
+    ROBBER,
+    /**
+     * A player discarded on a 7; value = number of cards dropped
+     */
+    DISCARD,
+    /**
+     * A player's turn ended; value unused
+     */
+    TURN_END,
+    /**
+     * The engine was reset for a new game; value unused
+     */
+    RESET;
+}
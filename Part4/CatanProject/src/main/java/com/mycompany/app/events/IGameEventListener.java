@@ -0,0 +1,13 @@
+package com.mycompany.app.events;
+
+/**
+ * Receives typed game events from a GameEventBus.
+ */
+@FunctionalInterface
+public interface IGameEventListener {
+    /**
+     * Called for every event that passes the subscription's filter.
+     * @param event the published event
+     */
+    void onEvent(GameEvent event);
+}
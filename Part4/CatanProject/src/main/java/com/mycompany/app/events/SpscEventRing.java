@@ -0,0 +1,63 @@
+package com.mycompany.app.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer/single-consumer ring buffer of events.
+ * The producer (engine thread) never blocks: when the ring is full, offer fails and the
+ * caller counts the event as dropped.
+ */
+final class SpscEventRing {
+
+    private final GameEvent[] buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity requested capacity, rounded up to a power of two
+     */
+    SpscEventRing(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new GameEvent[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Producer side: enqueue if there is room.
+     * @return false if the ring is full
+     */
+    boolean offer(GameEvent event) {
+        long t = tail.get();
+        if (t - head.get() >= buffer.length) {
+            return false;
+        }
+        buffer[(int) (t & mask)] = event;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side: dequeue the oldest event.
+     * @return the event, or null if the ring is empty
+     */
+    GameEvent poll() {
+        long h = head.get();
+        if (h >= tail.get()) {
+            return null;
+        }
+        int idx = (int) (h & mask);
+        GameEvent event = buffer[idx];
+        buffer[idx] = null;
+        head.lazySet(h + 1);
+        return event;
+    }
+
+    boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+}
@@ -0,0 +1,141 @@
+package com.mycompany.app.events;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A listener registered on a GameEventBus together with its filter and delivery mode.
+ *
+ * Synchronous subscriptions run the listener on the publishing thread. Asynchronous ones
+ * hand events to a dedicated daemon thread through a bounded ring buffer; if the listener
+ * falls behind and the ring fills up, further events are dropped (and counted) rather than
+ * blocking the engine.
+ */
+public final class Subscription implements AutoCloseable {
+
+    private final GameEventBus bus;
+    private final IGameEventListener listener;
+    private final Set<GameEventType> types;
+    private final int playerID;
+    private final SpscEventRing ring;
+    private final Thread consumer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+    private volatile boolean active = true;
+
+    Subscription(GameEventBus bus, IGameEventListener listener, Set<GameEventType> types, int playerID,
+                 int asyncCapacity) {
+        this.bus = bus;
+        this.listener = listener;
+        this.types = types.isEmpty() ? EnumSet.allOf(GameEventType.class) : EnumSet.copyOf(types);
+        this.playerID = playerID;
+        if (asyncCapacity > 0) {
+            this.ring = new SpscEventRing(asyncCapacity);
+            this.consumer = new Thread(this::drainLoop, "catan-event-listener");
+            this.consumer.setDaemon(true);
+            this.consumer.start();
+        } else {
+            this.ring = null;
+            this.consumer = null;
+        }
+    }
+
+    /**
+     * Whether this subscription wants the event (type and player filter).
+     */
+    boolean accepts(GameEvent event) {
+        return types.contains(event.getType())
+                && (playerID == GameEvent.NO_PLAYER || event.getPlayerID() == playerID);
+    }
+
+    boolean acceptsType(GameEventType type) {
+        return types.contains(type);
+    }
+
+    /**
+     * Deliver an accepted event, either inline or via the ring buffer.
+     */
+    void deliver(GameEvent event) {
+        if (!active) {
+            return;
+        }
+        if (ring == null) {
+            listener.onEvent(event);
+            return;
+        }
+        if (ring.offer(event)) {
+            enqueued.incrementAndGet();
+            LockSupport.unpark(consumer);
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drainLoop() {
+        while (active || !ring.isEmpty()) {
+            GameEvent event = ring.poll();
+            if (event == null) {
+                LockSupport.parkNanos(this, 1_000_000L);
+                continue;
+            }
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Event listener failed on " + event + ": " + e.getMessage());
+            } finally {
+                processed.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Whether events are delivered on a separate thread.
+     */
+    public boolean isAsync() {
+        return ring != null;
+    }
+
+    /**
+     * Number of events dropped because the async ring was full.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Wait until the listener has finished handling every queued async event.
+     * @param timeoutMillis maximum time to wait
+     * @return true if the queue drained in time (always true for sync subscriptions)
+     */
+    public boolean awaitDrained(long timeoutMillis) {
+        if (ring == null) {
+            return true;
+        }
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        while (processed.get() < enqueued.get()) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(100_000L);
+        }
+        return true;
+    }
+
+    /**
+     * Unsubscribe. Async subscriptions finish delivering already-queued events.
+     */
+    @Override
+    public void close() {
+        if (!active) {
+            return;
+        }
+        active = false;
+        bus.remove(this);
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+}
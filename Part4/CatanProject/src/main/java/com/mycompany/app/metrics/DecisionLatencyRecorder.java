@@ -0,0 +1,108 @@
+package com.mycompany.app.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of decision-latency histograms, one per (agent class, phase).
+ * Agents record into it on every decision; the simulator prints a percentile report at the
+ * end of a game or batch so per-move budgets can be set from real distributions.
+ */
+public final class DecisionLatencyRecorder {
+
+    private static final Map<Class<?>, LatencyHistogram[]> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private DecisionLatencyRecorder() {
+    }
+
+    /**
+     * Record one timed phase for an agent.
+     * @param agentClass concrete agent class (e.g. RuleBasedAgent.class)
+     * @param phase decision phase that was timed
+     * @param nanos elapsed time in nanoseconds
+     */
+    public static void record(Class<?> agentClass, DecisionPhase phase, long nanos) {
+        histogramsFor(agentClass)[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Get the histogram for an agent class and phase (created on first use).
+     */
+    public static LatencyHistogram get(Class<?> agentClass, DecisionPhase phase) {
+        return histogramsFor(agentClass)[phase.ordinal()];
+    }
+
+    /**
+     * Drop all recorded samples (e.g. between independent batches).
+     */
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * Build a p50/p90/p99/max table (microseconds) for every agent class and phase with samples.
+     * Rows are labelled by simple class name; anonymous subclasses report under the class they
+     * extend, and classes that share a label are merged into one row.
+     * @return human-readable report, or an empty string if nothing was recorded
+     */
+    public static String report() {
+        Map<String, LatencyHistogram[]> sorted = new TreeMap<>();
+        for (Map.Entry<Class<?>, LatencyHistogram[]> e : HISTOGRAMS.entrySet()) {
+            LatencyHistogram[] merged = sorted.computeIfAbsent(displayName(e.getKey()), k -> newHistograms());
+            for (int i = 0; i < merged.length; i++) {
+                merged[i].add(e.getValue()[i]);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram[]> e : sorted.entrySet()) {
+            for (DecisionPhase phase : DecisionPhase.values()) {
+                LatencyHistogram h = e.getValue()[phase.ordinal()];
+                if (h.getCount() == 0) {
+                    continue;
+                }
+                sb.append(String.format("%-16s %-20s n=%-8d p50=%8.1fus p90=%8.1fus p99=%8.1fus max=%8.1fus%n",
+                        e.getKey(), phase, h.getCount(),
+                        micros(h.getValueAtPercentile(50)),
+                        micros(h.getValueAtPercentile(90)),
+                        micros(h.getValueAtPercentile(99)),
+                        micros(h.getMax())));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static LatencyHistogram[] histogramsFor(Class<?> agentClass) {
+        LatencyHistogram[] histograms = HISTOGRAMS.get(agentClass);
+        if (histograms != null) {
+            return histograms;
+        }
+        return HISTOGRAMS.computeIfAbsent(agentClass, k -> newHistograms());
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] created = new LatencyHistogram[DecisionPhase.values().length];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = new LatencyHistogram();
+        }
+        return created;
+    }
+
+    /**
+     * Simple name of the class, or of the nearest named class it extends (or interface it
+     * implements) when it is anonymous.
+     */
+    private static String displayName(Class<?> agentClass) {
+        Class<?> named = agentClass;
+        while (named.isAnonymousClass()) {
+            Class<?>[] interfaces = named.getInterfaces();
+            named = named.getSuperclass() == Object.class && interfaces.length > 0
+                    ? interfaces[0] : named.getSuperclass();
+        }
+        return named.getSimpleName();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.mycompany.app.metrics;
+
+/**
+ * Phases of a computer player's decision loop that are timed separately.
+ */
+public enum DecisionPhase {
+    /**
+     * R3.3 constraint resolution (AgentConstraintFacade)
+     */
+    CONSTRAINT_CHECK,
+    /**
+     * Enumerating legal, affordable commands
+     */
+    CANDIDATE_GENERATION,
+    /**
+     * Scoring candidates and picking the best one
+     */
+    SCORING;
+}
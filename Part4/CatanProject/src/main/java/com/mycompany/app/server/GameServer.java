@@ -0,0 +1,121 @@
+package com.mycompany.app.server;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.mycompany.app.CommandJournal;
+
+/**
+ * Localhost TCP server hosting many concurrent human-vs-bot sessions.
+ *
+ * Each accepted connection becomes a GameSession running on its own thread. On JDK 21+
+ * those are virtual threads, so a session blocked waiting for its player's next line costs
+ * no platform thread; older runtimes fall back to a cached platform-thread pool.
+ *
+ * With a journal set, every session's successful commands are written ahead to it; sessions
+ * share the journal, so one group-committed fsync covers commands from many players.
+ */
+public class GameServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions;
+    private final int maxRounds;
+    private Thread acceptThread;
+    private CommandJournal journal;
+    private final AtomicLong nextGameID = new AtomicLong();
+
+    /**
+     * Bind the server to the loopback interface.
+     * @param port TCP port (0 picks a free port)
+     * @param maxRounds Maximum rounds per session (1-8192)
+     * @throws IOException If the port cannot be bound
+     */
+    public GameServer(int port, int maxRounds) throws IOException {
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.sessions = newSessionExecutor();
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Get the bound port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Journal the sessions started from now on (game IDs continue after those already in it).
+     * @param journal Shared journal, closed by the caller after the server
+     * @throws IOException If the journal cannot be read
+     */
+    public void setJournal(CommandJournal journal) throws IOException {
+        long next = 0;
+        for (long id : CommandJournal.read(journal.getFile()).keySet()) {
+            next = Math.max(next, id + 1);
+        }
+        nextGameID.set(next);
+        this.journal = journal;
+    }
+
+    /**
+     * Start accepting connections on a background thread.
+     */
+    public synchronized void start() {
+        if (acceptThread != null) {
+            return;
+        }
+        acceptThread = new Thread(this::acceptLoop, "catan-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                sessions.execute(journal == null ? new GameSession(client, maxRounds)
+                        : new GameSession(client, maxRounds, journal, nextGameID.getAndIncrement()));
+            } catch (SocketException e) {
+                return; // server socket closed
+            } catch (IOException e) {
+                System.err.println("Failed to accept connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stop accepting and wait briefly for running sessions.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdown();
+        try {
+            sessions.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sessions.shutdownNow();
+    }
+
+    /**
+     * Virtual-thread-per-task executor when the runtime supports it (looked up reflectively
+     * so the project still compiles for Java 17), otherwise a cached thread pool.
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
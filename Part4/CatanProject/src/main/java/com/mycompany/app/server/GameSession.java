@@ -0,0 +1,66 @@
+package com.mycompany.app.server;
+
+import com.mycompany.app.CommandJournal;
+import com.mycompany.app.HumanPlayer;
+import com.mycompany.app.JournalSession;
+import com.mycompany.app.RandomAgent;
+import com.mycompany.app.RuleBasedAgent;
+import com.mycompany.app.Simulator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * One human-vs-bot game played over a line-oriented socket connection.
+ * Reuses Simulator, HumanPlayer and HumanInputParser: the socket's input feeds the shared
+ * Scanner and the game prints to the session's own PrintStream on the socket, so a client that
+ * stops reading stalls only its own session. When the client disconnects the game is
+ * abandoned, unfinished in the journal, instead of being played out by the bots.
+ */
+public class GameSession implements Runnable {
+
+    private final Socket socket;
+    private final int maxRounds;
+    private final CommandJournal journal;
+    private final long gameID;
+
+    public GameSession(Socket socket, int maxRounds) {
+        this(socket, maxRounds, null, -1);
+    }
+
+    /**
+     * Session whose game is seeded and written ahead to a shared journal.
+     */
+    public GameSession(Socket socket, int maxRounds, CommandJournal journal, long gameID) {
+        this.socket = socket;
+        this.maxRounds = maxRounds;
+        this.journal = journal;
+        this.gameID = gameID;
+    }
+
+    @Override
+    public void run() {
+        try (Socket s = socket) {
+            PrintStream out = new PrintStream(s.getOutputStream(), true, StandardCharsets.UTF_8);
+            Scanner scanner = new Scanner(s.getInputStream(), StandardCharsets.UTF_8);
+            Simulator sim = new Simulator(maxRounds, scanner, engine -> List.of(
+                    new HumanPlayer(0, scanner, out, engine.getBoard().getTopology()),
+                    new RuleBasedAgent(1, engine),
+                    new RandomAgent(2),
+                    new RandomAgent(3)
+            ), false);
+            sim.setOutput(out);
+            if (journal != null) {
+                sim.setJournal(JournalSession.start(journal, gameID, System.nanoTime() ^ gameID, 10));
+            }
+            sim.runSimulation();
+            out.println("Session finished.");
+        } catch (IOException e) {
+            // Client disconnected; nothing else to clean up for this session.
+        }
+    }
+}
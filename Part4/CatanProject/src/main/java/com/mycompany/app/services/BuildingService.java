@@ -9,6 +9,13 @@ import java.util.Map;
  * Implements Single Responsibility Principle - handles only building placement
  */
 public class BuildingService {
+	/**
+	 * Catan piece limits per player
+	 */
+	public static final int MAX_SETTLEMENTS = 5;
+	public static final int MAX_CITIES = 4;
+	public static final int MAX_ROADS = 15;
+
 	private Board board;
 	private SettlementValidator settlementValidator;
 	private RoadValidator roadValidator;
@@ -35,7 +42,7 @@ public class BuildingService {
 		}
 
 		// Catan limit: max 5 settlements per player
-		if (countSettlements(playerID) >= 5) {
+		if (countSettlements(playerID) >= MAX_SETTLEMENTS) {
 			return false;
 		}
 
@@ -58,20 +65,6 @@ public class BuildingService {
 		return true;
 	}
 
-	/**
-	 * Check if the player already has any non-empty building on the board
-	 */
-	private boolean playerHasAnyBuilding(int playerID) {
-		for (Node node : board.getAllNodes()) {
-			if (node.getOccupant() != null &&
-			    node.getOccupant().getPlayerID() == playerID &&
-			    node.getType() != BuildingType.NONE) {
-				return true;
-			}
-		}
-		return false;
-	}
-
 	/**
 	 * Attempt to build a road
 	 * @param playerID The player ID
@@ -85,7 +78,7 @@ public class BuildingService {
 		}
 
 		// Catan limit: max 15 roads per player
-		if (countRoads(playerID) >= 15) {
+		if (countRoads(playerID) >= MAX_ROADS) {
 			return false;
 		}
 
@@ -118,7 +111,7 @@ public class BuildingService {
 		}
 
 		// Catan limit: max 4 cities per player
-		if (countCities(playerID) >= 4) {
+		if (countCities(playerID) >= MAX_CITIES) {
 			return false;
 		}
 
@@ -146,34 +139,14 @@ public class BuildingService {
 	}
 
 	private int countSettlements(int playerID) {
-		int count = 0;
-		for (Node node : board.getAllNodes()) {
-			if (node.getOccupant() != null && node.getOccupant().getPlayerID() == playerID
-					&& node.getType() == BuildingType.SETTLEMENT) {
-				count++;
-			}
-		}
-		return count;
+		return board.getOwnership().getSettlementCount(playerID);
 	}
 
 	private int countCities(int playerID) {
-		int count = 0;
-		for (Node node : board.getAllNodes()) {
-			if (node.getOccupant() != null && node.getOccupant().getPlayerID() == playerID
-					&& node.getType() == BuildingType.CITY) {
-				count++;
-			}
-		}
-		return count;
+		return board.getOwnership().getCityCount(playerID);
 	}
 
 	private int countRoads(int playerID) {
-		int count = 0;
-		for (Edge edge : board.getAllEdges()) {
-			if (edge.hasRoad() && edge.getOccupant().getPlayerID() == playerID) {
-				count++;
-			}
-		}
-		return count;
+		return board.getOwnership().getEdgeCount(playerID);
 	}
 }
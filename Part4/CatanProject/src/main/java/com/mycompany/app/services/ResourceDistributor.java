@@ -11,12 +11,49 @@ import java.util.*;
 public class ResourceDistributor {
 	private Board board;
 	private IBoardGraph topology;
-	private Random random;
+	private ResumableRandom random;
+	/**
+	 * Robber tile draws use their own stream: victim draws only happen when someone is
+	 * adjacent, so sharing one stream would let player behaviour shift later robber moves
+	 */
+	private ResumableRandom robberRandom;
 
 	public ResourceDistributor(Board board, IBoardGraph topology) {
 		this.board = board;
 		this.topology = topology;
-		this.random = new Random();
+		this.random = new ResumableRandom();
+		this.robberRandom = new ResumableRandom();
+	}
+
+	/**
+	 * Reseed the robber's random choices (tile and victim) for reproducible games.
+	 * The k-th robber move of two games with the same seed lands on the same tile
+	 * regardless of how the players acted.
+	 * 
+	 * @param seed Seed for the robber random generators
+	 */
+	public void setSeed(long seed) {
+		random.setSeed(seed);
+		robberRandom.setSeed(Long.rotateLeft(seed, 32) ^ 0x9E3779B97F4A7C15L);
+	}
+
+	/**
+	 * Generator states for checkpoints: { victim, robber tile }
+	 * 
+	 * @return The states, as accepted by setRandomStates
+	 */
+	public long[] getRandomStates() {
+		return new long[] { random.getState(), robberRandom.getState() };
+	}
+
+	/**
+	 * Resume both robber streams from states taken by getRandomStates
+	 * 
+	 * @param states { victim, robber tile }
+	 */
+	public void setRandomStates(long[] states) {
+		random.setState(states[0]);
+		robberRandom.setState(states[1]);
 	}
 
 	/**
@@ -68,14 +105,15 @@ public class ResourceDistributor {
 	 * @param activePlayer The player who rolled the 7
 	 */
 	public void handleRobber(Player activePlayer) {
-		// Generate a random tile ID between 0 and 18 inclusive
-		int newRobberTileID = random.nextInt(19);
+		// Generate a random tile ID (0-18 on the standard board)
+		int newRobberTileID = robberRandom.nextInt(topology.getTileCount());
 		board.setRobberLocation(newRobberTileID);
-		System.out.println("Robber moved to tile " + newRobberTileID);
+		GameLog.println("Robber moved to tile " + newRobberTileID);
 
 		// Identify victims: players adjacent to the new robber tile
 		int[] adjacentNodes = topology.getTileNodes(newRobberTileID);
-		Set<Player> potentialVictims = new HashSet<>();
+		// Insertion-ordered so a seeded distributor picks the same victim every run
+		Set<Player> potentialVictims = new LinkedHashSet<>();
 
 		for (int nodeID : adjacentNodes) {
 			Node node = board.getNode(nodeID);
@@ -97,11 +135,11 @@ public class ResourceDistributor {
 
 			if (stolen != null) {
 				activePlayer.addResource(stolen, 1);
-				System.out.println("Player " + activePlayer.getPlayerID()
+				GameLog.println("Player " + activePlayer.getPlayerID()
 						+ " stole 1 " + stolen + " from Player " + victim.getPlayerID());
 			}
 		} else {
-			System.out.println("No valid targets for robber theft.");
+			GameLog.println("No valid targets for robber theft.");
 		}
 	}
 
@@ -115,7 +153,7 @@ public class ResourceDistributor {
 		for (Player player : players) {
 			if (player.getTotalResourceCards() > 7) {
 				int amountToDrop = player.getTotalResourceCards() / 2;
-				System.out.println("Player " + player.getPlayerID() + " has "
+				GameLog.println("Player " + player.getPlayerID() + " has "
 						+ player.getTotalResourceCards() + " cards, must discard " + amountToDrop);
 				player.robberDiscard(amountToDrop);
 			}
@@ -0,0 +1,56 @@
+package com.mycompany.app.tournament;
+
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.Player;
+import com.mycompany.app.RandomAgent;
+import com.mycompany.app.RuleBasedAgent;
+
+/**
+ * A named agent entry in a tournament: how to seat a fresh instance in a new game.
+ */
+public final class AgentSpec {
+
+    /**
+     * Creates the agent for one game.
+     */
+    @FunctionalInterface
+    public interface AgentFactory {
+        /**
+         * @param playerID seat index in this game
+         * @param engine engine of the game being set up
+         */
+        Player create(int playerID, CatanEngine engine);
+    }
+
+    private final String name;
+    private final AgentFactory factory;
+
+    public AgentSpec(String name, AgentFactory factory) {
+        if (name == null || name.isEmpty() || name.contains(",")) {
+            throw new IllegalArgumentException("Agent name must be non-empty and contain no commas");
+        }
+        this.name = name;
+        this.factory = factory;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Player create(int playerID, CatanEngine engine) {
+        return factory.create(playerID, engine);
+    }
+
+    public static AgentSpec random() {
+        return new AgentSpec("RandomAgent", (id, engine) -> new RandomAgent(id));
+    }
+
+    public static AgentSpec ruleBased() {
+        return new AgentSpec("RuleBasedAgent", RuleBasedAgent::new);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,77 @@
+package com.mycompany.app.tournament;
+
+/**
+ * Outcome of a candidate-vs-baseline batch.
+ */
+public final class EvaluationReport {
+
+    private final int maxGames;
+    private final int gamesPlayed;
+    private final int candidateWins;
+    private final int baselineWins;
+    private final int draws;
+    private final Sprt.Decision decision;
+
+    /**
+     * @param decision SPRT decision, or null if the batch ran without a stopping rule
+     */
+    public EvaluationReport(int maxGames, int gamesPlayed, int candidateWins, int baselineWins, int draws,
+                            Sprt.Decision decision) {
+        this.maxGames = maxGames;
+        this.gamesPlayed = gamesPlayed;
+        this.candidateWins = candidateWins;
+        this.baselineWins = baselineWins;
+        this.draws = draws;
+        this.decision = decision;
+    }
+
+    public int getMaxGames() {
+        return maxGames;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Games the stopping rule made unnecessary.
+     */
+    public int getGamesSaved() {
+        return maxGames - gamesPlayed;
+    }
+
+    public int getCandidateWins() {
+        return candidateWins;
+    }
+
+    public int getBaselineWins() {
+        return baselineWins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    /**
+     * Candidate share of decisive games (0.5 if none were decisive).
+     */
+    public double getCandidateWinRate() {
+        int decisive = candidateWins + baselineWins;
+        return decisive == 0 ? 0.5 : (double) candidateWins / decisive;
+    }
+
+    /**
+     * SPRT decision, or null for a fixed-size batch.
+     */
+    public Sprt.Decision getDecision() {
+        return decision;
+    }
+
+    @Override
+    public String toString() {
+        String verdict = decision == null ? "fixed batch" : decision.toString();
+        return String.format("%d/%d games (%d saved): candidate %d, baseline %d, draws %d, win rate %.3f [%s]",
+                gamesPlayed, maxGames, getGamesSaved(), candidateWins, baselineWins, draws,
+                getCandidateWinRate(), verdict);
+    }
+}
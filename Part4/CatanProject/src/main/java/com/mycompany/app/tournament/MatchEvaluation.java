@@ -0,0 +1,154 @@
+package com.mycompany.app.tournament;
+
+import com.mycompany.app.BoardLayout;
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameResult;
+import com.mycompany.app.HeadlessGame;
+import com.mycompany.app.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Batch evaluation of a candidate agent against a baseline.
+ *
+ * The two entries alternate around the table (candidate in the even seats for even game IDs,
+ * the odd seats otherwise), so with equal strength each side wins half the decisive games.
+ * Games run in parallel with only a few per worker in flight; with an Sprt attached, games are
+ * fed to the test in game-ID order and no further games are started once it is decided.
+ */
+public class MatchEvaluation {
+
+    private static final int CANDIDATE_WIN = 1;
+    private static final int BASELINE_WIN = 0;
+    private static final int DRAW = -1;
+    /** Reorder-window slot whose game has not finished */
+    private static final int PENDING = -2;
+
+    private final AgentSpec candidate;
+    private final AgentSpec baseline;
+    private int seats = 4;
+    private int maxRounds = 500;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private BoardLayout layout = BoardLayout.standard();
+
+    public MatchEvaluation(AgentSpec candidate, AgentSpec baseline) {
+        this.candidate = candidate;
+        this.baseline = baseline;
+    }
+
+    /**
+     * @param seats even number of seats (half for each side)
+     */
+    public void setSeats(int seats) {
+        if (seats < 2 || seats % 2 != 0) {
+            throw new IllegalArgumentException("Seats must be an even number of at least 2");
+        }
+        this.seats = seats;
+    }
+
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public void setLayout(BoardLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Play exactly maxGames games.
+     */
+    public EvaluationReport run(int maxGames, long seed) {
+        return run(maxGames, seed, null);
+    }
+
+    /**
+     * Play until the test is decided or maxGames games have been played.
+     * Results are tallied, and fed to the test, in game-ID order through a small reorder
+     * window, so quick games (which can favour one side) never reach the test ahead of slow
+     * ones; the report is the same for any thread count.
+     * @param sprt stopping rule on the candidate's decisive-game win rate, or null for none
+     */
+    public EvaluationReport run(int maxGames, long seed, Sprt sprt) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CompletionService<int[]> completed = new ExecutorCompletionService<>(pool);
+        // Games are started at most a window ahead of the next one to record
+        int window = threads * 2;
+        int[] outcomes = new int[window];
+        Arrays.fill(outcomes, PENDING);
+        int submitted = 0;
+        int played = 0;
+        int candidateWins = 0;
+        int baselineWins = 0;
+        int draws = 0;
+        boolean decided = false;
+        try {
+            while (!decided && played < maxGames) {
+                while (submitted < maxGames && submitted - played < window) {
+                    final int gameID = submitted++;
+                    completed.submit(() -> new int[] {gameID, playGame(gameID, seed)});
+                }
+                int[] finished = completed.take().get();
+                outcomes[finished[0] % window] = finished[1];
+                while (!decided && outcomes[played % window] != PENDING) {
+                    int outcome = outcomes[played % window];
+                    outcomes[played % window] = PENDING;
+                    played++;
+                    if (outcome == CANDIDATE_WIN) {
+                        candidateWins++;
+                    } else if (outcome == BASELINE_WIN) {
+                        baselineWins++;
+                    } else {
+                        draws++;
+                    }
+                    if (sprt != null && outcome != DRAW) {
+                        decided = sprt.record(outcome == CANDIDATE_WIN) != Sprt.Decision.CONTINUE;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Evaluation game failed", e.getCause());
+        } finally {
+            // Games past the decision (running or finished out of order) are abandoned, not counted
+            pool.shutdownNow();
+        }
+        return new EvaluationReport(maxGames, played, candidateWins, baselineWins, draws,
+                sprt == null ? null : sprt.getDecision());
+    }
+
+    private int playGame(int gameID, long seed) {
+        long gameSeed = HeadlessGame.seedFor(seed, gameID, 0);
+        int candidateParity = gameID % 2;
+        Function<CatanEngine, List<Player>> factory = engine -> {
+            List<Player> players = new ArrayList<>(seats);
+            for (int s = 0; s < seats; s++) {
+                AgentSpec spec = s % 2 == candidateParity ? candidate : baseline;
+                players.add(spec.create(s, engine));
+            }
+            return players;
+        };
+        HeadlessGame game = new HeadlessGame(layout, gameSeed, maxRounds, factory);
+        game.setFastForward(true);
+        game.snakeDraftSetup(new SplittableRandom(gameSeed), null);
+        GameResult result = game.run();
+        if (result.isDraw()) {
+            return DRAW;
+        }
+        return result.getWinnerSeat() % 2 == candidateParity ? CANDIDATE_WIN : BASELINE_WIN;
+    }
+}
@@ -0,0 +1,137 @@
+package com.mycompany.app.tournament;
+
+import com.mycompany.app.BoardLayout;
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameResult;
+import com.mycompany.app.HeadlessGame;
+import com.mycompany.app.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Common-random-numbers comparison of two agent variants.
+ *
+ * For every seed, variant A and variant B each take the same seat against the same opponent
+ * field, with identical setup picks, dice, robber tiles and opponent agent streams (all derived
+ * from the seed by HeadlessGame). Luck therefore largely cancels in the per-seed difference.
+ * With seat mirroring, every seed is also replayed from each seat, so seat advantage cancels too.
+ */
+public class PairedEvaluation {
+
+    private final AgentSpec variantA;
+    private final AgentSpec variantB;
+    private final AgentSpec opponent;
+    private int seats = 4;
+    private int maxRounds = 500;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private BoardLayout layout = BoardLayout.standard();
+    private boolean mirrorSeats;
+
+    /**
+     * @param variantA first variant
+     * @param variantB second variant
+     * @param opponent fills every other seat
+     */
+    public PairedEvaluation(AgentSpec variantA, AgentSpec variantB, AgentSpec opponent) {
+        this.variantA = variantA;
+        this.variantB = variantB;
+        this.opponent = opponent;
+    }
+
+    public void setSeats(int seats) {
+        if (seats < 2) {
+            throw new IllegalArgumentException("At least two seats are required");
+        }
+        this.seats = seats;
+    }
+
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public void setLayout(BoardLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Replay every seed from every seat (seats times more games per seed).
+     */
+    public void setMirrorSeats(boolean mirrorSeats) {
+        this.mirrorSeats = mirrorSeats;
+    }
+
+    /**
+     * Evaluate over the given number of seeds.
+     * @param seeds number of paired samples (at least 2)
+     * @param seed base seed
+     */
+    public PairedReport run(int seeds, long seed) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<double[]>> futures = new ArrayList<>(seeds);
+            for (int i = 0; i < seeds; i++) {
+                final int sample = i;
+                futures.add(pool.submit(() -> playPair(sample, seed)));
+            }
+            double[] scoresA = new double[seeds];
+            double[] scoresB = new double[seeds];
+            for (int i = 0; i < seeds; i++) {
+                double[] pair = futures.get(i).get();
+                scoresA[i] = pair[0];
+                scoresB[i] = pair[1];
+            }
+            int gamesPerSeed = 2 * (mirrorSeats ? seats : 1);
+            return new PairedReport(scoresA, scoresB, seeds * gamesPerSeed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Paired evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Paired evaluation game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Win share of A and of B for one seed.
+     */
+    private double[] playPair(int sample, long seed) {
+        long gameSeed = HeadlessGame.seedFor(seed, sample, 0);
+        int firstSeat = mirrorSeats ? 0 : sample % seats;
+        int lastSeat = mirrorSeats ? seats - 1 : firstSeat;
+        double winsA = 0;
+        double winsB = 0;
+        for (int seat = firstSeat; seat <= lastSeat; seat++) {
+            winsA += wins(variantA, seat, gameSeed);
+            winsB += wins(variantB, seat, gameSeed);
+        }
+        int games = lastSeat - firstSeat + 1;
+        return new double[] {winsA / games, winsB / games};
+    }
+
+    private int wins(AgentSpec variant, int variantSeat, long gameSeed) {
+        Function<CatanEngine, List<Player>> factory = engine -> {
+            List<Player> players = new ArrayList<>(seats);
+            for (int s = 0; s < seats; s++) {
+                players.add((s == variantSeat ? variant : opponent).create(s, engine));
+            }
+            return players;
+        };
+        HeadlessGame game = new HeadlessGame(layout, gameSeed, maxRounds, factory);
+        game.setFastForward(true);
+        game.snakeDraftSetup(new SplittableRandom(gameSeed), null);
+        GameResult result = game.run();
+        return result.getWinnerSeat() == variantSeat ? 1 : 0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.app.tournament;
+
+/**
+ * Paired-difference result of a common-random-numbers evaluation.
+ *
+ * Each sample is one seed played by both variants; the report gives the mean score of each
+ * variant, the mean paired difference (A - B) with its standard error and 95% confidence
+ * interval, and how much the pairing reduced variance compared with independent games.
+ */
+public final class PairedReport {
+
+    private static final double Z_95 = 1.959964;
+
+    private final int pairs;
+    private final int gamesPlayed;
+    private final double meanA;
+    private final double meanB;
+    private final double meanDiff;
+    private final double varianceA;
+    private final double varianceB;
+    private final double varianceDiff;
+
+    /**
+     * Summarise per-seed scores (index i of both arrays comes from the same seed).
+     * @param scoresA variant A score per seed (win share over its seats)
+     * @param scoresB variant B score per seed
+     * @param gamesPlayed total games behind the scores
+     */
+    public PairedReport(double[] scoresA, double[] scoresB, int gamesPlayed) {
+        if (scoresA.length != scoresB.length || scoresA.length < 2) {
+            throw new IllegalArgumentException("Need at least two paired samples");
+        }
+        int n = scoresA.length;
+        double[] diff = new double[n];
+        for (int i = 0; i < n; i++) {
+            diff[i] = scoresA[i] - scoresB[i];
+        }
+        this.pairs = n;
+        this.gamesPlayed = gamesPlayed;
+        this.meanA = mean(scoresA);
+        this.meanB = mean(scoresB);
+        this.meanDiff = mean(diff);
+        this.varianceA = variance(scoresA, meanA);
+        this.varianceB = variance(scoresB, meanB);
+        this.varianceDiff = variance(diff, meanDiff);
+    }
+
+    public int getPairs() {
+        return pairs;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public double getMeanA() {
+        return meanA;
+    }
+
+    public double getMeanB() {
+        return meanB;
+    }
+
+    /**
+     * Mean of (A - B) over seeds.
+     */
+    public double getMeanDifference() {
+        return meanDiff;
+    }
+
+    public double getStandardError() {
+        return Math.sqrt(varianceDiff / pairs);
+    }
+
+    public double getCiLow() {
+        return meanDiff - Z_95 * getStandardError();
+    }
+
+    public double getCiHigh() {
+        return meanDiff + Z_95 * getStandardError();
+    }
+
+    /**
+     * Whether the 95% interval excludes zero.
+     */
+    public boolean isSignificant() {
+        return getCiLow() > 0 || getCiHigh() < 0;
+    }
+
+    /**
+     * Var(A) + Var(B) over Var(A - B): how many times more seeds independent games would need
+     * for the same interval width (1.0 means pairing did not help).
+     */
+    public double getVarianceReduction() {
+        if (varianceDiff == 0) {
+            return varianceA + varianceB == 0 ? 1.0 : Double.POSITIVE_INFINITY;
+        }
+        return (varianceA + varianceB) / varianceDiff;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (double v : values) {
+            sum += (v - mean) * (v - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d seeds, %d games: A %.3f, B %.3f, A-B %+.4f (95%% CI %+.4f .. %+.4f), "
+                        + "variance reduction x%.2f",
+                pairs, gamesPlayed, meanA, meanB, meanDiff, getCiLow(), getCiHigh(), getVarianceReduction());
+    }
+}
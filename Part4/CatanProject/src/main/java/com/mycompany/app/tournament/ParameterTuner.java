@@ -0,0 +1,284 @@
+package com.mycompany.app.tournament;
+
+import com.mycompany.app.AgentParameters;
+import com.mycompany.app.HeadlessGame;
+import com.mycompany.app.RuleBasedAgent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+
+/**
+ * Self-play tuner for AgentParameters.
+ *
+ * A (1+1) evolution strategy: each iteration perturbs the incumbent vector (or, with a small
+ * probability, samples uniformly within bounds as plain random search) and plays the candidate
+ * against the incumbent with a seat-mirrored PairedEvaluation, which spreads the games over all
+ * cores. A candidate replaces the incumbent only if the 95% confidence interval of its paired
+ * win-share advantage lies above zero; a raw mean over a few dozen seeds is mostly noise, and
+ * every acceptance also widens the step. The step size follows the 1/5 success rule. Every iteration's randomness is derived from the base seed
+ * and the iteration number, so a run resumed from its checkpoint continues exactly as if it had
+ * never stopped.
+ */
+public class ParameterTuner {
+
+    private static final double MIN_STEP = 0.01;
+    private static final double MAX_STEP = 0.5;
+
+    private int seedsPerCandidate = 32;
+    private int maxRounds = 300;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private double initialStep = 0.2;
+    private double explorationRate = 0.1;
+    private Path checkpoint;
+    private Path bestOutput;
+
+    private int acceptedCount;
+
+    /**
+     * Seeds per candidate evaluation (each played from every seat by both vectors).
+     */
+    public void setSeedsPerCandidate(int seedsPerCandidate) {
+        if (seedsPerCandidate < 2) {
+            throw new IllegalArgumentException("At least two seeds per candidate are required");
+        }
+        this.seedsPerCandidate = seedsPerCandidate;
+    }
+
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Initial mutation step as a fraction of each parameter's range.
+     */
+    public void setInitialStep(double initialStep) {
+        this.initialStep = Math.min(Math.max(initialStep, MIN_STEP), MAX_STEP);
+    }
+
+    /**
+     * Probability of a uniform random candidate instead of a perturbation.
+     */
+    public void setExplorationRate(double explorationRate) {
+        this.explorationRate = explorationRate;
+    }
+
+    /**
+     * File to resume from and save progress to after every iteration (null disables).
+     */
+    public void setCheckpoint(Path checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * File the best configuration is written to whenever it improves (null disables).
+     */
+    public void setBestOutput(Path bestOutput) {
+        this.bestOutput = bestOutput;
+    }
+
+    /**
+     * Candidates accepted during the last tune call (including any before a resume).
+     */
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * Run (or resume) the search.
+     * @param start starting vector, ignored when resuming from a checkpoint
+     * @param iterations total iterations, counting those already checkpointed
+     * @param seed base seed; a checkpoint only resumes under the seed it was written with
+     * @return best vector found
+     */
+    public AgentParameters tune(AgentParameters start, int iterations, long seed) {
+        AgentParameters incumbent = start;
+        double step = initialStep;
+        int iteration = 0;
+        acceptedCount = 0;
+
+        if (checkpoint != null && Files.isRegularFile(checkpoint)) {
+            Checkpoint saved = readCheckpoint(checkpoint);
+            if (saved.seed != seed) {
+                throw new IllegalStateException("Checkpoint " + checkpoint + " was written for seed " + saved.seed);
+            }
+            incumbent = saved.params;
+            step = saved.step;
+            iteration = saved.iteration;
+            acceptedCount = saved.accepted;
+        }
+
+        for (; iteration < iterations; iteration++) {
+            SplittableRandom rng = new SplittableRandom(HeadlessGame.seedFor(seed, iteration, 1));
+            AgentParameters candidate = rng.nextDouble() < explorationRate
+                    ? sampleUniform(rng) : perturb(incumbent, step, rng);
+            boolean improved = !candidate.equals(incumbent)
+                    && improves(candidate, incumbent, HeadlessGame.seedFor(seed, iteration, 2));
+            if (improved) {
+                incumbent = candidate;
+                acceptedCount++;
+                step = Math.min(MAX_STEP, step * 1.5);
+                writeParameters(bestOutput, incumbent);
+            } else {
+                // 1/5 rule: four failures undo one success
+                step = Math.max(MIN_STEP, step * Math.pow(1.5, -0.25));
+            }
+            if (checkpoint != null) {
+                writeCheckpoint(new Checkpoint(seed, iteration + 1, step, acceptedCount, incumbent));
+            }
+        }
+        writeParameters(bestOutput, incumbent);
+        return incumbent;
+    }
+
+    /**
+     * Whether candidate is significantly stronger than incumbent: the lower end of the 95%
+     * interval of its paired win-share advantage is above zero.
+     */
+    public boolean improves(AgentParameters candidate, AgentParameters incumbent, long seed) {
+        return evaluate(candidate, incumbent, seed).getCiLow() > 0;
+    }
+
+    /**
+     * Paired win-share comparison of candidate (A) against incumbent (B), with the incumbent
+     * also filling the other seats.
+     */
+    public PairedReport evaluate(AgentParameters candidate, AgentParameters incumbent, long seed) {
+        AgentSpec candidateSpec = new AgentSpec("candidate", (id, engine) -> new RuleBasedAgent(id, engine, candidate));
+        AgentSpec incumbentSpec = new AgentSpec("incumbent", (id, engine) -> new RuleBasedAgent(id, engine, incumbent));
+        PairedEvaluation evaluation = new PairedEvaluation(candidateSpec, incumbentSpec, incumbentSpec);
+        evaluation.setMaxRounds(maxRounds);
+        evaluation.setThreads(threads);
+        evaluation.setMirrorSeats(true);
+        return evaluation.run(seedsPerCandidate, seed);
+    }
+
+    private static AgentParameters perturb(AgentParameters base, double step, SplittableRandom rng) {
+        double[] v = base.toVector();
+        for (int i = 0; i < v.length; i++) {
+            double range = AgentParameters.upperBound(i) - AgentParameters.lowerBound(i);
+            v[i] += rng.nextGaussian() * step * range;
+        }
+        return AgentParameters.fromVector(v);
+    }
+
+    private static AgentParameters sampleUniform(SplittableRandom rng) {
+        double[] v = new double[AgentParameters.size()];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = rng.nextDouble(AgentParameters.lowerBound(i), AgentParameters.upperBound(i));
+        }
+        return AgentParameters.fromVector(v);
+    }
+
+    private static void writeParameters(Path path, AgentParameters params) {
+        if (path == null) {
+            return;
+        }
+        StringWriter out = new StringWriter();
+        try {
+            params.store(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeAtomically(path, out.toString());
+    }
+
+    private void writeCheckpoint(Checkpoint state) {
+        StringWriter out = new StringWriter();
+        out.write("seed: " + state.seed + System.lineSeparator());
+        out.write("iteration: " + state.iteration + System.lineSeparator());
+        out.write("step: " + state.step + System.lineSeparator());
+        out.write("accepted: " + state.accepted + System.lineSeparator());
+        try {
+            state.params.store(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeAtomically(checkpoint, out.toString());
+    }
+
+    static Checkpoint readCheckpoint(Path path) {
+        try {
+            long seed = 0;
+            int iteration = 0;
+            double step = 0;
+            int accepted = 0;
+            StringBuilder paramLines = new StringBuilder();
+            BufferedReader reader = new BufferedReader(new StringReader(
+                    new String(Files.readAllBytes(path), StandardCharsets.UTF_8)));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(":", 2);
+                String key = parts[0].trim();
+                String value = parts.length == 2 ? parts[1].trim() : "";
+                switch (key) {
+                    case "seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "iteration":
+                        iteration = Integer.parseInt(value);
+                        break;
+                    case "step":
+                        step = Double.parseDouble(value);
+                        break;
+                    case "accepted":
+                        accepted = Integer.parseInt(value);
+                        break;
+                    default:
+                        paramLines.append(line).append('\n');
+                }
+            }
+            return new Checkpoint(seed, iteration, step, accepted,
+                    AgentParameters.load(new StringReader(paramLines.toString())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read tuner checkpoint " + path, e);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Corrupt tuner checkpoint " + path, e);
+        }
+    }
+
+    private static void writeAtomically(Path path, String content) {
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "tuner-", ".tmp");
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                out.write(content);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + path, e);
+        }
+    }
+
+    /**
+     * Saved tuner state.
+     */
+    static final class Checkpoint {
+        final long seed;
+        final int iteration;
+        final double step;
+        final int accepted;
+        final AgentParameters params;
+
+        Checkpoint(long seed, int iteration, double step, int accepted, AgentParameters params) {
+            this.seed = seed;
+            this.iteration = iteration;
+            this.step = step;
+            this.accepted = accepted;
+            this.params = params;
+        }
+    }
+}
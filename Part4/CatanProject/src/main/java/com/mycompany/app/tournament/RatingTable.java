@@ -0,0 +1,80 @@
+package com.mycompany.app.tournament;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Multi-player Elo ratings that many worker threads update at once.
+ *
+ * A finished game is scored as pairwise results: the winner beats every other seat and the
+ * losers draw with each other (a game with no winner is a draw for all pairs). Each rating is
+ * a double stored as raw bits in an AtomicLongArray and updated with a CAS-add, so no lock is
+ * held while games finish concurrently. Expected scores are computed from the ratings at the
+ * time the game is reported.
+ */
+public class RatingTable {
+
+    public static final double INITIAL_RATING = 1500.0;
+
+    private final AtomicLongArray ratings;
+    private final double kFactor;
+
+    /**
+     * @param size number of agents
+     * @param kFactor Elo K (per pairwise result)
+     */
+    public RatingTable(int size, double kFactor) {
+        this.ratings = new AtomicLongArray(size);
+        this.kFactor = kFactor;
+        for (int i = 0; i < size; i++) {
+            ratings.set(i, Double.doubleToRawLongBits(INITIAL_RATING));
+        }
+    }
+
+    public double get(int agent) {
+        return Double.longBitsToDouble(ratings.get(agent));
+    }
+
+    public int size() {
+        return ratings.length();
+    }
+
+    /**
+     * Apply one game.
+     * @param seatAgents agent index per seat
+     * @param winnerSeat seat that won, or -1 for a draw
+     */
+    public void update(int[] seatAgents, int winnerSeat) {
+        int seats = seatAgents.length;
+        double[] snapshot = new double[seats];
+        for (int s = 0; s < seats; s++) {
+            snapshot[s] = get(seatAgents[s]);
+        }
+        double[] delta = new double[seats];
+        for (int a = 0; a < seats; a++) {
+            for (int b = a + 1; b < seats; b++) {
+                if (seatAgents[a] == seatAgents[b]) {
+                    continue;
+                }
+                double scoreA = winnerSeat == a ? 1.0 : winnerSeat == b ? 0.0 : 0.5;
+                double expectedA = 1.0 / (1.0 + Math.pow(10.0, (snapshot[b] - snapshot[a]) / 400.0));
+                double change = kFactor * (scoreA - expectedA);
+                delta[a] += change;
+                delta[b] -= change;
+            }
+        }
+        for (int s = 0; s < seats; s++) {
+            if (delta[s] != 0.0) {
+                add(seatAgents[s], delta[s]);
+            }
+        }
+    }
+
+    private void add(int agent, double amount) {
+        long current;
+        long next;
+        do {
+            current = ratings.get(agent);
+            next = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + amount);
+        } while (!ratings.compareAndSet(agent, current, next));
+    }
+}
@@ -0,0 +1,64 @@
+package com.mycompany.app.tournament;
+
+import com.mycompany.app.Adjudication;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Streams one CSV row per agent per finished game, flushed as each game completes so a long
+ * tournament can be watched (or salvaged) while it runs.
+ */
+public class ResultCsvWriter implements AutoCloseable {
+
+    public static final String HEADER = "game,table,rotation,seat,agent,victory_points,result,rounds,rating,adjudication";
+
+    private final BufferedWriter out;
+
+    public ResultCsvWriter(Writer out) {
+        this.out = new BufferedWriter(out);
+        writeLine(HEADER);
+    }
+
+    /**
+     * Write every seat of a finished game as one block.
+     */
+    synchronized void writeGame(long gameID, int table, int rotation, String[] agentNames,
+                                int[] victoryPoints, int winnerSeat, int rounds, double[] ratings,
+                                Adjudication adjudication) {
+        String reason = adjudication.name().toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(96 * agentNames.length);
+        for (int seat = 0; seat < agentNames.length; seat++) {
+            String result = winnerSeat < 0 ? "draw" : winnerSeat == seat ? "win" : "loss";
+            sb.append(gameID).append(',').append(table).append(',').append(rotation).append(',')
+                    .append(seat).append(',').append(agentNames[seat]).append(',')
+                    .append(victoryPoints[seat]).append(',').append(result).append(',')
+                    .append(rounds).append(',').append(String.format(Locale.ROOT, "%.1f", ratings[seat])).append(',')
+                    .append(reason).append('\n');
+        }
+        try {
+            out.write(sb.toString());
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(String line) {
+        try {
+            out.write(line);
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,110 @@
+package com.mycompany.app.tournament;
+
+/**
+ * Wald's sequential probability ratio test on a win rate.
+ *
+ * H0: p = p0 against H1: p = p1. After each decisive game the log-likelihood ratio is compared
+ * with ln(beta / (1 - alpha)) and ln((1 - beta) / alpha); crossing either bound decides the test
+ * with error rates at most alpha (false H1) and beta (false H0). Draws carry no information about
+ * p and are not recorded. Methods are synchronized so completing games can report from any thread.
+ */
+public class Sprt {
+
+    /**
+     * State of the test.
+     */
+    public enum Decision {
+        CONTINUE,
+        ACCEPT_H0,
+        ACCEPT_H1
+    }
+
+    private final double p0;
+    private final double p1;
+    private final double winStep;
+    private final double lossStep;
+    private final double lowerBound;
+    private final double upperBound;
+
+    private long wins;
+    private long losses;
+    private double llr;
+    private Decision decision = Decision.CONTINUE;
+
+    /**
+     * @param p0 win rate under the null hypothesis (e.g. 0.5 for "no better")
+     * @param p1 win rate under the alternative (e.g. 0.55)
+     * @param alpha tolerated probability of accepting H1 when H0 holds
+     * @param beta tolerated probability of accepting H0 when H1 holds
+     */
+    public Sprt(double p0, double p1, double alpha, double beta) {
+        if (!(p0 > 0 && p0 < 1 && p1 > 0 && p1 < 1) || p0 == p1) {
+            throw new IllegalArgumentException("p0 and p1 must be distinct probabilities in (0, 1)");
+        }
+        if (!(alpha > 0 && alpha < 0.5 && beta > 0 && beta < 0.5)) {
+            throw new IllegalArgumentException("alpha and beta must be in (0, 0.5)");
+        }
+        this.p0 = p0;
+        this.p1 = p1;
+        this.winStep = Math.log(p1 / p0);
+        this.lossStep = Math.log((1 - p1) / (1 - p0));
+        this.lowerBound = Math.log(beta / (1 - alpha));
+        this.upperBound = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Add one decisive game; has no effect once the test is decided.
+     * @param win whether the evaluated agent won
+     * @return the decision after this game
+     */
+    public synchronized Decision record(boolean win) {
+        if (decision != Decision.CONTINUE) {
+            return decision;
+        }
+        if (win) {
+            wins++;
+            llr += winStep;
+        } else {
+            losses++;
+            llr += lossStep;
+        }
+        if (llr >= upperBound) {
+            decision = Decision.ACCEPT_H1;
+        } else if (llr <= lowerBound) {
+            decision = Decision.ACCEPT_H0;
+        }
+        return decision;
+    }
+
+    public synchronized Decision getDecision() {
+        return decision;
+    }
+
+    public synchronized double getLlr() {
+        return llr;
+    }
+
+    public synchronized long getWins() {
+        return wins;
+    }
+
+    public synchronized long getLosses() {
+        return losses;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    public double getP0() {
+        return p0;
+    }
+
+    public double getP1() {
+        return p1;
+    }
+}
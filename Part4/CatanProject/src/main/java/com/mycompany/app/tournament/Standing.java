@@ -0,0 +1,53 @@
+package com.mycompany.app.tournament;
+
+/**
+ * Final (or current) standing of one tournament entry.
+ */
+public final class Standing {
+
+    private final String name;
+    private final double rating;
+    private final long games;
+    private final long wins;
+    private final long draws;
+
+    public Standing(String name, double rating, long games, long wins, long draws) {
+        this.name = name;
+        this.rating = rating;
+        this.games = games;
+        this.wins = wins;
+        this.draws = draws;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Fraction of games won (0 if none played).
+     */
+    public double getWinRate() {
+        return games == 0 ? 0.0 : (double) wins / games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s %8.1f %8d %8d %7.1f%%", name, rating, games, wins, 100.0 * getWinRate());
+    }
+}
@@ -0,0 +1,283 @@
+package com.mycompany.app.tournament;
+
+import com.mycompany.app.Adjudicator;
+import com.mycompany.app.BoardLayout;
+import com.mycompany.app.CatanEngine;
+import com.mycompany.app.GameResult;
+import com.mycompany.app.HeadlessGame;
+import com.mycompany.app.Player;
+import com.mycompany.app.analysis.TrainingDataWriter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Runs many headless games between agent entries and rates them.
+ *
+ * Every scheduled table is played once per seat rotation with the same game seed, so each
+ * entry at the table sees the same dice and setup stream from every seat and the first-player
+ * advantage cancels out. Games run on a fixed worker pool; ratings and per-agent counters are
+ * updated lock-free as games finish, and finished games are streamed to an optional CSV.
+ */
+public class Tournament {
+
+    private final List<AgentSpec> agents;
+    private final TournamentFormat format;
+    private int seats = 4;
+    private int maxRounds = 500;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private double kFactor = 8.0;
+    private BoardLayout layout = BoardLayout.standard();
+    private ResultCsvWriter csv;
+    private Adjudicator adjudicator = Adjudicator.OFF;
+    private TrainingDataWriter trainingData;
+
+    private RatingTable ratings;
+    private AtomicLongArray games;
+    private AtomicLongArray wins;
+    private AtomicLongArray draws;
+
+    /**
+     * @param agents entries (at least two)
+     * @param format how tables are drawn
+     */
+    public Tournament(List<AgentSpec> agents, TournamentFormat format) {
+        if (agents.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two agents");
+        }
+        this.agents = new ArrayList<>(agents);
+        this.format = format;
+    }
+
+    public void setSeats(int seats) {
+        if (seats < 2) {
+            throw new IllegalArgumentException("At least two seats are required");
+        }
+        this.seats = seats;
+    }
+
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public void setKFactor(double kFactor) {
+        this.kFactor = kFactor;
+    }
+
+    public void setLayout(BoardLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * End decided games early; the reason goes to the CSV (default Adjudicator.OFF).
+     */
+    public void setAdjudicator(Adjudicator adjudicator) {
+        this.adjudicator = adjudicator;
+    }
+
+    /**
+     * Stream per-agent rows for every finished game (null disables).
+     */
+    public void setCsv(ResultCsvWriter csv) {
+        this.csv = csv;
+    }
+
+    /**
+     * Export every turn of every game as labelled training rows (null disables). The writer's
+     * seat count must match the tables; games are played without fast-forwarding.
+     */
+    public void setTrainingData(TrainingDataWriter trainingData) {
+        this.trainingData = trainingData;
+    }
+
+    /**
+     * Play the tournament.
+     * @param tables number of tables; each is played once per seat rotation (tables * seats games)
+     * @param seed base seed for setups, dice, robber and agents
+     * @return standings, best rating first
+     */
+    public List<Standing> run(int tables, long seed) {
+        int n = agents.size();
+        ratings = new RatingTable(n, kFactor);
+        games = new AtomicLongArray(n);
+        wins = new AtomicLongArray(n);
+        draws = new AtomicLongArray(n);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            if (format == TournamentFormat.ROUND_ROBIN) {
+                List<int[]> draw = roundRobinTables();
+                List<Future<?>> pending = new ArrayList<>(tables * seats);
+                for (int t = 0; t < tables; t++) {
+                    submitTable(pool, pending, t, draw.get(t % draw.size()), seed);
+                }
+                awaitAll(pending);
+            } else {
+                int table = 0;
+                while (table < tables) {
+                    List<Future<?>> pending = new ArrayList<>();
+                    for (int[] seating : swissTables()) {
+                        if (table == tables) {
+                            break;
+                        }
+                        submitTable(pool, pending, table++, seating, seed);
+                    }
+                    // Next Swiss round is drawn from the ratings this round produced
+                    awaitAll(pending);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return getStandings();
+    }
+
+    /**
+     * Current standings, best rating first.
+     */
+    public List<Standing> getStandings() {
+        List<Standing> standings = new ArrayList<>(agents.size());
+        for (int i = 0; i < agents.size(); i++) {
+            standings.add(new Standing(agents.get(i).getName(), ratings.get(i),
+                    games.get(i), wins.get(i), draws.get(i)));
+        }
+        standings.sort(Comparator.comparingDouble(Standing::getRating).reversed());
+        return standings;
+    }
+
+    private void submitTable(ExecutorService pool, List<Future<?>> pending, int table, int[] seating, long seed) {
+        long gameSeed = HeadlessGame.seedFor(seed, table, 0);
+        for (int rotation = 0; rotation < seats; rotation++) {
+            int[] seatAgents = new int[seats];
+            for (int s = 0; s < seats; s++) {
+                seatAgents[s] = seating[(s + rotation) % seats];
+            }
+            long gameID = (long) table * seats + rotation;
+            final int r = rotation;
+            pending.add(pool.submit(() -> playGame(gameID, table, r, seatAgents, gameSeed)));
+        }
+    }
+
+    private void playGame(long gameID, int table, int rotation, int[] seatAgents, long gameSeed) {
+        Function<CatanEngine, List<Player>> factory = engine -> {
+            List<Player> players = new ArrayList<>(seats);
+            for (int s = 0; s < seats; s++) {
+                players.add(agents.get(seatAgents[s]).create(s, engine));
+            }
+            return players;
+        };
+        HeadlessGame game = new HeadlessGame(layout, gameSeed, maxRounds, factory);
+        game.setFastForward(true);
+        game.setAdjudicator(adjudicator);
+        if (trainingData != null) {
+            game.setTrainingRecorder(trainingData.newGame(gameID));
+        }
+        game.snakeDraftSetup(new SplittableRandom(gameSeed), null);
+        GameResult result = game.run();
+
+        int winner = result.getWinnerSeat();
+        for (int s = 0; s < seats; s++) {
+            int agent = seatAgents[s];
+            games.incrementAndGet(agent);
+            if (winner == s) {
+                wins.incrementAndGet(agent);
+            } else if (winner < 0) {
+                draws.incrementAndGet(agent);
+            }
+        }
+        ratings.update(seatAgents, winner);
+
+        if (csv != null) {
+            String[] names = new String[seats];
+            int[] vp = new int[seats];
+            double[] rating = new double[seats];
+            for (int s = 0; s < seats; s++) {
+                names[s] = agents.get(seatAgents[s]).getName();
+                vp[s] = result.getVictoryPoints(s);
+                rating[s] = ratings.get(seatAgents[s]);
+            }
+            csv.writeGame(gameID, table, rotation, names, vp, winner, result.getRounds(), rating,
+                    result.getAdjudication());
+        }
+    }
+
+    /**
+     * All combinations of min(seats, agents) entries; short tables repeat entries cyclically.
+     */
+    List<int[]> roundRobinTables() {
+        int n = agents.size();
+        int pick = Math.min(seats, n);
+        List<int[]> tables = new ArrayList<>();
+        int[] combo = new int[pick];
+        for (int i = 0; i < pick; i++) {
+            combo[i] = i;
+        }
+        while (true) {
+            int[] seating = new int[seats];
+            for (int s = 0; s < seats; s++) {
+                seating[s] = combo[s % pick];
+            }
+            tables.add(seating);
+            int i = pick - 1;
+            while (i >= 0 && combo[i] == n - pick + i) {
+                i--;
+            }
+            if (i < 0) {
+                return tables;
+            }
+            combo[i]++;
+            for (int j = i + 1; j < pick; j++) {
+                combo[j] = combo[j - 1] + 1;
+            }
+        }
+    }
+
+    /**
+     * Agents sorted by current rating, seated in consecutive groups; the last group is filled
+     * up with the next-ranked entries above it.
+     */
+    List<int[]> swissTables() {
+        int n = agents.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(ratings.get(b), ratings.get(a)));
+        List<int[]> tables = new ArrayList<>();
+        for (int start = 0; start < n; start += seats) {
+            int[] seating = new int[seats];
+            int first = Math.max(0, Math.min(start, n - seats));
+            for (int s = 0; s < seats; s++) {
+                seating[s] = order[(first + s) % n];
+            }
+            tables.add(seating);
+        }
+        return tables;
+    }
+
+    private static void awaitAll(List<Future<?>> pending) {
+        try {
+            for (Future<?> f : pending) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament game failed", e.getCause());
+        }
+    }
+}
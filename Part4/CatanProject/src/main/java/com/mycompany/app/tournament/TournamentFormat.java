@@ -0,0 +1,15 @@
+package com.mycompany.app.tournament;
+
+/**
+ * How tables are drawn in a tournament.
+ */
+public enum TournamentFormat {
+    /**
+     * Every combination of agents meets; with fewer agents than seats, entries repeat.
+     */
+    ROUND_ROBIN,
+    /**
+     * Each round, agents are sorted by current rating and seated with their neighbours.
+     */
+    SWISS
+}
@@ -1,8 +1,7 @@
 package com.mycompany.app.validators;
 
 import com.mycompany.app.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Validates road placement according to Catan rules
@@ -11,6 +10,10 @@ import java.util.List;
 public class RoadValidator {
 	private Board board;
 	private IBoardGraph topology;
+	/**
+	 * Reused candidate buffer, so repeated queries allocate nothing once it has grown
+	 */
+	private int[] candidates = new int[16];
 
 	public RoadValidator(Board board, IBoardGraph topology) {
 		this.board = board;
@@ -79,16 +82,65 @@ public class RoadValidator {
 
 	/**
 	 * Get all valid road locations for a player
+	 * Only edges touching the player's buildings or road endpoints are checked,
+	 * so the cost tracks the player's own pieces rather than the board size.
 	 * @param playerID The player ID
-	 * @return Array of valid edge IDs
+	 * @return Array of valid edge IDs, ascending
 	 */
 	public int[] getValidLocations(int playerID) {
-		List<Integer> validLocations = new ArrayList<>();
-		for (Edge edge : board.getAllEdges()) {
-			if (isValid(playerID, edge.getEdgeID())) {
-				validLocations.add(edge.getEdgeID());
+		// Collect first: it may replace candidates with a larger array
+		int valid = collectValid(playerID);
+		return Arrays.copyOf(candidates, valid);
+	}
+
+	/**
+	 * Append every valid road location to the buffer as a MoveCodec.ROAD move, in the order of
+	 * getValidLocations, without allocating
+	 * @param playerID The player ID
+	 * @param moves Buffer to append to
+	 */
+	public void addValidMoves(int playerID, MoveBuffer moves) {
+		int valid = collectValid(playerID);
+		for (int i = 0; i < valid; i++) {
+			moves.add(MoveCodec.encode(MoveCodec.ROAD, candidates[i]));
+		}
+	}
+
+	/**
+	 * Leave the valid edge IDs, ascending, at the front of candidates
+	 * @return how many there are
+	 */
+	private int collectValid(int playerID) {
+		OwnershipIndex ownership = board.getOwnership();
+		int count = 0;
+		for (int i = 0; i < ownership.getEdgeCount(playerID); i++) {
+			for (int nodeID : topology.getEdgeEndpoints(ownership.getEdge(playerID, i))) {
+				count = addAdjacentEdges(count, nodeID);
 			}
 		}
-		return validLocations.stream().mapToInt(i -> i).toArray();
+		for (int i = 0; i < ownership.getNodeCount(playerID); i++) {
+			count = addAdjacentEdges(count, ownership.getNode(playerID, i));
+		}
+
+		Arrays.sort(candidates, 0, count);
+		int valid = 0;
+		int previous = -1;
+		for (int i = 0; i < count; i++) {
+			int edgeID = candidates[i];
+			if (edgeID != previous && isValid(playerID, edgeID)) {
+				candidates[valid++] = edgeID;
+			}
+			previous = edgeID;
+		}
+		return valid;
+	}
+
+	private int addAdjacentEdges(int count, int nodeID) {
+		int[] adjacent = topology.getAdjacentEdges(nodeID);
+		if (count + adjacent.length > candidates.length) {
+			candidates = Arrays.copyOf(candidates, Math.max(count + adjacent.length, candidates.length * 2));
+		}
+		System.arraycopy(adjacent, 0, candidates, count, adjacent.length);
+		return count + adjacent.length;
 	}
 }
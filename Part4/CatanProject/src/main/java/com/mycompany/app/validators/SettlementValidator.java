@@ -1,8 +1,7 @@
 package com.mycompany.app.validators;
 
 import com.mycompany.app.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Validates settlement placement according to Catan rules
@@ -10,6 +9,10 @@ import java.util.List;
  */
 public class SettlementValidator {
 	private Board board;
+	/**
+	 * Reused candidate buffer, so repeated queries allocate nothing once it has grown
+	 */
+	private int[] candidates = new int[16];
 
 	public SettlementValidator(Board board) {
 		this.board = board;
@@ -66,17 +69,73 @@ public class SettlementValidator {
 
 	/**
 	 * Get all valid settlement locations for a player
+	 * Outside initial placement only endpoints of the player's roads are checked,
+	 * so the cost tracks the player's own pieces rather than the board size.
 	 * @param playerID The player ID
 	 * @param isInitialPlacement Whether this is initial placement
-	 * @return Array of valid node IDs
+	 * @return Array of valid node IDs, ascending
 	 */
 	public int[] getValidLocations(int playerID, boolean isInitialPlacement) {
-		List<Integer> validLocations = new ArrayList<>();
-		for (Node node : board.getAllNodes()) {
-			if (isValid(playerID, node.getNodeID(), isInitialPlacement)) {
-				validLocations.add(node.getNodeID());
+		// Collect first: it may replace candidates with a larger array
+		int valid = collectValid(playerID, isInitialPlacement);
+		return Arrays.copyOf(candidates, valid);
+	}
+
+	/**
+	 * Append every valid settlement location to the buffer as a MoveCodec.SETTLEMENT move, in
+	 * the order of getValidLocations, without allocating
+	 * @param playerID The player ID
+	 * @param isInitialPlacement Whether this is initial placement
+	 * @param moves Buffer to append to
+	 */
+	public void addValidMoves(int playerID, boolean isInitialPlacement, MoveBuffer moves) {
+		int valid = collectValid(playerID, isInitialPlacement);
+		for (int i = 0; i < valid; i++) {
+			moves.add(MoveCodec.encode(MoveCodec.SETTLEMENT, candidates[i]));
+		}
+	}
+
+	/**
+	 * Leave the valid node IDs, ascending, at the front of candidates
+	 * @return how many there are
+	 */
+	private int collectValid(int playerID, boolean isInitialPlacement) {
+		IBoardGraph topology = board.getTopology();
+		if (isInitialPlacement) {
+			ensureCapacity(topology.getNodeCount());
+			int count = 0;
+			for (int nodeID = 0; nodeID < topology.getNodeCount(); nodeID++) {
+				if (isValid(playerID, nodeID, true)) {
+					candidates[count++] = nodeID;
+				}
+			}
+			return count;
+		}
+
+		OwnershipIndex ownership = board.getOwnership();
+		int roads = ownership.getEdgeCount(playerID);
+		ensureCapacity(2 * roads);
+		for (int i = 0; i < roads; i++) {
+			int[] ends = topology.getEdgeEndpoints(ownership.getEdge(playerID, i));
+			candidates[2 * i] = ends[0];
+			candidates[2 * i + 1] = ends[1];
+		}
+		Arrays.sort(candidates, 0, 2 * roads);
+		int count = 0;
+		int previous = -1;
+		for (int i = 0; i < 2 * roads; i++) {
+			int nodeID = candidates[i];
+			if (nodeID != previous && isValid(playerID, nodeID, false)) {
+				candidates[count++] = nodeID;
 			}
+			previous = nodeID;
+		}
+		return count;
+	}
+
+	private void ensureCapacity(int size) {
+		if (candidates.length < size) {
+			candidates = Arrays.copyOf(candidates, Math.max(size, candidates.length * 2));
 		}
-		return validLocations.stream().mapToInt(i -> i).toArray();
 	}
 }
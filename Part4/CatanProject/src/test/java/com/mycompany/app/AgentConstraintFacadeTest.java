@@ -80,6 +80,33 @@ class AgentConstraintFacadeTest {
         assertEquals(1, ((BuildRoadCommand) result).getEdgeId(), "Bridge between edges 0 and 2 is edge 1");
     }
 
+    /**
+     * A longer bridging distance searches out of each owned road; repeated calls reuse the
+     * search state and give the same bridge.
+     */
+    @Test
+    void roadSegmentsThreeApartAreBridgedFromEitherEnd() {
+        agent.addResource(ResourceType.LUMBER, 1);
+        agent.addResource(ResourceType.BRICK, 1);
+        Assumptions.assumeTrue(Arrays.stream(topology.getEdgeNeighbors(1)).anyMatch(e -> e == 2)
+                && Arrays.stream(topology.getEdgeNeighbors(2)).anyMatch(e -> e == 3)
+                && Arrays.stream(topology.getEdgeNeighbors(0)).noneMatch(e -> e == 2 || e == 3),
+                "Edges 0-1-2-3 must form a path");
+
+        board.getNode(1).buildSettlement(agent);
+        board.getEdge(0).buildRoad(agent);
+        board.getEdge(3).buildRoad(agent);
+        double[] v = AgentParameters.defaults().toVector();
+        v[AgentParameters.BRIDGE_DISTANCE] = 3;
+        AgentConstraintFacade facade = new AgentConstraintFacade(engine, AgentParameters.fromVector(v));
+
+        ICommand result = facade.getPriorityConstraintAction(agent);
+        assertInstanceOf(BuildRoadCommand.class, result);
+        int bridge = ((BuildRoadCommand) result).getEdgeId();
+        assertTrue(bridge == 1 || bridge == 2, "Bridge must be a gap edge between 0 and 3, got " + bridge);
+        assertEquals(bridge, ((BuildRoadCommand) facade.getPriorityConstraintAction(agent)).getEdgeId());
+    }
+
     @Test
     void longestRoadCompetitionTriggersConnectedRoadExtension() {
         agent.addResource(ResourceType.LUMBER, 1);
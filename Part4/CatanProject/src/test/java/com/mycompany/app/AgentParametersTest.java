@@ -0,0 +1,140 @@
+package com.mycompany.app;
+
+import com.mycompany.app.tournament.PairedReport;
+import com.mycompany.app.tournament.ParameterTuner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the agent parameter vector and the self-play tuner's acceptance and checkpointing.
+ */
+class AgentParametersTest {
+
+    @Test
+    void defaultsMatchOriginalConstants() {
+        AgentParameters p = AgentParameters.defaults();
+        assertEquals(1.0, p.get(AgentParameters.SETTLEMENT_WEIGHT));
+        assertEquals(0.8, p.get(AgentParameters.ROAD_WEIGHT));
+        assertEquals(7, p.getInt(AgentParameters.OVER_CARDS_THRESHOLD));
+        assertEquals(2, p.getInt(AgentParameters.BRIDGE_DISTANCE));
+        assertEquals(1, p.getInt(AgentParameters.LONGEST_ROAD_MARGIN));
+    }
+
+    @Test
+    void vectorIsClampedAndRounded() {
+        double[] v = AgentParameters.defaults().toVector();
+        v[AgentParameters.ROAD_WEIGHT] = 99;
+        v[AgentParameters.OVER_CARDS_THRESHOLD] = 8.6;
+        AgentParameters p = AgentParameters.fromVector(v);
+        assertEquals(AgentParameters.upperBound(AgentParameters.ROAD_WEIGHT), p.get(AgentParameters.ROAD_WEIGHT));
+        assertEquals(9, p.getInt(AgentParameters.OVER_CARDS_THRESHOLD));
+    }
+
+    @Test
+    void storeAndLoadRoundTrip() throws Exception {
+        double[] v = AgentParameters.defaults().toVector();
+        v[AgentParameters.CITY_WEIGHT] = 1.25;
+        AgentParameters p = AgentParameters.fromVector(v);
+        StringWriter out = new StringWriter();
+        p.store(out);
+        assertEquals(p, AgentParameters.load(new StringReader("# tuned\n" + out)));
+        assertThrows(IllegalArgumentException.class,
+                () -> AgentParameters.load(new StringReader("bogus: 1\n")));
+    }
+
+    @Test
+    void agentUsesItsWeights() {
+        CatanEngine engine = new CatanEngine(new Board(new CatanBoardGraph()), new StandardDice(1L));
+        double[] v = AgentParameters.defaults().toVector();
+        v[AgentParameters.ROAD_WEIGHT] = 1.5;
+        RuleBasedAgent agent = new RuleBasedAgent(0, engine, AgentParameters.fromVector(v));
+        assertTrue(agent.evaluateMove(MoveCodec.encode(MoveCodec.ROAD, 3))
+                > agent.evaluateMove(MoveCodec.encode(MoveCodec.SETTLEMENT, 3)));
+    }
+
+    @Test
+    void nodeQualityFavoursProductiveNodes() {
+        CatanEngine engine = new CatanEngine(new Board(new CatanBoardGraph()), new StandardDice(1L));
+        NodeProductionTable table = engine.getBoard().getProductionTable();
+        int rich = 0;
+        int poor = 0;
+        for (int n = 0; n < table.getNodeCount(); n++) {
+            if (table.getTotalPips(n) > table.getTotalPips(rich)) {
+                rich = n;
+            }
+            if (table.getTotalPips(n) < table.getTotalPips(poor)) {
+                poor = n;
+            }
+        }
+        double[] v = AgentParameters.defaults().toVector();
+        v[AgentParameters.NODE_QUALITY_WEIGHT] = 1.0;
+        RuleBasedAgent agent = new RuleBasedAgent(0, engine, AgentParameters.fromVector(v));
+        assertTrue(agent.evaluateMove(MoveCodec.encode(MoveCodec.SETTLEMENT, rich))
+                > agent.evaluateMove(MoveCodec.encode(MoveCodec.SETTLEMENT, poor)));
+        assertEquals(agent.evaluateMove(MoveCodec.encode(MoveCodec.SETTLEMENT, rich)),
+                agent.evaluateCommand(MoveCodec.toCommand(MoveCodec.encode(MoveCodec.SETTLEMENT, rich))));
+    }
+
+    /**
+     * Stopping after one iteration and resuming must end where an uninterrupted run ends.
+     */
+    @Test
+    void tunerResumesFromCheckpoint(@TempDir Path dir) throws Exception {
+        AgentParameters straight = smallTuner(null, null).tune(AgentParameters.defaults(), 2, 5L);
+
+        Path checkpoint = dir.resolve("tuner.checkpoint");
+        Path best = dir.resolve("best.txt");
+        smallTuner(checkpoint, best).tune(AgentParameters.defaults(), 1, 5L);
+        assertTrue(Files.exists(checkpoint));
+        AgentParameters resumed = smallTuner(checkpoint, best).tune(AgentParameters.defaults(), 2, 5L);
+
+        assertEquals(straight, resumed);
+        assertEquals(resumed, AgentParameters.load(Files.newBufferedReader(best)));
+        assertThrows(IllegalStateException.class,
+                () -> smallTuner(checkpoint, null).tune(AgentParameters.defaults(), 3, 6L));
+    }
+
+    /**
+     * A candidate no stronger than the incumbent is rejected, including one whose games differ
+     * and whose raw mean happens to come out ahead.
+     */
+    @Test
+    void tunerRejectsCandidatesThatAreNotSignificantlyBetter() {
+        ParameterTuner tuner = new ParameterTuner();
+        tuner.setSeedsPerCandidate(8);
+        tuner.setMaxRounds(100);
+        tuner.setThreads(4);
+        AgentParameters incumbent = AgentParameters.defaults();
+
+        // Does not change any decision: every paired game is identical
+        double[] v = incumbent.toVector();
+        v[AgentParameters.SETTLEMENT_WEIGHT] = 1.05;
+        AgentParameters unread = AgentParameters.fromVector(v);
+        assertEquals(0.0, tuner.evaluate(unread, incumbent, 2L).getMeanDifference(), 1e-12);
+        assertFalse(tuner.improves(unread, incumbent, 2L));
+
+        v = incumbent.toVector();
+        v[AgentParameters.OVER_CARDS_THRESHOLD] = 8;
+        AgentParameters noisy = AgentParameters.fromVector(v);
+        PairedReport report = tuner.evaluate(noisy, incumbent, 2L);
+        assertTrue(report.getMeanDifference() > 0);
+        assertFalse(tuner.improves(noisy, incumbent, 2L));
+    }
+
+    private static ParameterTuner smallTuner(Path checkpoint, Path best) {
+        ParameterTuner tuner = new ParameterTuner();
+        tuner.setSeedsPerCandidate(2);
+        tuner.setMaxRounds(30);
+        tuner.setThreads(2);
+        tuner.setCheckpoint(checkpoint);
+        tuner.setBestOutput(best);
+        return tuner;
+    }
+}
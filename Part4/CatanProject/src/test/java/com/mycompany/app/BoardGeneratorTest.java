@@ -0,0 +1,74 @@
+package com.mycompany.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BoardGenerator: determinism, fairness constraints, and standard piece counts.
+ */
+class BoardGeneratorTest {
+
+    private IBoardGraph topology;
+    private BoardGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        topology = new CatanBoardGraph();
+        generator = new BoardGenerator(topology);
+    }
+
+    @Test
+    void sameSeedGivesSameLayout() {
+        assertEquals(generator.generate(42L), new BoardGenerator(topology).generate(42L));
+        assertNotEquals(generator.generate(42L), generator.generate(43L));
+    }
+
+    /**
+     * Every generated layout must satisfy all constraints and use the standard tile/token set.
+     */
+    @Test
+    void generatedLayoutsSatisfyConstraints() {
+        int[] expectedTokens = {0, 2, 3, 3, 4, 4, 5, 5, 6, 6, 8, 8, 9, 9, 10, 10, 11, 11, 12};
+        for (long seed = 0; seed < 2_000; seed++) {
+            BoardLayout layout = generator.generate(seed);
+            assertTrue(generator.isValid(layout), "Seed " + seed + " violates constraints");
+            assertTrue(BoardGenerator.pipImbalance(layout) <= 1.0);
+
+            int[] tokens = new int[layout.getTileCount()];
+            int deserts = 0;
+            for (int t = 0; t < tokens.length; t++) {
+                tokens[t] = layout.getToken(t);
+                if (layout.getType(t) == TileType.DESERT) {
+                    deserts++;
+                    assertEquals(0, tokens[t], "Desert must have no token");
+                }
+            }
+            Arrays.sort(tokens);
+            assertArrayEquals(expectedTokens, tokens);
+            assertEquals(1, deserts);
+        }
+    }
+
+    @Test
+    void boardUsesLayoutAndStartsRobberOnDesert() {
+        BoardLayout layout = generator.generate(7L);
+        Board board = new Board(topology, layout);
+        assertEquals(layout.getDesertTile(), board.getRobberLocation());
+        assertEquals(TileType.DESERT, board.getTile(board.getRobberLocation()).getType());
+        for (int t = 0; t < layout.getTileCount(); t++) {
+            assertEquals(layout.getToken(t), board.getTile(t).getNumberToken());
+        }
+    }
+
+    @Test
+    void standardLayoutMatchesHistoricalBoard() {
+        Board board = new Board(topology);
+        assertEquals(11, board.getRobberLocation());
+        assertEquals(TileType.WHEAT, board.getTile(0).getType());
+        assertEquals(6, board.getTile(0).getNumberToken());
+    }
+}
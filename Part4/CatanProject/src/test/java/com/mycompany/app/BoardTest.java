@@ -33,4 +33,36 @@ class BoardTest {
         assertNull(board.getTile(-1));
         assertNull(board.getTile(19));
     }
+
+    /**
+     * The incrementally maintained production table must always equal a full recount
+     * for the current robber location.
+     */
+    @Test
+    void testProductionTableTracksRobber() {
+        NodeProductionTable table = board.getProductionTable();
+        int[] robberPath = {11, 0, 5, 5, 18, 11, 9};
+        for (int robber : robberPath) {
+            board.setRobberLocation(robber);
+            for (int node = 0; node < 54; node++) {
+                int expectedTotal = 0;
+                for (ResourceType resource : ResourceType.values()) {
+                    int expected = 0;
+                    for (HexTile tile : board.getAllTiles()) {
+                        if (tile.getTileID() == robber || tile.getType().getResourceType() != resource) {
+                            continue;
+                        }
+                        for (int n : topology.getTileNodes(tile.getTileID())) {
+                            if (n == node) {
+                                expected += BoardLayout.pips(tile.getNumberToken());
+                            }
+                        }
+                    }
+                    assertEquals(expected, table.getPips(node, resource), "node " + node + " " + resource);
+                    expectedTotal += expected;
+                }
+                assertEquals(expectedTotal, table.getTotalPips(node));
+            }
+        }
+    }
 }
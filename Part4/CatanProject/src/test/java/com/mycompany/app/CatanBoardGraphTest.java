@@ -0,0 +1,103 @@
+package com.mycompany.app;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the precomputed topology tables exposed by IBoardGraph.
+ */
+class CatanBoardGraphTest {
+
+    private final IBoardGraph topology = new CatanBoardGraph();
+
+    @Test
+    void countsMatchStandardBoard() {
+        assertEquals(54, topology.getNodeCount());
+        assertEquals(72, topology.getEdgeCount());
+        assertEquals(19, topology.getTileCount());
+    }
+
+    /**
+     * Line-graph tables must agree with a brute-force expansion over edge endpoints.
+     */
+    @Test
+    void edgeNeighborTablesMatchBruteForce() {
+        int edges = topology.getEdgeCount();
+        for (int a = 0; a < edges; a++) {
+            for (int b = 0; b < edges; b++) {
+                boolean adjacent = a != b && sharesEndpoint(a, b);
+                boolean listed = false;
+                for (int n : topology.getEdgeNeighbors(a)) {
+                    listed |= n == b;
+                }
+                assertEquals(adjacent, listed, a + "-" + b);
+
+                boolean withinTwo = adjacent;
+                for (int c = 0; c < edges && !withinTwo && a != b; c++) {
+                    withinTwo = c != a && c != b && sharesEndpoint(a, c) && sharesEndpoint(c, b);
+                }
+                long[] mask = topology.getEdgesWithinTwo(a);
+                assertEquals(withinTwo, (mask[b >>> 6] & (1L << b)) != 0, a + "~" + b);
+            }
+        }
+    }
+
+    /**
+     * Reverse indexes must agree with scans over the forward tile-to-node and edge tables.
+     */
+    @Test
+    void reverseIndexesMatchBruteForce() {
+        for (int node = 0; node < topology.getNodeCount(); node++) {
+            int expected = 0;
+            for (int t = 0; t < topology.getTileCount(); t++) {
+                boolean corner = tileHas(t, node);
+                boolean listed = false;
+                for (int listedTile : topology.getNodeTiles(node)) {
+                    listed |= listedTile == t;
+                }
+                assertEquals(corner, listed, "node " + node + " tile " + t);
+                expected += corner ? 1 : 0;
+            }
+            assertEquals(expected, topology.getNodeTiles(node).length);
+        }
+        for (int e = 0; e < topology.getEdgeCount(); e++) {
+            int[] ends = topology.getEdgeEndpoints(e);
+            int expected = 0;
+            for (int t = 0; t < topology.getTileCount(); t++) {
+                expected += tileHas(t, ends[0]) && tileHas(t, ends[1]) ? 1 : 0;
+            }
+            assertEquals(expected, topology.getEdgeTiles(e).length, "edge " + e);
+            assertTrue(expected == 1 || expected == 2);
+        }
+        for (int a = 0; a < topology.getNodeCount(); a++) {
+            for (int b = 0; b < topology.getNodeCount(); b++) {
+                int expected = -1;
+                for (int e = 0; e < topology.getEdgeCount(); e++) {
+                    int[] ends = topology.getEdgeEndpoints(e);
+                    if ((ends[0] == a && ends[1] == b) || (ends[0] == b && ends[1] == a)) {
+                        expected = e;
+                    }
+                }
+                assertEquals(expected, topology.getEdgeBetween(a, b), a + "-" + b);
+            }
+        }
+        assertEquals(-1, topology.getEdgeBetween(-1, 0));
+        assertEquals(-1, topology.getEdgeBetween(0, topology.getNodeCount()));
+    }
+
+    private boolean tileHas(int tile, int node) {
+        for (int n : topology.getTileNodes(tile)) {
+            if (n == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean sharesEndpoint(int a, int b) {
+        int[] x = topology.getEdgeEndpoints(a);
+        int[] y = topology.getEdgeEndpoints(b);
+        return x[0] == y[0] || x[0] == y[1] || x[1] == y[0] || x[1] == y[1];
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -64,4 +66,52 @@ class CatanEngineTest {
         assertEquals(0, player.getTotalResourceCards(),
                 "Roll of 7 must not distribute any resources");
     }
+
+    @Test
+    void testPlayerRegistryRejectsDuplicateIds() {
+        assertSame(players.get(1), engine.getPlayer(1));
+        assertNull(engine.getPlayer(2));
+        assertNull(engine.getPlayer(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.setPlayers(List.of(new RandomAgent(0), new RandomAgent(0))));
+    }
+
+    /**
+     * A reset engine must play exactly the game a freshly built one plays with the same seed
+     * and layout, including after a layout change and with RuleBasedAgents' cached planners.
+     */
+    @Test
+    void resetReplaysAFreshGame() {
+        IBoardGraph topology = new CatanBoardGraph();
+        BoardLayout second = new BoardGenerator(topology).generate(11L);
+        Function<CatanEngine, List<Player>> agents = e -> List.of(
+                new RuleBasedAgent(0, e), new RandomAgent(1), new RuleBasedAgent(2, e), new RandomAgent(3));
+
+        HeadlessGame reused = new HeadlessGame(BoardLayout.standard(), 5L, 120, agents);
+        reused.snakeDraftSetup(new SplittableRandom(5L), null);
+        reused.run();
+        reused.reset(9L, second);
+        Board board = reused.getEngine().getBoard();
+        assertEquals(0, board.getOwnership().getNodeCount(0));
+        assertEquals(second.getDesertTile(), board.getRobberLocation());
+        assertEquals(0, reused.getPlayers().get(2).getVictoryPoints());
+        reused.snakeDraftSetup(new SplittableRandom(9L), null);
+        GameResult replay = reused.run();
+
+        HeadlessGame fresh = new HeadlessGame(second, 9L, 120, agents);
+        fresh.snakeDraftSetup(new SplittableRandom(9L), null);
+        GameResult expected = fresh.run();
+
+        assertEquals(expected.getWinnerSeat(), replay.getWinnerSeat());
+        assertEquals(expected.getRounds(), replay.getRounds());
+        Board freshBoard = fresh.getEngine().getBoard();
+        for (int seat = 0; seat < 4; seat++) {
+            assertEquals(expected.getVictoryPoints(seat), replay.getVictoryPoints(seat));
+            assertArrayEquals(freshBoard.getOwnership().getNodes(seat), board.getOwnership().getNodes(seat));
+            assertArrayEquals(freshBoard.getOwnership().getEdges(seat), board.getOwnership().getEdges(seat));
+        }
+        for (int n = 0; n < topology.getNodeCount(); n++) {
+            assertEquals(freshBoard.getProductionTable().getTotalPips(n), board.getProductionTable().getTotalPips(n));
+        }
+    }
 }
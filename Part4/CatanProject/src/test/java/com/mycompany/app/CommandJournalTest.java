@@ -0,0 +1,374 @@
+package com.mycompany.app;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the write-ahead command journal and replay of interactive games.
+ */
+class CommandJournalTest {
+
+    private static final int ROUNDS = 30;
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Throws out of takeTurn once its n-th turn has been played, as a JVM crash would end the
+     * game right after the turn's last command was journaled.
+     */
+    private static final class CrashingHuman extends HumanPlayer {
+        private int turnsLeft;
+
+        CrashingHuman(Scanner scanner, int turns) {
+            super(0, scanner);
+            this.turnsLeft = turns;
+        }
+
+        @Override
+        public void takeTurn(IGameController controller) {
+            super.takeTurn(controller);
+            if (--turnsLeft == 0) {
+                throw new IllegalStateException("crash");
+            }
+        }
+    }
+
+    /**
+     * Lines a player might type: rolls, builds (many illegal), undo,
+     * redo, discards, status and the step-forward "go" prompts.
+     */
+    private static String script(long seed, int rounds) {
+        Random rng = new Random(seed);
+        String[] moves = { "roll", "status", "help", "undo", "redo", "end" };
+        String[] resources = { "lumber", "brick", "grain", "wool", "ore" };
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rounds * 8; i++) {
+            switch (rng.nextInt(7)) {
+                case 0:
+                    sb.append("go");
+                    break;
+                case 1:
+                    sb.append("build settlement ").append(rng.nextInt(54));
+                    break;
+                case 2:
+                    int node = rng.nextInt(53);
+                    sb.append("build road ").append(node).append(' ').append(node + 1);
+                    break;
+                case 3:
+                    sb.append("build city ").append(rng.nextInt(54));
+                    break;
+                case 4:
+                    sb.append("discard 1 ").append(resources[rng.nextInt(resources.length)]);
+                    break;
+                default:
+                    sb.append(moves[rng.nextInt(moves.length)]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static Simulator simulator(Scanner scanner, HumanPlayer human) {
+        return new Simulator(ROUNDS, scanner, engine -> List.of(
+                human, new RuleBasedAgent(1, engine), new RandomAgent(2), new RandomAgent(3)), false);
+    }
+
+    private static int[] state(Simulator sim) {
+        CatanEngine engine = sim.getEngine();
+        Board board = engine.getBoard();
+        List<Integer> state = new ArrayList<>();
+        state.add(board.getRobberLocation());
+        for (Player player : engine.getPlayers()) {
+            state.add(player.getVictoryPoints());
+            for (ResourceType type : ResourceType.values()) {
+                state.add(player.getResourceCount(type));
+            }
+            for (int node : board.getOwnership().getNodes(player.getPlayerID())) {
+                state.add(node);
+            }
+            for (int edge : board.getOwnership().getEdges(player.getPlayerID())) {
+                state.add(edge);
+            }
+        }
+        return state.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Replaying a game's journal ends where the original game did. The only live input it
+     * needs is the step-forward "go" for the seats after the human's last command.
+     */
+    @Test
+    void replayRebuildsTheGame() throws Exception {
+        for (long seed = 1; seed <= 3; seed++) {
+            Path file = dir.resolve("replay" + seed + ".journal");
+            Scanner input = new Scanner(script(seed, 1000));
+            Simulator original = simulator(input, new HumanPlayer(0, input));
+            try (CommandJournal journal = new CommandJournal(file)) {
+                original.setJournal(JournalSession.start(journal, 7, seed, 1000));
+                original.runSimulation();
+            }
+            CommandJournal.Game game = CommandJournal.read(file).get(7L);
+            assertTrue(game.isFinished());
+            assertFalse(game.getCommands().isEmpty());
+
+            Scanner steps = new Scanner("go\ngo\ngo\n");
+            Simulator replayed = simulator(steps, new HumanPlayer(0, steps));
+            try (CommandJournal journal = new CommandJournal(dir.resolve("unused" + seed + ".journal"))) {
+                replayed.setJournal(JournalSession.resume(journal, game, 1000));
+                replayed.runSimulation();
+            }
+            assertArrayEquals(state(original), state(replayed), "seed " + seed);
+        }
+    }
+
+    /**
+     * After a crash, the latest snapshot plus the journal tail rebuild the game, and the
+     * player's further input continues it.
+     */
+    @Test
+    void crashRecoveryResumesFromTheLatestSnapshot() throws Exception {
+        long seed = 11;
+        String lines = script(seed, 1000);
+
+        Scanner fullInput = new Scanner(lines);
+        Simulator uninterrupted = simulator(fullInput, new HumanPlayer(0, fullInput));
+        try (CommandJournal journal = new CommandJournal(dir.resolve("full.journal"))) {
+            uninterrupted.setJournal(JournalSession.start(journal, 1, seed, 4));
+            uninterrupted.runSimulation();
+        }
+
+        Path file = dir.resolve("crash.journal");
+        Scanner crashInput = new Scanner(lines);
+        Simulator crashed = simulator(crashInput, new CrashingHuman(crashInput, 14));
+        try (CommandJournal journal = new CommandJournal(file)) {
+            crashed.setJournal(JournalSession.start(journal, 1, seed, 4));
+            assertThrows(IllegalStateException.class, crashed::runSimulation);
+        }
+        assertTrue(Files.exists(dir.resolve("crash.journal.1.snap")));
+        // A torn record from the crash is ignored
+        Files.write(file, new byte[] { 0, 0, 0, 40, 1, 2 }, StandardOpenOption.APPEND);
+
+        CommandJournal.Game game = CommandJournal.read(file).get(1L);
+        assertFalse(game.isFinished());
+        Simulator recovered = simulator(crashInput, new HumanPlayer(0, crashInput));
+        try (CommandJournal journal = new CommandJournal(file)) {
+            recovered.setJournal(JournalSession.resume(journal, game, 4));
+            recovered.runSimulation();
+        }
+        assertArrayEquals(state(uninterrupted), state(recovered));
+        assertTrue(CommandJournal.read(file).get(1L).isFinished());
+        assertFalse(Files.exists(dir.resolve("crash.journal.1.snap")));
+    }
+
+    /**
+     * Concurrent games share one journal; every synced record is read back in order.
+     */
+    @Test
+    void groupCommitKeepsEveryGamesOrder() throws Exception {
+        Path file = dir.resolve("shared.journal");
+        int games = 6;
+        int commands = 200;
+        try (CommandJournal journal = new CommandJournal(file)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int g = 0; g < games; g++) {
+                long id = g;
+                threads.add(new Thread(() -> {
+                    journal.sync(journal.appendStart(id, id * 31));
+                    for (int c = 0; c < commands; c++) {
+                        journal.sync(journal.appendCommand(id, "build road " + c + " " + (c + 1)));
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(journal.getSyncCount() <= games * (commands + 1));
+        }
+        Map<Long, CommandJournal.Game> read = CommandJournal.read(file);
+        assertEquals(games, read.size());
+        for (CommandJournal.Game game : read.values()) {
+            assertEquals(game.getGameID() * 31, game.getSeed());
+            assertEquals(commands, game.getCommands().size());
+            for (int c = 0; c < commands; c++) {
+                assertEquals("build road " + c + " " + (c + 1), game.getCommands().get(c));
+            }
+        }
+    }
+
+    /**
+     * Delegates to a real channel; the next write can be made to store half its bytes and fail,
+     * and truncate can be made to fail.
+     */
+    private static final class FaultyChannel extends FileChannel {
+        private final FileChannel inner;
+        boolean failNextWrite;
+        boolean failTruncate;
+
+        FaultyChannel(FileChannel inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false;
+                ByteBuffer half = src.duplicate();
+                half.limit(src.position() + src.remaining() / 2);
+                int n = inner.write(half);
+                src.position(src.position() + n);
+                throw new IOException("disk full");
+            }
+            return inner.write(src);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("device gone");
+            }
+            inner.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return inner.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return inner.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return inner.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return inner.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            inner.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return inner.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            inner.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return inner.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return inner.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return inner.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return inner.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return inner.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return inner.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return inner.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            inner.close();
+        }
+    }
+
+    private FaultyChannel faultyChannel(Path file) throws IOException {
+        return new FaultyChannel(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE));
+    }
+
+    /**
+     * A failed write leaves no partial record behind, and its records are written by the next sync.
+     */
+    @Test
+    void failedWriteIsRolledBackAndRetried() throws Exception {
+        Path file = dir.resolve("retry.journal");
+        FaultyChannel channel = faultyChannel(file);
+        try (CommandJournal journal = new CommandJournal(file, channel)) {
+            journal.sync(journal.appendStart(1, 7));
+            long size = Files.size(file);
+            long first = journal.appendCommand(1, "roll");
+            channel.failNextWrite = true;
+            assertThrows(UncheckedIOException.class, () -> journal.sync(first));
+            assertEquals(size, Files.size(file));
+
+            journal.sync(journal.appendCommand(1, "end"));
+        }
+        CommandJournal.Game game = CommandJournal.read(file).get(1L);
+        assertEquals(List.of("roll", "end"), game.getCommands());
+    }
+
+    /**
+     * If the file cannot be cut back after a failed write, the journal refuses further use.
+     */
+    @Test
+    void unrecoverableWriteFailsTheJournal() throws Exception {
+        Path file = dir.resolve("broken.journal");
+        FaultyChannel channel = faultyChannel(file);
+        CommandJournal journal = new CommandJournal(file, channel);
+        journal.sync(journal.appendStart(1, 7));
+        long sequence = journal.appendCommand(1, "roll");
+        channel.failNextWrite = true;
+        channel.failTruncate = true;
+        assertThrows(UncheckedIOException.class, () -> journal.sync(sequence));
+        assertThrows(UncheckedIOException.class, () -> journal.appendCommand(1, "end"));
+        assertThrows(UncheckedIOException.class, journal::close);
+        assertFalse(channel.isOpen());
+    }
+}
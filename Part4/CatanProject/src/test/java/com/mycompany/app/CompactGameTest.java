@@ -0,0 +1,113 @@
+package com.mycompany.app;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared board flyweight and the compact game built on it.
+ */
+class CompactGameTest {
+
+    private static final IBoardGraph TOPOLOGY = new CatanBoardGraph();
+
+    @Test
+    void sharedBoardIsInternedAndReusedByBoards() {
+        SharedBoard shared = SharedBoard.of(TOPOLOGY, BoardLayout.standard());
+        assertSame(shared, SharedBoard.of(TOPOLOGY, BoardLayout.standard()));
+
+        Board first = new Board(TOPOLOGY, BoardLayout.standard());
+        Board second = new Board(TOPOLOGY, BoardLayout.standard());
+        assertNotSame(first.getNode(0), second.getNode(0));
+        for (int t = 0; t < TOPOLOGY.getTileCount(); t++) {
+            assertSame(shared.getTile(t), first.getTile(t));
+            assertSame(first.getTile(t), second.getTile(t));
+        }
+    }
+
+    @Test
+    void tokenTableListsProducingTilesOnly() {
+        SharedBoard shared = SharedBoard.of(TOPOLOGY, BoardLayout.standard());
+        int listed = 0;
+        for (int token = 2; token <= 12; token++) {
+            for (int tile : shared.getTilesWithToken(token)) {
+                assertEquals(token, shared.getTileToken(tile));
+                assertTrue(shared.getTileResource(tile) >= 0);
+                listed++;
+            }
+        }
+        assertEquals(TOPOLOGY.getTileCount() - 1, listed);
+        assertEquals(0, shared.getTilesWithToken(7).length);
+    }
+
+    @Test
+    void sameSeedReplaysTheSameGame() {
+        SharedBoard shared = SharedBoard.of(TOPOLOGY, BoardLayout.standard());
+        for (long seed = 0; seed < 20; seed++) {
+            CompactGame a = new CompactGame(shared, 4, seed, 200);
+            CompactGame b = new CompactGame(shared, 4, seed, 200);
+            a.setupRandom();
+            b.setupRandom();
+            GameResult ra = a.run();
+            GameResult rb = b.run();
+            assertEquals(ra.getWinnerSeat(), rb.getWinnerSeat());
+            assertEquals(ra.getRounds(), rb.getRounds());
+            for (int n = 0; n < TOPOLOGY.getNodeCount(); n++) {
+                assertEquals(a.getNodeOwner(n), b.getNodeOwner(n));
+            }
+        }
+    }
+
+    @Test
+    void finishedGamesRespectTheRules() {
+        SharedBoard shared = SharedBoard.of(TOPOLOGY, BoardLayout.standard());
+        int decided = 0;
+        for (long seed = 0; seed < 50; seed++) {
+            CompactGame game = new CompactGame(shared, 4, HeadlessGame.seedFor(3L, seed, 0), 300);
+            game.setupRandom();
+            GameResult result = game.run();
+            if (result.reachedTarget()) {
+                decided++;
+                assertTrue(game.getVictoryPoints(result.getWinnerSeat()) >= CompactGame.TARGET_VP);
+            }
+            assertRulesHold(game);
+        }
+        assertTrue(decided > 0, "RandomAgent games should sometimes reach the target");
+    }
+
+    private static void assertRulesHold(CompactGame game) {
+        int seats = game.getSeatCount();
+        int[] settlements = new int[seats];
+        int[] cities = new int[seats];
+        int[] roads = new int[seats];
+        for (int n = 0; n < TOPOLOGY.getNodeCount(); n++) {
+            int owner = game.getNodeOwner(n);
+            if (owner < 0) {
+                continue;
+            }
+            if (game.isCity(n)) {
+                cities[owner]++;
+            } else {
+                settlements[owner]++;
+            }
+            for (int adj : TOPOLOGY.getAdjacentNodes(n)) {
+                assertEquals(-1, game.getNodeOwner(adj), "distance rule at node " + n);
+            }
+        }
+        for (int e = 0; e < TOPOLOGY.getEdgeCount(); e++) {
+            if (game.getRoadOwner(e) >= 0) {
+                roads[game.getRoadOwner(e)]++;
+            }
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            assertEquals(settlements[seat], game.getSettlementCount(seat));
+            assertEquals(cities[seat], game.getCityCount(seat));
+            assertEquals(roads[seat], game.getRoadCount(seat));
+            assertTrue(settlements[seat] <= 5 && cities[seat] <= 4 && roads[seat] <= 15);
+            assertEquals(settlements[seat] + 2 * cities[seat], game.getVictoryPoints(seat));
+            for (ResourceType type : ResourceType.values()) {
+                assertTrue(game.getResourceCount(seat, type) >= 0);
+            }
+        }
+    }
+}
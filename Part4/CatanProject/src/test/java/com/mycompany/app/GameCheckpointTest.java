@@ -0,0 +1,113 @@
+package com.mycompany.app;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for checkpointing and resuming HeadlessGames.
+ */
+class GameCheckpointTest {
+
+    private static final Function<CatanEngine, List<Player>> MIXED = e -> List.of(
+            new RandomAgent(0), new RuleBasedAgent(1, e), new RandomAgent(2), new RuleBasedAgent(3, e));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resumableRandomMatchesRandom() {
+        Random plain = new Random(42);
+        ResumableRandom resumable = new ResumableRandom(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(plain.nextInt(i + 1), resumable.nextInt(i + 1));
+        }
+        long state = resumable.getState();
+        int next = resumable.nextInt(100);
+        resumable.setSeed(7);
+        resumable.setState(state);
+        assertEquals(next, resumable.nextInt(100));
+    }
+
+    /**
+     * A game resumed from its last checkpoint finishes exactly as the uninterrupted game did.
+     */
+    @Test
+    void restoredGamePlaysOnIdentically() {
+        for (long seed = 0; seed < 10; seed++) {
+            boolean fastForward = seed % 2 == 0;
+            Path file = dir.resolve("game" + seed + ".ckpt");
+            HeadlessGame original = newGame(seed, fastForward);
+            original.setCheckpoint(new GameCheckpoint(file, 7));
+            original.snakeDraftSetup(new SplittableRandom(seed), null);
+            GameResult expected = original.run();
+            if (expected.getRounds() < 7) {
+                continue;
+            }
+
+            HeadlessGame resumed = newGame(seed + 1000, fastForward);
+            assertTrue(GameCheckpoint.restore(file, resumed));
+            assertTrue(resumed.getRound() > 0 && resumed.getRound() % 7 == 0, "seed " + seed);
+            GameResult result = resumed.run();
+
+            assertEquals(expected.getWinnerSeat(), result.getWinnerSeat(), "seed " + seed);
+            assertEquals(expected.getRounds(), result.getRounds(), "seed " + seed);
+            assertEquals(original.getEngine().getBoard().getRobberLocation(),
+                    resumed.getEngine().getBoard().getRobberLocation(), "seed " + seed);
+            for (int seat = 0; seat < 4; seat++) {
+                assertEquals(expected.getVictoryPoints(seat), result.getVictoryPoints(seat), "seed " + seed);
+                for (ResourceType type : ResourceType.values()) {
+                    assertEquals(original.getPlayers().get(seat).getResourceCount(type),
+                            resumed.getPlayers().get(seat).getResourceCount(type), "seed " + seed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void checkpointSizeDoesNotGrowWithTheGame() {
+        HeadlessGame game = newGame(3L, true);
+        game.snakeDraftSetup(new SplittableRandom(3L), null);
+        ByteBuffer early = ByteBuffer.allocate(GameCheckpoint.size(game));
+        GameCheckpoint.encode(game, early);
+        assertFalse(early.hasRemaining());
+        game.run();
+        ByteBuffer late = ByteBuffer.allocate(GameCheckpoint.size(game));
+        GameCheckpoint.encode(game, late);
+        assertEquals(early.capacity(), late.capacity());
+    }
+
+    @Test
+    void damagedOrForeignCheckpointsAreRejected() throws Exception {
+        Path file = dir.resolve("game.ckpt");
+        HeadlessGame game = newGame(5L, false);
+        game.snakeDraftSetup(new SplittableRandom(5L), null);
+        new GameCheckpoint(file, 1).save(game);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IllegalArgumentException.class, () -> GameCheckpoint.restore(file, newGame(5L, false)));
+
+        new GameCheckpoint(file, 1).save(game);
+        HeadlessGame twoSeats = new HeadlessGame(BoardLayout.standard(), 5L, 100,
+                e -> List.of(new RandomAgent(0), new RandomAgent(1)));
+        assertThrows(IllegalArgumentException.class, () -> GameCheckpoint.restore(file, twoSeats));
+        assertFalse(GameCheckpoint.restore(dir.resolve("missing.ckpt"), game));
+    }
+
+    private static HeadlessGame newGame(long seed, boolean fastForward) {
+        HeadlessGame game = new HeadlessGame(new BoardGenerator(new CatanBoardGraph()).generate(seed), seed, 300, MIXED);
+        game.setFastForward(fastForward);
+        return game;
+    }
+}
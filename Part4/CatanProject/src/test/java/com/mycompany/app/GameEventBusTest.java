@@ -0,0 +1,131 @@
+package com.mycompany.app;
+
+import com.mycompany.app.commands.BuildRoadCommand;
+import com.mycompany.app.events.GameEvent;
+import com.mycompany.app.events.GameEventBus;
+import com.mycompany.app.events.GameEventType;
+import com.mycompany.app.events.Subscription;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the typed GameEventBus: filtering, async delivery, and engine publication.
+ */
+class GameEventBusTest {
+
+    @Test
+    void filtersByTypeAndPlayer() {
+        GameEventBus bus = new GameEventBus();
+        List<GameEvent> builds = new ArrayList<>();
+        List<GameEvent> player1 = new ArrayList<>();
+        bus.subscribe(builds::add, EnumSet.of(GameEventType.BUILD));
+        bus.subscribe(player1::add, EnumSet.noneOf(GameEventType.class), 1, 0);
+
+        bus.publish(GameEvent.roll(0, 8));
+        bus.publish(GameEvent.build(0, BuildingType.ROAD, 5));
+        bus.publish(GameEvent.turnEnd(1));
+
+        assertEquals(1, builds.size());
+        assertEquals(5, builds.get(0).getValue());
+        assertEquals(1, player1.size());
+        assertEquals(GameEventType.TURN_END, player1.get(0).getType());
+    }
+
+    /**
+     * A listener unsubscribing itself mid-dispatch must not break delivery to others.
+     */
+    @Test
+    void unsubscribeDuringDispatchIsSafe() {
+        GameEventBus bus = new GameEventBus();
+        List<GameEvent> other = new ArrayList<>();
+        Subscription[] self = new Subscription[1];
+        self[0] = bus.subscribe(e -> self[0].close());
+        bus.subscribe(other::add);
+
+        bus.publish(GameEvent.production(6));
+        bus.publish(GameEvent.production(8));
+
+        assertEquals(2, other.size());
+        assertEquals(1, bus.getSubscriberCount());
+    }
+
+    @Test
+    void asyncSubscriberDoesNotBlockPublisherAndDropsWhenFull() throws Exception {
+        GameEventBus bus = new GameEventBus();
+        CountDownLatch release = new CountDownLatch(1);
+        List<GameEvent> received = new CopyOnWriteArrayList<>();
+        Subscription slow = bus.subscribe(e -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(e);
+        }, EnumSet.noneOf(GameEventType.class), GameEvent.NO_PLAYER, 4);
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish(GameEvent.roll(0, 2 + i % 11));
+        }
+        assertTrue(slow.getDroppedCount() > 0, "Full ring must drop instead of blocking");
+
+        release.countDown();
+        assertTrue(slow.awaitDrained(TimeUnit.SECONDS.toMillis(5)));
+        slow.close();
+        assertEquals(100, received.size() + slow.getDroppedCount());
+    }
+
+    @Test
+    void engineBuildPublishesTypedEvent() {
+        Board board = new Board(new CatanBoardGraph());
+        CatanEngine engine = new CatanEngine(board, () -> 4);
+        RandomAgent player = new RandomAgent(0);
+        engine.setPlayers(List.of(player));
+        board.getNode(0).buildSettlement(player);
+        player.addResource(ResourceType.LUMBER, 1);
+        player.addResource(ResourceType.BRICK, 1);
+
+        List<GameEvent> events = new ArrayList<>();
+        engine.getEventBus().subscribe(events::add);
+        int edge = engine.getValidRoadLocations(0)[0];
+        assertTrue(engine.requestBuildRoad(0, edge));
+        engine.rollDice(0);
+
+        assertEquals(GameEventType.BUILD, events.get(0).getType());
+        assertEquals(BuildingType.ROAD, events.get(0).getBuildingType());
+        assertEquals(edge, events.get(0).getValue());
+        assertEquals(GameEvent.roll(0, 4).toString(), events.get(1).toString());
+    }
+
+    @Test
+    void undoingABuildPublishesUnbuild() {
+        Board board = new Board(new CatanBoardGraph());
+        CatanEngine engine = new CatanEngine(board, () -> 4);
+        RandomAgent player = new RandomAgent(0);
+        engine.setPlayers(List.of(player));
+        board.getNode(0).buildSettlement(player);
+        player.addResource(ResourceType.LUMBER, 1);
+        player.addResource(ResourceType.BRICK, 1);
+        int edge = engine.getValidRoadLocations(0)[0];
+        BuildRoadCommand road = new BuildRoadCommand(edge);
+
+        List<GameEvent> events = new ArrayList<>();
+        engine.getEventBus().subscribe(events::add, EnumSet.of(GameEventType.BUILD, GameEventType.UNBUILD));
+        road.execute(engine, player);
+        road.undo(engine, player);
+
+        assertEquals(2, events.size());
+        assertEquals(GameEventType.UNBUILD, events.get(1).getType());
+        assertEquals(BuildingType.ROAD, events.get(1).getBuildingType());
+        assertEquals(edge, events.get(1).getValue());
+        assertFalse(board.getEdge(edge).hasRoad());
+        assertEquals(1, player.getResourceCount(ResourceType.LUMBER));
+    }
+}
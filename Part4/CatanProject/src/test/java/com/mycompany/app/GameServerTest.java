@@ -0,0 +1,101 @@
+package com.mycompany.app;
+
+import com.mycompany.app.server.GameServer;
+import com.mycompany.app.server.GameSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the localhost game server: two clients play one-round games concurrently and
+ * each receives only its own session output, and a client that disconnects ends its session.
+ */
+class GameServerTest {
+
+    private static final String SCRIPT = "go\nroll\nend\ngo\ngo\ngo\n";
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void concurrentSessionsEachCompleteOverSocket() throws Exception {
+        try (GameServer server = new GameServer(0, 1)) {
+            server.start();
+            try (Socket a = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                 Socket b = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+                send(a, SCRIPT);
+                send(b, SCRIPT);
+                String outA = readAll(a);
+                String outB = readAll(b);
+
+                for (String out : new String[]{outA, outB}) {
+                    assertTrue(out.contains("Human player 0 turn"), "Human prompt must reach the client: " + out);
+                    assertTrue(out.contains("Session finished."), "Session must run to completion: " + out);
+                    assertEquals(1, countOccurrences(out, "Session finished."),
+                            "Each client must see only its own session");
+                    assertFalse(out.contains("Decision Latency"),
+                            "The process-wide latency report stays off client sockets");
+                }
+            }
+        }
+    }
+
+    /**
+     * A client that disconnects mid-game ends its session: the bots do not play on into the
+     * closed socket, and the journaled game is left unfinished so it can be resumed.
+     */
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void disconnectEndsTheSession(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("server.journal");
+        try (ServerSocket listener = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+             CommandJournal journal = new CommandJournal(file)) {
+            Socket client = new Socket(InetAddress.getLoopbackAddress(), listener.getLocalPort());
+            Thread session = new Thread(new GameSession(listener.accept(), 8192, journal, 0));
+            session.start();
+            OutputStream out = client.getOutputStream();
+            out.write("go\nroll\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            client.close();
+
+            session.join(5000);
+            assertFalse(session.isAlive(), "The session must end when its client disconnects");
+        }
+        assertFalse(CommandJournal.read(file).get(0L).isFinished(),
+                "An abandoned game must not be journaled as finished");
+    }
+
+    private static void send(Socket socket, String text) throws Exception {
+        OutputStream out = socket.getOutputStream();
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        socket.shutdownOutput();
+    }
+
+    private static String readAll(Socket socket) throws Exception {
+        InputStream in = socket.getInputStream();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        in.transferTo(buffer);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static int countOccurrences(String text, String needle) {
+        int count = 0;
+        int idx = text.indexOf(needle);
+        while (idx >= 0) {
+            count++;
+            idx = text.indexOf(needle, idx + needle.length());
+        }
+        return count;
+    }
+}
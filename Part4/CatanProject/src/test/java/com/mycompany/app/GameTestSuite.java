@@ -17,7 +17,24 @@ import org.junit.platform.suite.api.Suite;
         RuleBasedAgentTest.class,
         AgentConstraintFacadeTest.class,
         CommandHistoryTest.class,
-        SimulatorTest.class
+        SimulatorTest.class,
+        LatencyHistogramTest.class,
+        GameServerTest.class,
+        GameEventBusTest.class,
+        BoardGeneratorTest.class,
+        PlacementHeatmapTest.class,
+        TournamentTest.class,
+        AgentParametersTest.class,
+        RoadPlannerTest.class,
+        CatanBoardGraphTest.class,
+        HexGridGraphTest.class,
+        CompactGameTest.class,
+        HeadlessGameTest.class,
+        GameCheckpointTest.class,
+        CommandJournalTest.class,
+        PositionStoreTest.class,
+        TrainingDataTest.class,
+        HumanPlayerTest.class
 })
 public class GameTestSuite {
     // This class remains empty, it is used only as a holder for the above annotations
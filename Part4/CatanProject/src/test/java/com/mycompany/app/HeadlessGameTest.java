@@ -0,0 +1,132 @@
+package com.mycompany.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the batch game loop's optional shortcuts.
+ */
+class HeadlessGameTest {
+
+    private static final Function<CatanEngine, List<Player>> MIXED = e -> List.of(
+            new RandomAgent(0), new RuleBasedAgent(1, e), new RandomAgent(2), new RuleBasedAgent(3, e));
+
+    private static HeadlessGame play(long seed, BoardLayout layout, boolean fastForward) {
+        HeadlessGame game = new HeadlessGame(layout, seed, 400, MIXED);
+        game.setFastForward(fastForward);
+        game.snakeDraftSetup(new SplittableRandom(seed), null);
+        game.run();
+        return game;
+    }
+
+    /**
+     * Fast-forwarded idle turns must leave every game exactly as turn-by-turn play does.
+     */
+    @Test
+    void fastForwardMatchesTurnByTurnPlay() {
+        BoardGenerator generator = new BoardGenerator(new CatanBoardGraph());
+        for (long seed = 0; seed < 30; seed++) {
+            BoardLayout layout = seed % 2 == 0 ? BoardLayout.standard() : generator.generate(seed);
+            HeadlessGame slow = play(seed, layout, false);
+            HeadlessGame fast = play(seed, layout, true);
+
+            assertEquals(slow.getRound(), fast.getRound(), "seed " + seed);
+            Board slowBoard = slow.getEngine().getBoard();
+            Board fastBoard = fast.getEngine().getBoard();
+            assertEquals(slowBoard.getRobberLocation(), fastBoard.getRobberLocation(), "seed " + seed);
+            for (int seat = 0; seat < 4; seat++) {
+                Player a = slow.getPlayers().get(seat);
+                Player b = fast.getPlayers().get(seat);
+                assertEquals(a.getVictoryPoints(), b.getVictoryPoints(), "seed " + seed);
+                for (ResourceType type : ResourceType.values()) {
+                    assertEquals(a.getResourceCount(type), b.getResourceCount(type), "seed " + seed + " " + type);
+                }
+                assertArrayEquals(slowBoard.getOwnership().getNodes(seat), fastBoard.getOwnership().getNodes(seat));
+                assertArrayEquals(slowBoard.getOwnership().getEdges(seat), fastBoard.getOwnership().getEdges(seat));
+            }
+        }
+    }
+
+    /**
+     * Adjudication only cuts decided games short: the winner is the one the full game produces.
+     */
+    @Test
+    void adjudicationPreservesTheWinner() {
+        Function<CatanEngine, List<Player>> random = e -> List.of(
+                new RandomAgent(0), new RandomAgent(1), new RandomAgent(2), new RandomAgent(3));
+        for (long seed = 0; seed < 60; seed++) {
+            HeadlessGame full = new HeadlessGame(BoardLayout.standard(), seed, 1500, random);
+            full.setFastForward(true);
+            full.snakeDraftSetup(new SplittableRandom(seed), null);
+            GameResult expected = full.run();
+            assertEquals(Adjudication.NONE, expected.getAdjudication());
+
+            HeadlessGame judged = new HeadlessGame(BoardLayout.standard(), seed, 1500, random);
+            judged.setFastForward(true);
+            judged.setAdjudicator(Adjudicator.all());
+            judged.snakeDraftSetup(new SplittableRandom(seed), null);
+            GameResult result = judged.run();
+
+            assertEquals(expected.getWinnerSeat(), result.getWinnerSeat(), "seed " + seed);
+            assertTrue(result.getRounds() <= expected.getRounds(), "seed " + seed);
+            if (result.isAdjudicated()) {
+                assertFalse(result.reachedTarget());
+            } else {
+                assertEquals(expected.getRounds(), result.getRounds(), "seed " + seed);
+            }
+        }
+    }
+
+    /**
+     * Capped RandomAgent games rarely end static (no trading starves them of resources, not
+     * sites), so the reasons themselves are checked on constructed positions.
+     */
+    @Test
+    void everyPiecePlacedIsAStalemate() {
+        HeadlessGame game = twoRandomAgents();
+        Board board = game.getEngine().getBoard();
+        for (int seat = 0; seat < 2; seat++) {
+            Player player = game.getPlayers().get(seat);
+            for (int i = 0; i < 9; i++) {
+                board.getNode(seat * 20 + i).setOccupant(player, i < 5 ? BuildingType.SETTLEMENT : BuildingType.CITY);
+            }
+            for (int i = 0; i < 15; i++) {
+                board.getEdge(seat * 30 + i).buildRoad(player);
+            }
+        }
+        assertEquals(Adjudication.PIECES_EXHAUSTED, Adjudicator.all().check(game.getEngine(), game.getPlayers()));
+    }
+
+    @Test
+    void leadBeyondEveryRivalsReachIsDecided() {
+        HeadlessGame game = twoRandomAgents();
+        Board board = game.getEngine().getBoard();
+        Player leader = game.getPlayers().get(0);
+        Player rival = game.getPlayers().get(1);
+        rival.addVictoryPoints(1);
+        board.getNode(0).buildSettlement(rival);
+        Adjudicator lead = new Adjudicator(false, true, 1);
+
+        leader.addVictoryPoints(3);
+        // Plenty of open sites: the rival could still reach 3
+        assertEquals(Adjudication.NONE, lead.check(game.getEngine(), game.getPlayers()));
+
+        // Leave no open node anywhere: the rival can only upgrade (2 VP at most)
+        for (int n = 1; n < board.getTopology().getNodeCount(); n++) {
+            if (HeadlessGame.isOpen(board, n)) {
+                board.getNode(n).buildSettlement(leader);
+            }
+        }
+        assertEquals(Adjudication.INSURMOUNTABLE_LEAD, lead.check(game.getEngine(), game.getPlayers()));
+    }
+
+    private static HeadlessGame twoRandomAgents() {
+        return new HeadlessGame(BoardLayout.standard(), 1L, 100,
+                e -> List.of(new RandomAgent(0), new RandomAgent(1)));
+    }
+}
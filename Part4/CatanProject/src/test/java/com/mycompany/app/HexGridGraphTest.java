@@ -0,0 +1,168 @@
+package com.mycompany.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the cube-coordinate topology generator and boards built on it.
+ */
+class HexGridGraphTest {
+
+    /**
+     * The generated radius-2 board must match the hardcoded standard graph ID for ID.
+     */
+    @Test
+    void radiusTwoMatchesHardcodedGraph() {
+        IBoardGraph expected = new CatanBoardGraph();
+        IBoardGraph generated = HexGridGraph.hexagon(2);
+        assertEquals(expected.getNodeCount(), generated.getNodeCount());
+        assertEquals(expected.getEdgeCount(), generated.getEdgeCount());
+        assertEquals(expected.getTileCount(), generated.getTileCount());
+        for (int n = 0; n < expected.getNodeCount(); n++) {
+            assertArrayEquals(expected.getAdjacentNodes(n), generated.getAdjacentNodes(n), "node " + n);
+            assertArrayEquals(expected.getAdjacentEdges(n), generated.getAdjacentEdges(n), "node edges " + n);
+        }
+        for (int e = 0; e < expected.getEdgeCount(); e++) {
+            assertArrayEquals(expected.getEdgeEndpoints(e), generated.getEdgeEndpoints(e), "edge " + e);
+        }
+        for (int t = 0; t < expected.getTileCount(); t++) {
+            assertArrayEquals(expected.getTileNodes(t), generated.getTileNodes(t), "tile " + t);
+        }
+    }
+
+    /**
+     * Closed-form counts of a radius-r hexagon, and Euler's formula V - E + F = 1.
+     */
+    @Test
+    void hexagonCountsFollowClosedForm() {
+        for (int r = 0; r <= 12; r++) {
+            HexGridGraph graph = HexGridGraph.hexagon(r);
+            assertEquals(3 * r * (r + 1) + 1, graph.getTileCount());
+            assertEquals(6 * (r + 1) * (r + 1), graph.getNodeCount());
+            assertEquals(9 * r * r + 15 * r + 6, graph.getEdgeCount());
+            assertEquals(1, graph.getNodeCount() - graph.getEdgeCount() + graph.getTileCount());
+        }
+    }
+
+    @Test
+    void extendedBoardHasFiveSixPlayerShape() {
+        HexGridGraph graph = HexGridGraph.extended();
+        assertEquals(30, graph.getTileCount());
+        int[] rowCounts = new int[7];
+        for (int t = 0; t < graph.getTileCount(); t++) {
+            rowCounts[graph.getTileCoordinates(t)[2] + 3]++;
+        }
+        assertArrayEquals(new int[]{3, 4, 5, 6, 5, 4, 3}, rowCounts);
+        assertEquals(1, graph.getNodeCount() - graph.getEdgeCount() + graph.getTileCount());
+        assertArrayEquals(new int[]{0, 0, 0}, graph.getTileCoordinates(0));
+    }
+
+    @Test
+    void rejectsRepeatedTiles() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HexGridGraph(new int[][]{{0, 0, 0}, {1, -1, 0}, {0, 0, 0}}));
+    }
+
+    /**
+     * On an enlarged board the frontier-based validator queries must return exactly the
+     * locations a full scan with isValid would.
+     */
+    @Test
+    void validatorsOnLargeBoardMatchFullScan() {
+        HexGridGraph topology = HexGridGraph.hexagon(8);
+        HeadlessGame game = new HeadlessGame(topology, BoardLayout.tiled(topology.getTileCount()), 3L, 40,
+                engine -> Arrays.asList(new RandomAgent(0), new RandomAgent(1), new RandomAgent(2),
+                        new RandomAgent(3)));
+        assertTrue(game.snakeDraftSetup(new SplittableRandom(3L), null));
+        game.run();
+
+        CatanEngine engine = game.getEngine();
+        Board board = engine.getBoard();
+        assertEquals(topology.getNodeCount(), board.getAllNodes().size());
+        assertEquals(topology.getEdgeCount(), board.getAllEdges().size());
+        for (int seat = 0; seat < 4; seat++) {
+            int pid = seat;
+            int[] roads = engine.getValidRoadLocations(pid);
+            int[] expectedRoads = IntStream.range(0, topology.getEdgeCount())
+                    .filter(e -> !board.getEdge(e).hasRoad() && touchesPlayer(board, topology, pid, e))
+                    .toArray();
+            assertArrayEquals(expectedRoads, roads, "roads of " + pid);
+        }
+    }
+
+    /**
+     * Eight players on a large board: the ownership index must agree with a full board scan
+     * after a whole game of placements.
+     */
+    @Test
+    void eightPlayerGameKeepsOwnershipIndexExact() {
+        HexGridGraph topology = HexGridGraph.hexagon(6);
+        HeadlessGame game = new HeadlessGame(topology, BoardLayout.tiled(topology.getTileCount()), 5L, 60,
+                engine -> {
+                    List<Player> seats = new ArrayList<>();
+                    for (int id = 0; id < 8; id++) {
+                        seats.add(new RandomAgent(id));
+                    }
+                    return seats;
+                });
+        assertTrue(game.snakeDraftSetup(new SplittableRandom(5L), null));
+        game.run();
+
+        Board board = game.getEngine().getBoard();
+        OwnershipIndex ownership = board.getOwnership();
+        for (int pid = 0; pid < 8; pid++) {
+            int settlements = 0;
+            int cities = 0;
+            List<Integer> nodes = new ArrayList<>();
+            for (Node node : board.getAllNodes()) {
+                if (node.isOccupiedBy(pid) && node.getType() != BuildingType.NONE) {
+                    nodes.add(node.getNodeID());
+                    settlements += node.getType() == BuildingType.SETTLEMENT ? 1 : 0;
+                    cities += node.getType() == BuildingType.CITY ? 1 : 0;
+                }
+            }
+            List<Integer> edges = new ArrayList<>();
+            for (Edge edge : board.getAllEdges()) {
+                if (edge.hasRoadBy(pid)) {
+                    edges.add(edge.getEdgeID());
+                }
+            }
+            assertArrayEquals(nodes.stream().mapToInt(i -> i).toArray(), ownership.getNodes(pid), "nodes of " + pid);
+            assertArrayEquals(edges.stream().mapToInt(i -> i).toArray(), ownership.getEdges(pid), "edges of " + pid);
+            assertEquals(settlements, ownership.getSettlementCount(pid));
+            assertEquals(cities, ownership.getCityCount(pid));
+            assertSame(game.getPlayers().get(pid), game.getEngine().getPlayer(pid));
+        }
+        assertTrue(ownership.getEdgeCount(0) >= 2, "setup roads are indexed");
+
+        // Removing a piece (as undo does) takes it out of the owner's list
+        int edge = ownership.getEdge(0, 0);
+        board.getEdge(edge).setOccupant(null);
+        assertFalse(Arrays.stream(ownership.getEdges(0)).anyMatch(e -> e == edge));
+    }
+
+    private static boolean touchesPlayer(Board board, IBoardGraph topology, int pid, int edge) {
+        for (int node : topology.getEdgeEndpoints(edge)) {
+            Node n = board.getNode(node);
+            if (n.isOccupiedBy(pid) && n.getType() != BuildingType.NONE) {
+                return true;
+            }
+            if (n.getOccupant() != null && n.getType() != BuildingType.NONE) {
+                continue;
+            }
+            for (int adj : topology.getAdjacentEdges(node)) {
+                if (adj != edge && board.getEdge(adj).hasRoadBy(pid)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -19,6 +19,15 @@ class HumanInputParserTest {
     void testParseBuildRoad() {
         ICommand cmd = parser.parse("build road 1 2");
         assertTrue(cmd instanceof BuildRoadCommand, "build road should produce BuildRoadCommand");
+        int expected = new CatanBoardGraph().getEdgeBetween(1, 2);
+        assertEquals(expected, ((BuildRoadCommand) cmd).getEdgeId(), "road maps to the edge between the nodes");
+        assertEquals(expected, ((BuildRoadCommand) parser.parse("build road 2 1")).getEdgeId());
+    }
+
+    @Test
+    void testParseBuildRoadBetweenNonAdjacentNodes() {
+        ICommand cmd = parser.parse("build road 1 30");
+        assertTrue(cmd instanceof InvalidCommand, "non-adjacent nodes have no road position");
     }
 
     @Test
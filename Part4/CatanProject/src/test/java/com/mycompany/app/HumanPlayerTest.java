@@ -0,0 +1,37 @@
+package com.mycompany.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the command-line human player.
+ */
+class HumanPlayerTest {
+
+    /**
+     * On a non-standard board, "build road v1 v2" resolves against the game's own topology.
+     */
+    @Test
+    void roadCommandsUseTheGameTopology() {
+        HexGridGraph topology = HexGridGraph.hexagon(3);
+        CatanEngine engine = new CatanEngine(new Board(topology), () -> 4);
+        int edge = topology.getEdgeCount() - 1;
+        int[] ends = topology.getEdgeEndpoints(edge);
+        assertNotEquals(edge, new CatanBoardGraph().getEdgeBetween(ends[0], ends[1]),
+                "The edge must resolve differently on the standard board");
+
+        Scanner input = new Scanner("roll\nbuild road " + ends[0] + " " + ends[1] + "\nend\n");
+        HumanPlayer human = new HumanPlayer(0, input, null, topology);
+        engine.setPlayers(List.of(human));
+        engine.getBoard().getNode(ends[0]).buildSettlement(human);
+        human.addResource(ResourceType.LUMBER, 1);
+        human.addResource(ResourceType.BRICK, 1);
+
+        human.takeTurn(engine);
+        assertTrue(engine.getBoard().getEdge(edge).hasRoadBy(0));
+    }
+}
@@ -0,0 +1,84 @@
+package com.mycompany.app;
+
+import com.mycompany.app.metrics.DecisionLatencyRecorder;
+import com.mycompany.app.metrics.DecisionPhase;
+import com.mycompany.app.metrics.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LatencyHistogram percentiles and DecisionLatencyRecorder wiring.
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Uniform 1..10000 ns: percentiles must land within the 1/64 bucket resolution.
+     */
+    @Test
+    void percentilesWithinBucketResolution() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int v = 1; v <= 10_000; v++) {
+            h.record(v);
+        }
+        assertEquals(10_000, h.getCount());
+        assertEquals(10_000, h.getMax());
+        assertEquals(5_000, h.getValueAtPercentile(50), 5_000 / 64.0 + 1);
+        assertEquals(9_000, h.getValueAtPercentile(90), 9_000 / 64.0 + 1);
+        assertEquals(9_900, h.getValueAtPercentile(99), 9_900 / 64.0 + 1);
+        assertEquals(10_000, h.getValueAtPercentile(100));
+    }
+
+    @Test
+    void emptyHistogramReportsZeroAndResetClears() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getValueAtPercentile(99));
+        h.record(42);
+        assertEquals(42, h.getValueAtPercentile(50));
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+    }
+
+    /**
+     * A rule-based turn must record constraint, candidate and scoring phases.
+     */
+    @Test
+    void ruleBasedTurnRecordsAllPhases() {
+        DecisionLatencyRecorder.reset();
+        Board board = new Board(new CatanBoardGraph());
+        CatanEngine engine = new CatanEngine(board, () -> 4);
+        RuleBasedAgent agent = new RuleBasedAgent(0, engine);
+        engine.setPlayers(List.of(agent));
+        board.getNode(0).buildSettlement(agent);
+        agent.addResource(ResourceType.LUMBER, 1);
+        agent.addResource(ResourceType.BRICK, 1);
+
+        agent.takeTurn(engine);
+
+        for (DecisionPhase phase : DecisionPhase.values()) {
+            assertTrue(DecisionLatencyRecorder.get(RuleBasedAgent.class, phase).getCount() > 0,
+                    "Phase " + phase + " must be recorded");
+        }
+        assertTrue(DecisionLatencyRecorder.report().contains("RuleBasedAgent"));
+    }
+
+    /**
+     * An anonymous subclass reports under the class it extends, merged with that class's samples.
+     */
+    @Test
+    void reportLabelsAnonymousAgentsByTheirSuperclass() {
+        DecisionLatencyRecorder.reset();
+        Class<?> anonymous = new RandomAgent(0) { }.getClass();
+        DecisionLatencyRecorder.record(RandomAgent.class, DecisionPhase.SCORING, 1_000);
+        DecisionLatencyRecorder.record(anonymous, DecisionPhase.SCORING, 3_000);
+
+        String report = DecisionLatencyRecorder.report();
+        assertEquals(1, report.lines().count(), report);
+        assertTrue(report.startsWith("RandomAgent "), report);
+        assertTrue(report.contains("n=2 "), report);
+        assertEquals(3_000, DecisionLatencyRecorder.get(anonymous, DecisionPhase.SCORING).getMax());
+    }
+}
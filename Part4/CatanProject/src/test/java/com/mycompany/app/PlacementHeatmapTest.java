@@ -0,0 +1,119 @@
+package com.mycompany.app;
+
+import com.mycompany.app.analysis.PlacementEvaluator;
+import com.mycompany.app.analysis.PlacementHeatmap;
+import com.mycompany.app.analysis.PlacementHeatmap.PlacementRound;
+import com.mycompany.app.analysis.PlacementHeatmapCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HeadlessGame playouts and the placement heatmap tooling.
+ */
+class PlacementHeatmapTest {
+
+    private static List<Player> fourRandom(CatanEngine engine) {
+        List<Player> players = new ArrayList<>();
+        for (int id = 0; id < 4; id++) {
+            players.add(new RandomAgent(id));
+        }
+        return players;
+    }
+
+    private static PlacementEvaluator evaluator(int threads) {
+        return new PlacementEvaluator(2, 40, threads, PlacementHeatmapTest::fourRandom);
+    }
+
+    @Test
+    void headlessGameIsReproducible() {
+        GameResult[] results = new GameResult[2];
+        for (int i = 0; i < 2; i++) {
+            HeadlessGame game = new HeadlessGame(BoardLayout.standard(), 7L, 200, PlacementHeatmapTest::fourRandom);
+            assertTrue(game.snakeDraftSetup(new SplittableRandom(7L), null));
+            results[i] = game.run();
+        }
+        assertEquals(results[0].getWinnerSeat(), results[1].getWinnerSeat());
+        assertEquals(results[0].getRounds(), results[1].getRounds());
+        for (int seat = 0; seat < 4; seat++) {
+            assertEquals(results[0].getVictoryPoints(seat), results[1].getVictoryPoints(seat));
+        }
+    }
+
+    @Test
+    void forcedPlacementIsHonoured() {
+        HeadlessGame game = new HeadlessGame(BoardLayout.standard(), 1L, 10, PlacementHeatmapTest::fourRandom);
+        int[] forced = {-1, -1, -1, -1, -1, -1, -1, 20};
+        assertTrue(game.snakeDraftSetup(new SplittableRandom(1L), forced));
+        Node node = game.getEngine().getBoard().getNode(20);
+        assertEquals(BuildingType.SETTLEMENT, node.getType());
+        assertEquals(0, node.getOccupant().getPlayerID());
+    }
+
+    @Test
+    void heatmapDoesNotDependOnThreadCount() {
+        BoardLayout layout = BoardLayout.standard();
+        PlacementHeatmap single = evaluator(1).evaluate(layout, 99L);
+        PlacementHeatmap parallel = evaluator(4).evaluate(layout, 99L);
+        assertEquals(54, single.getNodeCount());
+        for (int n = 0; n < 54; n++) {
+            for (PlacementRound round : PlacementRound.values()) {
+                assertEquals(single.getWins(n, round), parallel.getWins(n, round));
+                assertEquals(2, parallel.getGames(n, round));
+            }
+        }
+    }
+
+    @Test
+    void csvRoundTrip() throws Exception {
+        PlacementHeatmap heatmap = new PlacementHeatmap(BoardLayout.standard().key(), 54);
+        heatmap.set(3, PlacementRound.FIRST, 5, 10);
+        heatmap.set(3, PlacementRound.SECOND, 1, 4);
+        StringWriter out = new StringWriter();
+        heatmap.writeTo(out);
+        PlacementHeatmap loaded = PlacementHeatmap.load(new StringReader(out.toString()));
+        assertEquals(heatmap.getLayoutKey(), loaded.getLayoutKey());
+        assertEquals(0.5, loaded.getWinRate(3, PlacementRound.FIRST), 1e-9);
+        assertEquals(0.25, loaded.getWinRate(3, PlacementRound.SECOND), 1e-9);
+        assertTrue(Double.isNaN(loaded.getWinRate(0, PlacementRound.FIRST)));
+        assertEquals(3, loaded.rankNodes(PlacementRound.FIRST)[0]);
+    }
+
+    @Test
+    void cachePersistsByLayout(@TempDir Path dir) throws Exception {
+        BoardLayout layout = new BoardGenerator(new CatanBoardGraph()).generate(5L);
+        PlacementEvaluator evaluator = evaluator(2);
+        PlacementHeatmap computed = new PlacementHeatmapCache(dir).getOrCompute(layout, evaluator, 1L);
+        assertTrue(Files.exists(dir.resolve("heatmap-" + layout.key() + "-" + evaluator.getConfigKey() + "-s1.csv")));
+
+        // A fresh cache must load from disk rather than recompute
+        PlacementHeatmap reloaded = new PlacementHeatmapCache(dir).get(layout, evaluator, 1L);
+        assertNotNull(reloaded);
+        assertEquals(computed.getWins(10, PlacementRound.FIRST), reloaded.getWins(10, PlacementRound.FIRST));
+        assertNull(new PlacementHeatmapCache(dir).get(BoardLayout.standard(), evaluator, 1L));
+        // Other settings or another seed are a different table
+        assertNull(new PlacementHeatmapCache(dir).get(layout, evaluator, 2L));
+        assertNull(new PlacementHeatmapCache(dir).get(layout,
+                new PlacementEvaluator(3, 40, 2, PlacementHeatmapTest::fourRandom), 1L));
+        // The thread count does not change the table
+        assertNotNull(new PlacementHeatmapCache(dir).get(layout, evaluator(4), 1L));
+    }
+
+    @Test
+    void simulatorRejectsHeatmapForOtherLayout() {
+        Simulator sim = new Simulator(1, new Scanner(""), PlacementHeatmapTest::fourRandom, false);
+        assertThrows(IllegalArgumentException.class,
+                () -> sim.setPlacementHeatmap(new PlacementHeatmap("other", 54)));
+        sim.setPlacementHeatmap(new PlacementHeatmap(BoardLayout.standard().key(), 54));
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.app;
+
+import com.mycompany.app.analysis.PositionStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the off-heap position store.
+ */
+class PositionStoreTest {
+
+    private static void assertSamePosition(CatanEngine engine, List<Player> players, PositionStore.Position position) {
+        Board board = engine.getBoard();
+        for (int n = 0; n < board.getTopology().getNodeCount(); n++) {
+            Node node = board.getNode(n);
+            assertEquals(node.getOccupant() == null ? -1 : players.indexOf(node.getOccupant()), position.getNodeOwner(n));
+            assertEquals(node.getType() == BuildingType.CITY, position.isCity(n));
+        }
+        for (int e = 0; e < board.getTopology().getEdgeCount(); e++) {
+            Edge edge = board.getEdge(e);
+            assertEquals(edge.hasRoad() ? players.indexOf(edge.getOccupant()) : -1, position.getRoadOwner(e));
+        }
+        assertEquals(board.getRobberLocation(), position.getRobberTile());
+        for (int seat = 0; seat < players.size(); seat++) {
+            assertEquals(players.get(seat).getVictoryPoints(), position.getVictoryPoints(seat));
+            for (ResourceType type : ResourceType.values()) {
+                assertEquals(players.get(seat).getResourceCount(type), position.getResourceCount(seat, type));
+            }
+        }
+    }
+
+    /**
+     * Every turn's record decodes to the engine state it was taken from, across many chunks.
+     */
+    @Test
+    void recordsMatchTheEngineAcrossChunks() {
+        HeadlessGame game = new HeadlessGame(BoardLayout.standard(), 9L, 200,
+                e -> List.of(new RandomAgent(0), new RuleBasedAgent(1, e), new RandomAgent(2), new RuleBasedAgent(3, e)));
+        game.snakeDraftSetup(new SplittableRandom(9L), null);
+        PositionStore store = new PositionStore(game.getEngine().getBoard().getTopology(), 4, 1000);
+        assertEquals(110, store.getRecordBytes());
+
+        PositionStore.Position view = null;
+        for (int turn = 0; turn < 300; turn++) {
+            int seat = turn % 4;
+            game.playTurn(game.getPlayers().get(seat));
+            long index = store.append(game.getEngine(), game.getPlayers(), (seat + 1) % 4);
+            assertEquals(turn, index);
+            view = store.get(index, view);
+            assertSamePosition(game.getEngine(), game.getPlayers(), view);
+            assertEquals((seat + 1) % 4, view.getSideToMove());
+        }
+        assertEquals(300, store.size());
+        assertEquals(300 / 9 + 1, store.getOffHeapBytes() / (9 * 110));
+    }
+
+    @Test
+    void headlessGamesRecordEveryTurn() {
+        HeadlessGame game = new HeadlessGame(BoardLayout.standard(), 4L, 150,
+                e -> List.of(new RandomAgent(0), new RandomAgent(1), new RandomAgent(2)));
+        game.setFastForward(true);
+        PositionStore store = new PositionStore(game.getEngine().getBoard().getTopology(), 3);
+        game.setPositionStore(store);
+        game.snakeDraftSetup(new SplittableRandom(4L), null);
+        GameResult result = game.run();
+
+        long turns = result.reachedTarget()
+                ? 3L * (result.getRounds() - 1) + result.getWinnerSeat() + 1
+                : 3L * result.getRounds();
+        assertEquals(turns, store.size());
+        assertSamePosition(game.getEngine(), game.getPlayers(), store.get(store.size() - 1, null));
+
+        AtomicLong visited = new AtomicLong();
+        store.forEach(3, 9, position -> {
+            assertEquals(3 + visited.getAndIncrement(), position.getIndex());
+            assertEquals(position.getIndex() % 3 == 2 ? 0 : position.getIndex() % 3 + 1, position.getSideToMove());
+        });
+        assertEquals(6, visited.get());
+    }
+
+    @Test
+    void compactGamesEncodeTheSameWay() {
+        SharedBoard shared = SharedBoard.of(new CatanBoardGraph(), BoardLayout.standard());
+        CompactGame game = new CompactGame(shared, 4, 21L, 60);
+        game.setupRandom();
+        game.run();
+        PositionStore store = new PositionStore(shared.getTopology(), 4);
+        PositionStore.Position position = store.get(store.append(game, 0), null);
+        for (int n = 0; n < shared.getTopology().getNodeCount(); n++) {
+            assertEquals(game.getNodeOwner(n), position.getNodeOwner(n));
+            assertEquals(game.isCity(n), position.isCity(n));
+        }
+        for (int e = 0; e < shared.getTopology().getEdgeCount(); e++) {
+            assertEquals(game.getRoadOwner(e), position.getRoadOwner(e));
+        }
+        assertEquals(game.getRobberTile(), position.getRobberTile());
+        for (int seat = 0; seat < 4; seat++) {
+            assertEquals(game.getVictoryPoints(seat), position.getVictoryPoints(seat));
+            assertEquals(game.getTotalResourceCards(seat), position.getTotalResourceCards(seat));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(1, null));
+    }
+}
@@ -0,0 +1,151 @@
+package com.mycompany.app;
+
+import com.mycompany.app.commands.BuildRoadCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the live per-player road planner.
+ */
+class RoadPlannerTest {
+
+    private IBoardGraph topology;
+    private CatanEngine engine;
+    private Player me;
+    private Player rival;
+
+    @BeforeEach
+    void setUp() {
+        topology = new CatanBoardGraph();
+        engine = new CatanEngine(new Board(topology), new StandardDice(1L));
+        me = new RandomAgent(0);
+        rival = new RandomAgent(1);
+        engine.setPlayers(List.of(me, rival));
+        for (ResourceType type : ResourceType.values()) {
+            me.addResource(type, 20);
+            rival.addResource(type, 20);
+        }
+    }
+
+    @Test
+    void plannerFollowsBuildsAndInvalidatesOnlyAffectedPlayers() {
+        RoadPlanner planner = new RoadPlanner(engine);
+        assertTrue(engine.requestBuildSettlement(0, 0));
+        int target = endOf(0, pathFrom(0, 3));
+
+        assertEquals(3, planner.roadsNeeded(0, target));
+        assertEquals(RoadPlanner.UNREACHABLE, planner.roadsNeeded(1, target));
+        int first = planner.firstRoadToward(0, target);
+        int[] ends = topology.getEdgeEndpoints(first);
+        assertTrue(ends[0] == 0 || ends[1] == 0, "first road must touch the network");
+
+        assertTrue(engine.requestBuildRoad(0, first));
+        // Rival has no network, so my road cannot change its distances
+        assertTrue(planner.isCached(1));
+        assertFalse(planner.isCached(0));
+        assertEquals(2, planner.roadsNeeded(0, target));
+        assertEquals(-1, planner.firstRoadToward(0, 0));
+    }
+
+    @Test
+    void undoingARoadRestoresTheRoute() {
+        RoadPlanner planner = new RoadPlanner(engine);
+        assertTrue(engine.requestBuildSettlement(0, 0));
+        int target = endOf(0, pathFrom(0, 3));
+        BuildRoadCommand road = new BuildRoadCommand(planner.firstRoadToward(0, target));
+        road.execute(engine, me);
+        assertEquals(2, planner.roadsNeeded(0, target));
+
+        road.undo(engine, me);
+        assertFalse(planner.isCached(0));
+        assertEquals(3, planner.roadsNeeded(0, target));
+    }
+
+    /**
+     * The cached expansion road always matches a fresh search, across settlements and robber moves.
+     */
+    @Test
+    void expansionRoadFollowsTheBoard() {
+        RoadPlanner planner = new RoadPlanner(engine);
+        Board board = engine.getBoard();
+        assertTrue(engine.requestBuildSettlement(0, 0));
+        int target = planner.bestExpansionTarget(0, board.getProductionTable());
+        assertTrue(target >= 0);
+        assertEquals(planner.firstRoadToward(0, target), planner.bestExpansionRoad(0));
+
+        assertTrue(engine.requestBuildSettlement(1, target));
+        int next = planner.bestExpansionTarget(0, board.getProductionTable());
+        assertNotEquals(target, next);
+        assertEquals(planner.firstRoadToward(0, next), planner.bestExpansionRoad(0));
+
+        for (int tile : topology.getNodeTiles(next)) {
+            board.setRobberLocation(tile);
+            int robbed = planner.bestExpansionTarget(0, board.getProductionTable());
+            assertEquals(planner.firstRoadToward(0, robbed), planner.bestExpansionRoad(0));
+        }
+    }
+
+    @Test
+    void opponentRoadsBlockRoutes() {
+        RoadPlanner planner = new RoadPlanner(engine);
+        engine.getBoard().getNode(0).buildSettlement(me);
+        int[] path = pathFrom(0, 2);
+        int target = endOf(0, path);
+        planner.invalidateAll();
+        assertEquals(2, planner.roadsNeeded(0, target));
+
+        engine.getBoard().getEdge(path[1]).buildRoad(rival);
+        planner.invalidateAll();
+        assertTrue(planner.roadsNeeded(0, target) > 2);
+    }
+
+    /**
+     * Edges of a shortest path (ignoring pieces) from the node to some node that many edges away.
+     */
+    private int[] pathFrom(int from, int length) {
+        int[] parentEdge = new int[topology.getNodeCount()];
+        int[] dist = new int[topology.getNodeCount()];
+        Arrays.fill(dist, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>(List.of(from));
+        dist[from] = 0;
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            if (dist[node] == length) {
+                int[] path = new int[length];
+                for (int i = length - 1; i >= 0; i--) {
+                    path[i] = parentEdge[node];
+                    node = other(parentEdge[node], node);
+                }
+                return path;
+            }
+            for (int edge : topology.getAdjacentEdges(node)) {
+                int next = other(edge, node);
+                if (dist[next] < 0) {
+                    dist[next] = dist[node] + 1;
+                    parentEdge[next] = edge;
+                    queue.add(next);
+                }
+            }
+        }
+        throw new AssertionError("No node at distance " + length);
+    }
+
+    private int endOf(int from, int[] path) {
+        int node = from;
+        for (int edge : path) {
+            node = other(edge, node);
+        }
+        return node;
+    }
+
+    private int other(int edge, int node) {
+        int[] ends = topology.getEdgeEndpoints(edge);
+        return ends[0] == node ? ends[1] : ends[0];
+    }
+}
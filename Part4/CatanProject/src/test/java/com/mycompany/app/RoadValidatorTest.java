@@ -4,6 +4,9 @@ import com.mycompany.app.validators.RoadValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -48,4 +51,29 @@ class RoadValidatorTest {
         assertFalse(validator.isValid(0, 30),
                 "Edge 30 has no adjacent player structure - must be invalid");
     }
+
+    /**
+     * Valid locations and moves match a scan of every edge, also once the reused candidate
+     * buffer has had to grow (six settlements touch more than its initial 16 edges).
+     */
+    @Test
+    void validLocationsMatchAFullScanAfterTheBufferGrows() {
+        validator.getValidLocations(0);
+        for (int node : new int[] { 0, 2, 8, 10, 30, 40 }) {
+            board.getNode(node).buildSettlement(player);
+        }
+        int[] expected = IntStream.range(0, board.getTopology().getEdgeCount())
+                .filter(e -> validator.isValid(0, e)).toArray();
+        assertTrue(expected.length > 16);
+        assertArrayEquals(expected, validator.getValidLocations(0));
+
+        MoveBuffer moves = new MoveBuffer();
+        validator.addValidMoves(0, moves);
+        int[] locations = new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(MoveCodec.ROAD, MoveCodec.type(moves.get(i)));
+            locations[i] = MoveCodec.location(moves.get(i));
+        }
+        assertArrayEquals(expected, locations, Arrays.toString(locations));
+    }
 }
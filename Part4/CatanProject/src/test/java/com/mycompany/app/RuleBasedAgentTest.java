@@ -77,4 +77,122 @@ class RuleBasedAgentTest {
         assertEquals(0.0, randomAgent.evaluateCommand(new BuildSettlementCommand(0)));
         assertEquals(0.0, randomAgent.evaluateCommand(new BuildRoadCommand(0)));
     }
+
+    @Test
+    void refinementPassesOverrideQuickScores() {
+        ComputerPlayer refining = new RandomAgent(2) {
+            @Override
+            protected double refineCommand(ICommand command, int pass, DecisionDeadline deadline) {
+                if (pass > 1) {
+                    return Double.NaN;
+                }
+                return ((BuildRoadCommand) command).getEdgeId() == 13 ? 1.0 : 0.0;
+            }
+        };
+        List<ICommand> candidates = List.of(new BuildRoadCommand(5), new BuildRoadCommand(13));
+        for (int i = 0; i < 20; i++) {
+            ICommand chosen = refining.chooseBestAction(candidates, DecisionDeadline.unbounded());
+            assertEquals(13, ((BuildRoadCommand) chosen).getEdgeId());
+        }
+    }
+
+    @Test
+    void expiredDeadlineFallsBackToBestSoFar() {
+        ComputerPlayer endless = new RandomAgent(2) {
+            @Override
+            protected double refineCommand(ICommand command, int pass, DecisionDeadline deadline) {
+                return pass;
+            }
+        };
+        List<ICommand> candidates = List.of(new BuildRoadCommand(5), new BuildRoadCommand(13));
+
+        DecisionDeadline expired = DecisionDeadline.after(0);
+        assertTrue(expired.isExpired());
+        ICommand chosen = endless.chooseBestAction(candidates, expired);
+        assertNotNull(chosen, "At least one candidate must be scored even past the deadline");
+
+        DecisionDeadline budget = DecisionDeadline.after(5_000_000L);
+        assertNotNull(endless.chooseBestAction(candidates, budget));
+        assertTrue(budget.isExpired(), "Endless refinement must stop only at the deadline");
+    }
+
+    @Test
+    void unfinishedRefinementPassIsDiscarded() {
+        DecisionDeadline deadline = DecisionDeadline.unbounded();
+        ComputerPlayer refining = new RandomAgent(2) {
+            @Override
+            protected double refineCommand(ICommand command, int pass, DecisionDeadline d) {
+                int edge = ((BuildRoadCommand) command).getEdgeId();
+                if (pass == 1) {
+                    return edge == 13 ? 1.0 : 0.0;
+                }
+                // Pass 2 runs out of time after rescoring only the first candidate
+                d.cancel();
+                return 5.0;
+            }
+        };
+        List<ICommand> candidates = List.of(new BuildRoadCommand(5), new BuildRoadCommand(13));
+        ICommand chosen = refining.chooseBestAction(candidates, deadline);
+        assertEquals(13, ((BuildRoadCommand) chosen).getEdgeId());
+    }
+
+    @Test
+    void cancelledDeadlineExpiresImmediately() {
+        DecisionDeadline deadline = DecisionDeadline.unbounded();
+        assertFalse(deadline.isExpired());
+        deadline.cancel();
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingNanos());
+    }
+
+    @Test
+    void moveCodecRoundTripsAndMaterializesCommands() {
+        int move = MoveCodec.encode(MoveCodec.SETTLEMENT, 53);
+        assertEquals(MoveCodec.SETTLEMENT, MoveCodec.type(move));
+        assertEquals(53, MoveCodec.location(move));
+        assertInstanceOf(BuildSettlementCommand.class, MoveCodec.toCommand(move));
+        ICommand road = MoveCodec.toCommand(MoveCodec.encode(MoveCodec.ROAD, 71));
+        assertEquals(71, ((BuildRoadCommand) road).getEdgeId());
+    }
+
+    /**
+     * Locations past 16 bits (edges of large grids) keep their own ID; ones that do not fit
+     * are rejected rather than wrapped onto another location.
+     */
+    @Test
+    void moveCodecKeepsLargeLocationsDistinct() {
+        int road = MoveCodec.encode(MoveCodec.ROAD, 65536);
+        assertEquals(65536, MoveCodec.location(road));
+        assertNotEquals(MoveCodec.encode(MoveCodec.ROAD, 0), road);
+        int city = MoveCodec.encode(MoveCodec.CITY, MoveCodec.MAX_LOCATION);
+        assertEquals(MoveCodec.CITY, MoveCodec.type(city));
+        assertEquals(MoveCodec.MAX_LOCATION, MoveCodec.location(city));
+        assertNotEquals(MoveCodec.NO_MOVE, city);
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveCodec.encode(MoveCodec.ROAD, MoveCodec.MAX_LOCATION + 1));
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.encode(MoveCodec.ROAD, -1));
+    }
+
+    @Test
+    void candidateMovesMatchCandidateCommandsAndPreferVp() {
+        board.getNode(0).buildSettlement(ruleBasedAgent);
+        board.getEdge(5).buildRoad(ruleBasedAgent);
+        board.getEdge(0).buildRoad(ruleBasedAgent);
+        ruleBasedAgent.addResource(ResourceType.LUMBER, 2);
+        ruleBasedAgent.addResource(ResourceType.BRICK, 2);
+        ruleBasedAgent.addResource(ResourceType.GRAIN, 1);
+        ruleBasedAgent.addResource(ResourceType.WOOL, 1);
+
+        MoveBuffer moves = new MoveBuffer(1);
+        ruleBasedAgent.buildCandidateMoves(engine, moves);
+        assertEquals(ruleBasedAgent.buildCandidateList(engine).size(), moves.size());
+
+        int best = ruleBasedAgent.chooseBestMove(moves, DecisionDeadline.unbounded());
+        assertEquals(MoveCodec.SETTLEMENT, MoveCodec.type(best));
+    }
+
+    @Test
+    void chooseBestMoveOnEmptyBufferReturnsNoMove() {
+        assertEquals(MoveCodec.NO_MOVE, randomAgent.chooseBestMove(new MoveBuffer(), DecisionDeadline.unbounded()));
+    }
 }
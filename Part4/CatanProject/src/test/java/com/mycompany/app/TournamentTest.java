@@ -0,0 +1,152 @@
+package com.mycompany.app;
+
+import com.mycompany.app.tournament.AgentSpec;
+import com.mycompany.app.tournament.EvaluationReport;
+import com.mycompany.app.tournament.MatchEvaluation;
+import com.mycompany.app.tournament.PairedEvaluation;
+import com.mycompany.app.tournament.PairedReport;
+import com.mycompany.app.tournament.RatingTable;
+import com.mycompany.app.tournament.ResultCsvWriter;
+import com.mycompany.app.tournament.Sprt;
+import com.mycompany.app.tournament.Standing;
+import com.mycompany.app.tournament.Tournament;
+import com.mycompany.app.tournament.TournamentFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the tournament runner and its concurrent Elo table.
+ */
+class TournamentTest {
+
+    @Test
+    void winnerGainsWhatLosersLose() {
+        RatingTable table = new RatingTable(4, 16.0);
+        table.update(new int[] {0, 1, 2, 3}, 2);
+        assertTrue(table.get(2) > RatingTable.INITIAL_RATING);
+        double total = 0;
+        for (int i = 0; i < 4; i++) {
+            total += table.get(i);
+        }
+        assertEquals(4 * RatingTable.INITIAL_RATING, total, 1e-9);
+    }
+
+    @Test
+    void roundRobinRotatesSeatsAndStreamsCsv() throws Exception {
+        List<AgentSpec> agents = List.of(AgentSpec.ruleBased(), AgentSpec.random());
+        Tournament tournament = new Tournament(agents, TournamentFormat.ROUND_ROBIN);
+        tournament.setMaxRounds(60);
+        tournament.setThreads(3);
+        StringWriter out = new StringWriter();
+        try (ResultCsvWriter csv = new ResultCsvWriter(out)) {
+            tournament.setCsv(csv);
+            List<Standing> standings = tournament.run(5, 3L);
+            // 5 tables x 4 rotations x 4 seats, two agents filling two seats each
+            assertEquals(2, standings.size());
+            assertEquals(40, standings.get(0).getGames());
+            assertEquals(40, standings.get(1).getGames());
+        }
+        String[] lines = out.toString().split("\n");
+        assertEquals(ResultCsvWriter.HEADER, lines[0]);
+        assertEquals(1 + 5 * 4 * 4, lines.length);
+    }
+
+    @Test
+    void swissRunsRequestedTables() {
+        List<AgentSpec> agents = List.of(AgentSpec.ruleBased(), AgentSpec.random(),
+                new AgentSpec("RandomB", (id, engine) -> new RandomAgent(id)),
+                new AgentSpec("RuleB", RuleBasedAgent::new),
+                new AgentSpec("RandomC", (id, engine) -> new RandomAgent(id)));
+        Tournament tournament = new Tournament(agents, TournamentFormat.SWISS);
+        tournament.setMaxRounds(40);
+        List<Standing> standings = tournament.run(4, 9L);
+        long seatsPlayed = 0;
+        for (Standing s : standings) {
+            seatsPlayed += s.getGames();
+        }
+        assertEquals(4 * 4 * 4, seatsPlayed);
+        assertTrue(standings.get(0).getRating() >= standings.get(standings.size() - 1).getRating());
+    }
+
+    @Test
+    void sprtDecidesOneSidedEvidence() {
+        Sprt strong = new Sprt(0.5, 0.6, 0.05, 0.05);
+        int games = 0;
+        while (strong.record(true) == Sprt.Decision.CONTINUE) {
+            games++;
+        }
+        assertEquals(Sprt.Decision.ACCEPT_H1, strong.getDecision());
+        assertTrue(games < 20);
+
+        Sprt weak = new Sprt(0.5, 0.6, 0.05, 0.05);
+        while (weak.record(false) == Sprt.Decision.CONTINUE) {
+            // keep losing
+        }
+        assertEquals(Sprt.Decision.ACCEPT_H0, weak.getDecision());
+        // Further results are ignored once decided
+        weak.record(true);
+        assertEquals(0, weak.getWins());
+    }
+
+    @Test
+    void evaluationStopsEarlyAndReportsSavings() {
+        MatchEvaluation evaluation = new MatchEvaluation(AgentSpec.ruleBased(), AgentSpec.random());
+        evaluation.setMaxRounds(150);
+        evaluation.setThreads(2);
+        EvaluationReport fixed = evaluation.run(12, 4L);
+        assertEquals(12, fixed.getGamesPlayed());
+        assertNull(fixed.getDecision());
+
+        EvaluationReport early = evaluation.run(5_000, 4L, new Sprt(0.5, 0.7, 0.1, 0.1));
+        assertNotEquals(Sprt.Decision.CONTINUE, early.getDecision());
+        assertTrue(early.getGamesSaved() > 0);
+        assertEquals(early.getGamesPlayed(),
+                early.getCandidateWins() + early.getBaselineWins() + early.getDraws());
+    }
+
+    /**
+     * Games reach the test in game-ID order, so the stopping point does not depend on threads.
+     */
+    @Test
+    void sequentialTestIgnoresCompletionOrder() {
+        MatchEvaluation evaluation = new MatchEvaluation(AgentSpec.ruleBased(), AgentSpec.random());
+        evaluation.setMaxRounds(150);
+        evaluation.setThreads(1);
+        EvaluationReport serial = evaluation.run(5_000, 9L, new Sprt(0.5, 0.7, 0.1, 0.1));
+        evaluation.setThreads(4);
+        EvaluationReport parallel = evaluation.run(5_000, 9L, new Sprt(0.5, 0.7, 0.1, 0.1));
+        assertEquals(serial.getDecision(), parallel.getDecision());
+        assertEquals(serial.getGamesPlayed(), parallel.getGamesPlayed());
+        assertEquals(serial.getCandidateWins(), parallel.getCandidateWins());
+        assertEquals(serial.getDraws(), parallel.getDraws());
+    }
+
+    /**
+     * With common random numbers two copies of the same agent play identical games.
+     */
+    @Test
+    void identicalVariantsHaveZeroPairedDifference() {
+        AgentSpec copy = new AgentSpec("RandomCopy", (id, engine) -> new RandomAgent(id));
+        PairedEvaluation evaluation = new PairedEvaluation(AgentSpec.random(), copy, AgentSpec.random());
+        evaluation.setMaxRounds(80);
+        evaluation.setMirrorSeats(true);
+        PairedReport report = evaluation.run(6, 11L);
+        assertEquals(6 * 2 * 4, report.getGamesPlayed());
+        assertEquals(report.getMeanA(), report.getMeanB(), 1e-12);
+        assertEquals(0.0, report.getStandardError(), 1e-12);
+        assertFalse(report.isSignificant());
+    }
+
+    @Test
+    void pairedReportStatistics() {
+        PairedReport report = new PairedReport(new double[] {1, 1, 0, 1}, new double[] {0, 1, 0, 0}, 8);
+        assertEquals(0.5, report.getMeanDifference(), 1e-12);
+        // diffs {1,0,0,1}: sample variance 1/3
+        assertEquals(Math.sqrt(1.0 / 3 / 4), report.getStandardError(), 1e-12);
+        assertTrue(report.getCiLow() < 0.5 && report.getCiHigh() > 0.5);
+    }
+}
@@ -0,0 +1,167 @@
+package com.mycompany.app;
+
+import com.mycompany.app.analysis.PositionStore;
+import com.mycompany.app.analysis.TrainingDataReader;
+import com.mycompany.app.analysis.TrainingDataWriter;
+import com.mycompany.app.tournament.AgentSpec;
+import com.mycompany.app.tournament.Tournament;
+import com.mycompany.app.tournament.TournamentFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the columnar training-data export.
+ */
+class TrainingDataTest {
+
+    @TempDir
+    Path dir;
+
+    private static HeadlessGame game(long seed) {
+        HeadlessGame game = new HeadlessGame(BoardLayout.standard(), seed, 120,
+                e -> List.of(new RandomAgent(0), new RuleBasedAgent(1, e), new RandomAgent(2), new RuleBasedAgent(3, e)));
+        game.snakeDraftSetup(new SplittableRandom(seed), null);
+        return game;
+    }
+
+    private static int[] column(TrainingDataReader reader, String name) throws IOException {
+        int column = reader.getColumn(name);
+        assertTrue(column >= 0, name);
+        int[] values = new int[(int) reader.getRowCount()];
+        int at = 0;
+        for (int k = 0; k < reader.getChunkCount(); k++) {
+            int[] chunk = reader.readColumn(k, column);
+            System.arraycopy(chunk, 0, values, at, chunk.length);
+            at += chunk.length;
+        }
+        return values;
+    }
+
+    /**
+     * Rows read back across chunks match the positions a PositionStore took from the same turns,
+     * and every row carries its game's winner.
+     */
+    @Test
+    void rowsMatchTheGamesAcrossChunks() throws IOException {
+        Path file = dir.resolve("rows.ctd");
+        Map<Integer, GameResult> results = new HashMap<>();
+        PositionStore store = new PositionStore(new CatanBoardGraph(), 4);
+        try (TrainingDataWriter writer = new TrainingDataWriter(file, new CatanBoardGraph(), 4, 100, 1)) {
+            for (int g = 0; g < 3; g++) {
+                HeadlessGame game = game(30L + g);
+                game.setPositionStore(store);
+                game.setTrainingRecorder(writer.newGame(g));
+                results.put(g, game.run());
+            }
+        }
+
+        try (TrainingDataReader reader = new TrainingDataReader(file)) {
+            assertEquals(store.size(), reader.getRowCount());
+            assertEquals((store.size() + 99) / 100, reader.getChunkCount());
+            for (int k = 0; k < reader.getChunkCount() - 1; k++) {
+                assertEquals(100, reader.getChunkRows(k));
+            }
+            int[] games = column(reader, "game");
+            int[] turns = column(reader, "turn");
+            int[] sides = column(reader, "side_to_move");
+            int[] winners = column(reader, "winner");
+            PositionStore.Position position = null;
+            for (int row = 0; row < games.length; row++) {
+                position = store.get(row, position);
+                assertEquals(results.get(games[row]).getWinnerSeat(), winners[row]);
+                assertEquals(position.getSideToMove(), sides[row]);
+                assertEquals(row == 0 || games[row] != games[row - 1] ? 0 : turns[row - 1] + 1, turns[row]);
+            }
+
+            for (int node : new int[] { 0, 17, 53 }) {
+                int[] codes = column(reader, "node_" + node);
+                for (int row = 0; row < codes.length; row++) {
+                    position = store.get(row, position);
+                    int owner = position.getNodeOwner(node);
+                    assertEquals(owner < 0 ? 0 : (owner + 1) | (position.isCity(node) ? 8 : 0), codes[row]);
+                }
+            }
+            for (int seat = 0; seat < 4; seat++) {
+                int[] vp = column(reader, "vp_" + seat);
+                for (ResourceType type : ResourceType.values()) {
+                    int[] hand = column(reader, "hand_" + seat + "_" + type.name().toLowerCase(Locale.ROOT));
+                    for (int row = 0; row < hand.length; row++) {
+                        position = store.get(row, position);
+                        assertEquals(position.getResourceCount(seat, type), hand[row]);
+                        assertEquals(position.getVictoryPoints(seat), vp[row]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Production and road columns of the last row describe the final board.
+     */
+    @Test
+    void derivedFeaturesDescribeTheFinalBoard() throws IOException {
+        Path file = dir.resolve("final.ctd");
+        HeadlessGame game = game(8L);
+        try (TrainingDataWriter writer = new TrainingDataWriter(file, new CatanBoardGraph(), 4)) {
+            game.setTrainingRecorder(writer.newGame(8));
+            game.run();
+        }
+        Board board = game.getEngine().getBoard();
+        try (TrainingDataReader reader = new TrainingDataReader(file)) {
+            assertEquals(1, reader.getChunkCount());
+            int last = reader.getChunkRows(0) - 1;
+            for (int seat = 0; seat < 4; seat++) {
+                int id = game.getPlayers().get(seat).getPlayerID();
+                assertEquals(RoadGraphMetrics.longestRoadLength(board, board.getTopology(), id),
+                        reader.readColumn(0, reader.getColumn("road_length_" + seat))[last]);
+                for (ResourceType type : ResourceType.values()) {
+                    int pips = 0;
+                    for (int node : board.getOwnership().getNodes(id)) {
+                        int weight = board.getNode(node).getType() == BuildingType.CITY ? 2 : 1;
+                        pips += board.getProductionTable().getPips(node, type) * weight;
+                    }
+                    String name = "production_" + seat + "_" + type.name().toLowerCase(Locale.ROOT);
+                    assertEquals(pips, reader.readColumn(0, reader.getColumn(name))[last], name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tournament workers share one writer through its queue; unfinished files are rejected.
+     */
+    @Test
+    void tournamentWorkersShareOneWriter() throws IOException {
+        Path file = dir.resolve("tournament.ctd");
+        Tournament tournament = new Tournament(List.of(AgentSpec.ruleBased(), AgentSpec.random()),
+                TournamentFormat.ROUND_ROBIN);
+        tournament.setMaxRounds(80);
+        tournament.setThreads(4);
+        try (TrainingDataWriter writer = new TrainingDataWriter(file, new CatanBoardGraph(), 4, 500, 2)) {
+            tournament.setTrainingData(writer);
+            tournament.run(3, 5L);
+        }
+        try (TrainingDataReader reader = new TrainingDataReader(file)) {
+            int[] games = column(reader, "game");
+            assertEquals(12, Arrays.stream(games).distinct().count());
+            assertTrue(reader.getChunkCount() > 1);
+        }
+
+        Path truncated = dir.resolve("truncated.ctd");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> new TrainingDataReader(truncated));
+    }
+}
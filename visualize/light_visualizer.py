@@ -72,6 +72,14 @@ class CatanBoardVisualizer:
             "ORANGE": Color.ORANGE,
             "WHITE": Color.WHITE,
         }
+        # Games with more than four players export extra colour names (and PLAYER_<id>);
+        # catanatron only draws four colours, so those reuse the base palette.
+        extra_colors = ["GREEN", "BROWN", "PURPLE", "YELLOW"]
+        base = [Color.RED, Color.BLUE, Color.ORANGE, Color.WHITE]
+        if color_str in extra_colors:
+            return base[extra_colors.index(color_str)]
+        if color_str.startswith("PLAYER_") and color_str[7:].isdigit():
+            return base[int(color_str[7:]) % 4]
 
         if color_str not in color_map:
             raise ValueError(f"Unknown color: {color_str}")